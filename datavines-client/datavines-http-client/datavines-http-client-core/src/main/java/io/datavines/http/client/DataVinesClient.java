@@ -19,21 +19,61 @@ package io.datavines.http.client;
 import io.datavines.http.client.base.DatavinesApiEnum;
 import io.datavines.http.client.base.DatavinesApiException;
 import io.datavines.http.client.base.DatavinesBaseClient;
+import io.datavines.http.client.base.DatavinesClientConfig;
+import io.datavines.http.client.base.DatavinesRequestBatcher;
 import io.datavines.http.client.request.*;
 import io.datavines.http.client.response.DatavinesResponse;
+import io.datavines.http.client.response.JobExecutionCheckStatus;
+import io.datavines.http.client.response.JobExecutionSubmit;
+import io.datavines.http.client.response.TaskResult;
 import io.datavines.http.client.response.UserBaseInfo;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 public class DataVinesClient extends DatavinesBaseClient {
 
+    /**
+     * the max size of the ids in one request of the bulk apis
+     */
+    private static final int MAX_BULK_SIZE = 1000;
+
+    private static final int SUCCESS_CODE = 200;
+
+    private static final int BATCH_THREADS = 2;
+
     private Log log = LogFactory.getLog(DataVinesClient.class);
 
+    private final DatavinesRequestBatcher<Long, JobExecutionCheckStatus> jobExecutionStatusBatcher;
+
+    /**
+     * the batches are flushed and loaded by their own threads, the async calls such as the long waits can not delay them
+     */
+    private final ScheduledExecutorService batchExecutorService;
+
     public DataVinesClient(String baseUrl){
-        super(baseUrl, new Properties(), "test", null);
+        this(baseUrl, new Properties());
+    }
+
+    public DataVinesClient(String baseUrl, Properties configuration){
+        super(baseUrl, configuration, "test", null);
+        int batchSize = getInt(configuration, DatavinesClientConfig.CLIENT_BATCH_SIZE, 100);
+        int batchLinger = getInt(configuration, DatavinesClientConfig.CLIENT_BATCH_LINGER_MSECS, 20);
+        batchExecutorService = newDaemonScheduledExecutor("datavines-client-batch-", BATCH_THREADS);
+        jobExecutionStatusBatcher = new DatavinesRequestBatcher<>(batchExecutorService,
+                Math.min(MAX_BULK_SIZE, batchSize), batchLinger, this::loadJobExecutionStatus);
     }
 
     /**
@@ -86,6 +126,118 @@ public class DataVinesClient extends DatavinesBaseClient {
         return callApiWithPathParam(DatavinesApiEnum.TASK_RESULT_API, taskId);
     }
 
+    /**
+     * submit task asynchronously
+     * @param params
+     * @return
+     */
+    public CompletableFuture<DatavinesResponse<Long>> submitTaskAsync(String params) {
+        return callAPIAsync(DatavinesApiEnum.TASK_SUBMIT_API.getDatavinesApi(), params);
+    }
+
+    /**
+     * submit task asynchronously
+     * @param request
+     * @return
+     */
+    public CompletableFuture<DatavinesResponse<Long>> submitTaskAsync(SubmitTaskRequest request) {
+        return callAPIAsync(DatavinesApiEnum.TASK_SUBMIT_API.getDatavinesApi(), request);
+    }
+
+    /**
+     * get task status asynchronously
+     * @param taskId
+     * @return task status
+     */
+    public CompletableFuture<DatavinesResponse<String>> taskStatusAsync(Long taskId) {
+        return callApiWithPathParamAsync(DatavinesApiEnum.TASK_STATUS_API, taskId);
+    }
+
+    /**
+     * get task result info asynchronously
+     * @param taskId
+     * @return task result
+     */
+    public CompletableFuture<DatavinesResponse<TaskResult>> taskResultInfoAsync(Long taskId) {
+        return callApiWithPathParamAsync(DatavinesApiEnum.TASK_RESULT_API, taskId);
+    }
+
+    /**
+     * execute the jobs with the same schedule time by the bulk api, the duplicated ids are executed once,
+     * the ids over the bulk size are sent in several requests and every request is executed in its own transaction
+     * @param jobIds job ids
+     * @param scheduleTime schedule time, format: yyyy-MM-dd HH:mm:ss, nullable
+     * @return the submitted execution of every job
+     * @throws DatavinesApiException
+     */
+    public List<JobExecutionSubmit> executeJobs(List<Long> jobIds, String scheduleTime) throws DatavinesApiException {
+        List<JobExecutionSubmit> result = new ArrayList<>();
+        for (List<Long> partition : partition(jobIds)) {
+            DatavinesResponse<List<JobExecutionSubmit>> response =
+                    callAPI(DatavinesApiEnum.JOB_EXECUTE_BATCH_API.getDatavinesApi(), new JobBatchExecuteRequest(partition, scheduleTime));
+            result.addAll(getData(response));
+        }
+        return result;
+    }
+
+    public CompletableFuture<List<JobExecutionSubmit>> executeJobsAsync(List<Long> jobIds, String scheduleTime) {
+        return supplyAsync(() -> executeJobs(jobIds, scheduleTime));
+    }
+
+    /**
+     * get the status and the check state of the job executions by the bulk api
+     * @param jobExecutionIds job execution ids
+     * @return status list, the execution which does not exist is not returned
+     * @throws DatavinesApiException
+     */
+    public List<JobExecutionCheckStatus> jobExecutionStatus(List<Long> jobExecutionIds) throws DatavinesApiException {
+        List<JobExecutionCheckStatus> result = new ArrayList<>();
+        for (List<Long> partition : partition(jobExecutionIds)) {
+            DatavinesResponse<List<JobExecutionCheckStatus>> response =
+                    callAPI(DatavinesApiEnum.JOB_EXECUTION_STATUS_BATCH_API.getDatavinesApi(), new JobExecutionStatusRequest(partition, null));
+            result.addAll(getData(response));
+        }
+        return result;
+    }
+
+    /**
+     * get the status and the check state of the job execution, the calls in the linger time are sent by one bulk request
+     * @param jobExecutionId job execution id
+     * @return status, null when the execution does not exist
+     */
+    public CompletableFuture<JobExecutionCheckStatus> jobExecutionStatusAsync(Long jobExecutionId) {
+        if (Objects.isNull(jobExecutionId)) {
+            CompletableFuture<JobExecutionCheckStatus> future = new CompletableFuture<>();
+            future.completeExceptionally(new DatavinesApiException("job execution id must not null!"));
+            return future;
+        }
+        return jobExecutionStatusBatcher.submit(jobExecutionId);
+    }
+
+    /**
+     * wait until all the job executions are finished or the timeout is reached, the server holds the request instead of the client polling
+     * @param jobExecutionIds job execution ids
+     * @param timeoutSeconds max seconds to wait, the server caps it
+     * @return status list
+     * @throws DatavinesApiException
+     */
+    public List<JobExecutionCheckStatus> waitJobExecutions(List<Long> jobExecutionIds, long timeoutSeconds) throws DatavinesApiException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        List<JobExecutionCheckStatus> result = new ArrayList<>();
+        for (List<Long> partition : partition(jobExecutionIds)) {
+            long remaining = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(deadline - System.currentTimeMillis()));
+            int socketTimeout = (int) Math.min(Integer.MAX_VALUE, TimeUnit.SECONDS.toMillis(remaining) + getReadTimeout());
+            DatavinesResponse<List<JobExecutionCheckStatus>> response =
+                    callAPI(DatavinesApiEnum.JOB_EXECUTION_STATUS_WAIT_API.getDatavinesApi(), new JobExecutionStatusRequest(partition, remaining), socketTimeout);
+            result.addAll(getData(response));
+        }
+        return result;
+    }
+
+    public CompletableFuture<List<JobExecutionCheckStatus>> waitJobExecutionsAsync(List<Long> jobExecutionIds, long timeoutSeconds) {
+        return supplyAsync(() -> waitJobExecutions(jobExecutionIds, timeoutSeconds));
+    }
+
     /**
      * get metric list
      * @return metric list
@@ -154,6 +306,69 @@ public class DataVinesClient extends DatavinesBaseClient {
         return result;
     }
 
+    private <T> CompletableFuture<DatavinesResponse<T>> callApiWithPathParamAsync(DatavinesApiEnum dataVinesAPI, Serializable id) {
+        if (Objects.isNull(id)){
+            log.error("task id must not null!");
+            CompletableFuture<DatavinesResponse<T>> future = new CompletableFuture<>();
+            future.completeExceptionally(new DatavinesApiException("task id must not null!"));
+            return future;
+        }
+        return callAPIAsync(dataVinesAPI.getDatavinesApi(String.valueOf(id)), null);
+    }
+
+    private Map<Long, JobExecutionCheckStatus> loadJobExecutionStatus(List<Long> jobExecutionIds) throws DatavinesApiException {
+        Map<Long, JobExecutionCheckStatus> result = new HashMap<>();
+        jobExecutionStatus(jobExecutionIds).forEach(status -> result.put(status.getId(), status));
+        return result;
+    }
+
+    private <T> List<T> getData(DatavinesResponse<List<T>> response) throws DatavinesApiException {
+        if (Objects.isNull(response)) {
+            throw new DatavinesApiException("unknown response!");
+        }
+        if (!Objects.equals(response.getCode(), SUCCESS_CODE)) {
+            throw new DatavinesApiException(response.getMsg());
+        }
+        return Objects.isNull(response.getData()) ? new ArrayList<>() : response.getData();
+    }
+
+    /**
+     * the ids are deduplicated before they are partitioned, so the same job is not executed twice by different requests
+     */
+    private List<List<Long>> partition(List<Long> ids) {
+        List<List<Long>> partitions = new ArrayList<>();
+        if (Objects.isNull(ids)) {
+            return partitions;
+        }
+        ids = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        for (int i = 0; i < ids.size(); i += MAX_BULK_SIZE) {
+            partitions.add(new ArrayList<>(ids.subList(i, Math.min(ids.size(), i + MAX_BULK_SIZE))));
+        }
+        return partitions;
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(ApiSupplier<T> supplier) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return supplier.get();
+            } catch (DatavinesApiException e) {
+                throw new CompletionException(e);
+            }
+        }, executorService);
+    }
+
+    @Override
+    public void close() throws IOException {
+        batchExecutorService.shutdown();
+        super.close();
+    }
+
+    @FunctionalInterface
+    private interface ApiSupplier<T> {
+
+        T get() throws DatavinesApiException;
+    }
+
     private <T> DatavinesResponse<T> callAPI(DatavinesApiEnum dataVinesAPI) throws DatavinesApiException {
         DatavinesResponse result = callAPI(dataVinesAPI.getDatavinesApi(), null);
         return result;
@@ -20,6 +20,8 @@ package io.datavines.http.client.base;
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.datavines.http.client.request.UserLoginResult;
 import io.datavines.http.client.response.DatavinesResponse;
+import io.datavines.http.client.response.JobExecutionCheckStatus;
+import io.datavines.http.client.response.JobExecutionSubmit;
 import io.datavines.http.client.response.TaskResult;
 import io.datavines.http.client.response.UserBaseInfo;
 import io.datavines.http.client.response.WorkSpace;
@@ -39,6 +41,10 @@ public enum DatavinesApiEnum {
     TASK_KILL_API(new DatavinesAPI("/api/v1/task/kill/%s", HttpMethod.DELETE, Response.Status.OK, new TypeReference<DatavinesResponse<Long>>() {})),
     TASK_STATUS_API(new DatavinesAPI("/api/v1/task/status/%s", HttpMethod.GET, Response.Status.OK, new TypeReference<DatavinesResponse<String>>() {})),
     TASK_RESULT_API(new DatavinesAPI("/api/v1/task/result/%s", HttpMethod.GET, Response.Status.OK, new TypeReference<DatavinesResponse<TaskResult>>() {})),
+    //JOB
+    JOB_EXECUTE_BATCH_API(new DatavinesAPI("/api/v1/openapi/job/execute/batch", HttpMethod.POST, Response.Status.OK, new TypeReference<DatavinesResponse<List<JobExecutionSubmit>>>() {})),
+    JOB_EXECUTION_STATUS_BATCH_API(new DatavinesAPI("/api/v1/openapi/job/execution/status/batch", HttpMethod.POST, Response.Status.OK, new TypeReference<DatavinesResponse<List<JobExecutionCheckStatus>>>() {})),
+    JOB_EXECUTION_STATUS_WAIT_API(new DatavinesAPI("/api/v1/openapi/job/execution/status/wait", HttpMethod.POST, Response.Status.OK, new TypeReference<DatavinesResponse<List<JobExecutionCheckStatus>>>() {})),
     //METRIC
     METRIC_LIST_API(new DatavinesAPI("/api/v1/metric/list", HttpMethod.GET, Response.Status.OK, new TypeReference<DatavinesResponse<Set<String>>>() {})),
     METRIC_INFO_API(new DatavinesAPI("/api/v1/metric/info/%s", HttpMethod.GET, Response.Status.OK, new TypeReference<DatavinesResponse<HashMap<String, String>>>() {})),
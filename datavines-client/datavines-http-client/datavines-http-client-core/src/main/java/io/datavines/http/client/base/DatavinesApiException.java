@@ -26,4 +26,8 @@ public class DatavinesApiException extends Exception {
         super(message);
     }
 
+    public DatavinesApiException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
 }
@@ -19,127 +19,285 @@ package io.datavines.http.client.base;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.sun.jersey.api.client.*;
-import com.sun.jersey.api.client.config.DefaultClientConfig;
-import com.sun.jersey.client.urlconnection.URLConnectionClientHandler;
 import io.datavines.http.client.response.DatavinesResponse;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
 
+import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.Cookie;
 import javax.ws.rs.core.MediaType;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
-public abstract class DatavinesBaseClient {
+/**
+ * All the requests of the client share one pooled connection manager, the connections are kept alive between the requests.
+ * The async requests run in a pool of the configured concurrency, the failed requests are retried with jittered backoff.
+ */
+public abstract class DatavinesBaseClient implements Closeable {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private static final int SERVICE_UNAVAILABLE = 503;
 
     private Log log = LogFactory.getLog(DatavinesBaseClient.class);
     private String baseURL = null;
     private Cookie cookie = null;
-    private boolean retryEnabled = false;
-    private Properties configuration = null;
     private int retryTimes = 1;
     private int sleepBetweenRetries = 1000;
-    protected WebResource service;
+    private int maxSleepBetweenRetries = 30000;
+    private int readTimeout = 6000;
+    private RequestConfig requestConfig;
+    protected CloseableHttpClient httpClient;
+    protected ScheduledExecutorService executorService;
     protected ObjectMapper objectMapper;
 
     @Getter
     @Setter
-    private String token;
+    private volatile String token;
 
     protected DatavinesBaseClient(String baseUrl, Properties configuration, String user, Cookie cookie) {
         this.baseURL = baseUrl;
         objectMapper = new ObjectMapper();
         objectMapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
-        Client client = getClient(configuration, user);
-        service = client.resource(baseUrl);
+        httpClient = getClient(configuration, user);
+        executorService = getExecutorService(configuration);
         this.cookie = cookie;
     }
 
-    protected Client getClient(Properties configuration, String user) {
-        Integer readTimeout = (Integer) configuration.getOrDefault(DatavinesClientConfig.CLIENT_READ_TIMEOUT_MSECS, 6000);
-        Integer connectTimeout = (Integer) configuration.getOrDefault(DatavinesClientConfig.CLIENT_CONNECT_TIMEOUT_MESCS, 6000);
-        retryTimes = (Integer) configuration.getOrDefault(DatavinesClientConfig.CLIENT_RETRY_TIMES, 1);
-        sleepBetweenRetries = (Integer) configuration.getOrDefault(DatavinesClientConfig.CLIENT_SLEEP_BETWEEN_RETRY, 1000);
-
-        final URLConnectionClientHandler handler = new URLConnectionClientHandler();
-        DefaultClientConfig clientConfig = new DefaultClientConfig();
-        Client client = new Client(handler, clientConfig);
-        client.setReadTimeout(readTimeout);
-        client.setConnectTimeout(connectTimeout);
-        return client;
+    protected CloseableHttpClient getClient(Properties configuration, String user) {
+        readTimeout = getInt(configuration, DatavinesClientConfig.CLIENT_READ_TIMEOUT_MSECS, 6000);
+        int connectTimeout = getInt(configuration, DatavinesClientConfig.CLIENT_CONNECT_TIMEOUT_MESCS, 6000);
+        retryTimes = getInt(configuration, DatavinesClientConfig.CLIENT_RETRY_TIMES, 1);
+        sleepBetweenRetries = getInt(configuration, DatavinesClientConfig.CLIENT_SLEEP_BETWEEN_RETRY, 1000);
+        maxSleepBetweenRetries = getInt(configuration, DatavinesClientConfig.CLIENT_MAX_SLEEP_BETWEEN_RETRY, 30000);
+        int maxConnections = getInt(configuration, DatavinesClientConfig.CLIENT_MAX_CONNECTIONS, 20);
+        int maxConnectionsPerRoute = getInt(configuration, DatavinesClientConfig.CLIENT_MAX_CONNECTIONS_PER_ROUTE, maxConnections);
+        long keepAlive = getInt(configuration, DatavinesClientConfig.CLIENT_KEEP_ALIVE_MSECS, 60000);
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setValidateAfterInactivity(2000);
+
+        // keep the connection alive as long as the server allows, but not longer than the configured time
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return duration > 0 ? Math.min(duration, keepAlive) : keepAlive;
+        };
+
+        requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setConnectionRequestTimeout(connectTimeout)
+                .setSocketTimeout(readTimeout)
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAlive, TimeUnit.MILLISECONDS)
+                .disableAutomaticRetries()
+                .build();
     }
 
-    protected <T> DatavinesResponse<T> callAPI(DatavinesAPI dataVinesApi, WebResource service, Object requestObject) throws DatavinesApiException {
-        ClientResponse clientResponse = null;
-        int i = 0;
-        do {
-
-            log.debug("------------------------------------------------------");
-            log.debug(String.format("start call %s method {%s}", dataVinesApi.getPath(), dataVinesApi.getMethod()));
-            log.debug(String.format("ConsumerMediaType : %s ", dataVinesApi.getConsumerMediaType()));
-            log.debug(String.format("ProviderMediaType : %s ", dataVinesApi.getProviderMediaType()));
-            if (requestObject != null) {
-                log.debug(String.format("Request : %s", requestObject));
-            }
-            WebResource realWebService = service.path(dataVinesApi.getPath());
-            WebResource.Builder requestBuilder = realWebService.getRequestBuilder();
-            requestBuilder
-                    .accept(dataVinesApi.getProviderMediaType())
-                    .type(dataVinesApi.getConsumerMediaType());
-
-            // Set cookie i
-            if (Objects.nonNull(cookie)) {
-                requestBuilder.cookie(cookie);
-            }
-            //Set token
-            if (Objects.nonNull(token)){
-                requestBuilder.header("Authorization", token);
-            }
+    protected ScheduledExecutorService getExecutorService(Properties configuration) {
+        int concurrency = getInt(configuration, DatavinesClientConfig.CLIENT_CONCURRENCY, 8);
+        return newDaemonScheduledExecutor("datavines-client-", concurrency);
+    }
+
+    protected ScheduledExecutorService newDaemonScheduledExecutor(String threadNamePrefix, int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    protected <T> DatavinesResponse<T> callAPI(DatavinesAPI dataVinesApi, Object requestObject) throws DatavinesApiException {
+        return callAPI(dataVinesApi, requestObject, readTimeout);
+    }
+
+    /**
+     * call the api, the request is retried on the connection failure, the 429 and the 503 response,
+     * and only the idempotent request is retried on the other io error and the 5xx response
+     * @param dataVinesApi api
+     * @param requestObject request body
+     * @param socketTimeout read timeout of this request, unit: ms
+     * @return response
+     */
+    protected <T> DatavinesResponse<T> callAPI(DatavinesAPI dataVinesApi, Object requestObject, int socketTimeout) throws DatavinesApiException {
+        log.debug("------------------------------------------------------");
+        log.debug(String.format("start call %s method {%s}", dataVinesApi.getPath(), dataVinesApi.getMethod()));
+        log.debug(String.format("ConsumerMediaType : %s ", dataVinesApi.getConsumerMediaType()));
+        log.debug(String.format("ProviderMediaType : %s ", dataVinesApi.getProviderMediaType()));
+        if (requestObject != null) {
+            log.debug(String.format("Request : %s", requestObject));
+        }
+
+        String body = toRequestBody(requestObject);
+        boolean idempotent = !HttpMethod.POST.equals(dataVinesApi.getMethod());
+        int attempts = Math.max(1, retryTimes);
+        for (int i = 0; ; i++) {
+            boolean retryable;
+            String error;
+            try (CloseableHttpResponse response = httpClient.execute(buildRequest(dataVinesApi, body, socketTimeout))) {
+                int status = response.getStatusLine().getStatusCode();
+                String result = response.getEntity() == null ? null : EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+                log.debug(String.format("Response Status is  : %s", status));
 
-            if (Objects.nonNull(requestObject) && !(requestObject instanceof String)) {
-                try {
-                    requestObject = objectMapper.writeValueAsString(requestObject);
-                } catch (JsonProcessingException e) {
-                    log.error("json parse error", e);
+                if (!log.isDebugEnabled()) {
+                    log.info(String.format("method=%s path=%s contentType=%s accept=%s status=%s", dataVinesApi.getMethod(),
+                            dataVinesApi.getPath(), dataVinesApi.getConsumerMediaType(), dataVinesApi.getProviderMediaType(), status));
                 }
-            }
 
-            clientResponse = requestBuilder.method(dataVinesApi.getMethod(), ClientResponse.class, requestObject);
-            log.debug(String.format("Response Status is  : %s", clientResponse.getStatus()));
+                if (status < 500 && status != TOO_MANY_REQUESTS) {
+                    return parseResponse(dataVinesApi, result);
+                }
 
-            if (!log.isDebugEnabled()) {
-                log.info(String.format("method=%s path=%s contentType=%s accept=%s status=%s", dataVinesApi.getMethod(),
-                        dataVinesApi.getPath(), dataVinesApi.getConsumerMediaType(), dataVinesApi.getProviderMediaType(), clientResponse.getStatus()));
+                retryable = idempotent || status == TOO_MANY_REQUESTS || status == SERVICE_UNAVAILABLE;
+                error = String.format("call %s failed with status %s", dataVinesApi.getPath(), status);
+            } catch (ConnectException | ConnectTimeoutException e) {
+                // the request has not been sent, it is safe to send it again
+                retryable = true;
+                error = String.format("connect %s failed : %s", baseURL, e.getMessage());
+            } catch (IOException e) {
+                retryable = idempotent;
+                error = String.format("call %s failed : %s", dataVinesApi.getPath(), e.getMessage());
             }
 
-            if (dataVinesApi.getConsumerMediaType().contains(MediaType.APPLICATION_JSON)) {
-                String result = clientResponse.getEntity(String.class);
-                DatavinesResponse<T> response = null;
-                try {
-                    response = (DatavinesResponse<T>) objectMapper.readValue(result, dataVinesApi.getResultType());
-                } catch (JsonProcessingException e) {
-                    log.error("json parse error", e);
-                }
-                return response;
+            if (!retryable || i + 1 >= attempts) {
+                log.error(error);
+                throw new DatavinesApiException(error);
             }
 
+            log.warn(String.format("%s, retry %s/%s", error, i + 1, attempts - 1));
+            sleepBeforeRetry(i);
+        }
+    }
+
+    protected <T> CompletableFuture<DatavinesResponse<T>> callAPIAsync(DatavinesAPI dataVinesApi, Object requestObject) {
+        return CompletableFuture.supplyAsync(() -> {
             try {
-                TimeUnit.MICROSECONDS.sleep(sleepBetweenRetries);
-            } catch (InterruptedException e) {
-                log.error("sleep error");
+                return this.<T>callAPI(dataVinesApi, requestObject);
+            } catch (DatavinesApiException e) {
+                throw new CompletionException(e);
             }
-            i++;
-        } while (i < retryTimes);
+        }, executorService);
+    }
 
-        throw new DatavinesApiException("unknown response!");
+    protected int getReadTimeout() {
+        return readTimeout;
     }
 
-    protected <T> DatavinesResponse<T> callAPI(DatavinesAPI dataVinesApi, Object requestObject) throws DatavinesApiException {
-        return callAPI(dataVinesApi, service, requestObject);
+    @Override
+    public void close() throws IOException {
+        executorService.shutdown();
+        httpClient.close();
     }
 
+    private HttpUriRequest buildRequest(DatavinesAPI dataVinesApi, String body, int socketTimeout) {
+        RequestBuilder requestBuilder = RequestBuilder.create(dataVinesApi.getMethod())
+                .setUri(baseURL + dataVinesApi.getPath())
+                .setHeader(HttpHeaders.ACCEPT, dataVinesApi.getProviderMediaType())
+                .setConfig(RequestConfig.copy(requestConfig).setSocketTimeout(socketTimeout).build());
+
+        // Set cookie
+        if (Objects.nonNull(cookie)) {
+            requestBuilder.setHeader("Cookie", cookie.getName() + "=" + cookie.getValue());
+        }
+        //Set token
+        if (Objects.nonNull(token)) {
+            requestBuilder.setHeader(HttpHeaders.AUTHORIZATION, token);
+        }
+
+        if (Objects.nonNull(body)) {
+            requestBuilder.setEntity(new StringEntity(body, ContentType.parse(dataVinesApi.getConsumerMediaType())));
+        }
+        return requestBuilder.build();
+    }
+
+    private String toRequestBody(Object requestObject) {
+        if (Objects.isNull(requestObject) || requestObject instanceof String) {
+            return (String) requestObject;
+        }
+
+        try {
+            return objectMapper.writeValueAsString(requestObject);
+        } catch (JsonProcessingException e) {
+            log.error("json parse error", e);
+            return null;
+        }
+    }
+
+    private <T> DatavinesResponse<T> parseResponse(DatavinesAPI dataVinesApi, String result) throws DatavinesApiException {
+        if (!dataVinesApi.getConsumerMediaType().contains(MediaType.APPLICATION_JSON)) {
+            throw new DatavinesApiException("unknown response!");
+        }
+
+        if (result == null) {
+            return null;
+        }
+
+        DatavinesResponse<T> response = null;
+        try {
+            response = (DatavinesResponse<T>) objectMapper.readValue(result, dataVinesApi.getResultType());
+        } catch (JsonProcessingException e) {
+            log.error("json parse error", e);
+        }
+        return response;
+    }
+
+    /**
+     * exponential backoff with equal jitter, so the clients which failed together do not retry together
+     */
+    private void sleepBeforeRetry(int retry) throws DatavinesApiException {
+        long backoff = Math.min(maxSleepBetweenRetries, (long) sleepBetweenRetries << Math.min(retry, 16));
+        long sleep = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        try {
+            TimeUnit.MILLISECONDS.sleep(sleep);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatavinesApiException("interrupted while waiting to retry", e);
+        }
+    }
+
+    protected int getInt(Properties configuration, String key, int defaultValue) {
+        Object value = configuration.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        if (value instanceof String) {
+            return Integer.parseInt(((String) value).trim());
+        }
+        return defaultValue;
+    }
 }
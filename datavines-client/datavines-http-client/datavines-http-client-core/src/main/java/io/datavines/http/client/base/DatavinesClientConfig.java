@@ -22,4 +22,11 @@ public class DatavinesClientConfig {
     public static final String CLIENT_CONNECT_TIMEOUT_MESCS = "datavines.client.connectTimeoutMSecs";
     public static final String CLIENT_RETRY_TIMES = "datavines.client.retryTimes";
     public static final String CLIENT_SLEEP_BETWEEN_RETRY = "datavines.client.sleep.betweenRetry";
+    public static final String CLIENT_MAX_SLEEP_BETWEEN_RETRY = "datavines.client.sleep.maxBetweenRetry";
+    public static final String CLIENT_MAX_CONNECTIONS = "datavines.client.maxConnections";
+    public static final String CLIENT_MAX_CONNECTIONS_PER_ROUTE = "datavines.client.maxConnectionsPerRoute";
+    public static final String CLIENT_KEEP_ALIVE_MSECS = "datavines.client.keepAliveMSecs";
+    public static final String CLIENT_CONCURRENCY = "datavines.client.concurrency";
+    public static final String CLIENT_BATCH_SIZE = "datavines.client.batchSize";
+    public static final String CLIENT_BATCH_LINGER_MSECS = "datavines.client.batchLingerMSecs";
 }
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.http.client.base;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the single key requests for a short linger time and loads them by one bulk request,
+ * the batch is sent at once when it reaches the max size. The same key in one batch is loaded once.
+ * @param <K> key
+ * @param <V> value
+ */
+public class DatavinesRequestBatcher<K, V> {
+
+    private final ScheduledExecutorService executorService;
+
+    private final int maxBatchSize;
+
+    private final long lingerMillis;
+
+    private final BatchLoader<K, V> loader;
+
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+
+    private ScheduledFuture<?> flushTask;
+
+    public DatavinesRequestBatcher(ScheduledExecutorService executorService, int maxBatchSize, long lingerMillis, BatchLoader<K, V> loader) {
+        this.executorService = executorService;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.lingerMillis = lingerMillis;
+        this.loader = loader;
+    }
+
+    /**
+     * add the key into the current batch
+     * @param key key
+     * @return future of the value, the value is null when the bulk response does not contain the key
+     */
+    public synchronized CompletableFuture<V> submit(K key) {
+        CompletableFuture<V> future = pending.get(key);
+        if (future != null) {
+            return future;
+        }
+
+        future = new CompletableFuture<>();
+        pending.put(key, future);
+        if (pending.size() >= maxBatchSize) {
+            Map<K, CompletableFuture<V>> batch = drain();
+            executorService.execute(() -> load(batch));
+        } else if (flushTask == null) {
+            flushTask = executorService.schedule(this::flush, lingerMillis, TimeUnit.MILLISECONDS);
+        }
+        return future;
+    }
+
+    private void flush() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (this) {
+            batch = drain();
+        }
+        load(batch);
+    }
+
+    private Map<K, CompletableFuture<V>> drain() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+
+        Map<K, CompletableFuture<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        return batch;
+    }
+
+    private void load(Map<K, CompletableFuture<V>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            Map<K, V> result = loader.load(new ArrayList<>(batch.keySet()));
+            batch.forEach((key, future) -> future.complete(result == null ? null : result.get(key)));
+        } catch (Exception e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    @FunctionalInterface
+    public interface BatchLoader<K, V> {
+
+        /**
+         * load the values of the keys by one bulk request
+         * @param keys keys, no more than the max batch size
+         * @return key -> value
+         */
+        Map<K, V> load(List<K> keys) throws DatavinesApiException;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.http.client.request;
+
+import java.util.List;
+
+public class JobBatchExecuteRequest {
+
+    public JobBatchExecuteRequest() {
+    }
+
+    public JobBatchExecuteRequest(List<Long> jobIds, String scheduleTime) {
+        this.jobIds = jobIds;
+        this.scheduleTime = scheduleTime;
+    }
+
+    private List<Long> jobIds;
+
+    /**
+     * the schedule time shared by all the executions, format: yyyy-MM-dd HH:mm:ss
+     */
+    private String scheduleTime;
+
+    public List<Long> getJobIds() {
+        return jobIds;
+    }
+
+    public void setJobIds(List<Long> jobIds) {
+        this.jobIds = jobIds;
+    }
+
+    public String getScheduleTime() {
+        return scheduleTime;
+    }
+
+    public void setScheduleTime(String scheduleTime) {
+        this.scheduleTime = scheduleTime;
+    }
+}
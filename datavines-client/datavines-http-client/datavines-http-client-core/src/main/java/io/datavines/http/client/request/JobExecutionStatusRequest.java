@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.http.client.request;
+
+import java.util.List;
+
+public class JobExecutionStatusRequest {
+
+    public JobExecutionStatusRequest() {
+    }
+
+    public JobExecutionStatusRequest(List<Long> jobExecutionIds, Long timeout) {
+        this.jobExecutionIds = jobExecutionIds;
+        this.timeout = timeout;
+    }
+
+    private List<Long> jobExecutionIds;
+
+    /**
+     * the max seconds to wait until all the executions are finished, only used by the wait api
+     */
+    private Long timeout;
+
+    public List<Long> getJobExecutionIds() {
+        return jobExecutionIds;
+    }
+
+    public void setJobExecutionIds(List<Long> jobExecutionIds) {
+        this.jobExecutionIds = jobExecutionIds;
+    }
+
+    public Long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Long timeout) {
+        this.timeout = timeout;
+    }
+}
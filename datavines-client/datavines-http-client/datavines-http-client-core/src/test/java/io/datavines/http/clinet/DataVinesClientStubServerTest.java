@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.http.clinet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.datavines.http.client.DataVinesClient;
+import io.datavines.http.client.base.DatavinesApiException;
+import io.datavines.http.client.base.DatavinesClientConfig;
+import io.datavines.http.client.response.DatavinesResponse;
+import io.datavines.http.client.response.JobExecutionCheckStatus;
+import io.datavines.http.client.response.JobExecutionSubmit;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the client against a local stub server, no datavines server is needed.
+ */
+public class DataVinesClientStubServerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicInteger statusBatchCount = new AtomicInteger();
+
+    private final AtomicInteger taskStatusCount = new AtomicInteger();
+
+    private final AtomicInteger taskSubmitCount = new AtomicInteger();
+
+    private final List<Long> executedJobIds = Collections.synchronizedList(new ArrayList<>());
+
+    private final CountDownLatch waitRelease = new CountDownLatch(1);
+
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+
+    private HttpServer server;
+
+    private DataVinesClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/openapi/job/execution/status/batch", this::handleStatusBatch);
+        server.createContext("/api/v1/openapi/job/execution/status/wait", this::handleStatusWait);
+        server.createContext("/api/v1/openapi/job/execute/batch", this::handleExecuteBatch);
+        server.createContext("/api/v1/task/status/", this::handleTaskStatus);
+        server.createContext("/api/v1/task/submit", this::handleTaskSubmit);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        Properties configuration = new Properties();
+        configuration.put(DatavinesClientConfig.CLIENT_RETRY_TIMES, 3);
+        configuration.put(DatavinesClientConfig.CLIENT_SLEEP_BETWEEN_RETRY, 10);
+        configuration.put(DatavinesClientConfig.CLIENT_BATCH_LINGER_MSECS, 200);
+        configuration.put(DatavinesClientConfig.CLIENT_CONCURRENCY, 1);
+        client = new DataVinesClient("http://127.0.0.1:" + server.getAddress().getPort(), configuration);
+        client.setToken("token");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        waitRelease.countDown();
+        client.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void jobExecutionStatusAsyncIsBatched() {
+        List<CompletableFuture<JobExecutionCheckStatus>> futures = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            futures.add(client.jobExecutionStatusAsync(id));
+        }
+        // the same id in one batch is loaded once
+        futures.add(client.jobExecutionStatusAsync(1L));
+
+        for (int i = 0; i < 50; i++) {
+            Assert.assertEquals(Long.valueOf(i + 1), futures.get(i).join().getId());
+        }
+        Assert.assertSame(futures.get(0), futures.get(50));
+        Assert.assertEquals(1, statusBatchCount.get());
+    }
+
+    @Test
+    public void jobExecutionStatusIsPartitioned() throws DatavinesApiException {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 2500; id++) {
+            ids.add(id);
+        }
+
+        List<JobExecutionCheckStatus> statusList = client.jobExecutionStatus(ids);
+        Assert.assertEquals(2500, statusList.size());
+        Assert.assertEquals(3, statusBatchCount.get());
+    }
+
+    @Test
+    public void executeJobs() throws DatavinesApiException {
+        List<JobExecutionSubmit> submitList = client.executeJobsAsync(Arrays.asList(1L, 2L, 3L), "2024-01-01 00:00:00").join();
+        Assert.assertEquals(3, submitList.size());
+        Assert.assertEquals(Long.valueOf(3), submitList.get(2).getJobId());
+        Assert.assertEquals(Long.valueOf(103), submitList.get(2).getJobExecutionId());
+    }
+
+    @Test
+    public void executeJobsDeduplicatesTheIds() throws DatavinesApiException {
+        List<Long> jobIds = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            jobIds.add(id);
+        }
+        jobIds.add(1L);
+        jobIds.add(null);
+        jobIds.addAll(Arrays.asList(1000L, 1001L));
+
+        List<JobExecutionSubmit> submitList = client.executeJobs(jobIds, "2024-01-01 00:00:00");
+        Assert.assertEquals(1001, submitList.size());
+        Assert.assertEquals(1001, executedJobIds.size());
+        Assert.assertEquals(1001, new HashSet<>(executedJobIds).size());
+    }
+
+    @Test
+    public void batchIsFlushedWhileTheAsyncCallsWait() throws Exception {
+        // the only thread of the async calls is held by the wait
+        CompletableFuture<List<JobExecutionCheckStatus>> waitFuture = client.waitJobExecutionsAsync(Collections.singletonList(1L), 60);
+        CompletableFuture<List<JobExecutionCheckStatus>> secondWaitFuture = client.waitJobExecutionsAsync(Collections.singletonList(2L), 60);
+
+        JobExecutionCheckStatus status = client.jobExecutionStatusAsync(1L).get(5, TimeUnit.SECONDS);
+        Assert.assertEquals(Long.valueOf(1), status.getId());
+        Assert.assertFalse(waitFuture.isDone());
+
+        waitRelease.countDown();
+        Assert.assertEquals(1, waitFuture.get(5, TimeUnit.SECONDS).size());
+        Assert.assertEquals(1, secondWaitFuture.get(5, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    public void idempotentRequestIsRetried() {
+        DatavinesResponse<String> response = client.taskStatusAsync(1L).join();
+        Assert.assertEquals("SUCCESS", response.getData());
+        Assert.assertEquals(3, taskStatusCount.get());
+    }
+
+    @Test
+    public void submitIsNotRetriedOnServerError() {
+        try {
+            client.submitTaskAsync("{}").join();
+            Assert.fail();
+        } catch (CompletionException e) {
+            Assert.assertTrue(e.getCause() instanceof DatavinesApiException);
+        }
+        Assert.assertEquals(1, taskSubmitCount.get());
+    }
+
+    private void handleStatusBatch(HttpExchange exchange) throws IOException {
+        statusBatchCount.incrementAndGet();
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        Assert.assertTrue(request.get("jobExecutionIds").size() <= 1000);
+        Assert.assertEquals("token", exchange.getRequestHeaders().getFirst("Authorization"));
+
+        StringBuilder data = new StringBuilder("[");
+        for (JsonNode id : request.get("jobExecutionIds")) {
+            if (data.length() > 1) {
+                data.append(",");
+            }
+            data.append("{\"id\":").append(id.asLong()).append(",\"jobId\":1,\"status\":\"SUCCESS\",\"checkState\":\"SUCCESS\",\"finished\":true}");
+        }
+        data.append("]");
+        respond(exchange, 200, data.toString());
+    }
+
+    private void handleStatusWait(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        try {
+            waitRelease.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        long id = request.get("jobExecutionIds").get(0).asLong();
+        respond(exchange, 200, "[{\"id\":" + id + ",\"jobId\":1,\"status\":\"SUCCESS\",\"checkState\":\"SUCCESS\",\"finished\":true}]");
+    }
+
+    private void handleExecuteBatch(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        Assert.assertEquals("2024-01-01 00:00:00", request.get("scheduleTime").asText());
+        request.get("jobIds").forEach(id -> executedJobIds.add(id.asLong()));
+
+        StringBuilder data = new StringBuilder("[");
+        for (JsonNode id : request.get("jobIds")) {
+            if (data.length() > 1) {
+                data.append(",");
+            }
+            data.append("{\"jobId\":").append(id.asLong()).append(",\"jobExecutionId\":").append(id.asLong() + 100).append("}");
+        }
+        data.append("]");
+        respond(exchange, 200, data.toString());
+    }
+
+    private void handleTaskStatus(HttpExchange exchange) throws IOException {
+        if (taskStatusCount.incrementAndGet() < 3) {
+            respond(exchange, 503, "\"BUSY\"");
+            return;
+        }
+        respond(exchange, 200, "\"SUCCESS\"");
+    }
+
+    private void handleTaskSubmit(HttpExchange exchange) throws IOException {
+        taskSubmitCount.incrementAndGet();
+        respond(exchange, 500, null);
+    }
+
+    private void respond(HttpExchange exchange, int status, String data) throws IOException {
+        byte[] body = (data == null ? "" : "{\"code\":200,\"msg\":\"Success\",\"data\":" + data + "}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        }
+        exchange.close();
+    }
+}
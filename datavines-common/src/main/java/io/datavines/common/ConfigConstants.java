@@ -67,6 +67,18 @@ public class ConfigConstants {
     public static final String PATH = "path";
     public static final String HDFS_FILE = "hdfs_file";
     public static final String BATCH = "batch";
+    public static final String STREAM = "stream";
+    public static final String STREAM_MODE = "stream_mode";
+    public static final String CHECKPOINT_INTERVAL = "checkpoint_interval";
+    public static final String STREAM_TIMEOUT = "stream_timeout";
+    public static final String TIME_COLUMN = "time_column";
+    public static final String WATERMARK_DELAY = "watermark_delay";
+    public static final String STREAM_CONNECTOR_OPTIONS = "stream_connector_options";
+    public static final String PROC_TIME = "dv_proc_time";
+    public static final String SCAN_PARTITION_COLUMN = "scan_partition_column";
+    public static final String SCAN_PARTITION_NUM = "scan_partition_num";
+    public static final String SCAN_PARTITION_ROWS = "scan_partition_rows";
+    public static final String FETCH_SIZE = "fetch_size";
     public static final String METRIC_TYPE = "metric_type";
     public static final String METRIC_NAME = "metric_name";
     public static final String METRIC_DIMENSION = "metric_dimension";
@@ -113,7 +125,14 @@ public class ConfigConstants {
 
     public static final String ENABLE_SPARK_HIVE_SUPPORT = "enable_spark_hive_support";
 
+    public static final String ISOLATED_SPARK_SESSION = "isolated_spark_session";
+
     public static final String FILE = "file";
+    public static final String FILE_FORMAT = "file_format";
+    public static final String FILE_COMPRESSION = "file_compression";
+    public static final String ARROW = "arrow";
+    public static final String ARROW_BATCH_ROWS = "datavines.batch_rows";
+    public static final String ARROW_COLUMN_TYPE = "datavines.column_type";
 
     public static final String METRIC_DATABASE = "metric_database";
 
@@ -170,7 +189,26 @@ public class ConfigConstants {
 
     public static final String UPSERT = "Upsert";
 
+    public static final String BATCH_WRITE = "batch_write";
+
     public static final String FILE_NAME = "file_name";
 
     public static final String FLINK = "flink";
+
+    public static final String CONNECTION_VALIDATE_IDLE_INTERVAL = "connection_validate_idle_interval";
+
+    public static final String PARTITION_INCREMENTAL = "partition_incremental";
+
+    public static final String PARTITION_FILTER = "partition_filter";
+
+    /**
+     * the parameter with this prefix replaces the parameter of the same name when the unique code is generated
+     */
+    public static final String UNIQUE_CODE_PARAMETER_PREFIX = "unique_code_";
+
+    public static final String SKETCH_TYPE = "sketch_type";
+
+    public static final String SKETCH = "sketch";
+
+    public static final String PERCENTILE = "percentile";
 }
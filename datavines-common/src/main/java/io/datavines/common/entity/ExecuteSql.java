@@ -29,6 +29,11 @@ public class ExecuteSql {
 
     private boolean isErrorOutput;
 
+    /**
+     * the sql only selects the column values, the actual value is computed by a sketch of this type in the engine
+     */
+    private String sketchType;
+
     public ExecuteSql(String sql, String resultTable) {
         this.sql = sql;
         this.resultTable = resultTable;
@@ -20,7 +20,6 @@ import io.datavines.common.entity.job.BaseJobParameter;
 import lombok.Data;
 
 import java.util.List;
-import java.util.Map;
 
 import javax.validation.constraints.NotNull;
 
@@ -33,4 +32,14 @@ public class JobExecutionParameter {
     private ConnectorParameter connectorParameter2;
 
     private List<BaseJobParameter> metricParameterList;
+
+    /**
+     * the partitions checked by the incremental job execution and their fingerprints
+     */
+    private List<PartitionFingerprint> partitionFingerprints;
+
+    /**
+     * the fraction of rows read by the metrics, null means that the whole table is read
+     */
+    private Double sampleFraction;
 }
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.common.entity;
+
+import lombok.Data;
+
+/**
+ * a partition of a table checked by an incremental job execution and its fingerprint
+ */
+@Data
+public class PartitionFingerprint {
+
+    private String database;
+
+    private String table;
+
+    private String partitionName;
+
+    private String fingerprint;
+
+    public PartitionFingerprint() {}
+
+    public PartitionFingerprint(String database, String table, String partitionName, String fingerprint) {
+        this.database = database;
+        this.table = table;
+        this.partitionName = partitionName;
+        this.fingerprint = fingerprint;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.common.enums;
+
+public enum SketchType {
+
+    /**
+     * distinct : the estimated number of distinct values, kept in a HyperLogLog
+     * duplicate : the number of non null values minus the estimated number of distinct values, kept in a HyperLogLog
+     * quantile : the estimated percentile of the values, kept in a t-digest
+     **/
+    DISTINCT("distinct"),
+    DUPLICATE("duplicate"),
+    QUANTILE("quantile");
+
+    SketchType(String description){
+        this.description = description;
+    }
+
+    final String description;
+
+    public String getDescription() {
+        return description;
+    }
+
+    public static SketchType of(String sketchType) {
+        for (SketchType type : SketchType.values()) {
+            if (type.getDescription().equals(sketchType)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("invalid sketch type : " + sketchType);
+    }
+}
@@ -19,6 +19,8 @@ package io.datavines.common.param;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import java.util.List;
+
 @Data
 @EqualsAndHashCode(callSuper = true)
 public class ExecuteRequestParam extends ConnectorRequestParam {
@@ -32,4 +34,13 @@ public class ExecuteRequestParam extends ConnectorRequestParam {
     private int pageNumber = 0;
 
     private int pageSize = 0;
+
+    private int fetchSize = 1000;
+
+    /**
+     * whether the cursor is kept open between the requests which fetch its pages
+     */
+    private boolean paged;
+
+    private List<String> columns;
 }
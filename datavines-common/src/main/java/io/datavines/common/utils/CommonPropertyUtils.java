@@ -89,6 +89,129 @@ public class CommonPropertyUtils {
     public static final String DATAVINES_FQDN = "datavines.fqdn";
     public static final String DATAVINES_FQDN_DEFAULT = "http://127.0.0.1:5600";
 
+    public static final String RESOURCE_SAMPLE_INTERVAL = "resource.sample.interval";
+    public static final Long RESOURCE_SAMPLE_INTERVAL_DEFAULT = 5 * 1000L;
+
+    public static final String CONFIG_REFRESH_INTERVAL = "config.refresh.interval";
+    public static final Long CONFIG_REFRESH_INTERVAL_DEFAULT = 10 * 1000L;
+
+    public static final String JOB_PLAN_CACHE_ENABLE = "job.plan.cache.enable";
+    public static final Boolean JOB_PLAN_CACHE_ENABLE_DEFAULT = true;
+
+    public static final String JOB_PLAN_CACHE_MAX_SIZE = "job.plan.cache.max.size";
+    public static final Integer JOB_PLAN_CACHE_MAX_SIZE_DEFAULT = 1000;
+
+    public static final String METADATA_CACHE_ENABLE = "metadata.cache.enable";
+    public static final Boolean METADATA_CACHE_ENABLE_DEFAULT = true;
+
+    public static final String METADATA_CACHE_CATALOG_ENABLE = "metadata.cache.catalog.enable";
+    public static final Boolean METADATA_CACHE_CATALOG_ENABLE_DEFAULT = true;
+
+    public static final String METADATA_CACHE_MAX_SIZE = "metadata.cache.max.size";
+    public static final Integer METADATA_CACHE_MAX_SIZE_DEFAULT = 2000;
+
+    public static final String METADATA_CACHE_TTL = "metadata.cache.ttl";
+    public static final Long METADATA_CACHE_TTL_DEFAULT = 10 * 60 * 1000L;
+
+    public static final String METADATA_CACHE_CATALOG_TTL = "metadata.cache.catalog.ttl";
+    public static final Long METADATA_CACHE_CATALOG_TTL_DEFAULT = 24 * 60 * 60 * 1000L;
+
+    public static final String QUERY_CURSOR_MAX_SIZE = "query.cursor.max.size";
+    public static final Integer QUERY_CURSOR_MAX_SIZE_DEFAULT = 100;
+
+    /**
+     * every cursor holds a pooled connection of the datasource until it is closed, the pool has 10 connections
+     */
+    public static final String QUERY_CURSOR_MAX_PER_DATASOURCE = "query.cursor.max.per.datasource";
+    public static final Integer QUERY_CURSOR_MAX_PER_DATASOURCE_DEFAULT = 5;
+
+    public static final String QUERY_CURSOR_IDLE_TIMEOUT = "query.cursor.idle.timeout";
+    public static final Long QUERY_CURSOR_IDLE_TIMEOUT_DEFAULT = 5 * 60 * 1000L;
+
+    /**
+     * the drivers without a server side cursor buffer the whole result, the cursor reads at most this many rows from them
+     */
+    public static final String QUERY_CURSOR_BUFFERED_MAX_ROWS = "query.cursor.buffered.max.rows";
+    public static final Integer QUERY_CURSOR_BUFFERED_MAX_ROWS_DEFAULT = 100000;
+
+    public static final String QUERY_STREAM_MAX_ROWS = "query.stream.max.rows";
+    public static final Integer QUERY_STREAM_MAX_ROWS_DEFAULT = 1000000;
+
+    public static final String QUERY_STREAM_MAX_BYTES = "query.stream.max.bytes";
+    public static final Long QUERY_STREAM_MAX_BYTES_DEFAULT = 256 * 1024 * 1024L;
+
+    public static final String JOB_EXECUTION_STAT_COMPACT_INTERVAL = "job.execution.stat.compact.interval";
+    public static final Long JOB_EXECUTION_STAT_COMPACT_INTERVAL_DEFAULT = 60 * 60 * 1000L;
+
+    public static final String JOB_EXECUTION_STAT_COMPACT_DAYS = "job.execution.stat.compact.days";
+    public static final Integer JOB_EXECUTION_STAT_COMPACT_DAYS_DEFAULT = 2;
+
+    public static final String JOB_EXECUTION_STAT_COMPACT_LOCK_KEY = "registry.job.execution.stat.compact.lock.key";
+    public static final String JOB_EXECUTION_STAT_COMPACT_LOCK_KEY_DEFAULT = "/datavines/job/execution/stat/compact/lock";
+
+    public static final String RETENTION_LOCK_KEY = "registry.retention.lock.key";
+    public static final String RETENTION_LOCK_KEY_DEFAULT = "/datavines/retention/lock";
+
+    public static final String RETENTION_INTERVAL = "retention.interval";
+    public static final Long RETENTION_INTERVAL_DEFAULT = 60 * 60 * 1000L;
+
+    public static final String RETENTION_DAYS = "retention.days";
+    public static final Integer RETENTION_DAYS_DEFAULT = -1;
+
+    public static final String RETENTION_ARCHIVE_TYPE = "retention.archive.type";
+    public static final String RETENTION_ARCHIVE_TYPE_DEFAULT = "file";
+
+    public static final String RETENTION_ARCHIVE_PATH = "retention.archive.path";
+    /**
+     * the archive files are kept next to the logs of the server, the relative path is resolved against the home of the server
+     */
+    public static final String RETENTION_ARCHIVE_PATH_DEFAULT = "logs/archive";
+
+    public static final String RETENTION_CHUNK_SIZE = "retention.chunk.size";
+    public static final Integer RETENTION_CHUNK_SIZE_DEFAULT = 500;
+
+    public static final String RETENTION_MAX_CHUNKS = "retention.max.chunks";
+    public static final Integer RETENTION_MAX_CHUNKS_DEFAULT = 100;
+
+    public static final String PAGE_TOTAL_CACHE_EXPIRE = "page.total.cache.expire";
+    public static final Long PAGE_TOTAL_CACHE_EXPIRE_DEFAULT = 60 * 1000L;
+
+    public static final String PROFILE_SNAPSHOT_CACHE_MAX_SIZE = "profile.snapshot.cache.max.size";
+    public static final Integer PROFILE_SNAPSHOT_CACHE_MAX_SIZE_DEFAULT = 200;
+
+    public static final String PROFILE_SNAPSHOT_KEEP_COUNT = "profile.snapshot.keep.count";
+    public static final Integer PROFILE_SNAPSHOT_KEEP_COUNT_DEFAULT = 10;
+
+    public static final String CATALOG_SEARCH_INDEX_ENABLE = "catalog.search.index.enable";
+    public static final Boolean CATALOG_SEARCH_INDEX_ENABLE_DEFAULT = true;
+
+    public static final String CATALOG_SEARCH_INDEX_REBUILD_INTERVAL = "catalog.search.index.rebuild.interval";
+    public static final Long CATALOG_SEARCH_INDEX_REBUILD_INTERVAL_DEFAULT = 6 * 60 * 60 * 1000L;
+
+    public static final String CATALOG_SEARCH_INDEX_SYNC_INTERVAL = "catalog.search.index.sync.interval";
+    public static final Long CATALOG_SEARCH_INDEX_SYNC_INTERVAL_DEFAULT = 60 * 1000L;
+
+    public static final String CATALOG_GRAPH_CACHE_MAX_SIZE = "catalog.graph.cache.max.size";
+    public static final Integer CATALOG_GRAPH_CACHE_MAX_SIZE_DEFAULT = 100;
+
+    public static final String CATALOG_GRAPH_CACHE_EXPIRE = "catalog.graph.cache.expire";
+    public static final Long CATALOG_GRAPH_CACHE_EXPIRE_DEFAULT = 10 * 60 * 1000L;
+
+    public static final String JOB_EXECUTION_STREAM_INTERVAL = "job.execution.stream.interval";
+    public static final Long JOB_EXECUTION_STREAM_INTERVAL_DEFAULT = 1000L;
+
+    public static final String JOB_EXECUTION_STREAM_TIMEOUT = "job.execution.stream.timeout";
+    public static final Long JOB_EXECUTION_STREAM_TIMEOUT_DEFAULT = 30 * 60 * 1000L;
+
+    public static final String JOB_EXECUTION_STREAM_MAX_LINES = "job.execution.stream.max.lines";
+    public static final Integer JOB_EXECUTION_STREAM_MAX_LINES_DEFAULT = 1000;
+
+    public static final String JOB_EXECUTION_STREAM_SENDER_THREADS = "job.execution.stream.sender.threads";
+    public static final Integer JOB_EXECUTION_STREAM_SENDER_THREADS_DEFAULT = 8;
+
+    public static final String JOB_PARTITION_INCREMENTAL_MAX_SIZE = "job.partition.incremental.max.size";
+    public static final Integer JOB_PARTITION_INCREMENTAL_MAX_SIZE_DEFAULT = 100;
+
     public static final String PROFILE_EXECUTE_ENGINE_SPARK_USER = "profile.execute.engine.spark.user";
     public static final String PROFILE_EXECUTE_ENGINE_SPARK_USER_DEFAULT = "ods";
 
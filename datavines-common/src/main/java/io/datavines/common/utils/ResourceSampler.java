@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.common.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the system load average and the available memory in one background thread,
+ * the schedulers read the latest snapshot instead of querying the os on every loop.
+ */
+public class ResourceSampler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceSampler.class);
+
+    private volatile ResourceSnapshot snapshot;
+
+    private ResourceSampler() {
+        sample();
+        long interval = CommonPropertyUtils.getLong(
+                CommonPropertyUtils.RESOURCE_SAMPLE_INTERVAL, CommonPropertyUtils.RESOURCE_SAMPLE_INTERVAL_DEFAULT);
+        ScheduledExecutorService executorService = ThreadUtils.newDaemonThreadScheduledExecutor("Resource-Sampler", 1);
+        executorService.scheduleWithFixedDelay(this::sample, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private static class Singleton {
+        static ResourceSampler instance = new ResourceSampler();
+    }
+
+    public static ResourceSampler getInstance() {
+        return Singleton.instance;
+    }
+
+    public ResourceSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * check the resource by the latest snapshot
+     * @param maxCpuLoadAvg max cpu load average
+     * @param reservedMemory reserved memory, unit: G
+     * @return whether the resource is enough
+     */
+    public boolean checkResource(double maxCpuLoadAvg, double reservedMemory) {
+        ResourceSnapshot current = snapshot;
+        if (current.getLoadAverage() > maxCpuLoadAvg || current.getAvailablePhysicalMemorySize() < reservedMemory) {
+            logger.warn("current cpu load average {} is too high or available memory {}G is too low, under max.cpu.load.avg={} and reserved.memory={}G",
+                    current.getLoadAverage(), current.getAvailablePhysicalMemorySize(), maxCpuLoadAvg, reservedMemory);
+            return false;
+        }
+
+        return true;
+    }
+
+    private void sample() {
+        try {
+            snapshot = new ResourceSnapshot(OSUtils.loadAverage(), OSUtils.availablePhysicalMemorySize(), System.currentTimeMillis());
+        } catch (Exception e) {
+            logger.warn("sample system resource error", e);
+            if (snapshot == null) {
+                snapshot = new ResourceSnapshot(0, Double.MAX_VALUE, System.currentTimeMillis());
+            }
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ResourceSnapshot {
+
+        private final double loadAverage;
+
+        private final double availablePhysicalMemorySize;
+
+        private final long sampleTime;
+    }
+}
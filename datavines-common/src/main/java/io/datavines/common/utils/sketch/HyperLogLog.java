@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.common.utils.sketch;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HyperLogLog sketch of the distinct values, the standard error is 1.04 / sqrt(2 ^ precision),
+ * about 0.8% with the default precision. Two sketches of the same precision can be merged without the raw values.
+ */
+public class HyperLogLog implements Sketch {
+
+    public static final byte TAG = 1;
+
+    private static final int DEFAULT_PRECISION = 14;
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private final int precision;
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("precision of HyperLogLog must be between 4 and 18 : " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public void add(String value) {
+        if (value == null) {
+            return;
+        }
+
+        long hash = HASH_FUNCTION.hashString(value, StandardCharsets.UTF_8).asLong();
+        int index = (int) (hash >>> (64 - precision));
+        // the lowest bit is set to bound the rank when the remaining bits are all zero
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    @Override
+    public double estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // linear counting is more accurate for the small cardinality
+            estimate = m * Math.log((double) m / zeros);
+        }
+
+        return estimate;
+    }
+
+    @Override
+    public void merge(Sketch other) {
+        if (!(other instanceof HyperLogLog) || ((HyperLogLog) other).precision != precision) {
+            throw new IllegalArgumentException("only the HyperLogLog of the same precision can be merged");
+        }
+
+        byte[] otherRegisters = ((HyperLogLog) other).registers;
+        for (int i = 0; i < registers.length; i++) {
+            if (otherRegisters[i] > registers[i]) {
+                registers[i] = otherRegisters[i];
+            }
+        }
+    }
+
+    @Override
+    public byte[] toBytes() {
+        byte[] bytes = new byte[registers.length + 2];
+        bytes[0] = TAG;
+        bytes[1] = (byte) precision;
+        System.arraycopy(registers, 0, bytes, 2, registers.length);
+        return bytes;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        HyperLogLog hyperLogLog = new HyperLogLog(bytes[1]);
+        if (bytes.length != hyperLogLog.registers.length + 2) {
+            throw new IllegalArgumentException("invalid HyperLogLog bytes");
+        }
+        System.arraycopy(bytes, 2, hyperLogLog.registers, 0, hyperLogLog.registers.length);
+        return hyperLogLog;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.common.utils.sketch;
+
+import java.util.Base64;
+
+/**
+ * A mergeable summary of the column values, it is persisted with the actual value
+ * so the sketches of several runs can be merged without scanning the table again.
+ */
+public interface Sketch {
+
+    /**
+     * @return the estimated value of the sketch, such as the distinct count or the median
+     */
+    double estimate();
+
+    void merge(Sketch other);
+
+    byte[] toBytes();
+
+    default String serialize() {
+        return Base64.getEncoder().encodeToString(toBytes());
+    }
+
+    static Sketch deserialize(String sketch) {
+        byte[] bytes = Base64.getDecoder().decode(sketch);
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("sketch can not be empty");
+        }
+
+        switch (bytes[0]) {
+            case HyperLogLog.TAG:
+                return HyperLogLog.fromBytes(bytes);
+            case TDigest.TAG:
+                return TDigest.fromBytes(bytes);
+            default:
+                throw new IllegalArgumentException("unknown sketch tag : " + bytes[0]);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.common.utils.sketch;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Merging t-digest of the numeric values. The values are buffered and merged into centroids whose size is bounded
+ * by the arcsine scale function, so the centroids near the tails stay small and the extreme quantiles stay accurate.
+ */
+public class TDigest implements Sketch {
+
+    public static final byte TAG = 2;
+
+    private static final double DEFAULT_COMPRESSION = 100;
+
+    private final double compression;
+
+    private final double quantile;
+
+    private double[] means = new double[0];
+
+    private double[] weights = new double[0];
+
+    private final double[] bufferMeans;
+
+    private final double[] bufferWeights;
+
+    private int bufferCount;
+
+    private double min = Double.POSITIVE_INFINITY;
+
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest(double quantile) {
+        this(quantile, DEFAULT_COMPRESSION);
+    }
+
+    public TDigest(double quantile, double compression) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("quantile must be between 0 and 1 : " + quantile);
+        }
+        this.quantile = quantile;
+        this.compression = compression;
+        int bufferSize = (int) (compression * 5);
+        this.bufferMeans = new double[bufferSize];
+        this.bufferWeights = new double[bufferSize];
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    private void add(double mean, double weight) {
+        if (Double.isNaN(mean)) {
+            return;
+        }
+
+        if (bufferCount == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[bufferCount] = mean;
+        bufferWeights[bufferCount] = weight;
+        bufferCount++;
+        min = Math.min(min, mean);
+        max = Math.max(max, mean);
+    }
+
+    @Override
+    public double estimate() {
+        return quantile(quantile);
+    }
+
+    public double quantile(double q) {
+        compress();
+        int count = means.length;
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (count == 1) {
+            return means[0];
+        }
+
+        double totalWeight = 0;
+        for (double weight : weights) {
+            totalWeight += weight;
+        }
+
+        // the mean of a centroid is placed at the middle of its weight, interpolate between the neighbours
+        double target = q * totalWeight;
+        if (target <= weights[0] / 2) {
+            return min + (means[0] - min) * target / (weights[0] / 2);
+        }
+
+        double cumulative = weights[0] / 2;
+        for (int i = 0; i < count - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (target <= cumulative + step) {
+                return means[i] + (means[i + 1] - means[i]) * (target - cumulative) / step;
+            }
+            cumulative += step;
+        }
+
+        double lastHalf = weights[count - 1] / 2;
+        return means[count - 1] + (max - means[count - 1]) * Math.min(1, (target - cumulative) / lastHalf);
+    }
+
+    @Override
+    public void merge(Sketch other) {
+        if (!(other instanceof TDigest)) {
+            throw new IllegalArgumentException("only the TDigest can be merged");
+        }
+
+        TDigest digest = (TDigest) other;
+        digest.compress();
+        for (int i = 0; i < digest.means.length; i++) {
+            add(digest.means[i], digest.weights[i]);
+        }
+        min = Math.min(min, digest.min);
+        max = Math.max(max, digest.max);
+    }
+
+    private void compress() {
+        if (bufferCount == 0) {
+            return;
+        }
+
+        int size = means.length + bufferCount;
+        double[][] centroids = new double[size][];
+        double totalWeight = 0;
+        for (int i = 0; i < means.length; i++) {
+            centroids[i] = new double[]{means[i], weights[i]};
+            totalWeight += weights[i];
+        }
+        for (int i = 0; i < bufferCount; i++) {
+            centroids[means.length + i] = new double[]{bufferMeans[i], bufferWeights[i]};
+            totalWeight += bufferWeights[i];
+        }
+        bufferCount = 0;
+        Arrays.sort(centroids, Comparator.comparingDouble(centroid -> centroid[0]));
+
+        double[] newMeans = new double[size];
+        double[] newWeights = new double[size];
+        int count = 0;
+        double mergedWeight = 0;
+        double currentMean = centroids[0][0];
+        double currentWeight = centroids[0][1];
+        for (int i = 1; i < size; i++) {
+            double proposedWeight = currentWeight + centroids[i][1];
+            double leftQuantile = mergedWeight / totalWeight;
+            double rightQuantile = (mergedWeight + proposedWeight) / totalWeight;
+            if (scale(rightQuantile) - scale(leftQuantile) <= 1) {
+                currentMean += (centroids[i][0] - currentMean) * centroids[i][1] / proposedWeight;
+                currentWeight = proposedWeight;
+            } else {
+                newMeans[count] = currentMean;
+                newWeights[count] = currentWeight;
+                count++;
+                mergedWeight += currentWeight;
+                currentMean = centroids[i][0];
+                currentWeight = centroids[i][1];
+            }
+        }
+        newMeans[count] = currentMean;
+        newWeights[count] = currentWeight;
+        count++;
+
+        means = Arrays.copyOf(newMeans, count);
+        weights = Arrays.copyOf(newWeights, count);
+    }
+
+    private double scale(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * Math.min(1, Math.max(0, q)) - 1);
+    }
+
+    @Override
+    public byte[] toBytes() {
+        compress();
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 8 * 4 + 4 + means.length * 16);
+        buffer.put(TAG);
+        buffer.putDouble(compression);
+        buffer.putDouble(quantile);
+        buffer.putDouble(min);
+        buffer.putDouble(max);
+        buffer.putInt(means.length);
+        for (int i = 0; i < means.length; i++) {
+            buffer.putDouble(means[i]);
+            buffer.putDouble(weights[i]);
+        }
+        return buffer.array();
+    }
+
+    public static TDigest fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.get();
+        double compression = buffer.getDouble();
+        TDigest digest = new TDigest(buffer.getDouble(), compression);
+        digest.min = buffer.getDouble();
+        digest.max = buffer.getDouble();
+        int count = buffer.getInt();
+        digest.means = new double[count];
+        digest.weights = new double[count];
+        for (int i = 0; i < count; i++) {
+            digest.means[i] = buffer.getDouble();
+            digest.weights[i] = buffer.getDouble();
+        }
+        return digest;
+    }
+}
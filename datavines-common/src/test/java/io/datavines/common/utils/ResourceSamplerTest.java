@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.common.utils;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ResourceSamplerTest {
+
+    @BeforeClass
+    public static void setUp() {
+        CommonPropertyUtils.getProperties().setProperty(CommonPropertyUtils.RESOURCE_SAMPLE_INTERVAL, String.valueOf(60 * 1000L));
+    }
+
+    @Test
+    public void testCheckReadsTheSampledSnapshot() {
+        ResourceSampler sampler = ResourceSampler.getInstance();
+        ResourceSampler.ResourceSnapshot snapshot = sampler.getSnapshot();
+        Assert.assertNotNull(snapshot);
+
+        for (int i = 0; i < 10; i++) {
+            sampler.checkResource(Double.MAX_VALUE, 0);
+        }
+        // the os is not queried again before the sample interval
+        Assert.assertSame(snapshot, sampler.getSnapshot());
+    }
+
+    @Test
+    public void testCheckResource() {
+        ResourceSampler sampler = ResourceSampler.getInstance();
+        ResourceSampler.ResourceSnapshot snapshot = sampler.getSnapshot();
+
+        Assert.assertTrue(sampler.checkResource(Double.MAX_VALUE, 0));
+        Assert.assertFalse(sampler.checkResource(Double.MAX_VALUE, snapshot.getAvailablePhysicalMemorySize() + 1));
+        Assert.assertFalse(sampler.checkResource(snapshot.getLoadAverage() - 1, 0));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.common.utils.sketch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HyperLogLogTest {
+
+    @Test
+    public void testEstimateWithinErrorBound() {
+        // the standard error of the default precision is about 0.8%, 5% is over six standard errors
+        for (int cardinality : new int[]{10, 1000, 100000, 1000000}) {
+            HyperLogLog hyperLogLog = new HyperLogLog();
+            for (int i = 0; i < cardinality; i++) {
+                hyperLogLog.add("value_" + i);
+                // the duplicates do not change the estimate
+                hyperLogLog.add("value_" + i);
+            }
+            double error = Math.abs(hyperLogLog.estimate() - cardinality) / cardinality;
+            Assert.assertTrue("cardinality " + cardinality + " error " + error, error < 0.05);
+        }
+    }
+
+    @Test
+    public void testEmptyAndNull() {
+        HyperLogLog hyperLogLog = new HyperLogLog();
+        Assert.assertEquals(0, hyperLogLog.estimate(), 0);
+        hyperLogLog.add(null);
+        Assert.assertEquals(0, hyperLogLog.estimate(), 0);
+    }
+
+    @Test
+    public void testMerge() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        HyperLogLog all = new HyperLogLog();
+        // the two halves overlap by 20000 values
+        for (int i = 0; i < 60000; i++) {
+            first.add("value_" + i);
+            all.add("value_" + i);
+        }
+        for (int i = 40000; i < 100000; i++) {
+            second.add("value_" + i);
+            all.add("value_" + i);
+        }
+
+        first.merge(second);
+        // the merged registers are the same as the ones of the sketch over all the values
+        Assert.assertArrayEquals(all.toBytes(), first.toBytes());
+        Assert.assertTrue(Math.abs(first.estimate() - 100000) / 100000 < 0.05);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeDifferentPrecision() {
+        new HyperLogLog(12).merge(new HyperLogLog(14));
+    }
+
+    @Test
+    public void testSerializeRoundTrip() {
+        HyperLogLog hyperLogLog = new HyperLogLog(10);
+        for (int i = 0; i < 5000; i++) {
+            hyperLogLog.add("value_" + i);
+        }
+
+        Sketch sketch = Sketch.deserialize(hyperLogLog.serialize());
+        Assert.assertTrue(sketch instanceof HyperLogLog);
+        Assert.assertArrayEquals(hyperLogLog.toBytes(), sketch.toBytes());
+        Assert.assertEquals(hyperLogLog.estimate(), sketch.estimate(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBytes() {
+        HyperLogLog.fromBytes(new byte[]{HyperLogLog.TAG, 10, 0});
+    }
+}
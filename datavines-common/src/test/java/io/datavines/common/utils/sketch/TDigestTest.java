@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.common.utils.sketch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class TDigestTest {
+
+    private static final double[] QUANTILES = {0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99};
+
+    @Test
+    public void testQuantileWithinErrorBound() {
+        List<Double> values = new ArrayList<>();
+        Random random = new Random(42);
+        TDigest digest = new TDigest(0.5);
+        for (int i = 0; i < 100000; i++) {
+            double value = random.nextGaussian() * 100 + 1000;
+            values.add(value);
+            digest.add(value);
+        }
+        Collections.sort(values);
+
+        for (double q : QUANTILES) {
+            // the error is measured by the rank, the compression 100 keeps it well under 1%
+            double rank = rankOf(values, digest.quantile(q)) / values.size();
+            Assert.assertEquals("quantile " + q, q, rank, 0.01);
+        }
+        Assert.assertEquals(digest.quantile(0.5), digest.estimate(), 0);
+    }
+
+    @Test
+    public void testExactForSmallInput() {
+        TDigest digest = new TDigest(0.5);
+        Assert.assertTrue(Double.isNaN(digest.estimate()));
+
+        digest.add(7);
+        Assert.assertEquals(7, digest.estimate(), 0);
+
+        for (int i = 1; i <= 9; i++) {
+            digest.add(i);
+        }
+        Assert.assertEquals(1, digest.quantile(0), 0);
+        Assert.assertEquals(9, digest.quantile(1), 0);
+        digest.add(Double.NaN);
+        Assert.assertEquals(9, digest.quantile(1), 0);
+    }
+
+    @Test
+    public void testMerge() {
+        List<Double> values = new ArrayList<>();
+        Random random = new Random(7);
+        TDigest merged = new TDigest(0.9);
+        for (int part = 0; part < 10; part++) {
+            TDigest digest = new TDigest(0.9);
+            for (int i = 0; i < 10000; i++) {
+                // every part covers a different range, so the merge has to combine them
+                double value = part * 1000 + random.nextDouble() * 1000;
+                values.add(value);
+                digest.add(value);
+            }
+            merged.merge(digest);
+        }
+        Collections.sort(values);
+
+        for (double q : QUANTILES) {
+            double rank = rankOf(values, merged.quantile(q)) / values.size();
+            Assert.assertEquals("quantile " + q, q, rank, 0.01);
+        }
+        Assert.assertEquals(values.get(0), merged.quantile(0), 0);
+        Assert.assertEquals(values.get(values.size() - 1), merged.quantile(1), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeOtherSketch() {
+        new TDigest(0.5).merge(new HyperLogLog());
+    }
+
+    @Test
+    public void testSerializeRoundTrip() {
+        TDigest digest = new TDigest(0.75, 50);
+        Random random = new Random(1);
+        for (int i = 0; i < 20000; i++) {
+            digest.add(random.nextDouble());
+        }
+
+        Sketch sketch = Sketch.deserialize(digest.serialize());
+        Assert.assertTrue(sketch instanceof TDigest);
+        Assert.assertArrayEquals(digest.toBytes(), sketch.toBytes());
+        Assert.assertEquals(digest.estimate(), sketch.estimate(), 0);
+        for (double q : QUANTILES) {
+            Assert.assertEquals(digest.quantile(q), ((TDigest) sketch).quantile(q), 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidQuantile() {
+        new TDigest(1.5);
+    }
+
+    private double rankOf(List<Double> sortedValues, double value) {
+        int index = Collections.binarySearch(sortedValues, value);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -52,10 +52,10 @@ public interface Connector {
 
     /**
      * get partitions
-     * @param param ConnectorRequestParam
+     * @param param GetPartitionsRequestParam
      * @return
      */
-    default ConnectorResponse getPartitions(ConnectorRequestParam param) {
+    default ConnectorResponse getPartitions(GetPartitionsRequestParam param) throws SQLException {
         return null;
     }
 
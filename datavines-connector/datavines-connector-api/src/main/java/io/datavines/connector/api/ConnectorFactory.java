@@ -45,6 +45,10 @@ public interface ConnectorFactory {
 
     MetricScript getMetricScript();
 
+    default boolean supports(DialectCapability capability) {
+        return getDialect().supports(capability);
+    }
+
     default Boolean showInFrontend() {
         return true;
     }
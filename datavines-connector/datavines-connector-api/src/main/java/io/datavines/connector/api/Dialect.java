@@ -25,9 +25,11 @@ import org.apache.commons.collections4.CollectionUtils;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public interface Dialect {
@@ -71,6 +73,27 @@ public interface Dialect {
         return table;
     }
 
+    /**
+     * the capabilities of the dialect, the sql of a capability which is not declared is never generated
+     * @return capabilities
+     */
+    default Set<DialectCapability> getCapabilities() {
+        return EnumSet.noneOf(DialectCapability.class);
+    }
+
+    default boolean supports(DialectCapability capability) {
+        return getCapabilities().contains(capability);
+    }
+
+    /**
+     * the function returning a random number between 0 and 1 for each row, the rows of a sample are filtered with it
+     * when the dialect has no sample clause
+     * @return random function
+     */
+    default String getRandomFunction() {
+        return "rand()";
+    }
+
     default boolean invalidateItemCanOutput(){
         return true;
     }
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.connector.api;
+
+/**
+ * The features of a dialect which allow a cheaper plan than the default sql of the metric script,
+ * the config builders and the metric plugins only use a feature when the dialect declares it.
+ */
+public enum DialectCapability {
+
+    /**
+     * approx_distinct : native approximate distinct count aggregate, such as approx_count_distinct or uniq
+     * approx_percentile : native percentile aggregate, approximate or exact, such as approx_percentile or percentile_cont
+     * table_sample : native sample clause of the table, such as TABLESAMPLE or SAMPLE
+     * server_side_cursor : the driver reads the result batch by batch instead of buffering the whole result
+     **/
+    APPROX_DISTINCT("approx_distinct"),
+    APPROX_PERCENTILE("approx_percentile"),
+    TABLE_SAMPLE("table_sample"),
+    SERVER_SIDE_CURSOR("server_side_cursor");
+
+    DialectCapability(String description){
+        this.description = description;
+    }
+
+    final String description;
+
+    public String getDescription() {
+        return description;
+    }
+}
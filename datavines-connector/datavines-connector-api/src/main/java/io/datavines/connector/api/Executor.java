@@ -19,6 +19,7 @@ package io.datavines.connector.api;
 import io.datavines.common.param.ConnectorResponse;
 import io.datavines.common.param.ExecuteRequestParam;
 
+import java.sql.Connection;
 import java.sql.SQLException;
 
 public interface Executor {
@@ -35,6 +36,26 @@ public interface Executor {
         return null;
     }
 
+    /**
+     * open a cursor to read the result of the script row by row
+     * @param param param
+     * @return cursor, null if the executor does not support the cursor
+     */
+    default QueryCursor openCursor(ExecuteRequestParam param) throws Exception {
+        return null;
+    }
+
+    /**
+     * open a cursor on a connection held by the caller, the connection is not closed with the cursor
+     * @param connection connection of the datasource
+     * @param sql sql
+     * @param fetchSize requested fetch size
+     * @return cursor, null if the executor does not support the cursor
+     */
+    default QueryCursor openCursor(Connection connection, String sql, int fetchSize) throws SQLException {
+        return null;
+    }
+
     /**
      * execute script
      * @param param param
@@ -16,12 +16,41 @@
  */
 package io.datavines.connector.api;
 
+import java.math.BigDecimal;
+
 public interface MetricScript {
 
     default String selectFromTable() {
         return "select * from ${table}";
     }
 
+    /**
+     * rewrite the table into a sample of the table by filtering the rows with the random function of the dialect,
+     * it is used when the dialect has no sample clause
+     * @param table full qualified table name
+     * @param fraction sample fraction, between 0 and 1
+     * @param randomFunction random function of the dialect, see {@link Dialect#getRandomFunction()}
+     * @return sampled table
+     */
+    default String sampleTable(String table, double fraction, String randomFunction) {
+        return "(select * from " + table + " where " + randomFunction + " < " + BigDecimal.valueOf(fraction).toPlainString() + ") sample_t";
+    }
+
+    /**
+     * rewrite the table into a sample of the table with the native sample clause,
+     * it is only used when the dialect declares {@link DialectCapability#TABLE_SAMPLE}
+     * @param table full qualified table name
+     * @param fraction sample fraction, between 0 and 1
+     * @return sampled table, null if the dialect has no sample clause
+     */
+    default String nativeSampleTable(String table, double fraction) {
+        return null;
+    }
+
+    static String samplePercent(double fraction) {
+        return BigDecimal.valueOf(fraction).movePointRight(2).stripTrailingZeros().toPlainString();
+    }
+
     default String baseActualValue(String uniqueKey) {
         return "select count(1) as actual_value_"+ uniqueKey +" from ${invalidate_items_table}";
     }
@@ -42,6 +71,41 @@ public interface MetricScript {
         return "select count(distinct(${column})) as actual_value_"+ uniqueKey +" from ${table}";
     }
 
+    /**
+     * the aggregate expression of the approximate distinct count, null if the dialect has no native sketch
+     * and the values will be sketched in the engine
+     */
+    default String approxCountDistinct() {
+        return null;
+    }
+
+    /**
+     * the aggregate expression of the approximate ${percentile} of the column, null if the dialect has no native sketch
+     * and the values will be sketched in the engine
+     */
+    default String approxPercentile() {
+        return null;
+    }
+
+    default String approxCountDistinctActualValue(String uniqueKey) {
+        String approxCountDistinct = approxCountDistinct();
+        return approxCountDistinct == null ? null : "select " + approxCountDistinct + " as actual_value_"+ uniqueKey +" from ${table}";
+    }
+
+    default String approxDuplicateActualValue(String uniqueKey) {
+        String approxCountDistinct = approxCountDistinct();
+        return approxCountDistinct == null ? null : "select count(${column}) - " + approxCountDistinct + " as actual_value_"+ uniqueKey +" from ${table}";
+    }
+
+    default String approxPercentileActualValue(String uniqueKey) {
+        String approxPercentile = approxPercentile();
+        return approxPercentile == null ? null : "select " + approxPercentile + " as actual_value_"+ uniqueKey +" from ${table}";
+    }
+
+    default String columnValues(String uniqueKey) {
+        return "select ${column} as actual_value_"+ uniqueKey +" from ${table}";
+    }
+
     default String histogramActualValue(String uniqueKey, String where) {
         return "select concat(k, '\001', cast(count as varchar)) as actual_value_" + uniqueKey + " from (select if(${column} is null, 'NULL', cast(${column} as varchar)) as k, count(1) as count from ${table} " + where + " group by ${column} order by count desc limit 50) T";
     }
@@ -127,33 +191,33 @@ public interface MetricScript {
     }
 
     default String dailyAvg(String uniqueKey) {
-        return "select round(avg(actual_value),2) as expected_value_" + uniqueKey +
-                " from dv_actual_values where data_time >=date_format(${data_time},'%Y-%m-%d')" +
-                " and data_time < date_add(date_format(${data_time},'%Y-%m-%d'), interval 1 DAY)" +
+        return "select round(sum(value_sum) / sum(value_count),2) as expected_value_" + uniqueKey +
+                " from dv_actual_values_daily where data_date >= date_format(${data_time},'%Y-%m-%d')" +
+                " and data_date < date_add(date_format(${data_time},'%Y-%m-%d'), interval 1 DAY)" +
                 " and unique_code = ${unique_code}";
     }
 
     default String last7DayAvg(String uniqueKey) {
-        return "select round(avg(actual_value),2) as expected_value_" + uniqueKey +
-                " from dv_actual_values where data_time >= date_sub(date_format(${data_time},'%Y-%m-%d'),interval 7 DAY)" +
-                " and data_time < date_add(date_format(${data_time},'%Y-%m-%d'),interval 1 DAY) and unique_code = ${unique_code}";
+        return "select round(sum(value_sum) / sum(value_count),2) as expected_value_" + uniqueKey +
+                " from dv_actual_values_daily where data_date >= date_sub(date_format(${data_time},'%Y-%m-%d'),interval 7 DAY)" +
+                " and data_date < date_add(date_format(${data_time},'%Y-%m-%d'),interval 1 DAY) and unique_code = ${unique_code}";
     }
 
     default String last30DayAvg(String uniqueKey) {
-        return "select round(avg(actual_value),2) as expected_value_" + uniqueKey +
-                " from dv_actual_values where data_time >= date_sub(date_format(${data_time},'%Y-%m-%d'),interval 30 DAY)" +
-                " and data_time < date_add(date_format(${data_time},'%Y-%m-%d'),interval 1 DAY) and unique_code = ${unique_code}";
+        return "select round(sum(value_sum) / sum(value_count),2) as expected_value_" + uniqueKey +
+                " from dv_actual_values_daily where data_date >= date_sub(date_format(${data_time},'%Y-%m-%d'),interval 30 DAY)" +
+                " and data_date < date_add(date_format(${data_time},'%Y-%m-%d'),interval 1 DAY) and unique_code = ${unique_code}";
     }
 
     default String monthlyAvg(String uniqueKey) {
-        return "select round(avg(actual_value),2) as expected_value_" + uniqueKey +
-                " from dv_actual_values where data_time >= date_format(curdate(), '%Y-%m-01') and data_time < date_add(date_format(${data_time},'%Y-%m-%d'),interval 1 DAY)" +
+        return "select round(sum(value_sum) / sum(value_count),2) as expected_value_" + uniqueKey +
+                " from dv_actual_values_daily where data_date >= date_format(curdate(), '%Y-%m-01') and data_date < date_add(date_format(${data_time},'%Y-%m-%d'),interval 1 DAY)" +
                 " and unique_code = ${unique_code}";
     }
 
     default String weeklyAvg(String uniqueKey) {
-        return "select round(avg(actual_value),2) as expected_value_" + uniqueKey +
-                " from dv_actual_values where data_time >= date_sub(${data_time},interval weekday(${data_time}) + 0 day)" +
-                " and data_time < date_add(date_format(${data_time},'%Y-%m-%d'),interval 1 DAY) and unique_code = ${unique_code}";
+        return "select round(sum(value_sum) / sum(value_count),2) as expected_value_" + uniqueKey +
+                " from dv_actual_values_daily where data_date >= date(date_sub(${data_time},interval weekday(${data_time}) + 0 day))" +
+                " and data_date < date_add(date_format(${data_time},'%Y-%m-%d'),interval 1 DAY) and unique_code = ${unique_code}";
     }
 }
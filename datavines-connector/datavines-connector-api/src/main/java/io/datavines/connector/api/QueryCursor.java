@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.connector.api;
+
+import io.datavines.common.entity.QueryColumn;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An open forward only cursor over the result of a query, the rows are read from the datasource
+ * batch by batch instead of being loaded into memory at once.
+ */
+public interface QueryCursor extends AutoCloseable {
+
+    List<QueryColumn> getColumns();
+
+    /**
+     * read the next rows of the result
+     * @param size max rows to read
+     * @return rows, it is empty when the cursor is exhausted
+     */
+    List<Map<String, Object>> fetch(int size) throws SQLException;
+
+    boolean hasMore();
+
+    /**
+     * the statement which reads the rows, the caller can cancel it from another thread
+     * @return statement, null if the cursor is not read by a jdbc statement
+     */
+    default Statement getStatement() {
+        return null;
+    }
+
+    @Override
+    void close();
+}
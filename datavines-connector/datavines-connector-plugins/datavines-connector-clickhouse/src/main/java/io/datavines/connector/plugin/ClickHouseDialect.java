@@ -16,10 +16,32 @@
  */
 package io.datavines.connector.plugin;
 
+import io.datavines.connector.api.DialectCapability;
+
+import java.util.EnumSet;
+import java.util.Set;
+
 public class ClickHouseDialect extends JdbcDialect {
 
     @Override
     public String getDriver() {
         return "ru.yandex.clickhouse.ClickHouseDriver";
     }
+
+    @Override
+    public Set<DialectCapability> getCapabilities() {
+        return EnumSet.of(
+                DialectCapability.APPROX_DISTINCT,
+                DialectCapability.APPROX_PERCENTILE,
+                DialectCapability.TABLE_SAMPLE,
+                DialectCapability.SERVER_SIDE_CURSOR);
+    }
+
+    /**
+     * rand() of ClickHouse returns an integer, randCanonical() returns a float between 0 and 1
+     */
+    @Override
+    public String getRandomFunction() {
+        return "randCanonical()";
+    }
 }
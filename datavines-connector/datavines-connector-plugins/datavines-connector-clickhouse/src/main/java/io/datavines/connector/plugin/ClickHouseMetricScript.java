@@ -16,6 +16,8 @@
  */
 package io.datavines.connector.plugin;
 
+import java.math.BigDecimal;
+
 public class ClickHouseMetricScript extends JdbcMetricScript {
 
     @Override
@@ -27,4 +29,22 @@ public class ClickHouseMetricScript extends JdbcMetricScript {
     public String varianceActualValue(String uniqueKey) {
         return "select VAR_POP(${column}) as actual_value_"+ uniqueKey +" from ${table}";
     }
+
+    @Override
+    public String approxCountDistinct() {
+        return "uniq(${column})";
+    }
+
+    @Override
+    public String approxPercentile() {
+        return "quantile(${percentile})(${column})";
+    }
+
+    /**
+     * the table must have a sampling key
+     */
+    @Override
+    public String nativeSampleTable(String table, double fraction) {
+        return table + " SAMPLE " + BigDecimal.valueOf(fraction).toPlainString();
+    }
 }
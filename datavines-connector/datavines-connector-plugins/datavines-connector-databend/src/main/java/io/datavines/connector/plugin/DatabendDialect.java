@@ -23,4 +23,8 @@ public class DatabendDialect extends JdbcDialect {
         return "com.databend.jdbc.DatabendDriver";
     }
 
+    @Override
+    public String getRandomFunction() {
+        return "random()";
+    }
 }
@@ -18,6 +18,7 @@ package io.datavines.connector.plugin;
 
 import io.datavines.common.datasource.jdbc.BaseJdbcDataSourceInfo;
 import io.datavines.connector.api.DataSourceClient;
+import io.datavines.connector.api.Dialect;
 
 import java.util.Map;
 
@@ -30,4 +31,9 @@ public class DatabendExecutor extends BaseJdbcExecutor {
     public BaseJdbcDataSourceInfo getDatasourceInfo(Map<String,String> param) {
         return new DatabendDataSourceInfo(param);
     }
+
+    @Override
+    protected Dialect getDialect() {
+        return new DatabendDialect();
+    }
 }
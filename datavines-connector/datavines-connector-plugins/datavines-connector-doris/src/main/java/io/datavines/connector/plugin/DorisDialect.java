@@ -16,9 +16,22 @@
  */
 package io.datavines.connector.plugin;
 
+import io.datavines.connector.api.DialectCapability;
+
+import java.util.EnumSet;
+import java.util.Set;
+
 public class DorisDialect extends MysqlDialect {
     @Override
     public boolean supportToBeErrorDataStorage() {
         return false;
     }
+
+    @Override
+    public Set<DialectCapability> getCapabilities() {
+        return EnumSet.of(
+                DialectCapability.APPROX_DISTINCT,
+                DialectCapability.APPROX_PERCENTILE,
+                DialectCapability.SERVER_SIDE_CURSOR);
+    }
 }
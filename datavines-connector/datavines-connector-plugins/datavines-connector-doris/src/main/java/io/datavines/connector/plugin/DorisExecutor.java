@@ -18,6 +18,7 @@ package io.datavines.connector.plugin;
 
 import io.datavines.common.datasource.jdbc.BaseJdbcDataSourceInfo;
 import io.datavines.connector.api.DataSourceClient;
+import io.datavines.connector.api.Dialect;
 
 import java.util.Map;
 
@@ -31,4 +32,9 @@ public class DorisExecutor extends MysqlExecutor {
     public BaseJdbcDataSourceInfo getDatasourceInfo(Map<String,String> param) {
         return new DorisDataSourceInfo(param);
     }
+
+    @Override
+    protected Dialect getDialect() {
+        return new DorisDialect();
+    }
 }
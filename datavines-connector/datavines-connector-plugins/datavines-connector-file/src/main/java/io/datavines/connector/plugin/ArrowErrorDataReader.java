@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.connector.plugin;
+
+import io.datavines.common.entity.ListWithQueryColumn;
+import io.datavines.common.entity.QueryColumn;
+import io.datavines.common.utils.DateUtils;
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.TimeMilliVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.TypeLayout;
+import org.apache.arrow.vector.VectorLoader;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.SeekableReadChannel;
+import org.apache.arrow.vector.ipc.message.ArrowBlock;
+import org.apache.arrow.vector.ipc.message.ArrowFieldNode;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.ipc.message.MessageSerializer;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.datavines.common.ConfigConstants.ARROW_BATCH_ROWS;
+import static io.datavines.common.ConfigConstants.ARROW_COLUMN_TYPE;
+
+/**
+ * Reads a page of the Arrow error data file. All the record batches except the last one have the same
+ * number of rows, so only the batches that cover the page are read, and only the buffers of the projected
+ * columns are decompressed and loaded into vectors.
+ */
+public class ArrowErrorDataReader {
+
+    private ArrowErrorDataReader() {
+        throw new UnsupportedOperationException("Construct ArrowErrorDataReader");
+    }
+
+    public static ListWithQueryColumn readForPage(String filePath, int pageNumber, int pageSize, List<String> columns) throws IOException {
+        ListWithQueryColumn listWithQueryColumn = new ListWithQueryColumn();
+        listWithQueryColumn.setPageNumber(pageNumber);
+        listWithQueryColumn.setPageSize(pageSize);
+
+        try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+             FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+             ArrowFileReader reader = new ArrowFileReader(channel, allocator, CommonsCompressionFactory.INSTANCE)) {
+
+            // the footer holds the schema and the position of every batch, no batch is loaded by the reader itself
+            Schema schema = reader.getVectorSchemaRoot().getSchema();
+
+            List<Integer> projection = new ArrayList<>();
+            List<Field> projectedFields = new ArrayList<>();
+            List<QueryColumn> queryColumns = new ArrayList<>();
+            for (int i = 0; i < schema.getFields().size(); i++) {
+                Field field = schema.getFields().get(i);
+                if (CollectionUtils.isEmpty(columns) || columns.contains(field.getName())) {
+                    projection.add(i);
+                    projectedFields.add(field);
+                    queryColumns.add(new QueryColumn(field.getName(), field.getMetadata().getOrDefault(ARROW_COLUMN_TYPE, "")));
+                }
+            }
+            listWithQueryColumn.setColumns(queryColumns);
+
+            List<ArrowBlock> blocks = reader.getRecordBlocks();
+            if (blocks.isEmpty()) {
+                return listWithQueryColumn;
+            }
+
+            SeekableReadChannel in = new SeekableReadChannel(channel);
+            int batchRows = Integer.parseInt(schema.getCustomMetadata().get(ARROW_BATCH_ROWS));
+            try (ArrowRecordBatch lastBatch = readRecordBatch(in, blocks.get(blocks.size() - 1), allocator)) {
+                listWithQueryColumn.setTotalCount((long) (blocks.size() - 1) * batchRows + lastBatch.getLength());
+            }
+
+            long startRow = (long) (pageNumber - 1) * pageSize;
+            List<Map<String, Object>> resultList = new ArrayList<>();
+            try (VectorSchemaRoot root = VectorSchemaRoot.create(new Schema(projectedFields), allocator)) {
+                VectorLoader loader = new VectorLoader(root, CommonsCompressionFactory.INSTANCE);
+                for (int blockIndex = (int) (startRow / batchRows); blockIndex < blocks.size() && resultList.size() < pageSize; blockIndex++) {
+                    try (ArrowRecordBatch batch = readRecordBatch(in, blocks.get(blockIndex), allocator);
+                         ArrowRecordBatch projectedBatch = project(batch, schema, projection)) {
+                        loader.load(projectedBatch);
+                    }
+
+                    int rowIndex = (int) Math.max(0, startRow - (long) blockIndex * batchRows);
+                    for (; rowIndex < root.getRowCount() && resultList.size() < pageSize; rowIndex++) {
+                        Map<String, Object> rowMap = new LinkedHashMap<>();
+                        for (FieldVector vector : root.getFieldVectors()) {
+                            rowMap.put(vector.getName(), getValue(vector, rowIndex));
+                        }
+                        resultList.add(rowMap);
+                    }
+                }
+            }
+            listWithQueryColumn.setResultList(resultList);
+        }
+
+        return listWithQueryColumn;
+    }
+
+    private static ArrowRecordBatch readRecordBatch(SeekableReadChannel in, ArrowBlock block, BufferAllocator allocator) throws IOException {
+        in.setPosition(block.getOffset());
+        ArrowRecordBatch batch = MessageSerializer.deserializeRecordBatch(in, block, allocator);
+        if (batch == null) {
+            throw new IOException("Invalid record batch at offset " + block.getOffset());
+        }
+        return batch;
+    }
+
+    /**
+     * keep the field nodes and the buffers of the projected columns, the buffers are still compressed
+     * and only these ones are decompressed when the batch is loaded
+     */
+    private static ArrowRecordBatch project(ArrowRecordBatch batch, Schema schema, List<Integer> projection) {
+        List<ArrowFieldNode> nodes = new ArrayList<>();
+        List<ArrowBuf> buffers = new ArrayList<>();
+        int bufferIndex = 0;
+        for (int i = 0; i < schema.getFields().size(); i++) {
+            // the writer only writes flat columns, every column has one node
+            int bufferCount = TypeLayout.getTypeBufferCount(schema.getFields().get(i).getType());
+            if (projection.contains(i)) {
+                nodes.add(batch.getNodes().get(i));
+                buffers.addAll(batch.getBuffers().subList(bufferIndex, bufferIndex + bufferCount));
+            }
+            bufferIndex += bufferCount;
+        }
+
+        return new ArrowRecordBatch(batch.getLength(), nodes, buffers, batch.getBodyCompression());
+    }
+    private static Object getValue(FieldVector vector, int index) {
+        if (vector.isNull(index)) {
+            return null;
+        }
+
+        if (vector instanceof DateDayVector) {
+            return DateUtils.format(LocalDate.ofEpochDay(((DateDayVector) vector).get(index)), DateUtils.YYYY_MM_DD);
+        }
+
+        if (vector instanceof TimeStampMilliVector) {
+            return DateUtils.format(((TimeStampMilliVector) vector).getObject(index), DateUtils.YYYY_MM_DD_HH_MM_SS);
+        }
+
+        if (vector instanceof TimeMilliVector) {
+            LocalDateTime time = ((TimeMilliVector) vector).getObject(index);
+            return time.toLocalTime().toString();
+        }
+
+        Object value = vector.getObject(index);
+        if (value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        return String.valueOf(value);
+    }
+}
@@ -26,6 +26,9 @@ import java.sql.Statement;
 import java.util.List;
 import java.util.Map;
 
+import static io.datavines.common.ConfigConstants.ARROW;
+import static io.datavines.common.ConfigConstants.FILE_FORMAT;
+
 public class FileDialect implements Dialect {
 
     @Override
@@ -52,7 +55,7 @@ public class FileDialect implements Dialect {
     public String getErrorDataScript(Map<String, String> configMap) {
         String errorDataFileName = configMap.get("error_data_file_name");
         if (StringUtils.isNotEmpty(errorDataFileName)) {
-            return errorDataFileName + ".csv";
+            return errorDataFileName + (ARROW.equalsIgnoreCase(configMap.get(FILE_FORMAT)) ? "." + ARROW : ".csv");
         }
         return null;
     }
@@ -34,6 +34,8 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static io.datavines.common.ConfigConstants.ARROW;
+
 @Slf4j
 public class FileExecutor implements Executor {
 
@@ -57,7 +59,11 @@ public class FileExecutor implements Executor {
                 pageSize = 10;
             }
 
-            builder.result(readForPage(filePath, pageNumber, pageSize, parameterMap.get("column_separator")));
+            if (filePath.endsWith("." + ARROW)) {
+                builder.result(ArrowErrorDataReader.readForPage(filePath, pageNumber, pageSize, param.getColumns()));
+            } else {
+                builder.result(project(readForPage(filePath, pageNumber, pageSize, parameterMap.get("column_separator")), param.getColumns()));
+            }
         }
 
         return builder.build();
@@ -70,10 +76,26 @@ public class FileExecutor implements Executor {
         Map<String,String> parameterMap = JSONUtils.toMap(param.getDataSourceParam(), String.class, String.class);
         String dir = parameterMap.get("data_dir");
         String filePath = dir +"/" + param.getScript();
-        builder.result(readForPage(filePath,1, 2, parameterMap.get("column_separator")));
+        if (filePath.endsWith("." + ARROW)) {
+            builder.result(ArrowErrorDataReader.readForPage(filePath, 1, 2, param.getColumns()));
+        } else {
+            builder.result(readForPage(filePath,1, 2, parameterMap.get("column_separator")));
+        }
         return builder.build();
     }
 
+    private ListWithQueryColumn project(ListWithQueryColumn listWithQueryColumn, List<String> columns) {
+        if (CollectionUtils.isEmpty(columns) || listWithQueryColumn.getColumns() == null) {
+            return listWithQueryColumn;
+        }
+
+        listWithQueryColumn.setColumns(listWithQueryColumn.getColumns().stream()
+                .filter(column -> columns.contains(column.getName().trim()))
+                .collect(Collectors.toList()));
+        listWithQueryColumn.getResultList().forEach(row -> row.keySet().retainAll(columns));
+        return listWithQueryColumn;
+    }
+
     private List<String> readPartFileContent(String filePath,
                                              int skipLine,
                                              int limit){
@@ -17,11 +17,14 @@
 package io.datavines.connector.plugin;
 
 import io.datavines.common.datasource.jdbc.BaseJdbcDataSourceInfo;
+import io.datavines.common.datasource.jdbc.entity.PartitionInfo;
 import io.datavines.connector.api.DataSourceClient;
 
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 public class HiveConnector extends JdbcConnector {
@@ -50,4 +53,50 @@ public class HiveConnector extends JdbcConnector {
         return null;
     }
 
+    @Override
+    protected String getPartitionsSql(String database, String table) {
+        return "SHOW PARTITIONS `" + database + "`.`" + table + "`";
+    }
+
+    /**
+     * the partition name is like dt=2024-01-01/hr=01, hive only returns the name of the partition,
+     * so the name is also the fingerprint and only the new partitions can be found
+     */
+    @Override
+    protected PartitionInfo getPartitionInfo(ResultSet rs) throws SQLException {
+        String name = rs.getString(1);
+        if (name == null) {
+            return null;
+        }
+
+        List<String> filters = new ArrayList<>();
+        for (String spec : name.split("/")) {
+            int index = spec.indexOf('=');
+            if (index <= 0) {
+                return new PartitionInfo(name, null, name);
+            }
+            String value = unescapePathName(spec.substring(index + 1)).replace("'", "''");
+            filters.add(String.format("`%s` = '%s'", unescapePathName(spec.substring(0, index)), value));
+        }
+
+        return new PartitionInfo(name, "(" + String.join(" and ", filters) + ")", name);
+    }
+
+    private String unescapePathName(String path) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '%' && i + 2 < path.length()) {
+                try {
+                    sb.append((char) Integer.parseInt(path.substring(i + 1, i + 3), 16));
+                    i += 2;
+                    continue;
+                } catch (NumberFormatException e) {
+                    // not an escaped char
+                }
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
 }
@@ -17,6 +17,7 @@
 package io.datavines.connector.plugin;
 
 import io.datavines.common.datasource.jdbc.utils.HiveSqlUtils;
+import io.datavines.connector.api.DialectCapability;
 import io.datavines.connector.api.entity.ResultList;
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,8 +26,10 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 public class HiveDialect extends JdbcDialect {
@@ -45,4 +48,12 @@ public class HiveDialect extends JdbcDialect {
         resultList.add(HiveSqlUtils.getResultObjectMap(errorDataResultSet, metaData));
         return new ResultList(resultList);
     }
+
+    @Override
+    public Set<DialectCapability> getCapabilities() {
+        return EnumSet.of(
+                DialectCapability.APPROX_PERCENTILE,
+                DialectCapability.TABLE_SAMPLE,
+                DialectCapability.SERVER_SIDE_CURSOR);
+    }
 }
@@ -20,6 +20,7 @@ import io.datavines.common.datasource.jdbc.BaseJdbcDataSourceInfo;
 import io.datavines.common.datasource.jdbc.utils.HiveSqlUtils;
 import io.datavines.common.entity.ListWithQueryColumn;
 import io.datavines.connector.api.DataSourceClient;
+import io.datavines.connector.api.Dialect;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.util.Map;
@@ -39,4 +40,9 @@ public class HiveExecutor extends BaseJdbcExecutor {
     protected ListWithQueryColumn query(JdbcTemplate jdbcTemplate, String sql, int limit) {
         return HiveSqlUtils.query(jdbcTemplate, sql, limit);
     }
+
+    @Override
+    protected Dialect getDialect() {
+        return new HiveDialect();
+    }
 }
@@ -16,6 +16,8 @@
  */
 package io.datavines.connector.plugin;
 
+import io.datavines.connector.api.MetricScript;
+
 public class HiveMetricScript extends JdbcMetricScript {
 
     @Override
@@ -24,4 +26,14 @@ public class HiveMetricScript extends JdbcMetricScript {
                 + " from (select if(${column} is null, 'NULL', cast(${column} as string)) as k, count(1) as count from ${table} "
                 + where + " group by ${column} order by count desc limit 50) T";
     }
+
+    @Override
+    public String approxPercentile() {
+        return "percentile_approx(${column}, ${percentile})";
+    }
+
+    @Override
+    public String nativeSampleTable(String table, double fraction) {
+        return table + " TABLESAMPLE(" + MetricScript.samplePercent(fraction) + " PERCENT)";
+    }
 }
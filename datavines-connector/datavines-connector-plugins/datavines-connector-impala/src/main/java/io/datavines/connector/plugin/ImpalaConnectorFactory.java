@@ -20,6 +20,7 @@ import io.datavines.connector.api.Connector;
 import io.datavines.connector.api.ParameterConverter;
 import io.datavines.connector.api.Dialect;
 import io.datavines.connector.api.Executor;
+import io.datavines.connector.api.MetricScript;
 
 public class ImpalaConnectorFactory extends AbstractJdbcConnectorFactory {
 
@@ -42,4 +43,9 @@ public class ImpalaConnectorFactory extends AbstractJdbcConnectorFactory {
     public Executor getExecutor() {
         return new ImpalaExecutor(getDataSourceClient());
     }
+
+    @Override
+    public MetricScript getMetricScript() {
+        return new ImpalaMetricScript();
+    }
 }
@@ -16,10 +16,22 @@
  */
 package io.datavines.connector.plugin;
 
+import io.datavines.connector.api.DialectCapability;
+
+import java.util.EnumSet;
+import java.util.Set;
+
 public class ImpalaDialect extends JdbcDialect {
 
     @Override
     public String getDriver() {
         return "org.apache.hive.jdbc.HiveDriver";
     }
+
+    @Override
+    public Set<DialectCapability> getCapabilities() {
+        return EnumSet.of(
+                DialectCapability.APPROX_DISTINCT,
+                DialectCapability.SERVER_SIDE_CURSOR);
+    }
 }
@@ -21,13 +21,18 @@ import io.datavines.common.datasource.jdbc.utils.SqlUtils;
 import io.datavines.common.entity.ListWithQueryColumn;
 import io.datavines.common.param.ConnectorResponse;
 import io.datavines.common.param.ExecuteRequestParam;
+import io.datavines.common.utils.CommonPropertyUtils;
 import io.datavines.common.utils.JSONUtils;
 import io.datavines.connector.api.DataSourceClient;
+import io.datavines.connector.api.Dialect;
+import io.datavines.connector.api.DialectCapability;
 import io.datavines.connector.api.Executor;
+import io.datavines.connector.api.QueryCursor;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Map;
 
@@ -113,4 +118,64 @@ public abstract class BaseJdbcExecutor implements Executor, IJdbcDataSourceInfo
 
         return builder.build();
     }
+
+    @Override
+    public QueryCursor openCursor(ExecuteRequestParam param) throws Exception {
+        String dataSourceParam = param.getDataSourceParam();
+        Map<String,String> paramMap = JSONUtils.toMap(dataSourceParam);
+        if (MapUtils.isEmpty(paramMap)) {
+            throw new SQLException("jdbc datasource param is no validate");
+        }
+
+        String sql = param.getScript();
+        if (StringUtils.isEmpty(sql)) {
+            throw new SQLException("execute script must not null");
+        }
+
+        Connection connection = dataSourceClient.getConnection(
+                JdbcDataSourceInfoManager.getDatasourceInfo(dataSourceParam, getDatasourceInfo(paramMap)));
+        if (supportsServerSideCursor() && (!param.isPaged() || supportsPausedCursor())) {
+            return new JdbcQueryCursor(connection, sql, getCursorFetchSize(param.getFetchSize()), param.getLimit());
+        }
+
+        // the driver buffers the whole result in memory, so the rows of the cursor are bounded
+        int maxRows = CommonPropertyUtils.getInt(
+                CommonPropertyUtils.QUERY_CURSOR_BUFFERED_MAX_ROWS, CommonPropertyUtils.QUERY_CURSOR_BUFFERED_MAX_ROWS_DEFAULT);
+        int limit = param.getLimit() <= 0 ? maxRows : Math.min(param.getLimit(), maxRows);
+        return new JdbcQueryCursor(connection, sql, param.getFetchSize(), limit);
+    }
+
+    @Override
+    public QueryCursor openCursor(Connection connection, String sql, int fetchSize) throws SQLException {
+        int cursorFetchSize = supportsServerSideCursor() ? getCursorFetchSize(fetchSize) : fetchSize;
+        return new JdbcQueryCursor(connection, sql, cursorFetchSize, 0, false);
+    }
+
+    /**
+     * the dialect of the connector, the cursor only streams the rows when the dialect declares {@link DialectCapability#SERVER_SIDE_CURSOR}
+     * @return dialect
+     */
+    protected abstract Dialect getDialect();
+
+    protected boolean supportsServerSideCursor() {
+        return getDialect().supports(DialectCapability.SERVER_SIDE_CURSOR);
+    }
+
+    /**
+     * whether the streamed cursor can wait between the pages which are fetched by different requests,
+     * a paged cursor of the driver which can not is read with the bounded buffered rows instead
+     * @return whether the streamed cursor can be paused
+     */
+    protected boolean supportsPausedCursor() {
+        return true;
+    }
+
+    /**
+     * the fetch size of the cursor, the drivers which ignore the fetch size can stream the rows by a special value
+     * @param fetchSize requested fetch size
+     * @return fetch size passed to the driver
+     */
+    protected int getCursorFetchSize(int fetchSize) {
+        return fetchSize;
+    }
 }
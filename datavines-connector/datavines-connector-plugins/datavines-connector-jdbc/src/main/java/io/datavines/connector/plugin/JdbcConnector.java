@@ -19,6 +19,7 @@ package io.datavines.connector.plugin;
 import io.datavines.common.datasource.jdbc.*;
 import io.datavines.common.datasource.jdbc.entity.ColumnInfo;
 import io.datavines.common.datasource.jdbc.entity.DatabaseInfo;
+import io.datavines.common.datasource.jdbc.entity.PartitionInfo;
 import io.datavines.common.datasource.jdbc.entity.TableInfo;
 import io.datavines.common.datasource.jdbc.entity.TableColumnInfo;
 import io.datavines.common.param.*;
@@ -36,6 +37,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static io.datavines.common.ConfigConstants.*;
 
@@ -53,6 +56,8 @@ public abstract class JdbcConnector implements Connector, IJdbcDataSourceInfo {
 
     protected static final String TABLE_TYPE = "TABLE_TYPE";
 
+    private static final Pattern RANGE_KEYS_PATTERN = Pattern.compile("keys: \\[([^\\]]*)]");
+
     private final DataSourceClient dataSourceClient;
 
     public JdbcConnector(DataSourceClient dataSourceClient) {
@@ -188,8 +193,81 @@ public abstract class JdbcConnector implements Connector, IJdbcDataSourceInfo {
     }
 
     @Override
-    public ConnectorResponse getPartitions(ConnectorRequestParam param) {
-        return Connector.super.getPartitions(param);
+    public ConnectorResponse getPartitions(GetPartitionsRequestParam param) throws SQLException {
+        ConnectorResponse.ConnectorResponseBuilder builder = ConnectorResponse.builder();
+        String dataSourceParam = param.getDataSourceParam();
+        Map<String,String> paramMap = JSONUtils.toMap(dataSourceParam);
+        if (MapUtils.isEmpty(paramMap)) {
+            throw new SQLException("jdbc datasource param is no validate");
+        }
+
+        List<PartitionInfo> partitionList = new ArrayList<>();
+        String partitionsSql = getPartitionsSql(param.getDataBase(), param.getTable());
+        if (StringUtils.isEmpty(partitionsSql)) {
+            return builder.result(partitionList).build();
+        }
+
+        Connection connection = getConnection(dataSourceParam, paramMap);
+        Statement statement = null;
+        ResultSet rs = null;
+        try {
+            statement = connection.createStatement();
+            rs = statement.executeQuery(partitionsSql);
+            while (rs.next()) {
+                PartitionInfo partitionInfo = getPartitionInfo(rs);
+                if (partitionInfo != null) {
+                    partitionList.add(partitionInfo);
+                }
+            }
+        } finally {
+            JdbcDataSourceUtils.closeResult(rs);
+            if (statement != null) {
+                statement.close();
+            }
+            JdbcDataSourceUtils.releaseConnection(connection);
+        }
+
+        return builder.result(partitionList).build();
+    }
+
+    /**
+     * the sql to list the partitions of the table, null means that the connector does not support partition discovery
+     * @param database database
+     * @param table table
+     * @return partitions sql
+     */
+    protected String getPartitionsSql(String database, String table) {
+        return null;
+    }
+
+    protected PartitionInfo getPartitionInfo(ResultSet rs) throws SQLException {
+        return null;
+    }
+
+    /**
+     * convert the range of a single column range partition of doris or starrocks to filter,
+     * e.g. [types: [DATE]; keys: [2024-01-01]; ..types: [DATE]; keys: [2024-01-02]; )
+     * @param partitionKey partition key
+     * @param range range
+     * @return filter, null if the partition is not a single column range partition
+     */
+    protected String getRangePartitionFilter(String partitionKey, String range) {
+        if (StringUtils.isEmpty(partitionKey) || StringUtils.isEmpty(range) || partitionKey.contains(",")) {
+            return null;
+        }
+
+        List<String> keys = new ArrayList<>();
+        Matcher matcher = RANGE_KEYS_PATTERN.matcher(range);
+        while (matcher.find()) {
+            keys.add(matcher.group(1).trim().replace("'", "''"));
+        }
+
+        if (keys.size() != 2 || keys.get(0).contains(",")) {
+            return null;
+        }
+
+        String column = "`" + partitionKey.trim() + "`";
+        return String.format("(%s >= '%s' and %s < '%s')", column, keys.get(0), column, keys.get(1));
     }
 
     @Override
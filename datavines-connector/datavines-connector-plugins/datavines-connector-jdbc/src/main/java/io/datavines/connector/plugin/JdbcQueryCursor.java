@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.connector.plugin;
+
+import io.datavines.common.entity.QueryColumn;
+import io.datavines.connector.api.QueryCursor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cursor over a forward only, read only result set. The cursor owns its connection until it is closed,
+ * so that the driver keeps the remaining rows on the database side. A connection held by the caller
+ * is only reset, not closed, when the cursor is closed.
+ */
+@Slf4j
+public class JdbcQueryCursor implements QueryCursor {
+
+    private final Connection connection;
+
+    private final boolean autoCommit;
+
+    private final boolean closeConnection;
+
+    private Statement statement;
+
+    private ResultSet resultSet;
+
+    private final List<QueryColumn> columns = new ArrayList<>();
+
+    private boolean exhausted;
+
+    public JdbcQueryCursor(Connection connection, String sql, int fetchSize, int maxRows) throws SQLException {
+        this(connection, sql, fetchSize, maxRows, true);
+    }
+
+    public JdbcQueryCursor(Connection connection, String sql, int fetchSize, int maxRows, boolean closeConnection) throws SQLException {
+        this.connection = connection;
+        this.closeConnection = closeConnection;
+        this.autoCommit = connection.getAutoCommit();
+        try {
+            // some drivers, such as postgresql, only use a server side cursor inside a transaction
+            if (autoCommit) {
+                setAutoCommit(false);
+            }
+            statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            if (maxRows > 0) {
+                statement.setMaxRows(maxRows);
+            }
+            resultSet = statement.executeQuery(sql);
+
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                columns.add(new QueryColumn(metaData.getColumnLabel(i), metaData.getColumnTypeName(i)));
+            }
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public List<QueryColumn> getColumns() {
+        return columns;
+    }
+
+    @Override
+    public List<Map<String, Object>> fetch(int size) throws SQLException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        while (!exhausted && rows.size() < size) {
+            if (!resultSet.next()) {
+                exhausted = true;
+                break;
+            }
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 1; i <= columns.size(); i++) {
+                Object value = resultSet.getObject(i);
+                row.put(columns.get(i - 1).getName(), value instanceof byte[] ? new String((byte[]) value) : value);
+            }
+            rows.add(row);
+        }
+
+        return rows;
+    }
+
+    @Override
+    public boolean hasMore() {
+        return !exhausted;
+    }
+
+    @Override
+    public Statement getStatement() {
+        return statement;
+    }
+
+    @Override
+    public void close() {
+        exhausted = true;
+        closeQuietly(resultSet);
+        closeQuietly(statement);
+        try {
+            if (autoCommit && !connection.getAutoCommit()) {
+                connection.rollback();
+                setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            log.warn("reset the connection of the cursor error", e);
+        }
+        if (closeConnection) {
+            closeQuietly(connection);
+        }
+    }
+
+    private void setAutoCommit(boolean autoCommit) {
+        try {
+            connection.setAutoCommit(autoCommit);
+        } catch (SQLException e) {
+            log.debug("the driver does not support to change the auto commit", e);
+        }
+    }
+
+    private void closeQuietly(AutoCloseable closeable) {
+        if (closeable == null) {
+            return;
+        }
+
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            log.warn("close the resource of the cursor error", e);
+        }
+    }
+}
@@ -214,9 +214,4 @@ public class MongodbConnector implements Connector {
         return Arrays.asList(HOST, PORT);
     }
 
-    @Override
-    public ConnectorResponse getPartitions(ConnectorRequestParam param) {
-        return Connector.super.getPartitions(param);
-    }
-
 }
@@ -16,7 +16,11 @@
  */
 package io.datavines.connector.plugin;
 
+import io.datavines.connector.api.DialectCapability;
+
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
 
 import static io.datavines.common.ConfigConstants.STRING_TYPE;
 
@@ -46,4 +50,10 @@ public class MysqlDialect extends JdbcDialect {
     public String getQuoteIdentifier() {
         return "`";
     }
+
+    @Override
+    public Set<DialectCapability> getCapabilities() {
+        return EnumSet.of(
+                DialectCapability.SERVER_SIDE_CURSOR);
+    }
 }
@@ -18,6 +18,7 @@ package io.datavines.connector.plugin;
 
 import io.datavines.common.datasource.jdbc.BaseJdbcDataSourceInfo;
 import io.datavines.connector.api.DataSourceClient;
+import io.datavines.connector.api.Dialect;
 
 import java.util.Map;
 
@@ -31,4 +32,22 @@ public class MysqlExecutor extends BaseJdbcExecutor {
     public BaseJdbcDataSourceInfo getDatasourceInfo(Map<String,String> param) {
         return new MysqlDataSourceInfo(param);
     }
+
+    @Override
+    protected boolean supportsPausedCursor() {
+        // the streamed result keeps the connection busy and the server waits to write the rest of it,
+        // so it is not kept open until the next page is requested
+        return false;
+    }
+
+    @Override
+    protected int getCursorFetchSize(int fetchSize) {
+        // mysql connector reads the whole result unless the rows are streamed one by one
+        return Integer.MIN_VALUE;
+    }
+
+    @Override
+    protected Dialect getDialect() {
+        return new MysqlDialect();
+    }
 }
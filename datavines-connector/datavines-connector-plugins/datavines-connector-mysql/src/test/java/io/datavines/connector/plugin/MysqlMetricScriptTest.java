@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.connector.plugin;
+
+import io.datavines.connector.api.DialectCapability;
+import io.datavines.connector.api.MetricScript;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * The sql of the mysql dialect is run on h2 in the mysql mode
+ */
+public class MysqlMetricScriptTest {
+
+    private final MysqlDialect dialect = new MysqlDialect();
+
+    private final MetricScript metricScript = new MysqlMetricScript();
+
+    private Connection connection;
+
+    @Before
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:mysql;MODE=MySQL");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table t (v int)");
+            statement.execute("insert into t select mod(x, 4) from system_range(1, 100)");
+        }
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    @Test
+    public void testCapabilities() {
+        Assert.assertTrue(dialect.supports(DialectCapability.SERVER_SIDE_CURSOR));
+        // the streamed rows are not kept open between the pages of a paged cursor
+        Assert.assertFalse(new MysqlExecutor(null).supportsPausedCursor());
+        Assert.assertFalse(dialect.supports(DialectCapability.TABLE_SAMPLE));
+        Assert.assertFalse(dialect.supports(DialectCapability.APPROX_DISTINCT));
+        Assert.assertFalse(dialect.supports(DialectCapability.APPROX_PERCENTILE));
+        Assert.assertNull(metricScript.nativeSampleTable("t", 0.1));
+        Assert.assertNull(metricScript.approxPercentileActualValue("1"));
+    }
+
+    @Test
+    public void testSampleTable() throws SQLException {
+        long all = queryForLong("select count(1) from " + metricScript.sampleTable("t", 0.999999, dialect.getRandomFunction()));
+        long none = queryForLong("select count(1) from " + metricScript.sampleTable("t", 0.000001, dialect.getRandomFunction()));
+        Assert.assertTrue(all > 90);
+        Assert.assertTrue(none < 10);
+    }
+
+    @Test
+    public void testCountDistinctActualValue() throws SQLException {
+        String sql = metricScript.countDistinctActualValue("1")
+                .replace("${column}", "v")
+                .replace("${table}", "t");
+        Assert.assertEquals(4, queryForLong(sql));
+    }
+
+    @Test
+    public void testSumActualValueOnSample() throws SQLException {
+        String sql = metricScript.sumActualValue("1")
+                .replace("${column}", "v")
+                .replace("${table}", metricScript.sampleTable("t", 0.999999, dialect.getRandomFunction()));
+        Assert.assertTrue(queryForLong(sql) > 0);
+    }
+
+    private long queryForLong(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            Assert.assertTrue(resultSet.next());
+            return resultSet.getLong(1);
+        }
+    }
+}
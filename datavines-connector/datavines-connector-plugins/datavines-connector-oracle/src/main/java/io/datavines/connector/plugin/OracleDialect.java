@@ -17,6 +17,10 @@
 package io.datavines.connector.plugin;
 
 import io.datavines.common.utils.StringUtils;
+import io.datavines.connector.api.DialectCapability;
+
+import java.util.EnumSet;
+import java.util.Set;
 
 public class OracleDialect extends JdbcDialect{
 
@@ -40,4 +44,18 @@ public class OracleDialect extends JdbcDialect{
 
         return table;
     }
+
+    @Override
+    public Set<DialectCapability> getCapabilities() {
+        return EnumSet.of(
+                DialectCapability.APPROX_DISTINCT,
+                DialectCapability.APPROX_PERCENTILE,
+                DialectCapability.TABLE_SAMPLE,
+                DialectCapability.SERVER_SIDE_CURSOR);
+    }
+
+    @Override
+    public String getRandomFunction() {
+        return "dbms_random.value";
+    }
 }
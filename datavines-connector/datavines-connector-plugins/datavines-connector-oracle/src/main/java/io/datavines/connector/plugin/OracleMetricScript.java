@@ -16,6 +16,8 @@
  */
 package io.datavines.connector.plugin;
 
+import io.datavines.connector.api.MetricScript;
+
 public class OracleMetricScript extends JdbcMetricScript {
 
     @Override
@@ -39,4 +41,19 @@ public class OracleMetricScript extends JdbcMetricScript {
     public String timeBetweenWithFormat() {
         return "  (to_char(${column}, '${datetime_format}') <= to_char(${deadline_time}, '${datetime_format}') ) AND (to_char(${column}, '${datetime_format}') >= to_char(${begin_time}, '${datetime_format}')) ";
     }
+
+    @Override
+    public String approxCountDistinct() {
+        return "approx_count_distinct(${column})";
+    }
+
+    @Override
+    public String approxPercentile() {
+        return "approx_percentile(${percentile}) within group (order by ${column})";
+    }
+
+    @Override
+    public String nativeSampleTable(String table, double fraction) {
+        return table + " SAMPLE (" + MetricScript.samplePercent(fraction) + ")";
+    }
 }
@@ -16,10 +16,28 @@
  */
 package io.datavines.connector.plugin;
 
+import io.datavines.connector.api.DialectCapability;
+
+import java.util.EnumSet;
+import java.util.Set;
+
 public class PostgreSqlDialect extends JdbcDialect {
 
     @Override
     public String getDriver() {
         return "org.postgresql.Driver";
     }
+
+    @Override
+    public Set<DialectCapability> getCapabilities() {
+        return EnumSet.of(
+                DialectCapability.APPROX_PERCENTILE,
+                DialectCapability.TABLE_SAMPLE,
+                DialectCapability.SERVER_SIDE_CURSOR);
+    }
+
+    @Override
+    public String getRandomFunction() {
+        return "random()";
+    }
 }
@@ -16,6 +16,8 @@
  */
 package io.datavines.connector.plugin;
 
+import io.datavines.connector.api.MetricScript;
+
 public class PostgreSqlMetricScript extends JdbcMetricScript {
 
     @Override
@@ -54,4 +56,18 @@ public class PostgreSqlMetricScript extends JdbcMetricScript {
                 uniqueKey + " from (select case when ${column} is null then 'NULL' else cast(${column} as varchar) end as k, count(1) as count from ${table} " +
                 where + " group by ${column} order by count desc limit 50) T";
     }
+
+    /**
+     * postgresql has no approximate percentile, the exact one is still computed in the database
+     * instead of transferring the values to the engine
+     */
+    @Override
+    public String approxPercentile() {
+        return "percentile_cont(${percentile}) within group (order by ${column})";
+    }
+
+    @Override
+    public String nativeSampleTable(String table, double fraction) {
+        return table + " TABLESAMPLE BERNOULLI (" + MetricScript.samplePercent(fraction) + ")";
+    }
 }
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.connector.plugin;
+
+import io.datavines.connector.api.DialectCapability;
+import io.datavines.connector.api.MetricScript;
+import io.datavines.connector.api.QueryCursor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * The sql of the postgresql dialect is run on h2 in the postgresql mode
+ */
+public class PostgreSqlMetricScriptTest {
+
+    private final PostgreSqlDialect dialect = new PostgreSqlDialect();
+
+    private final MetricScript metricScript = new PostgreSqlMetricScript();
+
+    private Connection connection;
+
+    @Before
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:postgresql;MODE=PostgreSQL");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table t (v int)");
+            statement.execute("insert into t select x from system_range(1, 100)");
+        }
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    @Test
+    public void testCapabilities() {
+        Assert.assertTrue(dialect.supports(DialectCapability.APPROX_PERCENTILE));
+        Assert.assertTrue(dialect.supports(DialectCapability.TABLE_SAMPLE));
+        Assert.assertTrue(dialect.supports(DialectCapability.SERVER_SIDE_CURSOR));
+        Assert.assertFalse(dialect.supports(DialectCapability.APPROX_DISTINCT));
+        Assert.assertNull(metricScript.approxCountDistinctActualValue("1"));
+    }
+
+    @Test
+    public void testApproxPercentile() throws SQLException {
+        String sql = metricScript.approxPercentileActualValue("1")
+                .replace("${percentile}", "0.5")
+                .replace("${column}", "v")
+                .replace("${table}", "t");
+        Assert.assertEquals(50.5, queryForDouble(sql), 0.0);
+    }
+
+    @Test
+    public void testLengthActualValue() throws SQLException {
+        String sql = metricScript.maxLengthActualValue("1")
+                .replace("${column}", "v")
+                .replace("${table}", "t");
+        Assert.assertEquals(3, queryForDouble(sql), 0.0);
+    }
+
+    @Test
+    public void testNativeSampleTable() {
+        Assert.assertEquals("t TABLESAMPLE BERNOULLI (10)", metricScript.nativeSampleTable("t", 0.1));
+    }
+
+    @Test
+    public void testExecutorCursor() throws SQLException {
+        int rows = 0;
+        try (QueryCursor cursor = new PostgreSqlExecutor(null).openCursor(connection, "select v from t", 10)) {
+            while (cursor.hasMore()) {
+                rows += cursor.fetch(10).size();
+            }
+        }
+
+        Assert.assertEquals(100, rows);
+        Assert.assertFalse(connection.isClosed());
+        Assert.assertTrue(connection.getAutoCommit());
+    }
+
+    private double queryForDouble(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            Assert.assertTrue(resultSet.next());
+            return resultSet.getDouble(1);
+        }
+    }
+}
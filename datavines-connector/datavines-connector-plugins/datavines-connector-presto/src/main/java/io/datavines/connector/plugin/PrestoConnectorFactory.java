@@ -49,4 +49,9 @@ public class PrestoConnectorFactory extends AbstractJdbcConnectorFactory {
     public DataSourceClient getDataSourceClient() {
         return new PrestoDataSourceClient();
     }
+
+    @Override
+    public MetricScript getMetricScript() {
+        return new PrestoMetricScript();
+    }
 }
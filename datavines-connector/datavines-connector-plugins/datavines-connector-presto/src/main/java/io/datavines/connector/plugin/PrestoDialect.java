@@ -16,6 +16,11 @@
  */
 package io.datavines.connector.plugin;
 
+import io.datavines.connector.api.DialectCapability;
+
+import java.util.EnumSet;
+import java.util.Set;
+
 public class PrestoDialect extends JdbcDialect {
 
     @Override
@@ -27,4 +32,18 @@ public class PrestoDialect extends JdbcDialect {
     public boolean invalidateItemCanOutput() {
         return false;
     }
+
+    @Override
+    public Set<DialectCapability> getCapabilities() {
+        return EnumSet.of(
+                DialectCapability.APPROX_DISTINCT,
+                DialectCapability.APPROX_PERCENTILE,
+                DialectCapability.TABLE_SAMPLE,
+                DialectCapability.SERVER_SIDE_CURSOR);
+    }
+
+    @Override
+    public String getRandomFunction() {
+        return "random()";
+    }
 }
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.connector.plugin;
+
+import io.datavines.connector.api.MetricScript;
+
+public class PrestoMetricScript extends JdbcMetricScript {
+
+    @Override
+    public String approxCountDistinct() {
+        return "approx_distinct(${column})";
+    }
+
+    @Override
+    public String approxPercentile() {
+        return "approx_percentile(${column}, ${percentile})";
+    }
+
+    @Override
+    public String nativeSampleTable(String table, double fraction) {
+        return table + " TABLESAMPLE BERNOULLI (" + MetricScript.samplePercent(fraction) + ")";
+    }
+}
@@ -17,14 +17,17 @@
 package io.datavines.connector.plugin;
 
 import io.datavines.connector.api.Dialect;
+import io.datavines.connector.api.DialectCapability;
 import io.datavines.connector.api.entity.ResultList;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class SparkDialect implements Dialect {
 
@@ -62,4 +65,12 @@ public class SparkDialect implements Dialect {
     public ResultList getPageFromResultSet(Statement sourceConnectionStatement, ResultSet rs, String sourceTable, int start, int end) throws SQLException {
         return null;
     }
-}
\ No newline at end of file
+
+    @Override
+    public Set<DialectCapability> getCapabilities() {
+        return EnumSet.of(
+                DialectCapability.APPROX_DISTINCT,
+                DialectCapability.APPROX_PERCENTILE,
+                DialectCapability.TABLE_SAMPLE);
+    }
+}
@@ -16,6 +16,8 @@
  */
 package io.datavines.connector.plugin;
 
+import io.datavines.connector.api.MetricScript;
+
 public class SparkMetricScript extends JdbcMetricScript {
 
     @Override
@@ -37,36 +39,51 @@ public class SparkMetricScript extends JdbcMetricScript {
 
     @Override
     public String dailyAvg(String uniqueKey) {
-        return "select round(avg(actual_value),2) as expected_value_" + uniqueKey +
-                " from dv_actual_values where data_time >=date_format(${data_time}, 'yyyy-MM-dd')" +
-                " and data_time < date_add(date_format(${data_time}, 'yyyy-MM-dd'),1) and unique_code = ${unique_code}";
+        return "select round(sum(value_sum) / sum(value_count),2) as expected_value_" + uniqueKey +
+                " from dv_actual_values_daily where data_date >= date_format(${data_time}, 'yyyy-MM-dd')" +
+                " and data_date < date_add(date_format(${data_time}, 'yyyy-MM-dd'),1) and unique_code = ${unique_code}";
     }
 
     @Override
     public String last7DayAvg(String uniqueKey) {
-        return "select round(avg(actual_value),2) as expected_value_" + uniqueKey +
-                " from dv_actual_values where data_time >= date_add(date_format(${data_time}, 'yyyy-MM-dd'),-7)" +
-                " and data_time < date_add(date_format(${data_time}, 'yyyy-MM-dd'),1) and unique_code = ${unique_code}";
+        return "select round(sum(value_sum) / sum(value_count),2) as expected_value_" + uniqueKey +
+                " from dv_actual_values_daily where data_date >= date_add(date_format(${data_time}, 'yyyy-MM-dd'),-7)" +
+                " and data_date < date_add(date_format(${data_time}, 'yyyy-MM-dd'),1) and unique_code = ${unique_code}";
     }
 
     @Override
     public String last30DayAvg(String uniqueKey) {
-        return "select round(avg(actual_value),2) as expected_value_" + uniqueKey +
-                " from dv_actual_values where data_time >= date_add(date_format(${data_time}, 'yyyy-MM-dd'),-30)" +
-                " and data_time < date_add(date_format(${data_time}, 'yyyy-MM-dd'),1) and unique_code = ${unique_code}";
+        return "select round(sum(value_sum) / sum(value_count),2) as expected_value_" + uniqueKey +
+                " from dv_actual_values_daily where data_date >= date_add(date_format(${data_time}, 'yyyy-MM-dd'),-30)" +
+                " and data_date < date_add(date_format(${data_time}, 'yyyy-MM-dd'),1) and unique_code = ${unique_code}";
     }
 
     @Override
     public String monthlyAvg(String uniqueKey) {
-        return "select round(avg(actual_value),2) as expected_value_" + uniqueKey +
-                " from dv_actual_values where  data_time >= date_format(${data_time}, 'yyyy-MM-01')" +
-                " and data_time < date_add(date_format(${data_time}, 'yyyy-MM-dd'),1) and unique_code = ${unique_code}";
+        return "select round(sum(value_sum) / sum(value_count),2) as expected_value_" + uniqueKey +
+                " from dv_actual_values_daily where data_date >= date_format(${data_time}, 'yyyy-MM-01')" +
+                " and data_date < date_add(date_format(${data_time}, 'yyyy-MM-dd'),1) and unique_code = ${unique_code}";
     }
 
     @Override
     public String weeklyAvg(String uniqueKey) {
-        return "select round(avg(actual_value),2) as expected_value_" + uniqueKey +
-                " from dv_actual_values where data_time >= date_sub(date_format(${data_time},'yyyy-MM-dd'), (7- datediff(next_day(date_format(${data_time}, 'yyyy-MM-dd'),'Sunday'),date_format(${data_time}, 'yyyy-MM-dd')))-1)" +
-                " and data_time < date_add(date_format(${data_time}, 'yyyy-MM-dd'),1) and unique_code = ${unique_code}";
+        return "select round(sum(value_sum) / sum(value_count),2) as expected_value_" + uniqueKey +
+                " from dv_actual_values_daily where data_date >= date_sub(date_format(${data_time},'yyyy-MM-dd'), (7- datediff(next_day(date_format(${data_time}, 'yyyy-MM-dd'),'Sunday'),date_format(${data_time}, 'yyyy-MM-dd')))-1)" +
+                " and data_date < date_add(date_format(${data_time}, 'yyyy-MM-dd'),1) and unique_code = ${unique_code}";
+    }
+
+    @Override
+    public String approxCountDistinct() {
+        return "approx_count_distinct(${column})";
+    }
+
+    @Override
+    public String approxPercentile() {
+        return "percentile_approx(${column}, ${percentile})";
+    }
+
+    @Override
+    public String nativeSampleTable(String table, double fraction) {
+        return table + " TABLESAMPLE (" + MetricScript.samplePercent(fraction) + " PERCENT)";
     }
 }
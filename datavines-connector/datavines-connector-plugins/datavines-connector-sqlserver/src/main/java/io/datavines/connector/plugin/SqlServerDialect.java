@@ -16,6 +16,11 @@
  */
 package io.datavines.connector.plugin;
 
+import io.datavines.connector.api.DialectCapability;
+
+import java.util.EnumSet;
+import java.util.Set;
+
 public class SqlServerDialect extends JdbcDialect {
 
     @Override
@@ -28,4 +33,19 @@ public class SqlServerDialect extends JdbcDialect {
         return true;
     }
 
+    @Override
+    public Set<DialectCapability> getCapabilities() {
+        return EnumSet.of(
+                DialectCapability.APPROX_DISTINCT,
+                DialectCapability.TABLE_SAMPLE,
+                DialectCapability.SERVER_SIDE_CURSOR);
+    }
+
+    /**
+     * rand() without a seed is evaluated once for the whole query, the seed of newid() makes it differ for each row
+     */
+    @Override
+    public String getRandomFunction() {
+        return "rand(checksum(newid()))";
+    }
 }
@@ -16,6 +16,8 @@
  */
 package io.datavines.connector.plugin;
 
+import io.datavines.connector.api.MetricScript;
+
 public class SqlServerMetricScript extends JdbcMetricScript {
 
     @Override
@@ -44,4 +46,14 @@ public class SqlServerMetricScript extends JdbcMetricScript {
                 uniqueKey + " from (select iif(${column} is null, 'NULL', cast(${column} as char)) as k, count(1) as count from ${table} " +
                 where + " group by ${column} order by count desc OFFSET 0 ROWS FETCH NEXT 50 ROWS ONLY) T";
     }
+
+    @Override
+    public String approxCountDistinct() {
+        return "approx_count_distinct(${column})";
+    }
+
+    @Override
+    public String nativeSampleTable(String table, double fraction) {
+        return table + " TABLESAMPLE (" + MetricScript.samplePercent(fraction) + " PERCENT)";
+    }
 }
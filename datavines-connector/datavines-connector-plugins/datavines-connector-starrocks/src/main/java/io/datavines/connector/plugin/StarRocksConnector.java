@@ -18,6 +18,7 @@ package io.datavines.connector.plugin;
 
 import io.datavines.common.datasource.jdbc.BaseJdbcDataSourceInfo;
 import io.datavines.common.datasource.jdbc.entity.ColumnInfo;
+import io.datavines.common.datasource.jdbc.entity.PartitionInfo;
 import io.datavines.common.datasource.jdbc.entity.TableColumnInfo;
 import io.datavines.common.datasource.jdbc.entity.TableInfo;
 import io.datavines.common.datasource.jdbc.utils.JdbcDataSourceUtils;
@@ -169,4 +170,16 @@ public class StarRocksConnector extends MysqlConnector {
         java.sql.Statement stmt = connection.createStatement();
         return stmt.executeQuery("select TABLE_NAME, COLUMN_NAME, COLUMN_TYPE ,COLUMN_COMMENT from information_schema.columns where TABLE_SCHEMA = '" + schema + "' AND TABLE_NAME ='" + tableName + "'");
     }
+
+    @Override
+    protected String getPartitionsSql(String database, String table) {
+        return "SHOW PARTITIONS FROM `" + database + "`.`" + table + "`";
+    }
+
+    @Override
+    protected PartitionInfo getPartitionInfo(ResultSet rs) throws SQLException {
+        String filter = getRangePartitionFilter(rs.getString("PartitionKey"), rs.getString("Range"));
+        String fingerprint = rs.getString("VisibleVersion") + "@" + rs.getString("VisibleVersionTime");
+        return new PartitionInfo(rs.getString("PartitionName"), filter, fingerprint);
+    }
 }
@@ -49,4 +49,9 @@ public class TrinoConnectorFactory extends AbstractJdbcConnectorFactory {
     public DataSourceClient getDataSourceClient() {
         return new TrinoDataSourceClient();
     }
+
+    @Override
+    public MetricScript getMetricScript() {
+        return new TrinoMetricScript();
+    }
 }
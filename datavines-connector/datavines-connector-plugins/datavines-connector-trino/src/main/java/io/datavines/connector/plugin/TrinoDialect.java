@@ -16,10 +16,29 @@
  */
 package io.datavines.connector.plugin;
 
+import io.datavines.connector.api.DialectCapability;
+
+import java.util.EnumSet;
+import java.util.Set;
+
 public class TrinoDialect extends JdbcDialect {
 
     @Override
     public String getDriver() {
         return "io.trino.jdbc.TrinoDriver";
     }
+
+    @Override
+    public Set<DialectCapability> getCapabilities() {
+        return EnumSet.of(
+                DialectCapability.APPROX_DISTINCT,
+                DialectCapability.APPROX_PERCENTILE,
+                DialectCapability.TABLE_SAMPLE,
+                DialectCapability.SERVER_SIDE_CURSOR);
+    }
+
+    @Override
+    public String getRandomFunction() {
+        return "random()";
+    }
 }
@@ -23,6 +23,7 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -31,6 +32,7 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
+import java.util.concurrent.CompletableFuture;
 
 @Aspect
 @Slf4j
@@ -54,6 +56,18 @@ public class RefreshTokenAop {
 
         Object result = point.proceed(args);
 
+        // the asynchronous results are wrapped when they complete, the token is refreshed by the request thread
+        if (result instanceof CompletableFuture) {
+            ResultMap resultMap = new ResultMap(tokenManager).successAndRefreshToken(request);
+            return ((CompletableFuture<?>) result).thenApply(payload -> ResponseEntity.ok(resultMap.payload(payload)));
+        }
+
+        // the streaming results such as the server-sent events are written by the handler of their own type
+        MethodSignature signature = (MethodSignature) point.getSignature();
+        if (!signature.getReturnType().isAssignableFrom(ResponseEntity.class)) {
+            return result;
+        }
+
         return ResponseEntity.ok(new ResultMap(tokenManager).successAndRefreshToken(request).payload(result));
     }
 }
@@ -39,6 +39,7 @@ public enum Status {
     INVALID_TOKEN(10010002, "Invalid Token ：{0}", "无效的Token ：{0}"),
     TOKEN_IS_NULL_ERROR(10010003, "Token is Null Error", "Token为空错误"),
     PLEASE_LOGIN(10010004, "Please login", "请登录"),
+    INVALID_PAGE_CURSOR_ERROR(10010005, "Invalid Page Cursor : {0}", "无效的分页游标 : {0}"),
     USERNAME_HAS_BEEN_REGISTERED_ERROR(10020001, "The username {0} has been registered", "用户名 {0} 已被注册过"),
     REGISTER_USER_ERROR(10020002, "Register User {0} Error", "注册用户{0}失败"),
     USERNAME_OR_PASSWORD_ERROR(10020003, "Username or Email Error", "用户名或者密码错误"),
@@ -65,12 +66,16 @@ public enum Status {
     GET_TABLE_LIST_ERROR(12010006, "Get DataSource {0} Database {1} Table List Error", "获取数据源 {0} 数据库 {1} 表列表错误"),
     GET_COLUMN_LIST_ERROR(12010007, "Get DataSource {0} Database {1} Table {2} Column List Error", "获取数据源 {0} 数据库 {1} 表 {2} 字段列表错误"),
     EXECUTE_SCRIPT_ERROR(12010008, "Execute Script {0} Error", "执行脚本 {0} 错误"),
+    GET_PARTITION_LIST_ERROR(12010009, "Get DataSource {0} Database {1} Table {2} Partition List Error", "获取数据源 {0} 数据库 {1} 表 {2} 分区列表错误"),
+    EXECUTE_SCRIPT_CURSOR_NOT_EXIST_ERROR(12010010, "Execute Script Cursor {0} Not Exist Or Expired", "执行脚本游标 {0} 不存在或已过期"),
+    EXECUTE_SCRIPT_CURSOR_LIMIT_ERROR(12010011, "DataSource {0} Has Too Many Open Cursors, Max {1}", "数据源 {0} 打开的游标过多，最多 {1} 个"),
 
     TASK_NOT_EXIST_ERROR(13010001, "Task {0} Not Exist Error", "任务{0}不存在错误"),
     TASK_LOG_PATH_NOT_EXIST_ERROR(13010002, "Task {0} Log Path  Not Exist Error", "任务 {0} 的日志路径不存在错误"),
     TASK_EXECUTE_HOST_NOT_EXIST_ERROR(13010003, "Task Execute Host {0} Not Exist Error", "任务 {0} 的执行服务地址不存在错误"),
 
     TASK_EXECUTE_NOT_RUNNING(13010004, "Taskt {0} has not running", "任务 {0} 还没有开始运行，请稍后重试"),
+    TASK_STREAM_FILTER_IS_NULL_ERROR(13010005, "Task Stream Needs an Execution Id, a Job Id or a Datasource Id", "任务状态订阅至少需要指定运行实例、作业或数据源"),
 
     JOB_PARAMETER_IS_NULL_ERROR(14010001, "Job {0} Parameter is Null Error", "作业 {0} 参数为空错误"),
     CREATE_JOB_ERROR(14010002, "Create Job {0} Error", "创建作业 {0} 错误"),
@@ -83,6 +88,8 @@ public enum Status {
     METRIC_IS_NOT_EXIST(14010009, "The Metric {0} is not exist", "规则 {0} 不存在"),
     MULTI_TABLE_ACCURACY_NOT_SUPPORT_LOCAL_ENGINE(14010010, "Local Engine not support multi table accuracy in one datasource", "Local引擎不支持跨表准确性检查"),
     JOB_PARAMETER_CONTAIN_DUPLICATE_METRIC_ERROR(14010011, "Job {0} Parameter Contain Duplicate Metric", "作业中存在重复的检查规则"),
+    BATCH_SIZE_EXCEED_LIMIT_ERROR(14010012, "Batch Size {0} Exceed the Limit {1}", "批量数量 {0} 超过上限 {1}"),
+    JOB_SAMPLE_FRACTION_INVALID_ERROR(14010013, "Sample Fraction {0} Should be Greater than 0 and not Greater than 1", "采样比例 {0} 应大于 0 且不大于 1"),
 
     JOB_SCHEDULE_EXIST_ERROR(14020001, "Job Schedule is Exist error, id must be not null", "作业定时任务已存在,ID 不能为空"),
     CREATE_JOB_SCHEDULE_ERROR(14020002, "Create Job Schedule {0} Error", "创建作业定时任务 {0} 错误"),
@@ -24,11 +24,13 @@ import io.datavines.common.entity.job.BaseJobParameter;
 import io.datavines.common.exception.DataVinesException;
 import io.datavines.common.utils.*;
 import io.datavines.connector.api.ConnectorFactory;
+import io.datavines.connector.api.DialectCapability;
+import io.datavines.connector.api.MetricScript;
 import io.datavines.metric.api.ExpectedValue;
+import io.datavines.metric.api.MetricType;
 import io.datavines.metric.api.SqlMetric;
 import io.datavines.spi.PluginLoader;
 
-import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.time.LocalDate;
@@ -236,6 +238,22 @@ public abstract class BaseJobConfigurationBuilder implements JobConfigurationBui
         return actualValueSourceConfig;
     }
 
+    /**
+     * the daily rollup of the actual values, the expected values such as last 7 days average are computed from it
+     */
+    protected SourceConfig getActualValueDailySourceConfig() throws DataVinesException {
+
+        SourceConfig actualValueDailySourceConfig = new SourceConfig();
+        ConnectorFactory storageFactory =
+                PluginLoader.getPluginLoader(ConnectorFactory.class)
+                        .getOrCreatePlugin(jobExecutionInfo.getValidateResultDataStorageType());
+
+        actualValueDailySourceConfig.setPlugin(storageFactory.getCategory());
+        actualValueDailySourceConfig.setType(SourceType.METADATA.getDescription());
+        actualValueDailySourceConfig.setConfig(getValidateResultSourceConfigMap(null,"dv_actual_values_daily"));
+        return actualValueDailySourceConfig;
+    }
+
     protected SourceConfig getValidateResultDataSourceConfig(String outputTable) throws DataVinesException {
 
         SourceConfig actualValueSourceConfig = new SourceConfig();
@@ -255,7 +273,8 @@ public abstract class BaseJobConfigurationBuilder implements JobConfigurationBui
         validateResultDataStorageConfig.setPlugin(jobExecutionInfo.getValidateResultDataStorageType());
         Map<String, Object> configMap = getValidateResultSourceConfigMap(
                 ParameterUtils.convertParameterPlaceholders(sql, inputParameter),dbTable);
-        configMap.put(JOB_EXECUTION_ID, jobExecutionInfo.getId());
+        configMap.put(JOB_EXECUTION_ID, StringUtils.isEmpty(inputParameter.get(JOB_EXECUTION_ID)) ?
+                String.valueOf(jobExecutionInfo.getId()) : inputParameter.get(JOB_EXECUTION_ID));
         configMap.put(INVALIDATE_ITEMS_TABLE, inputParameter.get(INVALIDATE_ITEMS_TABLE));
         configMap.put(METRIC_UNIQUE_KEY, inputParameter.get(METRIC_UNIQUE_KEY));
         if (expectedValue != null && StringUtils.isNotEmpty(expectedValue.getKey(inputParameter))) {
@@ -310,12 +329,52 @@ public abstract class BaseJobConfigurationBuilder implements JobConfigurationBui
         return configMap;
     }
 
+    /**
+     * get the table which the metric reads, it is a sample of the table when the job runs in sampling mode,
+     * only the single table metrics are sampled, the metrics comparing two tables always read the whole tables
+     * @param connectorType the connector type whose dialect runs the metric sql
+     * @param metricType metric type
+     * @param table table
+     * @return table or sampled table
+     */
+    protected String getSampleTable(String connectorType, String metricType, String table) {
+        Double sampleFraction = jobExecutionParameter.getSampleFraction();
+        if (sampleFraction == null || sampleFraction <= 0 || sampleFraction >= 1) {
+            return table;
+        }
+
+        SqlMetric sqlMetric = PluginLoader.getPluginLoader(SqlMetric.class).getNewPlugin(metricType);
+        if (sqlMetric.getType() != MetricType.SINGLE_TABLE) {
+            return table;
+        }
+
+        ConnectorFactory connectorFactory = PluginLoader.getPluginLoader(ConnectorFactory.class).getOrCreatePlugin(connectorType);
+        MetricScript metricScript = connectorFactory.getMetricScript();
+        if (connectorFactory.supports(DialectCapability.TABLE_SAMPLE)) {
+            String sampledTable = metricScript.nativeSampleTable(table, sampleFraction);
+            if (sampledTable != null) {
+                return sampledTable;
+            }
+        }
+
+        return metricScript.sampleTable(table, sampleFraction, connectorFactory.getDialect().getRandomFunction());
+    }
+
+    /**
+     * the metric unique key is generated from the job execution id, a job plan compiled without the job execution id
+     * gets a placeholder instead, which is bound by {@link MetricParserUtils#bindMetricUniqueKeys}
+     */
     protected String getMetricUniqueKey(BaseJobParameter parameter) {
-        return DigestUtils.md5Hex(String.format("%s_%s_%s_%s_%s",
-                parameter.getMetricType(),
-                parameter.getMetricParameter().get(DATABASE),
-                parameter.getMetricParameter().get(TABLE),
-                parameter.getMetricParameter().get(COLUMN),
-                jobExecutionInfo.getId())).substring(0,8);
+        if (jobExecutionInfo.getId() == null) {
+            List<BaseJobParameter> metricJobParameterList = jobExecutionParameter.getMetricParameterList();
+            for (int i = 0; i < metricJobParameterList.size(); i++) {
+                if (metricJobParameterList.get(i) == parameter) {
+                    return MetricParserUtils.generateMetricUniqueKeyPlaceholder(i);
+                }
+            }
+            throw new IllegalArgumentException("metric parameter is not in the metric parameter list of the job");
+        }
+
+        return MetricParserUtils.generateMetricUniqueKey(parameter, jobExecutionInfo.getId());
     }
 }
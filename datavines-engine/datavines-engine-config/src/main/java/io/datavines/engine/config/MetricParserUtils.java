@@ -18,6 +18,7 @@ package io.datavines.engine.config;
 
 import io.datavines.common.entity.JobExecutionInfo;
 import io.datavines.common.entity.MappingColumn;
+import io.datavines.common.entity.job.BaseJobParameter;
 import io.datavines.common.utils.Md5Utils;
 import io.datavines.common.utils.ParameterUtils;
 import io.datavines.common.utils.StringUtils;
@@ -25,6 +26,7 @@ import io.datavines.common.utils.StringUtils;
 import io.datavines.engine.common.utils.QuoteIdentifier;
 import io.datavines.metric.api.ConfigItem;
 import io.datavines.spi.PluginLoader;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections4.MapUtils;
 
 import java.time.LocalDateTime;
@@ -33,6 +35,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import io.datavines.common.config.TransformConfig;
 import io.datavines.common.entity.ExecuteSql;
 import io.datavines.metric.api.SqlMetric;
@@ -42,6 +46,14 @@ import static io.datavines.common.ConfigConstants.*;
 
 public class MetricParserUtils {
 
+    /**
+     * the metric unique key of a job plan compiled without the job execution id, it is a part of the view and
+     * column names, so it is made of word characters and ends with an underscore to tell index 1 from index 10
+     */
+    private static final String METRIC_UNIQUE_KEY_PLACEHOLDER = "dv_plan_metric_key_%d_";
+
+    private static final Pattern METRIC_UNIQUE_KEY_PLACEHOLDER_PATTERN = Pattern.compile("dv_plan_metric_key_(\\d+)_");
+
     public static void operateInputParameter(Map<String, String> inputParameter,
                                              SqlMetric sqlMetric,
                                              JobExecutionInfo jobExecutionInfo) {
@@ -53,9 +65,19 @@ public class MetricParserUtils {
         inputParameter.put(METRIC_TYPE, StringUtils.wrapperSingleQuotes(sqlMetric.getType().getDescription()));
         inputParameter.put(METRIC_NAME, StringUtils.wrapperSingleQuotes(sqlMetric.getName()));
         inputParameter.put(METRIC_DIMENSION, StringUtils.wrapperSingleQuotes(sqlMetric.getDimension().getDescription()));
-        inputParameter.put(CREATE_TIME, StringUtils.wrapperSingleQuotes(now));
-        inputParameter.put(UPDATE_TIME, StringUtils.wrapperSingleQuotes(now));
-        inputParameter.put(JOB_EXECUTION_ID, String.valueOf(jobExecutionInfo.getId()));
+
+        // the run-level values may be bound by the caller, e.g. placeholders of a cached job plan
+        if (StringUtils.isEmpty(inputParameter.get(CREATE_TIME))) {
+            inputParameter.put(CREATE_TIME, StringUtils.wrapperSingleQuotes(now));
+        }
+
+        if (StringUtils.isEmpty(inputParameter.get(UPDATE_TIME))) {
+            inputParameter.put(UPDATE_TIME, StringUtils.wrapperSingleQuotes(now));
+        }
+
+        if (StringUtils.isEmpty(inputParameter.get(JOB_EXECUTION_ID))) {
+            inputParameter.put(JOB_EXECUTION_ID, String.valueOf(jobExecutionInfo.getId()));
+        }
 
         if (StringUtils.isEmpty(inputParameter.get(DATA_TIME))) {
             inputParameter.put(DATA_TIME, StringUtils.wrapperSingleQuotes(now));
@@ -65,6 +87,16 @@ public class MetricParserUtils {
             inputParameter.put(DATA_DATE, StringUtils.wrapperSingleQuotes(dateFormat.format(time)));
         }
 
+        // the partition filter only narrows the rows checked by an incremental execution,
+        // the unique code is generated with the filter of the metric, so it is the same for all the executions
+        String partitionFilter = inputParameter.get(PARTITION_FILTER);
+        if (StringUtils.isNotEmpty(partitionFilter) && !inputParameter.containsKey(UNIQUE_CODE_PARAMETER_PREFIX + FILTER)) {
+            String filter = inputParameter.get(FILTER);
+            inputParameter.put(UNIQUE_CODE_PARAMETER_PREFIX + FILTER, filter);
+            boolean hasFilter = !StringUtils.isEmptyOrNullStr(filter) && StringUtils.isNotEmpty(filter.trim());
+            inputParameter.put(FILTER, hasFilter ? "(" + filter + ") and " + partitionFilter : partitionFilter);
+        }
+
         if (StringUtils.isNotEmpty(inputParameter.get(REGEXP_PATTERN))) {
             inputParameter.put(REGEXP_PATTERN, StringUtils.escapeJava(
                     StringUtils.escapeJava(inputParameter.get(REGEXP_PATTERN))));
@@ -108,11 +140,62 @@ public class MetricParserUtils {
         config.put(SQL, ParameterUtils.convertParameterPlaceholders(executeSql.getSql(), inputParameterValueResult));
         config.put(OUTPUT_TABLE, executeSql.getResultTable());
         config.put(INVALIDATE_ITEMS_TABLE, inputParameterValueResult.get(INVALIDATE_ITEMS_TABLE));
+        if (StringUtils.isNotEmpty(executeSql.getSketchType())) {
+            config.put(SKETCH_TYPE, executeSql.getSketchType());
+            config.put(SRC_CONNECTOR_TYPE, inputParameterValueResult.get(SRC_CONNECTOR_TYPE));
+            if (inputParameterValueResult.containsKey(PERCENTILE)) {
+                config.put(PERCENTILE, inputParameterValueResult.get(PERCENTILE));
+            }
+        }
         TransformConfig transformerConfig = new TransformConfig(SQL, config);
         transformerConfig.setType(type);
         transformerConfigList.add(transformerConfig);
     }
 
+    /**
+     * generate the key of the metric in the job execution, it is used by the names of the views and the sinks
+     * @param parameter metric parameter
+     * @param jobExecutionId job execution id
+     * @return metric unique key
+     */
+    public static String generateMetricUniqueKey(BaseJobParameter parameter, Long jobExecutionId) {
+        return DigestUtils.md5Hex(String.format("%s_%s_%s_%s_%s",
+                parameter.getMetricType(),
+                parameter.getMetricParameter().get(DATABASE),
+                parameter.getMetricParameter().get(TABLE),
+                parameter.getMetricParameter().get(COLUMN),
+                jobExecutionId)).substring(0,8);
+    }
+
+    /**
+     * generate the placeholder of the metric unique key, it is used when the job plan is compiled without the job execution id
+     * @param index index of the metric in the metric parameter list
+     * @return metric unique key placeholder
+     */
+    public static String generateMetricUniqueKeyPlaceholder(int index) {
+        return String.format(METRIC_UNIQUE_KEY_PLACEHOLDER, index);
+    }
+
+    /**
+     * replace the metric unique key placeholders of the job plan with the metric unique keys of the job execution
+     * @param plan job plan compiled without the job execution id
+     * @param metricUniqueKeys metric unique keys of the job execution, in the order of the metric parameter list
+     * @return bound job plan
+     */
+    public static String bindMetricUniqueKeys(String plan, List<String> metricUniqueKeys) {
+        Matcher matcher = METRIC_UNIQUE_KEY_PLACEHOLDER_PATTERN.matcher(plan);
+        StringBuffer boundPlan = new StringBuffer(plan.length());
+        while (matcher.find()) {
+            int index = Integer.parseInt(matcher.group(1));
+            if (index >= metricUniqueKeys.size() || metricUniqueKeys.get(index) == null) {
+                throw new IllegalArgumentException("no metric unique key for placeholder " + matcher.group());
+            }
+            matcher.appendReplacement(boundPlan, Matcher.quoteReplacement(metricUniqueKeys.get(index)));
+        }
+        matcher.appendTail(boundPlan);
+        return boundPlan.toString();
+    }
+
     /**
      * the unique code use to get the same type and condition task statistics value
      */
@@ -129,8 +212,10 @@ public class MetricParserUtils {
         Map<String, ConfigItem> configMap = sqlMetric.getConfigMap();
         if (MapUtils.isNotEmpty(configMap)) {
             for(ConfigItem configItem : configMap.values()) {
-                if (StringUtils.isNotEmpty(inputParameterValue.get(configItem.getKey()))) {
-                    newInputParameterValue.put(configItem.getKey(), inputParameterValue.get(configItem.getKey()));
+                String value = inputParameterValue.containsKey(UNIQUE_CODE_PARAMETER_PREFIX + configItem.getKey()) ?
+                        inputParameterValue.get(UNIQUE_CODE_PARAMETER_PREFIX + configItem.getKey()) : inputParameterValue.get(configItem.getKey());
+                if (StringUtils.isNotEmpty(value)) {
+                    newInputParameterValue.put(configItem.getKey(), value);
                 }
             }
         }
@@ -111,6 +111,10 @@ public class LivyTaskSubmitHelper {
     }
 
     public String postToLivy(String livyArgs) {
+        return postToLivy(uri, livyArgs);
+    }
+
+    public String postToLivy(String uri, String livyArgs) {
 
         String needKerberos = configurations.getString("livy.need.kerberos");
         logger.info("Need Kerberos:" + needKerberos);
@@ -24,20 +24,33 @@ import io.datavines.engine.api.env.RuntimeEnvironment;
 import io.datavines.engine.flink.api.stream.FlinkStreamExecution;
 import lombok.Getter;
 import org.apache.flink.api.common.RuntimeExecutionMode;
+import org.apache.flink.streaming.api.CheckpointingMode;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.table.api.StatementSet;
 import org.apache.flink.table.api.bridge.java.StreamTableEnvironment;
 
 import static io.datavines.common.ConfigConstants.BATCH;
+import static io.datavines.common.ConfigConstants.CHECKPOINT_INTERVAL;
+import static io.datavines.common.ConfigConstants.STREAM;
+import static io.datavines.common.ConfigConstants.STREAM_TIMEOUT;
 import static io.datavines.engine.api.EngineConstants.TYPE;
 
 public class FlinkRuntimeEnvironment implements RuntimeEnvironment {
 
+    private static final long DEFAULT_STREAM_TIMEOUT = 3600L;
+
     @Getter
     private StreamExecutionEnvironment env;
 
     @Getter
     private StreamTableEnvironment tableEnv;
 
+    /**
+     * the inserts of all the sinks in stream mode, they are submitted together as one continuous job
+     */
+    @Getter
+    private StatementSet statementSet;
+
     private Config config;
 
     public FlinkRuntimeEnvironment() {
@@ -74,12 +87,36 @@ public class FlinkRuntimeEnvironment implements RuntimeEnvironment {
                 env.setRuntimeMode(RuntimeExecutionMode.BATCH);
             }
 
+            if (isStreaming()) {
+                long checkpointInterval = config.getLong(CHECKPOINT_INTERVAL, 0L);
+                if (checkpointInterval > 0) {
+                    env.enableCheckpointing(checkpointInterval, CheckpointingMode.EXACTLY_ONCE);
+                }
+            }
+
             tableEnv = StreamTableEnvironment.create(env);
+            statementSet = tableEnv.createStatementSet();
         } catch (Exception e) {
             throw new DataVinesException("Failed to prepare Flink environment", e);
         }
     }
 
+    /**
+     * whether the job evaluates the metrics continuously over windows of an unbounded stream
+     */
+    public boolean isStreaming() {
+        return STREAM.equalsIgnoreCase(config.getString(TYPE));
+    }
+
+    /**
+     * how long the continuous job of the stream mode runs before it is cancelled, in seconds,
+     * a missing or non positive value falls back to the default so that the job never holds its slot forever
+     */
+    public long getStreamTimeout() {
+        long timeout = config.getLong(STREAM_TIMEOUT, DEFAULT_STREAM_TIMEOUT);
+        return timeout > 0 ? timeout : DEFAULT_STREAM_TIMEOUT;
+    }
+
     public void stop() {
         try {
             if (env != null) {
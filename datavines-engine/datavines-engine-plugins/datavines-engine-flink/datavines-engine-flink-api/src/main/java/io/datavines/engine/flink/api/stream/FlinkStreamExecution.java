@@ -27,10 +27,13 @@ import io.datavines.engine.flink.api.entity.FLinkColumnInfo;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.table.api.Table;
+import org.apache.flink.table.api.TableResult;
 import org.apache.flink.table.api.bridge.java.StreamTableEnvironment;
 import org.apache.flink.types.Row;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static io.datavines.engine.api.EngineConstants.*;
 
@@ -91,7 +94,21 @@ public class FlinkStreamExecution implements Execution<FlinkStreamSource, FlinkS
             }
         }
 
-        flinkEnv.getEnv().execute();
+        if (flinkEnv.isStreaming()) {
+            // the windowed inserts run as one checkpointed job which does not finish by itself,
+            // it is cancelled when it is still running after the stream timeout
+            TableResult result = flinkEnv.getStatementSet().execute();
+            try {
+                result.await(flinkEnv.getStreamTimeout(), TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                log.info("stream job is still running after {} seconds, cancel it", flinkEnv.getStreamTimeout());
+                if (result.getJobClient().isPresent()) {
+                    result.getJobClient().get().cancel().get();
+                }
+            }
+        } else {
+            flinkEnv.getEnv().execute();
+        }
     }
 
     @Override
@@ -116,6 +133,10 @@ public class FlinkStreamExecution implements Execution<FlinkStreamSource, FlinkS
 
     private void registerTransformTempView(FlinkStreamTransform transform, DataStream<Row> ds) {
         Config config = transform.getConfig();
+        if (ds == null) {
+            return;
+        }
+
         if (config.has(OUTPUT_TABLE)) {
             String tableName = config.getString(OUTPUT_TABLE);
             createTemporaryView(tableName, ds);
@@ -19,8 +19,10 @@ package io.datavines.engine.flink.config;
 import io.datavines.common.config.EnvConfig;
 import io.datavines.common.config.SinkConfig;
 import io.datavines.common.config.SourceConfig;
+import io.datavines.common.config.TransformConfig;
 import io.datavines.common.config.enums.SinkType;
 import io.datavines.common.config.enums.SourceType;
+import io.datavines.common.config.enums.TransformType;
 import io.datavines.common.entity.ConnectorParameter;
 import io.datavines.common.entity.job.BaseJobParameter;
 import io.datavines.common.exception.DataVinesException;
@@ -37,6 +39,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static io.datavines.common.CommonConstants.*;
@@ -46,6 +50,48 @@ import static io.datavines.common.ConfigConstants.TABLE;
 @Slf4j
 public abstract class BaseFlinkConfigurationBuilder extends BaseJobConfigurationBuilder {
 
+    private static final String RUN_MODE = "runMode";
+
+    private static final String WINDOW_TYPE = "windowType";
+
+    private static final String WINDOW_SIZE = "windowSize";
+
+    private static final String WINDOW_SLIDE = "windowSlide";
+
+    private static final String STREAM_TIME_COLUMN = "timeColumn";
+
+    private static final String STREAM_WATERMARK_DELAY = "watermarkDelay";
+
+    private static final String STREAM_CHECKPOINT_INTERVAL = "checkpointInterval";
+
+    private static final String STREAM_CONNECTOR = "streamConnectorOptions";
+
+    private static final String STREAM_RUN_TIMEOUT = "streamTimeout";
+
+    private static final String SCAN_PARTITION_COLUMN_PARAMETER = "scanPartitionColumn";
+
+    private static final String SCAN_PARTITION_NUM_PARAMETER = "scanPartitionNum";
+
+    private static final String SCAN_PARTITION_ROWS_PARAMETER = "scanPartitionRows";
+
+    private static final String FETCH_SIZE_PARAMETER = "fetchSize";
+
+    private static final String HOP = "hop";
+
+    private static final long DEFAULT_WINDOW_SIZE = 60L;
+
+    private static final long DEFAULT_WATERMARK_DELAY = 5L;
+
+    private static final long DEFAULT_CHECKPOINT_INTERVAL = 10000L;
+
+    private static final long DEFAULT_STREAM_TIMEOUT = 3600L;
+
+    private static final Pattern ACTUAL_VALUE_SQL_PATTERN = Pattern.compile(
+            "^\\s*select\\s+(.+?)\\s+as\\s+(actual_value_\\w+)\\s+from\\s+([\\w`.]+)(\\s+where\\s+.+?)?\\s*$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private Map<String, Object> engineParameterMap;
+
     @Override
     protected EnvConfig getEnvConfig() {
         EnvConfig envConfig = new EnvConfig();
@@ -55,10 +101,114 @@ public abstract class BaseFlinkConfigurationBuilder extends BaseJobConfiguration
             configMap = new HashMap<>();
         }
 
+        if (isStreamMode()) {
+            configMap.put(TYPE, STREAM);
+            configMap.put(CHECKPOINT_INTERVAL, getEngineParameterLong(STREAM_CHECKPOINT_INTERVAL, DEFAULT_CHECKPOINT_INTERVAL, 0));
+            configMap.put(STREAM_TIMEOUT, getEngineParameterLong(STREAM_RUN_TIMEOUT, DEFAULT_STREAM_TIMEOUT, 1));
+        }
+
         envConfig.setConfig(configMap);
         return envConfig;
     }
 
+    @Override
+    public void buildTransformConfigs() {
+        super.buildTransformConfigs();
+        List<TransformConfig> transformConfigs = configuration.getTransformParameters();
+        if (!isStreamMode() || CollectionUtils.isEmpty(transformConfigs)) {
+            return;
+        }
+
+        // in stream mode the actual values are evaluated over the windows and emitted once a window closes,
+        // the expected values are not evaluated because the job never finishes
+        List<TransformConfig> streamTransformConfigs = new ArrayList<>();
+        for (TransformConfig transformConfig : transformConfigs) {
+            if (TransformType.ACTUAL_VALUE.getDescription().equals(transformConfig.getType())) {
+                Map<String, Object> config = transformConfig.getConfig();
+                config.put(SQL, getWindowedActualValueSql(String.valueOf(config.get(SQL))));
+                streamTransformConfigs.add(transformConfig);
+            } else if (TransformType.INVALIDATE_ITEMS.getDescription().equals(transformConfig.getType())) {
+                streamTransformConfigs.add(transformConfig);
+            }
+        }
+
+        configuration.setTransformParameters(streamTransformConfigs);
+    }
+
+    /**
+     * whether the job builder supports the stream mode, only the single table metrics can be evaluated over windows
+     */
+    protected boolean isStreamModeSupported() {
+        return false;
+    }
+
+    protected boolean isStreamMode() {
+        return isStreamModeSupported() && STREAM.equalsIgnoreCase(String.valueOf(getEngineParameterMap().get(RUN_MODE)));
+    }
+
+    private String getWindowedActualValueSql(String sql) {
+        Matcher matcher = ACTUAL_VALUE_SQL_PATTERN.matcher(sql);
+        if (!matcher.matches()) {
+            throw new DataVinesException("actual value sql can not be evaluated over windows : " + sql);
+        }
+
+        String timeColumn = (String) getEngineParameterMap().get(STREAM_TIME_COLUMN);
+        String descriptor = "DESCRIPTOR(`" + (StringUtils.isEmpty(timeColumn) ? PROC_TIME : timeColumn) + "`)";
+        long windowSize = getEngineParameterLong(WINDOW_SIZE, DEFAULT_WINDOW_SIZE, 1);
+        String window;
+        if (HOP.equalsIgnoreCase(String.valueOf(getEngineParameterMap().get(WINDOW_TYPE)))) {
+            long windowSlide = getEngineParameterLong(WINDOW_SLIDE, windowSize, 1);
+            window = "TABLE(HOP(TABLE " + matcher.group(3) + ", " + descriptor
+                    + ", INTERVAL '" + windowSlide + "' SECOND, INTERVAL '" + windowSize + "' SECOND))";
+        } else {
+            window = "TABLE(TUMBLE(TABLE " + matcher.group(3) + ", " + descriptor
+                    + ", INTERVAL '" + windowSize + "' SECOND))";
+        }
+
+        return "select " + matcher.group(1) + " as " + matcher.group(2)
+                + ", cast(window_end as timestamp(3)) as " + DATA_TIME
+                + " from " + window
+                + (matcher.group(4) == null ? "" : matcher.group(4))
+                + " group by window_start, window_end";
+    }
+
+    private Map<String, Object> getEngineParameterMap() {
+        if (engineParameterMap == null) {
+            engineParameterMap = StringUtils.isEmpty(jobExecutionInfo.getEngineParameter()) ? new HashMap<>() :
+                    JSONUtils.toMap(jobExecutionInfo.getEngineParameter(), String.class, Object.class);
+            if (engineParameterMap == null) {
+                engineParameterMap = new HashMap<>();
+            }
+        }
+        return engineParameterMap;
+    }
+
+    private long getEngineParameterLong(String key, long defaultValue, long minValue) {
+        Object value = getEngineParameterMap().get(key);
+        if (value == null || StringUtils.isEmpty(String.valueOf(value))) {
+            return defaultValue;
+        }
+
+        long result;
+        try {
+            result = Long.parseLong(String.valueOf(value).trim());
+        } catch (NumberFormatException e) {
+            throw new DataVinesException("engine parameter " + key + " must be an integer : " + value);
+        }
+
+        if (result < minValue) {
+            throw new DataVinesException("engine parameter " + key + " must not be less than " + minValue + " : " + value);
+        }
+        return result;
+    }
+
+    private void putEngineParameter(Map<String, Object> config, String configKey, String parameterKey) {
+        Object value = getEngineParameterMap().get(parameterKey);
+        if (value != null && StringUtils.isNotEmpty(String.valueOf(value))) {
+            config.put(configKey, String.valueOf(value));
+        }
+    }
+
     @Override
     protected List<SourceConfig> getSourceConfigs() throws DataVinesException {
         List<SourceConfig> sourceConfigs = new ArrayList<>();
@@ -256,6 +406,38 @@ public abstract class BaseFlinkConfigurationBuilder extends BaseJobConfiguration
             }
         }
 
+        if (isStreamMode()) {
+            for (SourceConfig sourceConfig : sourceConfigs) {
+                if (!SourceType.SOURCE.getDescription().equals(sourceConfig.getType())) {
+                    continue;
+                }
+                Map<String, Object> config = sourceConfig.getConfig();
+                config.put(STREAM_MODE, true);
+                config.put(WATERMARK_DELAY, getEngineParameterLong(STREAM_WATERMARK_DELAY, DEFAULT_WATERMARK_DELAY, 0));
+                Object timeColumn = getEngineParameterMap().get(STREAM_TIME_COLUMN);
+                if (timeColumn != null) {
+                    config.put(TIME_COLUMN, String.valueOf(timeColumn));
+                }
+                Object connectorOptions = getEngineParameterMap().get(STREAM_CONNECTOR);
+                if (connectorOptions != null) {
+                    config.put(STREAM_CONNECTOR_OPTIONS, connectorOptions instanceof String ?
+                            connectorOptions : JSONUtils.toJsonString(connectorOptions));
+                }
+            }
+        } else {
+            // the bounded jdbc scans are split by the partition column and read by the parallel subtasks
+            for (SourceConfig sourceConfig : sourceConfigs) {
+                if (SourceType.METADATA.getDescription().equals(sourceConfig.getType())) {
+                    continue;
+                }
+                Map<String, Object> config = sourceConfig.getConfig();
+                putEngineParameter(config, SCAN_PARTITION_COLUMN, SCAN_PARTITION_COLUMN_PARAMETER);
+                putEngineParameter(config, SCAN_PARTITION_NUM, SCAN_PARTITION_NUM_PARAMETER);
+                putEngineParameter(config, SCAN_PARTITION_ROWS, SCAN_PARTITION_ROWS_PARAMETER);
+                putEngineParameter(config, FETCH_SIZE, FETCH_SIZE_PARAMETER);
+            }
+        }
+
         return sourceConfigs;
     }
 
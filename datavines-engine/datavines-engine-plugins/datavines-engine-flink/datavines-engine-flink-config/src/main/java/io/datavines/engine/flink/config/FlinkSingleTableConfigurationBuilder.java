@@ -37,6 +37,11 @@ import static io.datavines.engine.config.MetricParserUtils.generateUniqueCode;
 
 public class FlinkSingleTableConfigurationBuilder extends BaseFlinkConfigurationBuilder {
 
+    @Override
+    protected boolean isStreamModeSupported() {
+        return true;
+    }
+
     @Override
     public void buildSinkConfigs() throws DataVinesException {
         List<SinkConfig> sinkConfigs = new ArrayList<>();
@@ -54,6 +59,14 @@ public class FlinkSingleTableConfigurationBuilder extends BaseFlinkConfiguration
 
                 metricInputParameter.put(UNIQUE_CODE, StringUtils.wrapperSingleQuotes(generateUniqueCode(metricInputParameter)));
 
+                if (isStreamMode()) {
+                    // every closed window emits one actual value, its data time is the end of the window
+                    metricInputParameter.put(DATA_TIME, DATA_TIME);
+                    sinkConfigs.add(getValidateResultDataSinkConfig(
+                            expectedValue, FlinkSinkSqlBuilder.getActualValueSql(), "dv_actual_values", metricInputParameter));
+                    continue;
+                }
+
                 //get the actual value storage parameter
                 SinkConfig actualValueSinkConfig = getValidateResultDataSinkConfig(
                         expectedValue, FlinkSinkSqlBuilder.getActualValueSql(), "dv_actual_values", metricInputParameter);
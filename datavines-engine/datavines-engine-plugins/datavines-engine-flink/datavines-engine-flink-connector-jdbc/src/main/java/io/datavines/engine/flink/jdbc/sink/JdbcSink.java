@@ -70,7 +70,11 @@ public class JdbcSink implements FlinkStreamSink {
         String createTableSql = FlinkTableUtils.generateCreateTableStatement(config.getString(DATABASE), config.getString(OUTPUT_TABLE), config.getString(TABLE), columns, config);
         log.info("sink create table sql: {}", createTableSql);
         environment.getTableEnv().executeSql(createTableSql);
-        table.executeInsert(config.getString(OUTPUT_TABLE));
+        if (environment.isStreaming()) {
+            environment.getStatementSet().addInsert(config.getString(OUTPUT_TABLE), table);
+        } else {
+            table.executeInsert(config.getString(OUTPUT_TABLE));
+        }
     }
 
     @Override
@@ -40,20 +40,142 @@ import static io.datavines.common.ConfigConstants.*;
 @Slf4j
 public class JdbcSource implements FlinkStreamSource {
     
+    private static final int DEFAULT_FETCH_SIZE = 10000;
+
+    private static final long DEFAULT_SCAN_PARTITION_ROWS = 1000000L;
+
+    private static final Set<String> PARTITION_COLUMN_TYPES =
+            new HashSet<>(Arrays.asList("INT", "INTEGER", "SMALLINT", "TINYINT", "BIGINT", "MEDIUMINT", "SERIAL", "BIGSERIAL"));
+
     private Config config = new Config();
 
     private final List<FLinkColumnInfo> columns = new ArrayList<>();
 
     @Override
     public DataStream<Row> getData(FlinkRuntimeEnvironment environment) throws Exception {
-        getRowTypeInfo(config.getString(URL), config.getString(USER), config.getString(PASSWORD), "select * from " + config.getString(TABLE));
-        String createTableSql = FlinkTableUtils.generateCreateTableStatement(config.getString(DATABASE), config.getString(OUTPUT_TABLE), config.getString(TABLE), columns, config);
+        Map<String, String> scanOptions = new LinkedHashMap<>();
+        try (Connection conn = getConnection(config.getString(URL), config.getString(USER), config.getString(PASSWORD))) {
+            getRowTypeInfo(conn, "select * from " + config.getString(TABLE));
+            if (!environment.isStreaming()) {
+                scanOptions.putAll(getScanOptions(conn, environment.getEnv().getParallelism()));
+            }
+        }
+
+        String createTableSql = FlinkTableUtils.generateCreateTableStatement(config.getString(DATABASE), config.getString(OUTPUT_TABLE), config.getString(TABLE), columns, config, scanOptions);
         log.info("source create table sql: {}", createTableSql);
         environment.getTableEnv().executeSql(createTableSql);
         return null;
     }
 
-    private void getRowTypeInfo(String jdbcUrl, String user, String password, String query) throws SQLException {
+    /**
+     * split the scan of the table by the configured column or the numeric primary key, the bounds come from
+     * min and max of the column and the number of the partitions from the table statistics and the parallelism
+     */
+    private Map<String, String> getScanOptions(Connection conn, int parallelism) throws SQLException {
+        Map<String, String> scanOptions = new LinkedHashMap<>();
+        scanOptions.put("scan.fetch-size", String.valueOf(config.getInt(FETCH_SIZE, DEFAULT_FETCH_SIZE)));
+
+        String partitionColumn = config.has(SCAN_PARTITION_COLUMN) ? getPartitionColumn(config.getString(SCAN_PARTITION_COLUMN)) : getPrimaryKey(conn);
+        if (StringUtils.isEmptyOrNullStr(partitionColumn)) {
+            return scanOptions;
+        }
+
+        long lowerBound;
+        long upperBound;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("select min(" + partitionColumn + "), max(" + partitionColumn + ") from " + config.getString(TABLE))) {
+            if (!rs.next() || rs.getObject(1) == null || rs.getObject(2) == null) {
+                return scanOptions;
+            }
+            lowerBound = rs.getLong(1);
+            upperBound = rs.getLong(2);
+        }
+
+        long range = upperBound - lowerBound + 1;
+        int partitionNum;
+        if (config.has(SCAN_PARTITION_NUM)) {
+            partitionNum = config.getInt(SCAN_PARTITION_NUM);
+        } else {
+            long rowCount = getEstimatedRowCount(conn);
+            long rows = rowCount > 0 ? Math.min(rowCount, range) : range;
+            long partitionRows = Math.max(1L, config.getLong(SCAN_PARTITION_ROWS, DEFAULT_SCAN_PARTITION_ROWS));
+            partitionNum = (int) Math.min((long) Math.max(parallelism, 1), (rows + partitionRows - 1) / partitionRows);
+        }
+
+        partitionNum = (int) Math.min(partitionNum, range);
+        if (partitionNum <= 1) {
+            return scanOptions;
+        }
+
+        log.info("scan table {} with {} partitions by column {} between {} and {}",
+                config.getString(TABLE), partitionNum, partitionColumn, lowerBound, upperBound);
+        scanOptions.put("scan.partition.column", partitionColumn);
+        scanOptions.put("scan.partition.num", String.valueOf(partitionNum));
+        scanOptions.put("scan.partition.lower-bound", String.valueOf(lowerBound));
+        scanOptions.put("scan.partition.upper-bound", String.valueOf(upperBound));
+        return scanOptions;
+    }
+
+    private String getPrimaryKey(Connection conn) throws SQLException {
+        List<String> primaryKeys = new ArrayList<>();
+        try (ResultSet rs = conn.getMetaData().getPrimaryKeys(conn.getCatalog(), getSchema(), getTableName())) {
+            while (rs.next()) {
+                primaryKeys.add(rs.getString("COLUMN_NAME"));
+            }
+        }
+
+        // only a single integral primary key can be split into the ranges
+        if (primaryKeys.size() != 1) {
+            return null;
+        }
+
+        return findIntegralColumn(primaryKeys.get(0));
+    }
+
+    /**
+     * the configured partition column must be an integral column of the table, because the bounds are read as long values,
+     * the scan is not split when it is not
+     */
+    private String getPartitionColumn(String configuredColumn) {
+        String partitionColumn = findIntegralColumn(configuredColumn);
+        if (partitionColumn == null) {
+            log.warn("scan partition column {} of table {} is not an integral column, the scan is not split",
+                    configuredColumn, config.getString(TABLE));
+        }
+        return partitionColumn;
+    }
+
+    private String findIntegralColumn(String columnName) {
+        return columns.stream()
+                .filter(column -> column.getColumn().equalsIgnoreCase(columnName))
+                .filter(column -> PARTITION_COLUMN_TYPES.contains(column.getDataType().split(" ")[0].split("\\(")[0]))
+                .map(FLinkColumnInfo::getColumn)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private long getEstimatedRowCount(Connection conn) {
+        long rowCount = -1;
+        try (ResultSet rs = conn.getMetaData().getIndexInfo(conn.getCatalog(), getSchema(), getTableName(), false, true)) {
+            while (rs.next()) {
+                rowCount = Math.max(rowCount, rs.getLong("CARDINALITY"));
+            }
+        } catch (SQLException e) {
+            log.warn("get statistics of table {} error", config.getString(TABLE), e);
+        }
+        return rowCount;
+    }
+
+    private String getSchema() {
+        return config.has(SCHEMA) && !StringUtils.isEmptyOrNullStr(config.getString(SCHEMA)) ? config.getString(SCHEMA) : null;
+    }
+
+    private String getTableName() {
+        String table = config.getString(TABLE);
+        return table.substring(table.lastIndexOf('.') + 1);
+    }
+
+    private Connection getConnection(String jdbcUrl, String user, String password) throws SQLException {
         Properties properties = new Properties();
         properties.setProperty(USER, user);
         if (!StringUtils.isEmptyOrNullStr(password)) {
@@ -69,8 +191,11 @@ public class JdbcSource implements FlinkStreamSource {
                 properties.setProperty(values[0], values[1]);
             }
         }
-        try (Connection conn = DriverManager.getConnection(url, properties);
-             PreparedStatement stmt = conn.prepareStatement(query);) {
+        return DriverManager.getConnection(url, properties);
+    }
+
+    private void getRowTypeInfo(Connection conn, String query) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
             ResultSetMetaData metaData = stmt.getMetaData();
             int columnCount = metaData.getColumnCount();
             TypeInformation<?>[] types = new TypeInformation[columnCount];
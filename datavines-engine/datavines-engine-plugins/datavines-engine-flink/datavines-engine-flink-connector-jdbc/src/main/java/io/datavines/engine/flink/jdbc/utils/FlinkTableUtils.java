@@ -17,39 +17,88 @@
 package io.datavines.engine.flink.jdbc.utils;
 
 import io.datavines.common.config.Config;
+import io.datavines.common.utils.JSONUtils;
 import io.datavines.common.utils.StringUtils;
 import io.datavines.engine.common.utils.ParserUtils;
 import io.datavines.engine.flink.api.entity.FLinkColumnInfo;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static io.datavines.common.ConfigConstants.*;
 
 public class FlinkTableUtils {
 
     public static String generateCreateTableStatement(String database, String outputTable, String tableName, List<FLinkColumnInfo> columns, Config config) {
+        return generateCreateTableStatement(database, outputTable, tableName, columns, config, Collections.emptyMap());
+    }
+
+    public static String generateCreateTableStatement(String database, String outputTable, String tableName, List<FLinkColumnInfo> columns,
+                                                      Config config, Map<String, String> scanOptions) {
         StringBuilder createTableSql = new StringBuilder();
         createTableSql.append("CREATE TABLE ").append("`").append(outputTable).append("`").append(" (\n");
 
+        boolean streamMode = Boolean.TRUE.equals(config.getBoolean(STREAM_MODE));
+        String timeColumn = config.getString(TIME_COLUMN);
         for (FLinkColumnInfo column : columns) {
-            createTableSql.append("  `").append(column.getColumn()).append("` ").append(mapDataType(column.getDataType())).append(",\n");
+            String dataType = mapDataType(column.getDataType());
+            if (streamMode && column.getColumn().equals(timeColumn)) {
+                // the event time attribute must be a timestamp with millisecond precision
+                dataType = "TIMESTAMP(3)";
+            }
+            createTableSql.append("  `").append(column.getColumn()).append("` ").append(dataType).append(",\n");
         }
 
-        String url = config.getString("url");
-        url = DatabaseUrlReplacer.replaceDatabase(url, database);
+        if (streamMode) {
+            if (StringUtils.isEmptyOrNullStr(timeColumn)) {
+                createTableSql.append("  `").append(PROC_TIME).append("` AS PROCTIME(),\n");
+            } else {
+                createTableSql.append("  WATERMARK FOR `").append(timeColumn).append("` AS `").append(timeColumn)
+                        .append("` - INTERVAL '").append(config.getLong(WATERMARK_DELAY, 0L)).append("' SECOND,\n");
+            }
+        }
 
         createTableSql.setLength(createTableSql.length() - 2);
         createTableSql.append("\n) WITH (\n");
+
+        if (streamMode && !StringUtils.isEmptyOrNullStr(config.getString(STREAM_CONNECTOR_OPTIONS))) {
+            // the table of the datasource defines the schema, the rows are read from the configured stream connector
+            Map<String, String> options = JSONUtils.toMap(config.getString(STREAM_CONNECTOR_OPTIONS));
+            createTableSql.append(options.entrySet().stream()
+                    .map(option -> "  " + quoteOption(option.getKey()) + " = " + quoteOption(option.getValue()))
+                    .collect(Collectors.joining(",\n")));
+            createTableSql.append("\n)");
+            return createTableSql.toString();
+        }
+
+        String url = config.getString("url");
+        url = DatabaseUrlReplacer.replaceDatabase(url, database);
+
         createTableSql.append("  'connector' = 'jdbc',\n");
-        createTableSql.append("  'url' = '").append(url).append("',\n");
-        createTableSql.append("  'table-name' = '").append(tableName).append("',\n");
+        createTableSql.append("  'url' = ").append(quoteOption(url)).append(",\n");
+        createTableSql.append("  'table-name' = ").append(quoteOption(tableName)).append(",\n");
+        for (Map.Entry<String, String> option : scanOptions.entrySet()) {
+            createTableSql.append("  ").append(quoteOption(option.getKey())).append(" = ").append(quoteOption(option.getValue())).append(",\n");
+        }
         if (!StringUtils.isEmptyOrNullStr(config.getString("password"))) {
-            createTableSql.append("  'password' = '").append(ParserUtils.decode(config.getString("password"))).append("',\n");
+            createTableSql.append("  'password' = ").append(quoteOption(ParserUtils.decode(config.getString("password")))).append(",\n");
         }
-        createTableSql.append("  'username' = '").append(config.getString("user")).append("'\n");
+        createTableSql.append("  'username' = ").append(quoteOption(config.getString("user"))).append("\n");
         createTableSql.append(")");
 
         return createTableSql.toString();
     }
 
+    /**
+     * quote the key or the value of a table option as a string literal, the single quotes in it are doubled,
+     * so an option value can not close the literal and add other options or statements to the ddl
+     */
+    static String quoteOption(String option) {
+        return "'" + (option == null ? "" : option.replace("'", "''")) + "'";
+    }
+
     public static String generateCreateTableStatement(String database, String outputTable, List<FLinkColumnInfo> columns) {
         StringBuilder createTableSql = new StringBuilder();
         createTableSql.append("CREATE TABLE ").append(database).append(".").append(outputTable).append(" (\n");
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.engine.flink.jdbc.utils;
+
+import io.datavines.common.config.Config;
+import io.datavines.engine.flink.api.entity.FLinkColumnInfo;
+import org.apache.flink.table.api.EnvironmentSettings;
+import org.apache.flink.table.api.TableEnvironment;
+import org.apache.flink.table.catalog.ObjectPath;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static io.datavines.common.ConfigConstants.*;
+
+public class FlinkTableUtilsTest {
+
+    @Test
+    public void testQuoteOption() {
+        Assert.assertEquals("'a'", FlinkTableUtils.quoteOption("a"));
+        Assert.assertEquals("'it''s'", FlinkTableUtils.quoteOption("it's"));
+    }
+
+    @Test
+    public void testStreamConnectorOptionsCanNotAddOptions() throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("connector", "datagen");
+        options.put("fields.id.kind", "random', 'number-of-rows' = '1");
+
+        Map<String, Object> configMap = new HashMap<>();
+        configMap.put(STREAM_MODE, true);
+        configMap.put(STREAM_CONNECTOR_OPTIONS, "{\"connector\":\"datagen\",\"fields.id.kind\":\"random', 'number-of-rows' = '1\"}");
+        FLinkColumnInfo column = new FLinkColumnInfo();
+        column.setColumn("id");
+        column.setDataType("BIGINT");
+
+        String ddl = FlinkTableUtils.generateCreateTableStatement("default_database", "t", "t",
+                Collections.singletonList(column), new Config(configMap));
+
+        TableEnvironment tableEnv = TableEnvironment.create(EnvironmentSettings.newInstance().inBatchMode().build());
+        tableEnv.executeSql(ddl);
+        Map<String, String> tableOptions = tableEnv.getCatalog(tableEnv.getCurrentCatalog()).get()
+                .getTable(new ObjectPath(tableEnv.getCurrentDatabase(), "t")).getOptions();
+
+        Assert.assertEquals(options, tableOptions);
+    }
+}
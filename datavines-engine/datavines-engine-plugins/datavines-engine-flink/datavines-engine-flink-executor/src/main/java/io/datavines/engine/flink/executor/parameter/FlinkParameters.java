@@ -18,6 +18,8 @@ package io.datavines.engine.flink.executor.parameter;
 
 import lombok.Data;
 
+import java.util.Map;
+
 @Data
 public class FlinkParameters {
 
@@ -46,4 +48,69 @@ public class FlinkParameters {
     private String jars;
 
     private String tags;
+
+    /**
+     * batch or stream, the stream mode evaluates the metrics continuously over windows
+     */
+    private String runMode;
+
+    /**
+     * tumble or hop
+     */
+    private String windowType;
+
+    /**
+     * window size in seconds
+     */
+    private Long windowSize;
+
+    /**
+     * window slide of the hop window in seconds
+     */
+    private Long windowSlide;
+
+    /**
+     * event time column of the source table, the processing time is used when it is empty
+     */
+    private String timeColumn;
+
+    /**
+     * max out of orderness of the event time in seconds
+     */
+    private Long watermarkDelay;
+
+    /**
+     * checkpoint interval in milliseconds
+     */
+    private Long checkpointInterval;
+
+    /**
+     * how long the stream job runs before it is cancelled in seconds, default one hour
+     */
+    private Long streamTimeout;
+
+    /**
+     * options of the flink connector to read the source table as a stream, such as kafka
+     */
+    private Map<String, String> streamConnectorOptions;
+
+    /**
+     * column to split the scan of the source table, the numeric primary key is used when it is empty
+     */
+    private String scanPartitionColumn;
+
+    /**
+     * number of the scan partitions, it is derived from the row count and the parallelism when it is empty
+     */
+    private Integer scanPartitionNum;
+
+    /**
+     * expected rows of one scan partition when the number of the partitions is derived
+     */
+    private Long scanPartitionRows;
+
+    /**
+     * rows fetched from the database in one round trip
+     */
+    private Integer fetchSize;
 }
@@ -32,6 +32,7 @@ import io.datavines.engine.flink.api.stream.FlinkStreamTransform;
 import java.util.ArrayList;
 import java.util.List;
 
+import static io.datavines.common.ConfigConstants.OUTPUT_TABLE;
 import static io.datavines.common.ConfigConstants.SQL;
 
 public class SqlTransform implements FlinkStreamTransform {
@@ -52,6 +53,12 @@ public class SqlTransform implements FlinkStreamTransform {
             columnInfo.setDataType(column.getDataType().getLogicalType().asSummaryString());
             columns.add(columnInfo);
         });
+
+        if (environment.isStreaming()) {
+            // register the table itself, the conversion to data stream would drop the time attributes needed by the windows
+            tableEnv.createTemporaryView(config.getString(OUTPUT_TABLE), resultTable);
+            return null;
+        }
         return tableEnv.toDataStream(resultTable);
     }
 
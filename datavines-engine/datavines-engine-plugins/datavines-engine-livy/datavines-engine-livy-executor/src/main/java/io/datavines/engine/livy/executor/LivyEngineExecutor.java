@@ -16,6 +16,7 @@
  */
 package io.datavines.engine.livy.executor;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -27,6 +28,8 @@ import io.datavines.engine.executor.core.enums.LivyStates;
 import io.datavines.engine.executor.core.executor.LivyCommandProcess;
 import io.datavines.engine.livy.executor.parameter.LivySparkParameters;
 import io.datavines.engine.livy.executor.parameter.ProgramType;
+import io.datavines.engine.livy.executor.session.LivySession;
+import io.datavines.engine.livy.executor.session.LivySessionPool;
 import io.datavines.engine.livy.executor.utils.StringUtils;
 import org.slf4j.Logger;
 
@@ -37,12 +40,19 @@ import io.datavines.common.utils.JSONUtils;
 import io.datavines.common.utils.LoggerUtils;
 import io.datavines.engine.livy.executor.parameter.SparkParameters;
 
+import static io.datavines.common.ConfigConstants.ISOLATED_SPARK_SESSION;
 import static io.datavines.engine.livy.executor.parameter.SparkConstants.*;
 
 public class LivyEngineExecutor extends AbstractLivyEngineExecutor {
 
+    private static final int SESSION_ACQUIRE_RETRY_COUNT = 2;
+
     private Configurations configurations;
 
+    private volatile LivySession session;
+
+    private volatile Object statementId;
+
     @Override
     public void init(JobExecutionRequest jobExecutionRequest, Logger logger, Configurations configurations) throws Exception {
 
@@ -59,6 +69,11 @@ public class LivyEngineExecutor extends AbstractLivyEngineExecutor {
     @Override
     public void execute() throws Exception {
 
+        if (Boolean.parseBoolean(configurations.getString(LIVY_SESSION_ENABLE, "false"))) {
+            executeInSession();
+            return;
+        }
+
         Map<String, Object> resultMap = livyCommandProcess.post2LivyWithRetry(buildCommand());
         this.processResult = new ProcessResult();
 
@@ -78,6 +93,90 @@ public class LivyEngineExecutor extends AbstractLivyEngineExecutor {
 
     }
 
+    /**
+     * submit the job config as a statement to a warm livy interactive session instead of starting a new batch,
+     * the job runs in its own spark session of the shared driver, so its temp views are isolated
+     */
+    private void executeInSession() throws Exception {
+        this.processResult = new ProcessResult();
+        if (cancel) {
+            logger.info("job execution is cancelled before its statement is submitted");
+            return;
+        }
+
+        LivySessionPool sessionPool = LivySessionPool.getInstance(configurations);
+
+        LivySession acquired = null;
+        for (int i = 0; i < SESSION_ACQUIRE_RETRY_COUNT && acquired == null; i++) {
+            LivySession candidate = sessionPool.acquire();
+            if (candidate.ensureReady(buildSessionCommand())) {
+                acquired = candidate;
+            } else {
+                sessionPool.release(candidate);
+            }
+        }
+
+        if (acquired == null) {
+            logger.error("can not get a ready livy session");
+            return;
+        }
+
+        try {
+            session = acquired;
+            processResult.setProcessId(Integer.valueOf(String.valueOf(acquired.getId())));
+            jobExecutionRequest.setProcessId(processResult.getProcessId());
+            // the cancel may arrive while waiting for the session, the statement is not submitted then
+            if (cancel) {
+                logger.info("job execution is cancelled before its statement is submitted");
+                return;
+            }
+
+            statementId = acquired.submit(buildStatementCode());
+            if (statementId == null) {
+                return;
+            }
+
+            // a cancel which arrives while the statement is being submitted does not see the statement id,
+            // it only records the pending cancel flag, so the statement is cancelled here
+            if (cancel) {
+                acquired.cancel(statementId);
+            }
+
+            Map<String, Object> output = acquired.await(statementId);
+            if (output != null && "ok".equals(output.get("status"))) {
+                processResult.setExitStatusCode(ExecutionStatus.SUCCESS.getCode());
+            } else {
+                logger.error("statement {} of livy session {} failed, output : {}",
+                        statementId, acquired.getId(), JSONUtils.toJsonString(output));
+            }
+        } finally {
+            session = null;
+            statementId = null;
+            sessionPool.release(acquired);
+        }
+
+        logger.info("process result: " + JSONUtils.toJsonString(this.processResult));
+    }
+
+    @Override
+    public void cancel() throws Exception {
+        if (!Boolean.parseBoolean(configurations.getString(LIVY_SESSION_ENABLE, "false"))) {
+            super.cancel();
+            return;
+        }
+
+        // the flag is recorded before the statement id is read, the execute thread reads them the other way round,
+        // so a statement submitted at the same time is cancelled by at least one of them
+        cancel = true;
+
+        // only the statement is cancelled, the session is kept for the other jobs
+        LivySession current = session;
+        Object currentStatementId = statementId;
+        if (current != null && currentStatementId != null) {
+            current.cancel(currentStatementId);
+        }
+    }
+
     @Override
     public void after() throws Exception {
 
@@ -112,6 +211,86 @@ public class LivyEngineExecutor extends AbstractLivyEngineExecutor {
         }
         parameters.setFile(jarLibPath + jarName);
 
+        List<String> jarsList = getJarList(param);
+        logger.info("spark engine jars : {}", JSONUtils.toJsonString(jarsList));
+        parameters.setJars(jarsList);
+
+        List<String> jobConfigList = Collections.singletonList(buildJobConfig(false));
+        parameters.setArgs(jobConfigList);
+
+        setConf(param, parameters);
+
+        String sparkCommand = JSONUtils.toJsonString(parameters);
+
+        logger.info("data quality task command: {}", sparkCommand);
+
+        return sparkCommand;
+    }
+
+    /**
+     * the command to create the livy interactive session, the session is shared by the jobs,
+     * so the resource parameters of the job which creates the session are used
+     */
+    private String buildSessionCommand() {
+
+        SparkParameters param = JSONUtils.parseObject(jobExecutionRequest.getEngineParameter(), SparkParameters.class);
+        assert param != null;
+
+        LivySparkParameters parameters = new LivySparkParameters();
+        checkSet(param, parameters);
+        parameters.setName("datavines-livy-session");
+
+        String jarLibPath = configurations.getString("livy.task.jar.lib.path", "hdfs:///datavines/lib");
+        String jarName = configurations.getString("data.quality.jar.name");
+        if (jarName.startsWith(SLASH_LIB)) {
+            jarName = jarName.replace(SLASH_LIB, "");
+        }
+        List<String> jarsList = getJarList(param);
+        jarsList.add(jarLibPath + jarName);
+        parameters.setJars(jarsList);
+
+        setConf(param, parameters);
+
+        Map<String, Object> sessionCommand = JSONUtils.toMap(JSONUtils.toJsonString(parameters), String.class, Object.class);
+        sessionCommand.remove("className");
+        sessionCommand.remove("file");
+        sessionCommand.remove("args");
+        sessionCommand.values().removeIf(Objects::isNull);
+        sessionCommand.put("kind", "spark");
+
+        return JSONUtils.toJsonString(sessionCommand);
+    }
+
+    private String buildStatementCode() {
+        String jobConfig = Base64.getEncoder().encodeToString(buildJobConfig(true).getBytes(StandardCharsets.UTF_8));
+        return "val dvResult = new io.datavines.engine.spark.core.SparkDataVinesBootstrap().execute("
+                + "Array(new String(java.util.Base64.getDecoder.decode(\"" + jobConfig + "\"), \"UTF-8\")))\n"
+                + "if (dvResult.getExitStatusCode != io.datavines.common.enums.ExecutionStatus.SUCCESS.getCode) "
+                + "throw new IllegalStateException(\"data quality job " + jobExecutionRequest.getJobExecutionId() + " failed\")";
+    }
+
+    private String buildJobConfig(boolean isolatedSession) {
+        DataVinesJobConfig jobConfig = JSONUtils.parseObject(jobExecutionRequest.getApplicationParameter(), DataVinesJobConfig.class);
+
+        String env = jobExecutionRequest.getEnv();
+        Map<String, Object> envMap = parseConfMap(env);
+        if (isolatedSession) {
+            if (envMap == null) {
+                envMap = new HashMap<>();
+            }
+            envMap.put(ISOLATED_SPARK_SESSION, true);
+        }
+
+        if (jobConfig.getEnvConfig() != null) {
+            EnvConfig envConfig = jobConfig.getEnvConfig();
+            envConfig.setConfig(envMap);
+        }
+
+        return JSONUtils.toJsonString(jobConfig);
+    }
+
+    private List<String> getJarList(SparkParameters param) {
+        String jarLibPath = configurations.getString("livy.task.jar.lib.path", "hdfs:///datavines/lib");
         String taskJars = configurations.getString("livy.task.jars");
 
         List<String> jarsList = new ArrayList<>();
@@ -127,34 +306,16 @@ public class LivyEngineExecutor extends AbstractLivyEngineExecutor {
             }
         }
 
-        logger.info("spark engine jars : {}", JSONUtils.toJsonString(jarsList));
-        parameters.setJars(jarsList);
-
-        DataVinesJobConfig jobConfig = JSONUtils.parseObject(jobExecutionRequest.getApplicationParameter(), DataVinesJobConfig.class);
-
-        String env = jobExecutionRequest.getEnv();
-        Map<String, Object> envMap = parseConfMap(env);
-        if (jobConfig.getEnvConfig() != null) {
-            EnvConfig envConfig = jobConfig.getEnvConfig();
-            envConfig.setConfig(envMap);
-        }
-
-        String jsonString = JSONUtils.toJsonString(jobConfig);
-        List<String> jobConfigList = Collections.singletonList(jsonString);
-        parameters.setArgs(jobConfigList);
+        return jarsList;
+    }
 
+    private void setConf(SparkParameters param, LivySparkParameters parameters) {
         String others = param.getOthers();
         if (StringUtils.isNotEmpty(others)) {
             others = others.replace(BAR_CONF, "");
             Map<String, Object> parseConfMap = parseConfMap(others);
             parameters.setConf(parseConfMap);
         }
-
-        String sparkCommand = JSONUtils.toJsonString(parameters);
-
-        logger.info("data quality task command: {}", sparkCommand);
-
-        return sparkCommand;
     }
 
     private List<String> splitToList(String jarLibPath, String taskJars) {
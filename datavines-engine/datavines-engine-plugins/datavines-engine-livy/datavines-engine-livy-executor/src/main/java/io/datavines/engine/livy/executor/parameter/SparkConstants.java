@@ -34,5 +34,23 @@ public class SparkConstants {
 
     public static final String BAR_CONF = "--conf";
 
+    public static final String LIVY_SESSION_ENABLE = "livy.session.enable";
+
+    public static final String LIVY_SESSION_URI = "livy.session.uri";
+
+    public static final String LIVY_SESSION_URI_DEFAULT = "http://localhost:8998/sessions";
+
+    public static final String LIVY_SESSION_POOL_SIZE = "livy.session.pool.size";
+
+    public static final int LIVY_SESSION_POOL_SIZE_DEFAULT = 2;
+
+    public static final String LIVY_SESSION_MAX_CONCURRENCY = "livy.session.max.concurrency";
+
+    public static final int LIVY_SESSION_MAX_CONCURRENCY_DEFAULT = 1;
+
+    public static final String LIVY_SESSION_START_TIMEOUT = "livy.session.start.timeout";
+
+    public static final long LIVY_SESSION_START_TIMEOUT_DEFAULT = 300000L;
+
 
 }
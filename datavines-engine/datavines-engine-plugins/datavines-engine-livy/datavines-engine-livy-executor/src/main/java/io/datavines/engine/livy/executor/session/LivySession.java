@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.engine.livy.executor.session;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.datavines.common.CommonConstants;
+import io.datavines.common.utils.JSONUtils;
+import io.datavines.common.utils.Stopper;
+import io.datavines.engine.executor.core.enums.LivyStates;
+import io.datavines.engine.executor.core.helper.LivyTaskSubmitHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A Livy interactive session, the data quality jobs are submitted to it as statements.
+ */
+public class LivySession {
+
+    private static final Logger logger = LoggerFactory.getLogger(LivySession.class);
+
+    private static final TypeReference<HashMap<String, Object>> TYPE = new TypeReference<HashMap<String, Object>>() {};
+
+    /**
+     * the statement polling fails this many times in a row before the statement is failed
+     */
+    private static final int MAX_POLL_FAILURES = 5;
+
+    private final LivyTaskSubmitHelper livyTaskSubmitHelper;
+
+    private final String sessionUri;
+
+    private final long startTimeout;
+
+    private final long pollInterval;
+
+    private volatile Object id;
+
+    private volatile boolean broken;
+
+    /**
+     * the count of the running statements, guarded by the pool
+     */
+    int running;
+
+    LivySession(LivyTaskSubmitHelper livyTaskSubmitHelper, String sessionUri, long startTimeout) {
+        this(livyTaskSubmitHelper, sessionUri, startTimeout, CommonConstants.SLEEP_TIME_MILLIS);
+    }
+
+    LivySession(LivyTaskSubmitHelper livyTaskSubmitHelper, String sessionUri, long startTimeout, long pollInterval) {
+        this.livyTaskSubmitHelper = livyTaskSubmitHelper;
+        this.sessionUri = sessionUri;
+        this.startTimeout = startTimeout;
+        this.pollInterval = pollInterval;
+    }
+
+    public Object getId() {
+        return id;
+    }
+
+    public boolean isBroken() {
+        return broken;
+    }
+
+    /**
+     * create the session when it is not created yet and wait until it is ready, or check whether the created session is still alive.
+     * The session is deleted only when livy reports that it has ended, a transient error or an unknown state only fails this call
+     * @param createArgs the arguments to create the session
+     * @return whether the session is ready to run the statements
+     */
+    public synchronized boolean ensureReady(String createArgs) {
+        if (broken) {
+            return false;
+        }
+
+        if (id == null) {
+            String result = livyTaskSubmitHelper.postToLivy(sessionUri, createArgs);
+            Map<String, Object> resultMap = result == null ? null : JSONUtils.parseObject(result, TYPE);
+            if (resultMap == null || resultMap.get("id") == null) {
+                logger.error("create livy session error, result : {}", result);
+                broken = true;
+                return false;
+            }
+            id = resultMap.get("id");
+            logger.info("livy session {} is created", id);
+        }
+
+        long deadline = System.currentTimeMillis() + startTimeout;
+        try {
+            while (Stopper.isRunning()) {
+                LivyStates.State state = getState();
+                if (LivyStates.State.IDLE.equals(state) || LivyStates.State.BUSY.equals(state)) {
+                    return true;
+                }
+
+                if (isEnded(state)) {
+                    logger.warn("livy session {} is {}, it will be replaced", id, state);
+                    close();
+                    return false;
+                }
+
+                if (!LivyStates.State.NOT_STARTED.equals(state) && !LivyStates.State.STARTING.equals(state)
+                        && !LivyStates.State.RECOVERING.equals(state)) {
+                    logger.warn("livy session {} is {}", id, state);
+                    return false;
+                }
+
+                if (System.currentTimeMillis() > deadline) {
+                    logger.warn("livy session {} is not ready in {} ms", id, startTimeout);
+                    return false;
+                }
+                Thread.sleep(pollInterval);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (HttpClientErrorException e) {
+            if (HttpStatus.NOT_FOUND.equals(e.getStatusCode())) {
+                // livy has deleted the session
+                logger.warn("livy session {} is not found, it will be replaced", id);
+                close();
+            } else {
+                logger.error("get livy session {} state error", id, e);
+            }
+        } catch (Exception e) {
+            logger.error("get livy session {} state error", id, e);
+        }
+
+        return false;
+    }
+
+    /**
+     * submit the code as a statement
+     * @param code spark scala code
+     * @return statement id, null if the submission failed
+     */
+    public Object submit(String code) {
+        Map<String, Object> statement = new HashMap<>();
+        statement.put("kind", "spark");
+        statement.put("code", code);
+        String result = livyTaskSubmitHelper.postToLivy(getStatementsUri(), JSONUtils.toJsonString(statement));
+        Map<String, Object> resultMap = result == null ? null : JSONUtils.parseObject(result, TYPE);
+        if (resultMap == null || resultMap.get("id") == null) {
+            logger.error("submit statement to livy session {} error, result : {}", id, result);
+            return null;
+        }
+
+        return resultMap.get("id");
+    }
+
+    /**
+     * wait until the statement is finished. The transient polling errors are retried, when the polling keeps failing
+     * only this statement is failed, the session is deleted only when livy reports that it is dead
+     * @param statementId statement id
+     * @return the output of the statement, null if the statement is failed or cancelled
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> await(Object statementId) throws InterruptedException {
+        int failures = 0;
+        while (Stopper.isRunning()) {
+            Map<String, Object> resultMap;
+            try {
+                resultMap = JSONUtils.parseObject(livyTaskSubmitHelper.getFromLivy(getStatementsUri() + "/" + statementId), TYPE);
+                failures = 0;
+            } catch (Exception e) {
+                if (++failures < MAX_POLL_FAILURES) {
+                    logger.warn("get statement {} of livy session {} error, retry {}/{} : {}",
+                            statementId, id, failures, MAX_POLL_FAILURES, e.getMessage());
+                    Thread.sleep(pollInterval);
+                    continue;
+                }
+
+                logger.error("get statement {} of livy session {} error", statementId, id, e);
+                if (isDead()) {
+                    logger.warn("livy session {} is dead, it will be replaced", id);
+                    close();
+                }
+                return null;
+            }
+
+            String state = resultMap == null ? null : String.valueOf(resultMap.get("state"));
+            if ("available".equals(state)) {
+                Object output = resultMap.get("output");
+                return output instanceof Map ? (Map<String, Object>) output : new HashMap<>();
+            }
+
+            if (state == null || "error".equals(state) || "cancelled".equals(state)) {
+                logger.warn("statement {} of livy session {} is {}", statementId, id, state);
+                return null;
+            }
+
+            Thread.sleep(pollInterval);
+        }
+
+        return null;
+    }
+
+    public void cancel(Object statementId) {
+        livyTaskSubmitHelper.postToLivy(getStatementsUri() + "/" + statementId + "/cancel", "{}");
+    }
+
+    /**
+     * delete the session from livy, the session can not be used any more
+     */
+    public void close() {
+        broken = true;
+        if (id == null) {
+            return;
+        }
+
+        try {
+            livyTaskSubmitHelper.deleteByLivy(sessionUri + "/" + id);
+        } catch (Exception e) {
+            logger.warn("delete livy session {} error : {}", id, e.getMessage());
+        }
+    }
+
+    private LivyStates.State getState() {
+        String result = livyTaskSubmitHelper.getFromLivy(sessionUri + "/" + id);
+        Map<String, Object> resultMap = result == null ? null : JSONUtils.parseObject(result, TYPE);
+        if (resultMap == null || resultMap.get("state") == null) {
+            return LivyStates.State.UNKNOWN;
+        }
+        return LivyStates.toLivyState(resultMap);
+    }
+
+    /**
+     * whether livy reports that the session has ended, an unreachable livy server does not mean that the session is dead
+     */
+    private boolean isDead() {
+        LivyStates.State state;
+        try {
+            state = getState();
+        } catch (HttpClientErrorException e) {
+            // livy has deleted the session
+            return HttpStatus.NOT_FOUND.equals(e.getStatusCode());
+        } catch (Exception e) {
+            logger.warn("get livy session {} state error : {}", id, e.getMessage());
+            return false;
+        }
+
+        return isEnded(state);
+    }
+
+    private static boolean isEnded(LivyStates.State state) {
+        return LivyStates.State.DEAD.equals(state) || LivyStates.State.KILLED.equals(state)
+                || LivyStates.State.ERROR.equals(state) || LivyStates.State.SHUTTING_DOWN.equals(state)
+                || LivyStates.State.SUCCESS.equals(state);
+    }
+
+    private String getStatementsUri() {
+        return sessionUri + "/" + id + "/statements";
+    }
+}
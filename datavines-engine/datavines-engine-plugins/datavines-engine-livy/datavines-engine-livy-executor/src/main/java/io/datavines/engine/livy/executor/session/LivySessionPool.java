@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.engine.livy.executor.session;
+
+import io.datavines.common.config.Configurations;
+import io.datavines.engine.executor.core.helper.LivyTaskSubmitHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+import static io.datavines.engine.livy.executor.parameter.SparkConstants.*;
+
+/**
+ * Pool of the warm Livy interactive sessions, one pool for every livy session uri.
+ * Each session runs at most {@code livy.session.max.concurrency} statements at the same time,
+ * the broken sessions are replaced by new ones when they are acquired next time.
+ */
+public class LivySessionPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(LivySessionPool.class);
+
+    private static final Map<String, LivySessionPool> POOLS = new ConcurrentHashMap<>();
+
+    private final LivyTaskSubmitHelper livyTaskSubmitHelper;
+
+    private final String sessionUri;
+
+    private final int maxConcurrency;
+
+    private final long startTimeout;
+
+    private final LivySession[] sessions;
+
+    private final Semaphore permits;
+
+    private LivySessionPool(Configurations configurations, String sessionUri) {
+        this.livyTaskSubmitHelper = new LivyTaskSubmitHelper(configurations);
+        this.sessionUri = sessionUri;
+        this.maxConcurrency = Math.max(1, configurations.getInt(LIVY_SESSION_MAX_CONCURRENCY, LIVY_SESSION_MAX_CONCURRENCY_DEFAULT));
+        this.startTimeout = configurations.getLong(LIVY_SESSION_START_TIMEOUT, LIVY_SESSION_START_TIMEOUT_DEFAULT);
+        int poolSize = Math.max(1, configurations.getInt(LIVY_SESSION_POOL_SIZE, LIVY_SESSION_POOL_SIZE_DEFAULT));
+        this.sessions = new LivySession[poolSize];
+        this.permits = new Semaphore(poolSize * maxConcurrency, true);
+        logger.info("livy session pool of {} is created, pool size : {}, max concurrency : {}", sessionUri, poolSize, maxConcurrency);
+    }
+
+    public static LivySessionPool getInstance(Configurations configurations) {
+        String sessionUri = configurations.getString(LIVY_SESSION_URI, LIVY_SESSION_URI_DEFAULT);
+        return POOLS.computeIfAbsent(sessionUri, uri -> new LivySessionPool(configurations, uri));
+    }
+
+    /**
+     * acquire a session which has a free statement slot, wait when all the sessions are full.
+     * the session may be not started yet, call {@link LivySession#ensureReady} before submitting statements to it
+     * @return session
+     */
+    public LivySession acquire() throws InterruptedException {
+        permits.acquire();
+        synchronized (this) {
+            LivySession selected = null;
+            for (LivySession session : sessions) {
+                if (session != null && !session.isBroken() && session.running < maxConcurrency
+                        && (selected == null || session.running < selected.running)) {
+                    selected = session;
+                }
+            }
+
+            if (selected == null) {
+                for (int i = 0; i < sessions.length; i++) {
+                    if (sessions[i] == null || sessions[i].isBroken()) {
+                        sessions[i] = new LivySession(livyTaskSubmitHelper, sessionUri, startTimeout);
+                        selected = sessions[i];
+                        break;
+                    }
+                }
+            }
+
+            // the permits guarantee that there is always a free slot here
+            selected.running++;
+            return selected;
+        }
+    }
+
+    public void release(LivySession session) {
+        synchronized (this) {
+            session.running--;
+        }
+        permits.release();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.engine.livy.executor;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.datavines.common.config.Configurations;
+import io.datavines.common.entity.JobExecutionRequest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the executor in livy session mode against a local stub livy server.
+ */
+public class LivyEngineExecutorTest {
+
+    private final AtomicInteger submits = new AtomicInteger();
+
+    private final AtomicInteger cancels = new AtomicInteger();
+
+    private volatile boolean cancelWhileSubmitting;
+
+    private HttpServer server;
+
+    private LivyEngineExecutor executor;
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/sessions", this::handle);
+        server.start();
+
+        Properties properties = new Properties();
+        properties.put("livy.need.kerberos", "false");
+        properties.put("livy.session.enable", "true");
+        properties.put("livy.session.uri", "http://127.0.0.1:" + server.getAddress().getPort() + "/sessions");
+        properties.put("livy.task.jars", "datavines-engine-spark.jar");
+        properties.put("data.quality.jar.name", "datavines-engine-spark-core.jar");
+
+        JobExecutionRequest jobExecutionRequest = new JobExecutionRequest();
+        jobExecutionRequest.setJobExecutionId(1L);
+        jobExecutionRequest.setJobExecutionUniqueId("job_1");
+        jobExecutionRequest.setEngineParameter("{}");
+        jobExecutionRequest.setApplicationParameter("{}");
+
+        executor = new LivyEngineExecutor();
+        executor.init(jobExecutionRequest, LoggerFactory.getLogger(LivyEngineExecutorTest.class), new Configurations(properties));
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void cancelBeforeExecuteSubmitsNothing() throws Exception {
+        executor.cancel();
+        executor.execute();
+
+        Assert.assertEquals(0, submits.get());
+        Assert.assertEquals(0, cancels.get());
+    }
+
+    @Test
+    public void cancelWhileSubmittingCancelsTheStatement() throws Exception {
+        cancelWhileSubmitting = true;
+        executor.execute();
+
+        Assert.assertEquals(1, submits.get());
+        Assert.assertEquals(1, cancels.get());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if ("/sessions".equals(path)) {
+            respond(exchange, 201, "{\"id\":1,\"state\":\"idle\"}");
+        } else if ("/sessions/1".equals(path)) {
+            respond(exchange, 200, "{\"id\":1,\"state\":\"idle\"}");
+        } else if ("/sessions/1/statements".equals(path)) {
+            submits.incrementAndGet();
+            if (cancelWhileSubmitting) {
+                // the statement id is not known by the executor yet
+                try {
+                    executor.cancel();
+                } catch (Exception e) {
+                    throw new IOException(e);
+                }
+            }
+            respond(exchange, 201, "{\"id\":7,\"state\":\"waiting\"}");
+        } else if ("/sessions/1/statements/7/cancel".equals(path)) {
+            cancels.incrementAndGet();
+            respond(exchange, 200, "{\"msg\":\"canceled\"}");
+        } else if ("/sessions/1/statements/7".equals(path)) {
+            String state = cancels.get() > 0 ? "cancelled" : "running";
+            respond(exchange, 200, "{\"id\":7,\"state\":\"" + state + "\"}");
+        } else {
+            respond(exchange, 404, "{}");
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.engine.livy.executor.session;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.datavines.common.config.Configurations;
+import io.datavines.engine.executor.core.helper.LivyTaskSubmitHelper;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the session against a local stub livy server.
+ */
+public class LivySessionTest {
+
+    private final AtomicInteger statementGets = new AtomicInteger();
+
+    private final AtomicInteger deletes = new AtomicInteger();
+
+    private volatile int failedStatementGets;
+
+    private volatile boolean sessionGetFails;
+
+    private volatile String sessionState = "idle";
+
+    private HttpServer server;
+
+    private LivySession session;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/sessions", this::handle);
+        server.start();
+
+        Properties properties = new Properties();
+        properties.put("livy.need.kerberos", "false");
+        LivyTaskSubmitHelper helper = new LivyTaskSubmitHelper(new Configurations(properties));
+        session = new LivySession(helper, "http://127.0.0.1:" + server.getAddress().getPort() + "/sessions", 10000, 10);
+        Assert.assertTrue(session.ensureReady("{}"));
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void submitAndAwait() throws InterruptedException {
+        Object statementId = session.submit("println(1)");
+        Assert.assertEquals(7, statementId);
+
+        Map<String, Object> output = session.await(statementId);
+        Assert.assertNotNull(output);
+        Assert.assertEquals("ok", output.get("status"));
+        Assert.assertEquals(2, statementGets.get());
+    }
+
+    @Test
+    public void transientErrorIsRetried() throws InterruptedException {
+        failedStatementGets = 3;
+
+        Map<String, Object> output = session.await(session.submit("println(1)"));
+        Assert.assertNotNull(output);
+        Assert.assertFalse(session.isBroken());
+    }
+
+    @Test
+    public void pollingFailureOnlyFailsTheStatement() throws InterruptedException {
+        failedStatementGets = Integer.MAX_VALUE;
+
+        Assert.assertNull(session.await(session.submit("println(1)")));
+        Assert.assertFalse(session.isBroken());
+        Assert.assertEquals(0, deletes.get());
+    }
+
+    @Test
+    public void deadSessionIsClosed() throws InterruptedException {
+        Object statementId = session.submit("println(1)");
+        failedStatementGets = Integer.MAX_VALUE;
+        sessionState = "dead";
+
+        Assert.assertNull(session.await(statementId));
+        Assert.assertTrue(session.isBroken());
+        Assert.assertEquals(1, deletes.get());
+    }
+
+    @Test
+    public void stateErrorOnlyFailsTheAcquire() {
+        sessionGetFails = true;
+
+        Assert.assertFalse(session.ensureReady("{}"));
+        Assert.assertFalse(session.isBroken());
+        Assert.assertEquals(0, deletes.get());
+
+        sessionGetFails = false;
+        Assert.assertTrue(session.ensureReady("{}"));
+    }
+
+    @Test
+    public void unknownStateOnlyFailsTheAcquire() {
+        sessionState = "unknown";
+
+        Assert.assertFalse(session.ensureReady("{}"));
+        Assert.assertFalse(session.isBroken());
+        Assert.assertEquals(0, deletes.get());
+    }
+
+    @Test
+    public void endedSessionIsClosedOnAcquire() {
+        sessionState = "killed";
+
+        Assert.assertFalse(session.ensureReady("{}"));
+        Assert.assertTrue(session.isBroken());
+        Assert.assertEquals(1, deletes.get());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        if ("DELETE".equals(method)) {
+            deletes.incrementAndGet();
+            respond(exchange, 200, "{}");
+        } else if ("/sessions".equals(path)) {
+            respond(exchange, 201, "{\"id\":1,\"state\":\"starting\"}");
+        } else if ("/sessions/1".equals(path)) {
+            if (sessionGetFails) {
+                respond(exchange, 500, "{}");
+                return;
+            }
+            respond(exchange, 200, "{\"id\":1,\"state\":\"" + sessionState + "\"}");
+        } else if ("/sessions/1/statements".equals(path)) {
+            respond(exchange, 201, "{\"id\":7,\"state\":\"waiting\"}");
+        } else if ("/sessions/1/statements/7".equals(path)) {
+            if (failedStatementGets > 0) {
+                failedStatementGets--;
+                respond(exchange, 500, "{}");
+            } else if (statementGets.incrementAndGet() == 1) {
+                respond(exchange, 200, "{\"id\":7,\"state\":\"running\"}");
+            } else {
+                respond(exchange, 200, "{\"id\":7,\"state\":\"available\",\"output\":{\"status\":\"ok\"}}");
+            }
+        } else {
+            respond(exchange, 404, "{}");
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+}
@@ -75,6 +75,20 @@ public class LocalRuntimeEnvironment implements RuntimeEnvironment {
         return null;
     }
 
+    public void markConnectionNeedValidate() {
+        if (sourceConnection != null) {
+            sourceConnection.markNeedValidate();
+        }
+
+        if (targetConnection != null) {
+            targetConnection.markNeedValidate();
+        }
+
+        if (metadataConnection != null) {
+            metadataConnection.markNeedValidate();
+        }
+    }
+
     public void close() throws Exception {
         if (currentStatement != null) {
             currentStatement.cancel();
@@ -25,37 +25,85 @@ import org.slf4j.Logger;
 import java.sql.Connection;
 import java.sql.SQLException;
 
+import static io.datavines.common.ConfigConstants.CONNECTION_VALIDATE_IDLE_INTERVAL;
 import static io.datavines.common.ConfigConstants.SRC_CONNECTOR_TYPE;
 
+/**
+ * Holds the connection of a local job execution. The connection is only validated after it has been idle
+ * longer than the validate interval or after an error is reported, instead of pinging the database before
+ * every statement.
+ */
 public class ConnectionHolder {
 
     private static final Logger logger = LoggerFactory.getLogger(ConnectionHolder.class);
+
+    private static final long VALIDATE_IDLE_INTERVAL_DEFAULT = 30 * 1000L;
+
+    private static final int VALIDATE_TIMEOUT_SECONDS = 10;
+
     private Connection connection;
 
     private final Config config;
 
+    private final long validateIdleInterval;
+
+    private long lastUsedTime;
+
+    private volatile boolean needValidate;
+
     public ConnectionHolder(Config config){
         this.config = config;
+        this.validateIdleInterval = config.getLong(CONNECTION_VALIDATE_IDLE_INTERVAL, VALIDATE_IDLE_INTERVAL_DEFAULT);
     }
 
     public ConnectionHolder(Connection connection, Config config) {
+        this(config);
         this.connection = connection;
-        this.config = config;
+        this.lastUsedTime = System.currentTimeMillis();
     }
 
     public Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed() || !connection.isValid(10)) {
-            ConnectorFactory connectorFactory = PluginLoader
-                    .getPluginLoader(ConnectorFactory.class)
-                    .getNewPlugin(config.getString(SRC_CONNECTOR_TYPE));
-            connection = connectorFactory.getDataSourceClient().getConnection(config.configMap(), logger);
+        long now = System.currentTimeMillis();
+        if (connection == null || connection.isClosed()) {
+            connection = acquireConnection();
+        } else if (needValidate || now - lastUsedTime > validateIdleInterval) {
+            if (!connection.isValid(VALIDATE_TIMEOUT_SECONDS)) {
+                logger.warn("connection is invalid, will get a new connection");
+                closeQuietly();
+                connection = acquireConnection();
+            }
         }
+
+        needValidate = false;
+        lastUsedTime = now;
         return connection;
     }
 
+    /**
+     * the connection will be validated before it is used next time
+     */
+    public void markNeedValidate() {
+        this.needValidate = true;
+    }
+
     public void close() throws SQLException {
         if (connection != null) {
             connection.close();
         }
     }
+
+    private Connection acquireConnection() {
+        ConnectorFactory connectorFactory = PluginLoader
+                .getPluginLoader(ConnectorFactory.class)
+                .getOrCreatePlugin(config.getString(SRC_CONNECTOR_TYPE));
+        return connectorFactory.getDataSourceClient().getConnection(config.configMap(), logger);
+    }
+
+    private void closeQuietly() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.warn("close invalid connection error", e);
+        }
+    }
 }
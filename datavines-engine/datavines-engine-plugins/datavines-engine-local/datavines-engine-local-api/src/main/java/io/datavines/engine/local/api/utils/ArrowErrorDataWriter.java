@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.engine.local.api.utils;
+
+import io.datavines.common.enums.DataType;
+import io.datavines.common.exception.DataVinesException;
+import io.datavines.common.utils.StringUtils;
+import io.datavines.connector.api.TypeConverter;
+import io.datavines.connector.api.entity.QueryColumn;
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeMilliVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionCodec;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.compression.NoCompressionCodec;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.datavines.common.ConfigConstants.ARROW;
+import static io.datavines.common.ConfigConstants.ARROW_BATCH_ROWS;
+import static io.datavines.common.ConfigConstants.ARROW_COLUMN_TYPE;
+
+/**
+ * Writes the error data into an Arrow IPC file, the columns keep the type of the source and every
+ * record batch except the last one has exactly {@link #BATCH_ROWS} rows, so a page can be located
+ * by its offset without scanning the file.
+ */
+public class ArrowErrorDataWriter implements AutoCloseable {
+
+    public static final int BATCH_ROWS = 1000;
+
+    private final BufferAllocator allocator;
+
+    private final VectorSchemaRoot root;
+
+    private final FileOutputStream outputStream;
+
+    private final ArrowFileWriter writer;
+
+    private final List<String> columnNames = new ArrayList<>();
+
+    private final List<DataType> columnTypes = new ArrayList<>();
+
+    private int batchRowCount = 0;
+
+    public ArrowErrorDataWriter(List<QueryColumn> columns,
+                                String directory,
+                                String name,
+                                TypeConverter typeConverter,
+                                String compression) throws IOException {
+
+        File localErrorDir = new File(directory);
+        if (!localErrorDir.exists()) {
+            org.apache.commons.io.FileUtils.forceMkdir(localErrorDir);
+        }
+
+        List<Field> fields = new ArrayList<>();
+        for (QueryColumn column : columns) {
+            String columnName = column.getName().toLowerCase();
+            DataType dataType = typeConverter.convert(column.getType());
+            Map<String, String> fieldMetadata =
+                    Collections.singletonMap(ARROW_COLUMN_TYPE, dataType.toString().toLowerCase());
+            fields.add(new Field(columnName, new FieldType(true, getArrowType(dataType), null, fieldMetadata), null));
+            columnNames.add(columnName);
+            columnTypes.add(dataType);
+        }
+
+        Map<String, String> schemaMetadata = new HashMap<>();
+        schemaMetadata.put(ARROW_BATCH_ROWS, String.valueOf(BATCH_ROWS));
+
+        this.allocator = new RootAllocator(Long.MAX_VALUE);
+        this.root = VectorSchemaRoot.create(new Schema(fields, schemaMetadata), allocator);
+        this.outputStream = new FileOutputStream(directory + File.separator + name + "." + ARROW, false);
+        CompressionUtil.CodecType codecType = getCodecType(compression);
+        // the commons factory only creates the codecs which really compress
+        CompressionCodec.Factory codecFactory = codecType == CompressionUtil.CodecType.NO_COMPRESSION ?
+                NoCompressionCodec.Factory.INSTANCE : CommonsCompressionFactory.INSTANCE;
+        this.writer = new ArrowFileWriter(root, null, outputStream.getChannel(), Collections.emptyMap(),
+                IpcOption.DEFAULT, codecFactory, codecType);
+        this.writer.start();
+        this.root.allocateNew();
+    }
+
+    /**
+     * append the rows to the file
+     * @param rows rows keyed by the lower case column name
+     * @throws DataVinesException if a value can not be converted to the type of its column
+     */
+    public void write(List<Map<String, Object>> rows) throws IOException {
+        if (rows == null) {
+            return;
+        }
+
+        for (Map<String, Object> row : rows) {
+            for (int i = 0; i < columnNames.size(); i++) {
+                setValue(root.getVector(i), columnTypes.get(i), batchRowCount, row.get(columnNames.get(i)));
+            }
+
+            batchRowCount++;
+            if (batchRowCount == BATCH_ROWS) {
+                flush();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (batchRowCount > 0) {
+                flush();
+            }
+            writer.end();
+        } finally {
+            writer.close();
+            root.close();
+            allocator.close();
+            outputStream.close();
+        }
+    }
+
+    private void flush() throws IOException {
+        root.setRowCount(batchRowCount);
+        writer.writeBatch();
+        root.allocateNew();
+        batchRowCount = 0;
+    }
+
+    private static ArrowType getArrowType(DataType dataType) {
+        switch (dataType) {
+            case BOOLEAN_TYPE:
+                return ArrowType.Bool.INSTANCE;
+            case BYTE_TYPE:
+            case SHORT_TYPE:
+            case INT_TYPE:
+                return new ArrowType.Int(32, true);
+            case LONG_TYPE:
+                return new ArrowType.Int(64, true);
+            case FLOAT_TYPE:
+                return new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+            case DOUBLE_TYPE:
+                return new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+            case DATE_TYPE:
+                return new ArrowType.Date(DateUnit.DAY);
+            case TIME_TYPE:
+                return new ArrowType.Time(TimeUnit.MILLISECOND, 32);
+            case TIMESTAMP_TYPE:
+                return new ArrowType.Timestamp(TimeUnit.MILLISECOND, null);
+            default:
+                // decimals are kept as text because the precision of the source column is unknown here
+                return ArrowType.Utf8.INSTANCE;
+        }
+    }
+
+    private static CompressionUtil.CodecType getCodecType(String compression) {
+        if (StringUtils.isEmpty(compression)) {
+            return CompressionUtil.CodecType.ZSTD;
+        }
+
+        switch (compression.toLowerCase()) {
+            case "none":
+                return CompressionUtil.CodecType.NO_COMPRESSION;
+            case "lz4":
+                return CompressionUtil.CodecType.LZ4_FRAME;
+            default:
+                return CompressionUtil.CodecType.ZSTD;
+        }
+    }
+
+    private static void setValue(FieldVector vector, DataType dataType, int index, Object value) throws DataVinesException {
+        if (value == null) {
+            return;
+        }
+
+        try {
+            switch (dataType) {
+                case BOOLEAN_TYPE:
+                    ((BitVector) vector).setSafe(index, toBoolean(value) ? 1 : 0);
+                    break;
+                case BYTE_TYPE:
+                case SHORT_TYPE:
+                case INT_TYPE:
+                    ((IntVector) vector).setSafe(index, (int) toLong(value));
+                    break;
+                case LONG_TYPE:
+                    ((BigIntVector) vector).setSafe(index, toLong(value));
+                    break;
+                case FLOAT_TYPE:
+                    ((Float4Vector) vector).setSafe(index, (float) toDouble(value));
+                    break;
+                case DOUBLE_TYPE:
+                    ((Float8Vector) vector).setSafe(index, toDouble(value));
+                    break;
+                case DATE_TYPE:
+                    ((DateDayVector) vector).setSafe(index, (int) toLocalDate(value).toEpochDay());
+                    break;
+                case TIME_TYPE:
+                    ((TimeMilliVector) vector).setSafe(index, (int) (toLocalTime(value).toNanoOfDay() / 1_000_000));
+                    break;
+                case TIMESTAMP_TYPE:
+                    ((TimeStampMilliVector) vector).setSafe(index, toLocalDateTime(value).toInstant(ZoneOffset.UTC).toEpochMilli());
+                    break;
+                default:
+                    ((VarCharVector) vector).setSafe(index, String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+                    break;
+            }
+        } catch (RuntimeException e) {
+            // a null would be read back as a missing value, fail instead of hiding the data which is not valid
+            throw new DataVinesException(String.format("can not convert value %s of column %s to %s",
+                    value, vector.getName(), dataType), e);
+        }
+    }
+
+    private static boolean toBoolean(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).intValue() != 0;
+        }
+        String str = String.valueOf(value).trim();
+        return "1".equals(str) || Boolean.parseBoolean(str);
+    }
+
+    private static long toLong(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        return Long.parseLong(String.valueOf(value).trim());
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        return Double.parseDouble(String.valueOf(value).trim());
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        }
+        if (value instanceof java.util.Date) {
+            return ((java.util.Date) value).toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        }
+        if (value instanceof LocalDate) {
+            return (LocalDate) value;
+        }
+        if (value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).toLocalDate();
+        }
+        return LocalDate.parse(String.valueOf(value).trim().substring(0, 10));
+    }
+
+    private static LocalTime toLocalTime(Object value) {
+        if (value instanceof java.sql.Time) {
+            return ((java.sql.Time) value).toLocalTime();
+        }
+        if (value instanceof LocalTime) {
+            return (LocalTime) value;
+        }
+        return LocalTime.parse(String.valueOf(value).trim());
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof java.sql.Timestamp) {
+            return ((java.sql.Timestamp) value).toLocalDateTime();
+        }
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate().atStartOfDay();
+        }
+        if (value instanceof java.util.Date) {
+            return ((java.util.Date) value).toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
+        }
+        if (value instanceof LocalDateTime) {
+            return (LocalDateTime) value;
+        }
+        if (value instanceof LocalDate) {
+            return ((LocalDate) value).atStartOfDay();
+        }
+        return LocalDateTime.parse(String.valueOf(value).trim().replace(' ', 'T'));
+    }
+}
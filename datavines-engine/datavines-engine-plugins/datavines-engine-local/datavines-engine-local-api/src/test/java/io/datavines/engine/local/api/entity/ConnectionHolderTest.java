@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.engine.local.api.entity;
+
+import io.datavines.common.config.Config;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.datavines.common.ConfigConstants.CONNECTION_VALIDATE_IDLE_INTERVAL;
+
+public class ConnectionHolderTest {
+
+    private final AtomicInteger validateCount = new AtomicInteger();
+
+    @Test
+    public void testNoValidateWithinIdleInterval() throws SQLException {
+        Connection connection = fakeConnection();
+        ConnectionHolder holder = new ConnectionHolder(connection, config(60 * 1000L));
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertSame(connection, holder.getConnection());
+        }
+        Assert.assertEquals(0, validateCount.get());
+    }
+
+    @Test
+    public void testValidateAfterIdleInterval() throws Exception {
+        Connection connection = fakeConnection();
+        ConnectionHolder holder = new ConnectionHolder(connection, config(20L));
+
+        Thread.sleep(50);
+        Assert.assertSame(connection, holder.getConnection());
+        Assert.assertEquals(1, validateCount.get());
+
+        holder.getConnection();
+        Assert.assertEquals(1, validateCount.get());
+    }
+
+    @Test
+    public void testValidateOnceAfterMarked() throws SQLException {
+        Connection connection = fakeConnection();
+        ConnectionHolder holder = new ConnectionHolder(connection, config(60 * 1000L));
+
+        holder.markNeedValidate();
+        Assert.assertSame(connection, holder.getConnection());
+        Assert.assertEquals(1, validateCount.get());
+
+        holder.getConnection();
+        Assert.assertEquals(1, validateCount.get());
+    }
+
+    private Config config(long validateIdleInterval) {
+        Map<String, Object> configMap = new HashMap<>();
+        configMap.put(CONNECTION_VALIDATE_IDLE_INTERVAL, validateIdleInterval);
+        return new Config(configMap);
+    }
+
+    private Connection fakeConnection() {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "isValid":
+                            validateCount.incrementAndGet();
+                            return true;
+                        case "isClosed":
+                            return false;
+                        case "close":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.engine.local.api.utils;
+
+import io.datavines.common.entity.ListWithQueryColumn;
+import io.datavines.common.enums.DataType;
+import io.datavines.common.exception.DataVinesException;
+import io.datavines.connector.api.TypeConverter;
+import io.datavines.connector.api.entity.QueryColumn;
+import io.datavines.connector.plugin.ArrowErrorDataReader;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ArrowErrorDataWriterTest {
+
+    private static final TypeConverter TYPE_CONVERTER = new TypeConverter() {
+        @Override
+        public DataType convert(String originType) {
+            return DataType.valueOf(originType);
+        }
+
+        @Override
+        public String convertToOriginType(DataType dataType) {
+            return dataType.name();
+        }
+    };
+
+    private static final List<QueryColumn> COLUMNS = Arrays.asList(
+            new QueryColumn("ID", "LONG_TYPE", ""),
+            new QueryColumn("AGE", "INT_TYPE", ""),
+            new QueryColumn("SCORE", "DOUBLE_TYPE", ""),
+            new QueryColumn("ACTIVE", "BOOLEAN_TYPE", ""),
+            new QueryColumn("BIRTHDAY", "DATE_TYPE", ""),
+            new QueryColumn("UPDATED_AT", "TIMESTAMP_TYPE", ""),
+            new QueryColumn("AMOUNT", "BIG_DECIMAL_TYPE", ""),
+            new QueryColumn("NAME", "STRING_TYPE", ""));
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTripKeepsTypesAndNulls() throws Exception {
+        Map<String, Object> nullRow = new HashMap<>();
+        nullRow.put("id", 2L);
+        String filePath = write("round_trip", null, Arrays.asList(row(1), nullRow));
+
+        ListWithQueryColumn page = ArrowErrorDataReader.readForPage(filePath, 1, 10, null);
+
+        Assert.assertEquals(2, page.getTotalCount());
+        Assert.assertEquals(Arrays.asList("id@@long_type", "age@@int_type", "score@@double_type", "active@@boolean_type",
+                "birthday@@date_type", "updated_at@@timestamp_type", "amount@@big_decimal_type", "name@@string_type"),
+                columnsOf(page));
+
+        Map<String, Object> first = page.getResultList().get(0);
+        Assert.assertEquals(1L, first.get("id"));
+        Assert.assertEquals(21, first.get("age"));
+        Assert.assertEquals(1.5d, first.get("score"));
+        Assert.assertEquals(false, first.get("active"));
+        Assert.assertEquals("2020-01-02", first.get("birthday"));
+        Assert.assertEquals("2020-01-02 03:04:05", first.get("updated_at"));
+        Assert.assertEquals("12.30", first.get("amount"));
+        Assert.assertEquals("name-1", first.get("name"));
+
+        Map<String, Object> second = page.getResultList().get(1);
+        Assert.assertEquals(2L, second.get("id"));
+        for (String column : Arrays.asList("age", "score", "active", "birthday", "updated_at", "amount", "name")) {
+            Assert.assertTrue(second.containsKey(column));
+            Assert.assertNull(second.get(column));
+        }
+    }
+
+    @Test
+    public void testPageAcrossRecordBatches() throws Exception {
+        int rowCount = ArrowErrorDataWriter.BATCH_ROWS * 2 + 500;
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(row(i));
+        }
+        String filePath = write("paging", null, rows);
+
+        ListWithQueryColumn page = ArrowErrorDataReader.readForPage(filePath, 2, 700, null);
+        Assert.assertEquals(rowCount, page.getTotalCount());
+        Assert.assertEquals(700, page.getResultList().size());
+        Assert.assertEquals(700L, page.getResultList().get(0).get("id"));
+        Assert.assertEquals(1399L, page.getResultList().get(699).get("id"));
+
+        ListWithQueryColumn lastPage = ArrowErrorDataReader.readForPage(filePath, 4, 700, null);
+        Assert.assertEquals(400, lastPage.getResultList().size());
+        Assert.assertEquals(2100L, lastPage.getResultList().get(0).get("id"));
+        Assert.assertEquals((long) rowCount - 1, lastPage.getResultList().get(399).get("id"));
+
+        ListWithQueryColumn overPage = ArrowErrorDataReader.readForPage(filePath, 5, 700, null);
+        Assert.assertTrue(overPage.getResultList().isEmpty());
+        Assert.assertEquals(rowCount, overPage.getTotalCount());
+    }
+
+    @Test
+    public void testReadOnlyProjectedColumns() throws Exception {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < ArrowErrorDataWriter.BATCH_ROWS + 10; i++) {
+            rows.add(row(i));
+        }
+        String filePath = write("projection", null, rows);
+
+        ListWithQueryColumn page = ArrowErrorDataReader.readForPage(filePath, 1, 1005, Arrays.asList("name", "id"));
+
+        // the columns keep the order of the file
+        Assert.assertEquals(Arrays.asList("id@@long_type", "name@@string_type"), columnsOf(page));
+        Map<String, Object> last = page.getResultList().get(1004);
+        Assert.assertEquals(Arrays.asList("id", "name"), new ArrayList<>(last.keySet()));
+        Assert.assertEquals(1004L, last.get("id"));
+        Assert.assertEquals("name-1004", last.get("name"));
+    }
+
+    @Test
+    public void testEveryCompressionIsReadBack() throws Exception {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < ArrowErrorDataWriter.BATCH_ROWS + 1; i++) {
+            rows.add(row(i));
+        }
+
+        ListWithQueryColumn expected = ArrowErrorDataReader.readForPage(write("none", "none", rows), 1, rows.size(), null);
+        Assert.assertEquals(rows.size(), expected.getResultList().size());
+        long uncompressedSize = new File(folder.getRoot(), "none.arrow").length();
+        for (String compression : Arrays.asList("lz4", "zstd")) {
+            ListWithQueryColumn page = ArrowErrorDataReader.readForPage(write(compression, compression, rows), 1, rows.size(), null);
+            Assert.assertEquals(expected.getResultList(), page.getResultList());
+            Assert.assertTrue(new File(folder.getRoot(), compression + ".arrow").length() < uncompressedSize);
+        }
+    }
+
+    @Test
+    public void testValueOfAnotherTypeFails() throws Exception {
+        Map<String, Object> row = row(1);
+        row.put("age", "twenty");
+
+        try {
+            write("invalid", null, Collections.singletonList(row));
+            Assert.fail("the value which can not be converted should not be written as null");
+        } catch (DataVinesException e) {
+            Assert.assertTrue(e.getMessage().contains("age"));
+        }
+    }
+
+    private String write(String name, String compression, List<Map<String, Object>> rows) throws Exception {
+        try (ArrowErrorDataWriter writer = new ArrowErrorDataWriter(COLUMNS, folder.getRoot().getAbsolutePath(), name,
+                TYPE_CONVERTER, compression)) {
+            writer.write(rows);
+        }
+        return new File(folder.getRoot(), name + ".arrow").getAbsolutePath();
+    }
+
+    private Map<String, Object> row(int id) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", (long) id);
+        row.put("age", String.valueOf(20 + id % 50));
+        row.put("score", 0.5d + id);
+        row.put("active", id % 2 == 0);
+        row.put("birthday", LocalDate.of(2020, 1, 1).plusDays(id % 365));
+        row.put("updated_at", Timestamp.valueOf("2020-01-02 03:04:05"));
+        row.put("amount", new BigDecimal("12.30"));
+        row.put("name", "name-" + id);
+        return row;
+    }
+
+    private List<String> columnsOf(ListWithQueryColumn page) {
+        List<String> columns = new ArrayList<>();
+        page.getColumns().forEach(column -> columns.add(column.getName() + "@@" + column.getType()));
+        return columns;
+    }
+}
@@ -169,7 +169,9 @@ public abstract class BaseLocalConfigurationBuilder extends BaseJobConfiguration
                         connectorParameterMap.put(POST_SQL, metricInputParameter.get(POST_SQL));
 
                         metricInputParameter.put(SRC_CONNECTOR_TYPE, connectorParameter.getType());
-                        metricInputParameter.put(TABLE, table);
+                        // the unique code is generated with the table rather than the sample of it, so it does not depend on the sampling
+                        metricInputParameter.put(UNIQUE_CODE_PARAMETER_PREFIX + TABLE, table);
+                        metricInputParameter.put(TABLE, getSampleTable(connectorParameter.getType(), metricType, table));
 
                         metricInputParameter.put(COLUMN, connectorFactory.getDialect().quoteIdentifier(metricInputParameter.get(COLUMN)));
 
@@ -298,6 +300,9 @@ public abstract class BaseLocalConfigurationBuilder extends BaseJobConfiguration
                                 transformConfigs,
                                 actualValueExecuteSql,
                                 TransformType.ACTUAL_VALUE.getDescription());
+                        if (StringUtils.isNotEmpty(actualValueExecuteSql.getSketchType())) {
+                            metricInputParameter.put(SKETCH_TYPE, actualValueExecuteSql.getSketchType());
+                        }
                         metricInputParameter.put(ACTUAL_TABLE, sqlMetric.getActualValue(metricInputParameter).getResultTable());
                     }
                 }
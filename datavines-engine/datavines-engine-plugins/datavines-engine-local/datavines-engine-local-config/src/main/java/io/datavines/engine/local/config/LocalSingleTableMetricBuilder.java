@@ -64,8 +64,11 @@ public class LocalSingleTableMetricBuilder extends BaseLocalConfigurationBuilder
                 taskResultSinkConfig.setType(SinkType.VALIDATE_RESULT.getDescription());
                 sinkConfigs.add(taskResultSinkConfig);
 
-                String actualValueSinkSql = SinkSqlBuilder.getActualValueSql()
-                        .replace("${actual_value}", "${actual_value_" + metricUniqueKey + "}");
+                // the sketch computed in the engine is kept with the actual value, so it can be merged with the later runs
+                String actualValueSinkSql = (metricInputParameter.containsKey(SKETCH_TYPE) ?
+                        SinkSqlBuilder.getActualValueWithSketchSql() : SinkSqlBuilder.getActualValueSql())
+                        .replace("${actual_value}", "${actual_value_" + metricUniqueKey + "}")
+                        .replace("${sketch}", "${sketch_" + metricUniqueKey + "}");
                 //get the actual value storage parameter
                 SinkConfig actualValueSinkConfig = getValidateResultDataSinkConfig(
                         expectedValue, actualValueSinkSql, "dv_actual_values", metricInputParameter);
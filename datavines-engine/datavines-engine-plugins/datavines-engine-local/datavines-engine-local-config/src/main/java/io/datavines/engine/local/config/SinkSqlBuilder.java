@@ -67,6 +67,13 @@ public class SinkSqlBuilder {
                 + String.join(", ", columnValueList)+ ")";
     }
 
+    public static String getActualValueWithSketchSql() {
+        String actualValueSql = getActualValueSql();
+        int valuesIndex = actualValueSql.lastIndexOf(") VALUES (");
+        return actualValueSql.substring(0, valuesIndex) + ", sketch"
+                + actualValueSql.substring(valuesIndex, actualValueSql.length() - 1) + ", '${sketch}')";
+    }
+
     public static String getProfileValueSql() {
 
         List<String> columnList = new ArrayList<>();
@@ -26,6 +26,7 @@ import io.datavines.connector.api.TypeConverter;
 import io.datavines.engine.api.env.RuntimeEnvironment;
 import io.datavines.engine.local.api.LocalRuntimeEnvironment;
 import io.datavines.engine.local.api.LocalSink;
+import io.datavines.engine.local.api.utils.ArrowErrorDataWriter;
 import io.datavines.connector.api.entity.ResultList;
 import io.datavines.connector.api.entity.ResultListWithColumns;
 import io.datavines.engine.local.api.utils.FileUtils;
@@ -36,6 +37,7 @@ import io.datavines.spi.PluginLoader;
 import org.slf4j.Logger;
 
 import java.io.File;
+import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -117,7 +119,7 @@ public class LocalFileSink implements LocalSink {
         return Arrays.asList(values);
     }
 
-    private void sinkErrorData(LocalRuntimeEnvironment env) throws SQLException{
+    private void sinkErrorData(LocalRuntimeEnvironment env) throws SQLException, IOException {
         String columnSeparator = config.getString(COLUMN_SEPARATOR);
         String outputTable = config.getString(INVALIDATE_ITEMS_TABLE);
         if (TRUE.equals(config.getString(INVALIDATE_ITEM_CAN_OUTPUT)) && !StringUtils.isEmptyOrNullStr(outputTable)) {
@@ -139,6 +141,12 @@ public class LocalFileSink implements LocalSink {
 
                 ResultSet resultSet = statement.executeQuery("SELECT * FROM " + outputTable);
 
+                if (ARROW.equalsIgnoreCase(config.getString(FILE_FORMAT))) {
+                    sinkArrowErrorData(resultSet, totalPage, pageSize, typeConverter);
+                    resultSet.close();
+                    return;
+                }
+
                 for (int i=0; i<totalPage; i++) {
                     int start = i * pageSize;
                     int end = (i+1) * pageSize;
@@ -157,4 +165,19 @@ public class LocalFileSink implements LocalSink {
             }
         }
     }
+
+    private void sinkArrowErrorData(ResultSet resultSet, int totalPage, int pageSize, TypeConverter typeConverter) throws SQLException, IOException {
+        ResultListWithColumns resultList = SqlUtils.getListWithHeaderFromResultSet(resultSet, 0, pageSize);
+        try (ArrowErrorDataWriter writer = new ArrowErrorDataWriter(resultList.getColumns(),
+                config.getString(ERROR_DATA_DIR),
+                config.getString(ERROR_DATA_FILE_NAME),
+                typeConverter,
+                config.getString(FILE_COMPRESSION, null))) {
+            writer.write(resultList.getResultList());
+            for (int i=1; i<totalPage; i++) {
+                resultList = SqlUtils.getListWithHeaderFromResultSet(resultSet, i * pageSize, (i+1) * pageSize);
+                writer.write(resultList.getResultList());
+            }
+        }
+    }
 }
@@ -28,6 +28,7 @@ public class MySQLSink extends BaseJdbcSink {
                 "    `id` bigint(20) NOT NULL AUTO_INCREMENT,\n" +
                 "    `job_execution_id` bigint(20) DEFAULT NULL,\n" +
                 "    `metric_unique_key` varchar(255) DEFAULT NULL,\n" +
+                "    `unique_code` varchar(255) DEFAULT NULL,\n" +
                 "    `metric_type` varchar(255) DEFAULT NULL,\n" +
                 "    `metric_dimension` varchar(255) DEFAULT NULL,\n" +
                 "    `metric_name` varchar(255) DEFAULT NULL,\n" +
@@ -55,6 +56,7 @@ public class MySQLSink extends BaseJdbcSink {
                 "    `metric_name` varchar(255) DEFAULT NULL,\n" +
                 "    `unique_code` varchar(255) DEFAULT NULL,\n" +
                 "    `actual_value` double DEFAULT NULL,\n" +
+                "    `sketch` mediumtext DEFAULT NULL,\n" +
                 "    `data_time` datetime DEFAULT NULL,\n" +
                 "    `create_time` datetime DEFAULT NULL,\n" +
                 "    `update_time` datetime DEFAULT NULL,\n" +
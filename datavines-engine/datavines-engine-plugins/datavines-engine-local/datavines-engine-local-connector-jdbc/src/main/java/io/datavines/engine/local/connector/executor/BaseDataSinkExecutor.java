@@ -79,6 +79,9 @@ public abstract class BaseDataSinkExecutor implements ISinkExecutor {
             statement =  env.getMetadataConnection().getConnection().createStatement();
             env.setCurrentStatement(statement);
             statement.execute(sql);
+        } catch (SQLException e) {
+            env.getMetadataConnection().markNeedValidate();
+            throw e;
         } finally {
             SqlUtils.closeStatement(statement);
             env.setCurrentStatement(null);
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.engine.local.transform.sql;
+
+import io.datavines.common.config.Config;
+import io.datavines.common.enums.SketchType;
+import io.datavines.common.utils.StringUtils;
+import io.datavines.common.utils.sketch.HyperLogLog;
+import io.datavines.common.utils.sketch.Sketch;
+import io.datavines.common.utils.sketch.TDigest;
+import io.datavines.connector.api.ConnectorFactory;
+import io.datavines.connector.api.DialectCapability;
+import io.datavines.connector.api.QueryCursor;
+import io.datavines.connector.api.entity.ResultList;
+import io.datavines.connector.plugin.JdbcQueryCursor;
+import io.datavines.engine.local.api.LocalRuntimeEnvironment;
+import io.datavines.engine.local.api.utils.LoggerFactory;
+import io.datavines.spi.PluginLoader;
+import org.slf4j.Logger;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+
+import static io.datavines.common.ConfigConstants.*;
+
+/**
+ * The dialect has no native sketch function, the column values are streamed from the source
+ * and folded into a sketch, only the estimate and the serialized sketch are kept.
+ */
+public class SketchActualValueExecutor implements ITransformExecutor {
+
+    private final Logger logger = LoggerFactory.getLogger(SketchActualValueExecutor.class);
+
+    private static final int FETCH_SIZE = 10000;
+
+    @Override
+    public ResultList execute(Connection connection, Config config, LocalRuntimeEnvironment env) throws Exception {
+
+        ResultList resultList = new ResultList();
+        try (QueryCursor cursor = openCursor(connection, config)) {
+            env.setCurrentStatement(cursor.getStatement());
+            SketchType sketchType = SketchType.of(config.getString(SKETCH_TYPE));
+            String key = cursor.getColumns().get(0).getName().toLowerCase();
+
+            Sketch sketch;
+            Object actualValue;
+            if (sketchType == SketchType.QUANTILE) {
+                TDigest digest = new TDigest(Double.parseDouble(config.getString(PERCENTILE)));
+                while (cursor.hasMore()) {
+                    for (Map<String, Object> row : cursor.fetch(FETCH_SIZE)) {
+                        Object value = getValue(row);
+                        if (value != null) {
+                            digest.add(value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(value.toString()));
+                        }
+                    }
+                }
+                double estimate = digest.estimate();
+                actualValue = Double.isNaN(estimate) ? null : estimate;
+                sketch = digest;
+            } else {
+                HyperLogLog hyperLogLog = new HyperLogLog();
+                long count = 0;
+                while (cursor.hasMore()) {
+                    for (Map<String, Object> row : cursor.fetch(FETCH_SIZE)) {
+                        Object value = getValue(row);
+                        if (value != null) {
+                            hyperLogLog.add(value.toString());
+                            count++;
+                        }
+                    }
+                }
+                long distinct = Math.round(hyperLogLog.estimate());
+                actualValue = sketchType == SketchType.DISTINCT ? distinct : Math.max(0, count - distinct);
+                sketch = hyperLogLog;
+            }
+
+            Map<String, Object> dataMap = new HashMap<>();
+            dataMap.put(key, actualValue);
+            dataMap.put(SKETCH + key.substring(ACTUAL_VALUE.length()), sketch.serialize());
+            resultList.setResultList(new ArrayList<>(Collections.singletonList(dataMap)));
+        } finally {
+            env.setCurrentStatement(null);
+        }
+
+        return resultList;
+    }
+
+    /**
+     * open the cursor by the executor of the source connector, so that the rows are streamed
+     * the way the driver requires, e.g. mysql only streams with Integer.MIN_VALUE fetch size
+     * and postgresql only uses a server side cursor when the auto commit is off,
+     * the driver of a dialect without {@link DialectCapability#SERVER_SIDE_CURSOR} buffers the whole column
+     */
+    private QueryCursor openCursor(Connection connection, Config config) throws SQLException {
+        String sql = config.getString(SQL);
+        String connectorType = config.getString(SRC_CONNECTOR_TYPE, null);
+        if (StringUtils.isNotEmpty(connectorType)) {
+            ConnectorFactory connectorFactory = PluginLoader.getPluginLoader(ConnectorFactory.class).getOrCreatePlugin(connectorType);
+            if (connectorFactory.supports(DialectCapability.SERVER_SIDE_CURSOR)) {
+                QueryCursor cursor = connectorFactory.getExecutor().openCursor(connection, sql, FETCH_SIZE);
+                if (cursor != null) {
+                    return cursor;
+                }
+            }
+        }
+
+        logger.warn("the driver of connector {} has no server side cursor, the column is read into memory before it is folded into the sketch", connectorType);
+        return new JdbcQueryCursor(connection, sql, FETCH_SIZE, 0, false);
+    }
+
+    private Object getValue(Map<String, Object> row) {
+        return row.isEmpty() ? null : row.values().iterator().next();
+    }
+}
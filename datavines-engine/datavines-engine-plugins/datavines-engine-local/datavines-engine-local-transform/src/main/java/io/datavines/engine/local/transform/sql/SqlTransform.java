@@ -33,6 +33,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 import static io.datavines.common.ConfigConstants.INVALIDATE_ITEMS_TABLE;
+import static io.datavines.common.ConfigConstants.SKETCH_TYPE;
 import static io.datavines.common.ConfigConstants.SQL;
 import static io.datavines.engine.api.EngineConstants.PLUGIN_TYPE;
 
@@ -90,7 +91,8 @@ public class SqlTransform implements LocalTransform {
             logger.info("transform sql is: {}, transform_type is : {}", sql, pluginType);
             switch (TransformType.of(pluginType)){
                 case ACTUAL_VALUE :
-                    resultList = new ActualValueExecutor().execute(env.getSourceConnection().getConnection(), config, env);
+                    ITransformExecutor actualValueExecutor = config.has(SKETCH_TYPE) ? new SketchActualValueExecutor() : new ActualValueExecutor();
+                    resultList = actualValueExecutor.execute(env.getSourceConnection().getConnection(), config, env);
                     break;
                 case EXPECTED_VALUE_FROM_METADATA_SOURCE :
                     resultList = new ExpectedValueExecutor().execute(env.getMetadataConnection().getConnection(), config, env);
@@ -107,6 +109,7 @@ public class SqlTransform implements LocalTransform {
 
         } catch (Exception e) {
             logger.error("transform execute error: ", e);
+            env.markConnectionNeedValidate();
             String invalidateItemTable = config.getString(INVALIDATE_ITEMS_TABLE);
             Connection connection = null;
 
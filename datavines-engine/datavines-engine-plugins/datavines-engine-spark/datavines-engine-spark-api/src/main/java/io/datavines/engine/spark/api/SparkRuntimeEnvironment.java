@@ -29,7 +29,10 @@ import io.datavines.engine.api.env.Execution;
 import io.datavines.engine.api.env.RuntimeEnvironment;
 import io.datavines.engine.spark.api.batch.SparkBatchExecution;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static io.datavines.common.ConfigConstants.ENABLE_SPARK_HIVE_SUPPORT;
+import static io.datavines.common.ConfigConstants.ISOLATED_SPARK_SESSION;
 
 public class SparkRuntimeEnvironment implements RuntimeEnvironment {
 
@@ -37,6 +40,8 @@ public class SparkRuntimeEnvironment implements RuntimeEnvironment {
     private static final String STREAM = "stream";
     private static final String BATCH = "batch";
 
+    private static final AtomicBoolean DIALECT_REGISTERED = new AtomicBoolean(false);
+
     private SparkSession sparkSession;
 
     private StreamingContext streamingContext;
@@ -64,14 +69,27 @@ public class SparkRuntimeEnvironment implements RuntimeEnvironment {
 
     @Override
     public void prepare() {
-        SparkSession.Builder configBuilder = SparkSession.builder().config(createSparkConf());
         Boolean enableHiveSupport = config.getBoolean(ENABLE_SPARK_HIVE_SUPPORT);
         enableSparkHiveSupport = Boolean.TRUE.equals(enableHiveSupport);
-        if (enableSparkHiveSupport) {
-            configBuilder.enableHiveSupport();
+        if (Boolean.TRUE.equals(config.getBoolean(ISOLATED_SPARK_SESSION))) {
+            // the driver is shared by many executions, every execution works in its own session
+            // so that the temp views and the sql configs of the executions do not see each other
+            sparkSession = SparkSession.builder().getOrCreate().newSession();
+            this.config.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith("spark.sql."))
+                    .forEach(entry -> sparkSession.conf().set(entry.getKey(), String.valueOf(entry.getValue())));
+            sparkSession.conf().set("spark.sql.crossJoin.enabled", "true");
+        } else {
+            SparkSession.Builder configBuilder = SparkSession.builder().config(createSparkConf());
+            if (enableSparkHiveSupport) {
+                configBuilder.enableHiveSupport();
+            }
+            sparkSession = configBuilder.getOrCreate();
+        }
+
+        if (DIALECT_REGISTERED.compareAndSet(false, true)) {
+            JdbcDialects.registerDialect(new HiveSqlDialect());
         }
-        sparkSession = configBuilder.getOrCreate();
-        JdbcDialects.registerDialect(new HiveSqlDialect());
         this.createStreamingContext();
     }
 
@@ -22,7 +22,10 @@ import io.datavines.engine.spark.api.SparkRuntimeEnvironment;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import io.datavines.common.config.Config;
 import io.datavines.common.config.ConfigRuntimeException;
@@ -59,8 +62,18 @@ public class SparkBatchExecution implements Execution<SparkBatchSource, BaseSpar
                 registerTransformTempView(tf, ds);
             }
 
+            Map<String, List<SparkBatchSink>> batchSinks = new LinkedHashMap<>();
             for (SparkBatchSink sink: sinks) {
-                sinkProcess(environment, sink, ds);
+                String batchKey = sink.getBatchKey();
+                if (batchKey == null) {
+                    sinkProcess(environment, sink, ds);
+                } else {
+                    batchSinks.computeIfAbsent(batchKey, k -> new ArrayList<>()).add(sink);
+                }
+            }
+
+            for (List<SparkBatchSink> batch : batchSinks.values()) {
+                batch.get(0).outputBatch(batch, ds, environment);
             }
         }
     }
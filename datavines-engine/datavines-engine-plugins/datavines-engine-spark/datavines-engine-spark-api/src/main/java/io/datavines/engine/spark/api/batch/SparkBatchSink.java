@@ -16,8 +16,41 @@
  */
 package io.datavines.engine.spark.api.batch;
 
+import io.datavines.common.config.Config;
 import io.datavines.engine.spark.api.BaseSparkSink;
+import io.datavines.engine.spark.api.SparkRuntimeEnvironment;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+
+import java.util.List;
+
+import static io.datavines.engine.api.EngineConstants.INPUT_TABLE;
 
 public interface SparkBatchSink extends BaseSparkSink<Void> {
 
+    /**
+     * the sinks with the same batch key are written together by {@link #outputBatch}
+     * @return batch key, null means the sink is written alone by {@link #output}
+     */
+    default String getBatchKey() {
+        return null;
+    }
+
+    /**
+     * output the data of all the sinks with the same batch key, it is called on the first sink of them.
+     * The sinks which can not write together are written one by one by {@link #output}
+     * @param data the dataset of the last transform, it is used by the sinks without input table
+     */
+    default Void outputBatch(List<SparkBatchSink> sinks, Dataset<Row> data, SparkRuntimeEnvironment environment) {
+        for (SparkBatchSink sink : sinks) {
+            Config config = sink.getConfig();
+            Dataset<Row> fromDs = data;
+            if (config.has(INPUT_TABLE)) {
+                fromDs = environment.sparkSession().read().table(config.getString(INPUT_TABLE));
+            }
+            sink.output(fromDs, environment);
+        }
+
+        return null;
+    }
 }
@@ -123,7 +123,10 @@ public abstract class BaseSparkConfigurationBuilder extends BaseJobConfiguration
                     connectorParameterMap.put(OUTPUT_TABLE, outputTable);
                     connectorParameterMap.put(DRIVER, connectorFactory.getDialect().getDriver());
 
-                    metricInputParameter.put(TABLE, outputTable);
+                    // the unique code is generated with the table rather than the sample of it, so it does not depend on the sampling
+                    metricInputParameter.put(UNIQUE_CODE_PARAMETER_PREFIX + TABLE, outputTable);
+                    // the metric sql runs on the spark temp view, so the sample clause of spark is used
+                    metricInputParameter.put(TABLE, getSampleTable(SPARK, parameter.getMetricType(), outputTable));
                     metricInputParameter.put(TABLE_ALIAS, tableAlias);
                     metricInputParameter.put(COLUMN, metricInputParameter.get(COLUMN));
                     metricInputParameter.put(SRC_CONNECTOR_TYPE, connectorParameter.getType());
@@ -196,6 +199,7 @@ public abstract class BaseSparkConfigurationBuilder extends BaseJobConfiguration
 
                 if (expectedValue.isNeedDefaultDatasource() && !isAddValidateResultDataSource) {
                     sourceConfigs.add(getValidateResultDataSourceConfig());
+                    sourceConfigs.add(getActualValueDailySourceConfig());
                     isAddValidateResultDataSource = true;
                 }
 
@@ -206,6 +210,14 @@ public abstract class BaseSparkConfigurationBuilder extends BaseJobConfiguration
         return sourceConfigs;
     }
 
+    @Override
+    protected SinkConfig getValidateResultDataSinkConfig(ExpectedValue expectedValue, String sql, String dbTable, Map<String, String> inputParameter) throws DataVinesException {
+        SinkConfig validateResultDataSinkConfig = super.getValidateResultDataSinkConfig(expectedValue, sql, dbTable, inputParameter);
+        // the validate result rows of all the metrics are collected in one action and written in one batch
+        validateResultDataSinkConfig.getConfig().put(BATCH_WRITE, true);
+        return validateResultDataSinkConfig;
+    }
+
     protected SinkConfig getErrorSinkConfig(Map<String, String> inputParameter) {
         SinkConfig errorDataSinkConfig = null;
         if (StringUtils.isNotEmpty(jobExecutionInfo.getErrorDataStorageType())
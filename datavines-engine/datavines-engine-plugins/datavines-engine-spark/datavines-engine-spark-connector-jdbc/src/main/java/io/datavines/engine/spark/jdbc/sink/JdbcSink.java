@@ -18,14 +18,27 @@ package io.datavines.engine.spark.jdbc.sink;
 
 import io.datavines.common.utils.StringUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.spark.sql.Column;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
 import org.apache.spark.sql.SaveMode;
+import org.apache.spark.sql.execution.datasources.jdbc.JdbcUtils;
+import org.apache.spark.sql.jdbc.JdbcDialect;
+import org.apache.spark.sql.jdbc.JdbcDialects;
+import org.apache.spark.sql.jdbc.JdbcType;
+import org.apache.spark.sql.types.DataType;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.DecimalType;
+import org.apache.spark.sql.types.StructField;
+import scala.Option;
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.stream.Collectors;
 
@@ -38,10 +51,19 @@ import io.datavines.engine.spark.api.SparkRuntimeEnvironment;
 import io.datavines.engine.spark.api.batch.SparkBatchSink;
 
 import static io.datavines.common.ConfigConstants.*;
+import static org.apache.spark.sql.functions.array;
+import static org.apache.spark.sql.functions.col;
+import static org.apache.spark.sql.functions.lit;
 
 @Slf4j
 public class JdbcSink implements SparkBatchSink {
 
+    private static final int UPSERT_MAX_ROWS = 50;
+
+    private static final String SINK_INDEX = "dv_sink_index";
+
+    private static final String SINK_VALUES = "dv_sink_values";
+
     private Config config = new Config();
 
     @Override
@@ -95,7 +117,7 @@ public class JdbcSink implements SparkBatchSink {
             String url = config.getString(URL);
             String sql = config.getString(SQL);
 
-            List<Row> rows = data.takeAsList(50);
+            List<Row> rows = data.takeAsList(UPSERT_MAX_ROWS);
             Connection connection = null;
             try {
                 connection = DriverManager.getConnection(url, prop);
@@ -147,4 +169,219 @@ public class JdbcSink implements SparkBatchSink {
 
         return null;
     }
+
+    @Override
+    public String getBatchKey() {
+        if (!config.getBoolean(BATCH_WRITE)) {
+            return null;
+        }
+
+        if (!UPSERT.equals(config.getString(SAVE_MODE)) && Strings.isNullOrEmpty(config.getString(SQL))) {
+            return null;
+        }
+
+        return getClass().getName() + "@" + config.getString(URL) + "@" + config.getString(USER);
+    }
+
+    @Override
+    public Void outputBatch(List<SparkBatchSink> sinks, Dataset<Row> ds, SparkRuntimeEnvironment environment) {
+        // every sink query is tagged with its index and its values are cast to string,
+        // so the results of all the sinks can be unioned and collected in one action,
+        // the types of the columns are kept to bind the values with their jdbc type
+        Dataset<Row> union = null;
+        List<String[]> sinkColumns = new ArrayList<>();
+        List<DataType[]> sinkTypes = new ArrayList<>();
+        for (int i = 0; i < sinks.size(); i++) {
+            Config sinkConfig = sinks.get(i).getConfig();
+            Dataset<Row> data;
+            if (UPSERT.equals(sinkConfig.getString(SAVE_MODE))) {
+                data = environment.sparkSession()
+                        .sql("select * from invalidate_count_" + sinkConfig.getString(METRIC_UNIQUE_KEY))
+                        .limit(UPSERT_MAX_ROWS);
+            } else {
+                data = environment.sparkSession().sql(sinkConfig.getString(SQL));
+            }
+
+            String[] columns = data.columns();
+            sinkColumns.add(columns);
+            sinkTypes.add(Arrays.stream(data.schema().fields()).map(StructField::dataType).toArray(DataType[]::new));
+            Column[] values = Arrays.stream(columns)
+                    .map(column -> col("`" + column + "`").cast(DataTypes.StringType))
+                    .toArray(Column[]::new);
+            Dataset<Row> tagged = data.select(lit(i).as(SINK_INDEX), array(values).as(SINK_VALUES));
+            union = union == null ? tagged : union.union(tagged);
+        }
+
+        if (union == null) {
+            return null;
+        }
+
+        List<List<List<String>>> sinkRows = new ArrayList<>();
+        for (int i = 0; i < sinks.size(); i++) {
+            sinkRows.add(new ArrayList<>());
+        }
+        for (Row row : union.collectAsList()) {
+            sinkRows.get(row.getInt(0)).add(row.getList(1));
+        }
+
+        Properties prop = new Properties();
+        prop.setProperty(DRIVER, config.getString(DRIVER));
+        prop.setProperty(USER, config.getString(USER));
+        prop.setProperty(PASSWORD, config.getString(PASSWORD));
+        String url = config.getString(URL);
+        JdbcDialect dialect = JdbcDialects.get(url);
+
+        Connection connection = null;
+        Map<String, PreparedStatement> statements = new LinkedHashMap<>();
+        try {
+            connection = DriverManager.getConnection(url, prop);
+            // the inserted rows are written in one transaction, a failure fails the job as the spark writer does
+            connection.setAutoCommit(false);
+            for (int i = 0; i < sinks.size(); i++) {
+                Config sinkConfig = sinks.get(i).getConfig();
+                List<List<String>> rows = sinkRows.get(i);
+                if (rows.isEmpty() || UPSERT.equals(sinkConfig.getString(SAVE_MODE))) {
+                    continue;
+                }
+
+                String[] columns = sinkColumns.get(i);
+                DataType[] types = sinkTypes.get(i);
+                PreparedStatement pstmt = getStatement(connection, statements,
+                        getInsertSql(dialect, sinkConfig.getString(TABLE), columns));
+                for (List<String> row : rows) {
+                    for (int j = 0; j < columns.length; j++) {
+                        setValue(pstmt, j + 1, row.get(j), types[j], dialect);
+                    }
+                    pstmt.addBatch();
+                }
+            }
+
+            for (PreparedStatement pstmt : statements.values()) {
+                pstmt.executeBatch();
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            log.error("batch write result data error", e);
+            if (connection != null) {
+                try {
+                    connection.rollback();
+                } catch (SQLException ex) {
+                    log.error("rollback error", ex);
+                }
+            }
+            closeQuietly(statements, connection);
+            throw new RuntimeException(e);
+        }
+
+        try {
+            // the upserts keep the semantics of the single sink, every one is committed alone
+            // and a failed upsert is only logged, it does not roll back the other results
+            for (int i = 0; i < sinks.size(); i++) {
+                Config sinkConfig = sinks.get(i).getConfig();
+                List<List<String>> rows = sinkRows.get(i);
+                if (rows.isEmpty() || !UPSERT.equals(sinkConfig.getString(SAVE_MODE))) {
+                    continue;
+                }
+
+                try {
+                    PreparedStatement pstmt = getStatement(connection, statements, sinkConfig.getString(SQL));
+                    if (rows.size() == 1) {
+                        String value = rows.get(0).get(0);
+                        if (value == null) {
+                            pstmt.setObject(1, 0);
+                        } else {
+                            setValue(pstmt, 1, value, sinkTypes.get(i)[0], dialect);
+                        }
+                    } else {
+                        List<String> resultList = new ArrayList<>();
+                        for (List<String> row : rows) {
+                            resultList.add(String.valueOf(row.get(0)));
+                        }
+                        pstmt.setObject(1, String.join("@#@", resultList));
+                    }
+                    pstmt.executeUpdate();
+                } catch (SQLException e) {
+                    log.error("execute sql error", e);
+                }
+            }
+        } finally {
+            closeQuietly(statements, connection);
+        }
+
+        return null;
+    }
+
+    private void closeQuietly(Map<String, PreparedStatement> statements, Connection connection) {
+        for (PreparedStatement pstmt : statements.values()) {
+            try {
+                pstmt.close();
+            } catch (Exception e) {
+                log.error("close statement error", e);
+            }
+        }
+        statements.clear();
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (Exception e) {
+                log.error("close connection error", e);
+            }
+        }
+    }
+
+    private PreparedStatement getStatement(Connection connection, Map<String, PreparedStatement> statements, String sql) throws SQLException {
+        PreparedStatement pstmt = statements.get(sql);
+        if (pstmt == null) {
+            pstmt = connection.prepareStatement(sql);
+            statements.put(sql, pstmt);
+        }
+        return pstmt;
+    }
+
+    /**
+     * bind the value collected as string with the jdbc type of its spark column as the spark jdbc writer does,
+     * so the database does not convert the numbers, dates and timestamps from a string
+     */
+    private void setValue(PreparedStatement pstmt, int index, String value, DataType dataType, JdbcDialect dialect) throws SQLException {
+        if (value == null) {
+            pstmt.setNull(index, getJdbcNullType(dataType, dialect));
+        } else if (DataTypes.IntegerType.equals(dataType)) {
+            pstmt.setInt(index, Integer.parseInt(value));
+        } else if (DataTypes.LongType.equals(dataType)) {
+            pstmt.setLong(index, Long.parseLong(value));
+        } else if (DataTypes.ShortType.equals(dataType)) {
+            pstmt.setShort(index, Short.parseShort(value));
+        } else if (DataTypes.ByteType.equals(dataType)) {
+            pstmt.setByte(index, Byte.parseByte(value));
+        } else if (DataTypes.DoubleType.equals(dataType)) {
+            pstmt.setDouble(index, Double.parseDouble(value));
+        } else if (DataTypes.FloatType.equals(dataType)) {
+            pstmt.setFloat(index, Float.parseFloat(value));
+        } else if (DataTypes.BooleanType.equals(dataType)) {
+            pstmt.setBoolean(index, Boolean.parseBoolean(value));
+        } else if (dataType instanceof DecimalType) {
+            pstmt.setBigDecimal(index, new BigDecimal(value));
+        } else if (DataTypes.TimestampType.equals(dataType)) {
+            pstmt.setTimestamp(index, Timestamp.valueOf(value));
+        } else if (DataTypes.DateType.equals(dataType)) {
+            pstmt.setDate(index, Date.valueOf(value));
+        } else {
+            pstmt.setString(index, value);
+        }
+    }
+
+    private int getJdbcNullType(DataType dataType, JdbcDialect dialect) {
+        Option<JdbcType> jdbcType = dialect.getJDBCType(dataType);
+        if (jdbcType.isEmpty()) {
+            jdbcType = JdbcUtils.getCommonJDBCType(dataType);
+        }
+        return jdbcType.isDefined() ? jdbcType.get().jdbcNullType() : Types.NULL;
+    }
+
+    private String getInsertSql(JdbcDialect dialect, String table, String[] columns) {
+        String columnList = Arrays.stream(columns).map(dialect::quoteIdentifier).collect(Collectors.joining(", "));
+        String placeholders = Arrays.stream(columns).map(column -> "?").collect(Collectors.joining(", "));
+        return "INSERT INTO " + table + " (" + columnList + ") VALUES (" + placeholders + ")";
+    }
 }
@@ -59,6 +59,14 @@ public interface ExpectedValue {
      */
     boolean isNeedDefaultDatasource();
 
+    /**
+     * the expected value is computed on the checked table, so it is computed on the sample when the job runs in sampling mode
+     * @return
+     */
+    default boolean isComputedOnSourceTable() {
+        return false;
+    }
+
     void prepare(Map<String,String> config);
 
 }
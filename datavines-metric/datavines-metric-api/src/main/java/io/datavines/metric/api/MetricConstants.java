@@ -30,6 +30,7 @@ public class MetricConstants {
     static {
         RESULT_COLUMN_LIST.add(new ColumnInfo("job_execution_id",false, false));
         RESULT_COLUMN_LIST.add(new ColumnInfo("metric_unique_key",true, false));
+        RESULT_COLUMN_LIST.add(new ColumnInfo("unique_code",false, false));
         RESULT_COLUMN_LIST.add(new ColumnInfo("metric_type",false, false));
         RESULT_COLUMN_LIST.add(new ColumnInfo("metric_name",false, false));
         RESULT_COLUMN_LIST.add(new ColumnInfo("metric_dimension",false, false));
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.metric.api;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * how the actual values computed on the disjoint parts of a table, such as partitions, are rolled up to the whole table
+ */
+public enum MetricRollupType {
+    /**
+     * 0-the actual value can not be rolled up, such as average, distinct count and percentile
+     * 1-sum
+     * 2-max
+     * 3-min
+     */
+    NONE(0, "none"),
+    SUM(1, "sum"),
+    MAX(2, "max"),
+    MIN(3, "min");
+
+    MetricRollupType(int code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    private final int code;
+    private final String description;
+
+    public int getCode() {
+        return code;
+    }
+
+    @JsonValue
+    public String getDescription() {
+        return description;
+    }
+
+    private static final Map<Integer, MetricRollupType> VALUES_MAP = new HashMap<>();
+
+    static {
+        for (MetricRollupType type : MetricRollupType.values()) {
+            VALUES_MAP.put(type.code,type);
+        }
+    }
+
+    public static MetricRollupType of(Integer code) {
+        if (VALUES_MAP.containsKey(code)) {
+            return VALUES_MAP.get(code);
+        }
+        throw new IllegalArgumentException("invalid code : " + code);
+    }
+}
@@ -77,6 +77,22 @@ public interface SqlMetric {
         return MetricActualValueType.COUNT.getDescription();
     }
 
+    /**
+     * whether the actual value grows linearly with the rows,
+     * if so the actual value computed on a sample of the table can be scaled by the sample fraction
+     */
+    default boolean isScalableBySample() {
+        return false;
+    }
+
+    /**
+     * how the actual values computed on the disjoint partitions of the table are rolled up to the whole table,
+     * the actual value which grows linearly with the rows is the sum of the actual values of the partitions
+     */
+    default MetricRollupType getRollupType() {
+        return isScalableBySample() ? MetricRollupType.SUM : MetricRollupType.NONE;
+    }
+
     CheckResult validateConfig(Map<String,Object> config);
 
     Map<String, ConfigItem> getConfigMap();
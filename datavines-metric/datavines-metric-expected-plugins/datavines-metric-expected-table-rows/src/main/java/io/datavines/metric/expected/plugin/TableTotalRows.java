@@ -62,6 +62,11 @@ public class TableTotalRows implements ExpectedValue {
         return false;
     }
 
+    @Override
+    public boolean isComputedOnSourceTable() {
+        return true;
+    }
+
     @Override
     public void prepare(Map<String, String> config) {
         if (config.containsKey("filter") && StringUtils.isNotBlank(config.get("filter"))) {
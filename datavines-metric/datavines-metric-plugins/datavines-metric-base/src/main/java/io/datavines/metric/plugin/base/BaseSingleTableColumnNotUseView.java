@@ -47,6 +47,11 @@ public abstract class BaseSingleTableColumnNotUseView extends BaseSingleTable {
         return false;
     }
 
+    @Override
+    public boolean isScalableBySample() {
+        return true;
+    }
+
     @Override
     public ExecuteSql getDirectActualValue(Map<String, String> inputParameter) {
         ExecuteSql executeSql = new ExecuteSql();
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.metric.plugin.base;
+
+import io.datavines.common.entity.ExecuteSql;
+import io.datavines.common.enums.SketchType;
+import io.datavines.connector.api.ConnectorFactory;
+import io.datavines.connector.api.DialectCapability;
+import io.datavines.connector.api.MetricScript;
+import io.datavines.spi.PluginLoader;
+
+import java.util.Map;
+
+import static io.datavines.common.CommonConstants.SPARK;
+import static io.datavines.common.ConfigConstants.ENGINE_TYPE;
+import static io.datavines.common.ConfigConstants.METRIC_UNIQUE_KEY;
+
+/**
+ * The approximate metric uses the native sketch function of the dialect if there is one,
+ * otherwise the column values are selected and sketched in the engine.
+ */
+public abstract class BaseSingleTableColumnSketch extends BaseSingleTableColumn {
+
+    public BaseSingleTableColumnSketch() {
+        super();
+    }
+
+    @Override
+    public ExecuteSql getInvalidateItems(Map<String,String> inputParameter) {
+        return null;
+    }
+
+    @Override
+    public ExecuteSql getActualValue(Map<String,String> inputParameter) {
+        String uniqueKey = inputParameter.get(METRIC_UNIQUE_KEY);
+        ExecuteSql executeSql = new ExecuteSql();
+        executeSql.setResultTable("invalidate_count_" + uniqueKey);
+        ConnectorFactory connectorFactory = getSqlConnectorFactory(inputParameter);
+        MetricScript metricScript = connectorFactory.getMetricScript();
+        StringBuilder actualValueSql = new StringBuilder();
+        String nativeActualValueSql = connectorFactory.supports(getNativeCapability()) ?
+                getNativeActualValue(metricScript, uniqueKey) : null;
+        if (nativeActualValueSql != null) {
+            actualValueSql.append(nativeActualValueSql);
+        } else {
+            actualValueSql.append(metricScript.columnValues(uniqueKey));
+            executeSql.setSketchType(getSketchType().getDescription());
+        }
+
+        if (!filters.isEmpty()) {
+            actualValueSql.append(" where ").append(String.join(" and ", filters));
+        }
+
+        executeSql.setSql(actualValueSql.toString());
+        executeSql.setErrorOutput(false);
+        return executeSql;
+    }
+
+    /**
+     * the spark engine runs the sql on its own views, so the spark dialect is used whatever the source is
+     */
+    private ConnectorFactory getSqlConnectorFactory(Map<String,String> inputParameter) {
+        if (SPARK.equalsIgnoreCase(inputParameter.get(ENGINE_TYPE))) {
+            return PluginLoader.getPluginLoader(ConnectorFactory.class).getOrCreatePlugin(SPARK);
+        }
+        return getConnectorFactory(inputParameter);
+    }
+
+    /**
+     * the dialect capability the native sketch function depends on
+     */
+    private DialectCapability getNativeCapability() {
+        return getSketchType() == SketchType.QUANTILE ?
+                DialectCapability.APPROX_PERCENTILE : DialectCapability.APPROX_DISTINCT;
+    }
+
+    /**
+     * @return the sql of the native sketch function, null if the dialect has none
+     */
+    protected abstract String getNativeActualValue(MetricScript metricScript, String uniqueKey);
+
+    protected abstract SketchType getSketchType();
+}
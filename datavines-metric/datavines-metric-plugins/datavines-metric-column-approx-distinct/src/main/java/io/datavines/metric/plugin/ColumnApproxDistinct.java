@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.metric.plugin;
+
+import io.datavines.common.enums.DataVinesDataType;
+import io.datavines.common.enums.SketchType;
+import io.datavines.connector.api.MetricScript;
+import io.datavines.metric.api.MetricDimension;
+import io.datavines.metric.api.MetricType;
+import io.datavines.metric.plugin.base.BaseSingleTableColumnSketch;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class ColumnApproxDistinct extends BaseSingleTableColumnSketch {
+
+    public ColumnApproxDistinct(){
+        super();
+    }
+
+    @Override
+    public String getName() {
+        return "column_approx_distinct";
+    }
+
+    @Override
+    public String getZhName() {
+        return "近似Distinct检查";
+    }
+
+    @Override
+    public MetricDimension getDimension() {
+        return MetricDimension.UNIQUENESS;
+    }
+
+    @Override
+    public MetricType getType() {
+        return MetricType.SINGLE_TABLE;
+    }
+
+    @Override
+    protected String getNativeActualValue(MetricScript metricScript, String uniqueKey) {
+        return metricScript.approxCountDistinctActualValue(uniqueKey);
+    }
+
+    @Override
+    protected SketchType getSketchType() {
+        return SketchType.DISTINCT;
+    }
+
+    @Override
+    public List<DataVinesDataType> suitableType() {
+        return Arrays.asList(DataVinesDataType.NUMERIC_TYPE, DataVinesDataType.STRING_TYPE, DataVinesDataType.DATE_TIME_TYPE);
+    }
+}
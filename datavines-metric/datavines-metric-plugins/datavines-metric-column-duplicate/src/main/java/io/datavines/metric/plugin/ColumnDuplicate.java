@@ -54,6 +54,11 @@ public class ColumnDuplicate extends BaseSingleTableColumnNotUseView {
         return MetricType.SINGLE_TABLE;
     }
 
+    @Override
+    public boolean isScalableBySample() {
+        return false;
+    }
+
     @Override
     public boolean isInvalidateItemsCanOutput() {
         return true;
@@ -19,6 +19,7 @@ package io.datavines.metric.plugin;
 import io.datavines.common.entity.ExecuteSql;
 import io.datavines.common.enums.DataVinesDataType;
 import io.datavines.metric.api.MetricDimension;
+import io.datavines.metric.api.MetricRollupType;
 import io.datavines.metric.api.MetricType;
 import io.datavines.metric.plugin.base.BaseSingleTableColumn;
 
@@ -83,6 +84,11 @@ public class ColumnMinLength extends BaseSingleTableColumn {
         return executeSql;
     }
 
+    @Override
+    public MetricRollupType getRollupType() {
+        return MetricRollupType.MIN;
+    }
+
     @Override
     public List<DataVinesDataType> suitableType() {
         return Arrays.asList(DataVinesDataType.STRING_TYPE, DataVinesDataType.DATE_TIME_TYPE);
@@ -19,6 +19,7 @@ package io.datavines.metric.plugin;
 import io.datavines.common.entity.ExecuteSql;
 import io.datavines.common.enums.DataVinesDataType;
 import io.datavines.metric.api.MetricDimension;
+import io.datavines.metric.api.MetricRollupType;
 import io.datavines.metric.api.MetricType;
 import io.datavines.metric.plugin.base.BaseSingleTableColumn;
 
@@ -80,6 +81,11 @@ public class ColumnMin extends BaseSingleTableColumn {
         return executeSql;
     }
 
+    @Override
+    public MetricRollupType getRollupType() {
+        return MetricRollupType.MIN;
+    }
+
     @Override
     public List<DataVinesDataType> suitableType() {
         return Collections.singletonList(DataVinesDataType.NUMERIC_TYPE);
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.metric.plugin;
+
+import io.datavines.common.enums.DataVinesDataType;
+import io.datavines.common.enums.SketchType;
+import io.datavines.connector.api.MetricScript;
+import io.datavines.metric.api.ConfigItem;
+import io.datavines.metric.api.MetricDimension;
+import io.datavines.metric.api.MetricType;
+import io.datavines.metric.plugin.base.BaseSingleTableColumnSketch;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static io.datavines.common.ConfigConstants.PERCENTILE;
+
+public class ColumnPercentile extends BaseSingleTableColumnSketch {
+
+    public ColumnPercentile(){
+        super();
+        configMap.put(PERCENTILE,new ConfigItem(PERCENTILE, "分位数", PERCENTILE));
+        requiredOptions.add(PERCENTILE);
+    }
+
+    @Override
+    public String getName() {
+        return "column_percentile";
+    }
+
+    @Override
+    public String getZhName() {
+        return "分位数检查";
+    }
+
+    @Override
+    public MetricDimension getDimension() {
+        return MetricDimension.COMPLETENESS;
+    }
+
+    @Override
+    public MetricType getType() {
+        return MetricType.SINGLE_TABLE;
+    }
+
+    @Override
+    public void prepare(Map<String, String> config) {
+        if (config.containsKey(PERCENTILE)) {
+            double percentile = Double.parseDouble(config.get(PERCENTILE));
+            if (percentile < 0 || percentile > 1) {
+                throw new IllegalArgumentException("percentile must be between 0 and 1 : " + percentile);
+            }
+            config.put(PERCENTILE, String.valueOf(percentile));
+        }
+        super.prepare(config);
+    }
+
+    @Override
+    protected String getNativeActualValue(MetricScript metricScript, String uniqueKey) {
+        return metricScript.approxPercentileActualValue(uniqueKey);
+    }
+
+    @Override
+    protected SketchType getSketchType() {
+        return SketchType.QUANTILE;
+    }
+
+    @Override
+    public List<DataVinesDataType> suitableType() {
+        return Collections.singletonList(DataVinesDataType.NUMERIC_TYPE);
+    }
+}
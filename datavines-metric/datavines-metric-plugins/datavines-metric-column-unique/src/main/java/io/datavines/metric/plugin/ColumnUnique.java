@@ -53,6 +53,11 @@ public class ColumnUnique extends BaseSingleTableColumnNotUseView {
         return MetricType.SINGLE_TABLE;
     }
 
+    @Override
+    public boolean isScalableBySample() {
+        return false;
+    }
+
     @Override
     public boolean isInvalidateItemsCanOutput() {
         return true;
@@ -55,6 +55,11 @@ public class TableRowCount extends BaseSingleTable {
         return MetricType.SINGLE_TABLE;
     }
 
+    @Override
+    public boolean isScalableBySample() {
+        return true;
+    }
+
     @Override
     public boolean isInvalidateItemsCanOutput() {
         return false;
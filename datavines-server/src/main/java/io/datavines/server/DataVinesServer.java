@@ -28,9 +28,12 @@ import io.datavines.server.scheduler.CommonTaskScheduler;
 import io.datavines.server.scheduler.CommonTaskFailover;
 import io.datavines.server.dqc.coordinator.cache.JobExecutionResponseProcessor;
 import io.datavines.server.registry.Register;
+import io.datavines.server.repository.cache.CatalogSearchIndex;
 import io.datavines.server.dqc.coordinator.cache.JobExecuteManager;
 import io.datavines.server.dqc.coordinator.failover.JobExecutionFailover;
 import io.datavines.server.dqc.coordinator.runner.JobScheduler;
+import io.datavines.server.dqc.coordinator.retention.HistoryRetentionCleaner;
+import io.datavines.server.dqc.coordinator.stat.JobExecutionDailyStatCompactor;
 import io.datavines.server.registry.RegistryHolder;
 import io.datavines.server.utils.SpringApplicationContext;
 import io.datavines.spi.PluginLoader;
@@ -66,6 +69,10 @@ public class DataVinesServer {
 
     private JobExecutionFailover jobExecutionFailover;
 
+    private JobExecutionDailyStatCompactor jobExecutionDailyStatCompactor;
+
+    private HistoryRetentionCleaner historyRetentionCleaner;
+
     public static void main(String[] args) {
         Thread.currentThread().setName(DataVinesConstants.THREAD_NAME_COORDINATOR_SERVER);
         SpringApplication.run(DataVinesServer.class);
@@ -99,6 +106,13 @@ public class DataVinesServer {
         register = new Register(registry, jobExecutionFailover, commonTaskFailover);
         register.start();
 
+        jobExecutionDailyStatCompactor = new JobExecutionDailyStatCompactor(register);
+
+        historyRetentionCleaner = new HistoryRetentionCleaner(register);
+
+        // build the catalog search index in the background
+        CatalogSearchIndex.getInstance();
+
         //start job scheduler
         JobScheduler jobScheduler = new JobScheduler(jobExecuteManager, register);
         jobScheduler.start();
@@ -131,6 +145,8 @@ public class DataVinesServer {
             this.jobExecuteManager.close();
             this.register.close();
             this.jobExecutionFailover.close();
+            this.jobExecutionDailyStatCompactor.close();
+            this.historyRetentionCleaner.close();
             JdbcDataSourceManager.getInstance().close();
         } catch (Exception e) {
             logger.error("coordinator server stop exception ", e);
@@ -30,6 +30,7 @@ import io.datavines.server.api.dto.vo.MetricExecutionDashBoard;
 import io.datavines.server.api.dto.vo.catalog.CatalogColumnDetailVO;
 import io.datavines.server.api.dto.vo.catalog.CatalogDatabaseDetailVO;
 import io.datavines.server.api.dto.vo.catalog.CatalogEntityMetricParameter;
+import io.datavines.server.api.dto.vo.catalog.CatalogEntitySearchResultVO;
 import io.datavines.server.api.dto.vo.catalog.CatalogTableDetailVO;
 import io.datavines.server.repository.entity.catalog.CatalogSchemaChange;
 import io.datavines.server.repository.service.*;
@@ -41,6 +42,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import java.util.Date;
+import java.util.List;
 
 @Api(value = "catalog", tags = "catalog", produces = MediaType.APPLICATION_JSON_VALUE)
 @RestController
@@ -136,8 +138,9 @@ public class CatalogController {
     public Object getTableWithDetailPage(@RequestParam("upstreamUuid") String upstreamUuid,
                                          @RequestParam(value = "name",required = false) String name,
                                          @RequestParam("pageNumber") Integer pageNumber,
-                                         @RequestParam("pageSize") Integer pageSize) {
-        return catalogEntityInstanceService.getCatalogTableWithDetailPage(upstreamUuid, name, pageNumber, pageSize);
+                                         @RequestParam("pageSize") Integer pageSize,
+                                         @RequestParam(value = "cursor", required = false) String cursor) {
+        return catalogEntityInstanceService.getCatalogTableWithDetailPage(upstreamUuid, name, pageNumber, pageSize, cursor);
     }
 
     @ApiOperation(value = "get column with detail list", response = CatalogColumnDetailVO.class, responseContainer = "list")
@@ -151,8 +154,22 @@ public class CatalogController {
     public Object getColumnWithDetailPage(@RequestParam("upstreamUuid") String upstreamUuid,
                                           @RequestParam(value = "name",required = false) String name,
                                           @RequestParam("pageNumber") Integer pageNumber,
-                                          @RequestParam("pageSize") Integer pageSize) {
-        return catalogEntityInstanceService.getCatalogColumnWithDetailPage(upstreamUuid, name, pageNumber, pageSize);
+                                          @RequestParam("pageSize") Integer pageSize,
+                                          @RequestParam(value = "cursor", required = false) String cursor) {
+        return catalogEntityInstanceService.getCatalogColumnWithDetailPage(upstreamUuid, name, pageNumber, pageSize, cursor);
+    }
+
+    @ApiOperation(value = "search entity", response = CatalogEntitySearchResultVO.class)
+    @GetMapping(value = "/search")
+    public Object searchEntity(@RequestParam("workspaceId") Long workspaceId,
+                               @RequestParam(value = "keyword", required = false) String keyword,
+                               @RequestParam(value = "datasourceId", required = false) Long datasourceId,
+                               @RequestParam(value = "type", required = false) String type,
+                               @RequestParam(value = "tagUuids", required = false) List<String> tagUuids,
+                               @RequestParam(value = "fuzzy", required = false, defaultValue = "true") Boolean fuzzy,
+                               @RequestParam("pageNumber") Integer pageNumber,
+                               @RequestParam("pageSize") Integer pageSize) {
+        return catalogEntityInstanceService.searchEntity(workspaceId, keyword, datasourceId, type, tagUuids, fuzzy, pageNumber, pageSize);
     }
 
     @ApiOperation(value = "get database entity detail", response = CatalogDatabaseDetailVO.class)
@@ -198,6 +215,15 @@ public class CatalogController {
         return catalogEntityProfileService.listTableRecords(uuid, startTime ,endTime);
     }
 
+    @ApiOperation(value = "get column profile metric history", response = DataTime2ValueItem.class, responseContainer = "list")
+    @GetMapping(value = "/profile/column/history")
+    public Object getColumnProfileHistory(@RequestParam String uuid,
+                                          @RequestParam String metricName,
+                                          @RequestParam(value = "startTime", required = false) String startTime,
+                                          @RequestParam(value = "endTime",required = false) String endTime) {
+        return catalogEntityProfileService.listEntityProfileHistory(uuid, metricName, startTime, endTime);
+    }
+
     @ApiOperation(value = "get schema change list", response = CatalogSchemaChange.class, responseContainer = "list")
     @GetMapping(value = "/list/schema-change/{uuid}")
     public Object getSchemaChangeList(@PathVariable String uuid) {
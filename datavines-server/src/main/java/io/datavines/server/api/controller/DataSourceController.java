@@ -36,7 +36,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -47,6 +50,8 @@ import java.util.Set;
 @RefreshToken
 public class DataSourceController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     @Autowired
     private DataSourceService dataSourceService;
 
@@ -130,12 +135,46 @@ public class DataSourceController {
         return catalogEntityInstanceService.getEntityList(catalogEntityInstance.getUuid());
     }
 
+    @ApiOperation(value = "get partitions")
+    @GetMapping(value = "/{id}/{database}/{table}/partitions")
+    public Object getPartitionList(@PathVariable Long id, @PathVariable String database, @PathVariable String table) {
+        return dataSourceService.getPartitionList(id, database, table);
+    }
+
     @ApiOperation(value = "execute script")
     @PostMapping(value = "/execute", consumes = MediaType.APPLICATION_JSON_VALUE)
     public Object execute(@Valid @RequestBody ExecuteRequest param)  {
         return dataSourceService.executeScript(param);
     }
 
+    @ApiOperation(value = "execute script and stream the result as newline delimited json")
+    @PostMapping(value = "/execute/stream", consumes = MediaType.APPLICATION_JSON_VALUE, produces = NDJSON_VALUE)
+    public void executeStream(@Valid @RequestBody ExecuteRequest param, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        dataSourceService.executeScriptStream(param, response.getOutputStream());
+    }
+
+    @ApiOperation(value = "execute script with a cursor and get the first page")
+    @PostMapping(value = "/execute/cursor", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Object executeWithCursor(@Valid @RequestBody ExecuteRequest param) {
+        return dataSourceService.openScriptCursor(param);
+    }
+
+    @ApiOperation(value = "get the next page of the script cursor")
+    @GetMapping(value = "/execute/cursor/{cursorId}")
+    public Object fetchCursor(@PathVariable String cursorId,
+                              @RequestParam(value = "pageSize", required = false) Integer pageSize) {
+        return dataSourceService.fetchScriptCursor(cursorId, pageSize);
+    }
+
+    @ApiOperation(value = "close the script cursor")
+    @DeleteMapping(value = "/execute/cursor/{cursorId}")
+    public Object closeCursor(@PathVariable String cursorId) {
+        dataSourceService.closeScriptCursor(cursorId);
+        return true;
+    }
+
     @ApiOperation(value = "get config json")
     @GetMapping(value = "/config/{type}")
     public Object getConfigJson(@PathVariable String type){
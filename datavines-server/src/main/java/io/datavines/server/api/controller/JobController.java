@@ -22,6 +22,8 @@ import io.datavines.core.exception.DataVinesServerException;
 import io.datavines.server.api.dto.bo.job.JobCreate;
 import io.datavines.server.api.dto.bo.job.JobUpdate;
 import io.datavines.server.repository.entity.Job;
+import io.datavines.server.repository.service.ActualValuesService;
+import io.datavines.server.repository.service.JobPartitionWatermarkService;
 import io.datavines.server.repository.service.JobService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -42,6 +44,12 @@ public class JobController {
     @Autowired
     private JobService jobService;
 
+    @Autowired
+    private JobPartitionWatermarkService jobPartitionWatermarkService;
+
+    @Autowired
+    private ActualValuesService actualValuesService;
+
     @ApiOperation(value = "create job", response = long.class)
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     public Object createJob(@Valid @RequestBody JobCreate jobCreate) throws DataVinesServerException {
@@ -83,11 +91,12 @@ public class JobController {
                        @RequestParam("datasourceId") Long datasourceId,
                        @RequestParam(value = "type", required = false) Integer type,
                        @RequestParam("pageNumber") Integer pageNumber,
-                       @RequestParam("pageSize") Integer pageSize)  {
+                       @RequestParam("pageSize") Integer pageSize,
+                       @RequestParam(value = "cursor", required = false) String cursor)  {
         if (type == null) {
             type = 0;
         }
-        return jobService.getJobPage(searchVal, schemaSearch, tableSearch, columnSearch, startTime, endTime, datasourceId, type, pageNumber, pageSize);
+        return jobService.getJobPage(searchVal, schemaSearch, tableSearch, columnSearch, startTime, endTime, datasourceId, type, pageNumber, pageSize, cursor);
     }
 
     @ApiOperation(value = "execute job")
@@ -107,4 +116,25 @@ public class JobController {
     public Object getJobConfig(@PathVariable("id") Long jobId) throws DataVinesServerException {
         return jobService.getJobConfig(jobId);
     }
+
+    @ApiOperation(value = "get job partition watermark")
+    @GetMapping(value = "/partition/watermark/{id}")
+    public Object getPartitionWatermark(@PathVariable("id") Long jobId) {
+        return jobPartitionWatermarkService.listByJobId(jobId);
+    }
+
+    @ApiOperation(value = "get job rollup actual values")
+    @GetMapping(value = "/partition/rollup/{id}")
+    public Object getRollupActualValues(@PathVariable("id") Long jobId) {
+        return jobPartitionWatermarkService.listRollupActualValues(jobId);
+    }
+
+    @ApiOperation(value = "merge the sketches of job actual values")
+    @GetMapping(value = "/sketch/merge/{id}")
+    public Object mergeSketches(@PathVariable("id") Long jobId,
+                                @RequestParam("metricName") String metricName,
+                                @RequestParam("startTime") String startTime,
+                                @RequestParam("endTime") String endTime) {
+        return actualValuesService.mergeSketches(jobId, metricName, startTime, endTime);
+    }
 }
@@ -23,6 +23,7 @@ import io.datavines.common.entity.job.SubmitJob;
 import io.datavines.server.api.dto.bo.job.JobExecutionDashboardParam;
 import io.datavines.server.api.dto.bo.job.JobExecutionPageParam;
 import io.datavines.server.api.dto.vo.JobExecutionResultVO;
+import io.datavines.server.dqc.coordinator.stream.JobExecutionStreamHub;
 import io.datavines.server.repository.entity.JobExecution;
 import io.datavines.server.repository.service.JobExecutionErrorDataService;
 import io.datavines.server.repository.service.JobExecutionResultService;
@@ -33,8 +34,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.validation.Valid;
+import java.util.List;
 
 @Slf4j
 @Api(value = "job", tags = "job", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -76,6 +79,15 @@ public class JobExecutionController {
         return jobExecutionService.getById(executionId).getStatus().getDescription();
     }
 
+    @ApiOperation(value = "stream job execution status")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJobExecutionStatus(@RequestParam(value = "executionId", required = false) Long executionId,
+                                               @RequestParam(value = "jobId", required = false) Long jobId,
+                                               @RequestParam(value = "datasourceId", required = false) Long datasourceId,
+                                               @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return JobExecutionStreamHub.getInstance().subscribeStatus(executionId, jobId, datasourceId, lastEventId);
+    }
+
     @ApiOperation(value = "get job execution list by job id", response = JobExecution.class, responseContainer = "list")
     @GetMapping(value = "/list/{jobId}")
     public Object getJobExecutionListByJobId(@PathVariable("jobId") Long jobId) {
@@ -105,8 +117,9 @@ public class JobExecutionController {
     @GetMapping(value = "/errorDataPage")
     public Object readErrorDataPage(@RequestParam("taskId") Long taskId,
                                     @RequestParam("pageNumber") Integer pageNumber,
-                                    @RequestParam("pageSize") Integer pageSize){
-        return jobExecutionErrorDataService.readErrorDataPage(taskId, pageNumber, pageSize);
+                                    @RequestParam("pageSize") Integer pageSize,
+                                    @RequestParam(value = "columns", required = false) List<String> columns){
+        return jobExecutionErrorDataService.readErrorDataPage(taskId, pageNumber, pageSize, columns);
     }
 
     @ApiOperation(value = "get job execution agg pie", response = JobExecutionResultVO.class)
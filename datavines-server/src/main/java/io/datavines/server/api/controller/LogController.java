@@ -28,7 +28,9 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import org.apache.commons.io.Charsets;
 import org.apache.commons.lang.StringUtils;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.annotation.Resource;
 import javax.servlet.http.Cookie;
@@ -97,6 +99,23 @@ public class LogController {
         return null;
     }
 
+    @ApiOperation(value = "streamLog", notes = "stream task log from offsetLine")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLog(@RequestParam("taskId") Long taskId,
+                               @RequestParam(value = "offsetLine", required = false, defaultValue = "0") int offsetLine,
+                               @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String taskHost = jobExecutionService.getJobExecutionHost(taskId);
+        Boolean isConcurrentHost = judgeConcurrentHost(taskHost);
+        if (isConcurrentHost) {
+            return logService.streamLog(taskId, offsetLine, lastEventId);
+        }
+
+        response.sendRedirect(request.getScheme() + "://" + taskHost +
+                "/api/v1/task/log/stream?offsetLine="+offsetLine+"&taskId="+taskId+"&Authorization="+request.getHeader("Authorization"));
+        return null;
+    }
+
     @ApiOperation(value = "download", notes = "download log file")
     @GetMapping(value = "/download")
     public void download(@RequestParam("taskId") Long taskId, HttpServletRequest request, HttpServletResponse response) throws IOException {
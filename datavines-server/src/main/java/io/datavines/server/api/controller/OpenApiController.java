@@ -16,11 +16,17 @@
  */
 package io.datavines.server.api.controller;
 
+import io.datavines.common.utils.DateUtils;
+import io.datavines.common.utils.StringUtils;
 import io.datavines.core.aop.RefreshToken;
 import io.datavines.core.constant.DataVinesConstants;
 import io.datavines.core.exception.DataVinesServerException;
 import io.datavines.server.api.annotation.CheckTokenExist;
+import io.datavines.server.api.dto.bo.job.JobBatchExecute;
+import io.datavines.server.api.dto.bo.job.JobExecutionBatchStatusParam;
+import io.datavines.server.api.dto.vo.JobExecutionCheckStatusVO;
 import io.datavines.server.api.dto.vo.JobExecutionResultVO;
+import io.datavines.server.api.dto.vo.JobExecutionSubmitVO;
 import io.datavines.server.repository.service.JobExecutionResultService;
 import io.datavines.server.repository.service.JobExecutionService;
 import io.datavines.server.repository.service.JobService;
@@ -31,6 +37,11 @@ import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import javax.validation.Valid;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+
 @Api(value = "openapi", tags = "openapi", produces = MediaType.APPLICATION_JSON_VALUE)
 @RestController
 @RequestMapping(value = DataVinesConstants.BASE_API_PATH + "/openapi", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -54,6 +65,17 @@ public class OpenApiController {
         return jobService.execute(jobId, null);
     }
 
+    @CheckTokenExist
+    @ApiOperation(value = "execute jobs in batch", response = JobExecutionSubmitVO.class, responseContainer = "list")
+    @PostMapping(value = "/job/execute/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Object executeJobBatch(@Valid @RequestBody JobBatchExecute jobBatchExecute) throws DataVinesServerException {
+        LocalDateTime scheduleTime = null;
+        if (StringUtils.isNotEmpty(jobBatchExecute.getScheduleTime())) {
+            scheduleTime = LocalDateTime.parse(jobBatchExecute.getScheduleTime(), DateTimeFormatter.ofPattern(DateUtils.YYYY_MM_DD_HH_MM_SS));
+        }
+        return jobService.executeBatch(jobBatchExecute.getJobIds(), scheduleTime);
+    }
+
     @CheckTokenExist
     @ApiOperation(value = "kill job", response = Long.class)
     @PostMapping(value = "/job/execution/kill/{executionId}")
@@ -68,6 +90,20 @@ public class OpenApiController {
         return jobExecutionService.getById(executionId).getStatus();
     }
 
+    @CheckTokenExist
+    @ApiOperation(value = "get job execution status and result in batch", response = JobExecutionCheckStatusVO.class, responseContainer = "list")
+    @PostMapping(value = "/job/execution/status/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Object getTaskStatusBatch(@Valid @RequestBody JobExecutionBatchStatusParam statusParam) {
+        return jobExecutionService.listCheckStatus(statusParam.getJobExecutionIds());
+    }
+
+    @CheckTokenExist
+    @ApiOperation(value = "wait until the job executions are finished or timeout", response = JobExecutionCheckStatusVO.class, responseContainer = "list")
+    @PostMapping(value = "/job/execution/status/wait", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<?> waitTaskFinished(@Valid @RequestBody JobExecutionBatchStatusParam statusParam) {
+        return jobExecutionService.waitUntilFinished(statusParam.getJobExecutionIds(), statusParam.getTimeout());
+    }
+
     @CheckTokenExist
     @Deprecated
     @ApiOperation(value = "get job execution result", response = JobExecutionResultVO.class)
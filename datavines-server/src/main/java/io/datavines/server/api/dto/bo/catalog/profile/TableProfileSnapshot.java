@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.api.dto.bo.catalog.profile;
+
+import io.datavines.server.repository.entity.catalog.CatalogEntityProfile;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The profile of a table and its columns in one profiling run, it is stored as one json row
+ * and replaces the per column and per metric queries when the profile of the table is opened.
+ */
+@Data
+public class TableProfileSnapshot implements Serializable {
+
+    private static final long serialVersionUID = -1L;
+
+    private String dataDate;
+
+    private String tableRecords;
+
+    /**
+     * the time when the snapshot was built, yyyy-MM-dd HH:mm:ss
+     */
+    private String snapshotTime;
+
+    /**
+     * true when a later profile run finished but its snapshot could not be refreshed, the profile may be outdated
+     */
+    private boolean stale;
+
+    /**
+     * entity uuid -> metric name -> actual value, the entities are the table and its columns
+     */
+    private Map<String, Map<String, String>> entityMetrics = new HashMap<>();
+
+    public void addProfile(CatalogEntityProfile profile) {
+        entityMetrics.computeIfAbsent(profile.getEntityUuid(), k -> new HashMap<>())
+                .put(profile.getMetricName(), profile.getActualValue());
+    }
+
+    public List<CatalogEntityProfile> getEntityProfiles(String uuid) {
+        List<CatalogEntityProfile> profileList = new ArrayList<>();
+        Map<String, String> metrics = entityMetrics.get(uuid);
+        if (metrics == null) {
+            return profileList;
+        }
+
+        metrics.forEach((metricName, actualValue) -> {
+            CatalogEntityProfile profile = new CatalogEntityProfile();
+            profile.setEntityUuid(uuid);
+            profile.setMetricName(metricName);
+            profile.setActualValue(actualValue);
+            profile.setDataDate(dataDate);
+            profileList.add(profile);
+        });
+        return profileList;
+    }
+}
@@ -32,4 +32,19 @@ public class ExecuteRequest {
     private String script;
 
     private String variables;
+
+    /**
+     * max rows of the result, it is bounded by the server
+     */
+    private Integer limit;
+
+    /**
+     * rows read from the datasource in one round trip
+     */
+    private Integer fetchSize;
+
+    /**
+     * rows of the first page when the script is executed with a cursor
+     */
+    private Integer pageSize;
 }
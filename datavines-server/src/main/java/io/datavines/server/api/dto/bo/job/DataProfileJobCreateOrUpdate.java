@@ -69,6 +69,11 @@ public class DataProfileJobCreateOrUpdate {
 
     private Long errorDataStorageId;
 
+    /**
+     * the fraction of rows read by the metrics, greater than 0 and not greater than 1, empty or 1 means that the whole table is read
+     */
+    private Double sampleFraction;
+
     /**
      * 1:running now, 0:don't run
      */
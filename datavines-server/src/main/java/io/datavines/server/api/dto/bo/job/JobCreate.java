@@ -65,6 +65,11 @@ public class JobCreate {
 
     private Long errorDataStorageId;
 
+    /**
+     * the fraction of rows read by the metrics, greater than 0 and not greater than 1, empty or 1 means that the whole table is read
+     */
+    private Double sampleFraction;
+
     private String errorDataOutputToDataSourceDatabase;
 
     private Boolean isErrorDataOutputToDataSource;
@@ -53,4 +53,8 @@ public class JobExecutionPageParam {
 
     private String columnSearch;
 
+    /**
+     * the cursor of the keyset pagination, empty for the first page, the pageNumber is ignored when it is set
+     */
+    private String cursor;
 }
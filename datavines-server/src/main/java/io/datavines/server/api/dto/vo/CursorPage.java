@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.api.dto.vo;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The page of the keyset pagination, it keeps the fields of the offset page and carries the cursor of the next page
+ */
+@Getter
+@Setter
+public class CursorPage<T> extends Page<T> {
+
+    private static final long serialVersionUID = -1L;
+
+    private String nextCursor;
+
+    private boolean hasMore;
+
+    public CursorPage(long size, long total) {
+        super(1, size, total, false);
+    }
+
+    /**
+     * build the page from the rows which are read with limit size + 1, the extra row only tells whether there is a next page
+     * @param rows rows
+     * @param size page size
+     * @param total total of the whole list
+     * @param cursorOf the cursor of a row
+     * @return cursor page
+     */
+    public static <T> CursorPage<T> of(List<T> rows, long size, long total, Function<T, String> cursorOf) {
+        CursorPage<T> page = new CursorPage<>(size, total);
+        page.setHasMore(rows.size() > size);
+        List<T> records = page.isHasMore() ? rows.subList(0, (int) size) : rows;
+        page.setRecords(records);
+        if (page.isHasMore()) {
+            page.setNextCursor(cursorOf.apply(records.get(records.size() - 1)));
+        }
+        return page;
+    }
+}
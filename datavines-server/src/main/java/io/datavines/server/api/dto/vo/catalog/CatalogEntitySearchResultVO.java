@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.api.dto.vo.catalog;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CatalogEntitySearchResultVO implements Serializable {
+
+    private Long total = 0L;
+
+    private Integer pageNumber;
+
+    private Integer pageSize;
+
+    private List<CatalogEntitySearchVO> records = new ArrayList<>();
+
+    private List<CatalogTagFacetVO> tagFacets = new ArrayList<>();
+
+    /**
+     * true when a keyword term matched too many index terms and only the closest ones were searched
+     */
+    private boolean truncated;
+}
@@ -30,5 +30,11 @@ public class CatalogTableProfileVO implements Serializable {
 
     private String type;
 
+    private String dataDate;
+
+    private String snapshotTime;
+
+    private boolean stale;
+
     private List<CatalogColumnBaseProfileVO> columnProfile;
 }
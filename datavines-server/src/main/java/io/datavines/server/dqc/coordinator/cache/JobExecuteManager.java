@@ -20,14 +20,10 @@ import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.sift.SiftingAppender;
 import io.datavines.common.CommonConstants;
 import io.datavines.common.config.Configurations;
-import io.datavines.common.config.DataVinesJobConfig;
-import io.datavines.common.entity.JobExecutionParameter;
-import io.datavines.common.entity.JobExecutionInfo;
 import io.datavines.common.entity.JobExecutionRequest;
 import io.datavines.common.enums.ExecutionStatus;
 import io.datavines.common.log.JobExecutionLogDiscriminator;
 import io.datavines.common.utils.*;
-import io.datavines.engine.config.DataVinesConfigurationManager;
 import io.datavines.engine.core.utils.JsonUtils;
 import io.datavines.notification.api.entity.SlaConfigMessage;
 import io.datavines.notification.api.entity.SlaNotificationMessage;
@@ -291,6 +287,7 @@ public class JobExecuteManager {
                         continue;
                     }
 
+                    ExecutionStatus previousStatus = jobExecution.getStatus();
                     switch (jobExecutionResponse.getCommandCode()) {
                         case JOB_EXECUTE_ACK:
                             logger.info("job execution ack response: " + JSONUtils.toJsonString(jobExecutionRequest));
@@ -301,6 +298,7 @@ public class JobExecuteManager {
                             jobExecution.setApplicationIdTag(jobExecutionRequest.getJobExecutionUniqueId());
                             jobExecution.setExecuteHost(jobExecutionRequest.getExecuteHost());
                             jobExternalService.updateJobExecution(jobExecution);
+                            jobExternalService.refreshJobExecutionDailyStat(jobExecution, previousStatus);
                             break;
                         case JOB_EXECUTE_RESPONSE:
                             unFinishedJobExecutionMap.put(jobExecutionRequest.getJobExecutionId(), jobExecutionRequest);
@@ -313,7 +311,12 @@ public class JobExecuteManager {
                                 jobExecution.setEndTime(jobExecutionRequest.getEndTime());
                                 jobExecution.setStatus(ExecutionStatus.of(jobExecutionRequest.getStatus()));
                                 jobExternalService.updateJobExecution(jobExecution);
+                                jobExternalService.commitPartitionWatermark(jobExecution);
                                 jobResultValidator.operateDqExecuteResult(jobExecutionRequest);
+                                // roll up after the validator, which may scale the actual values by the sample fraction
+                                jobExternalService.refreshActualValuesDailyRollup(jobExecution.getId());
+                                jobExternalService.refreshJobExecutionDailyStat(jobExecution, previousStatus);
+                                jobExternalService.refreshProfileSnapshot(jobExecution);
                                 minusEngine2ExecutionMap(jobExecution.getEngineType(), jobExecution.getId());
                             } else if (ExecutionStatus.of(jobExecutionRequest.getStatus()).typeIsFailure()) {
                                 logger.info("job execution failure response: " + JSONUtils.toJsonString(jobExecutionRequest));
@@ -330,12 +333,12 @@ public class JobExecuteManager {
                                     jobExternalService.deleteActualValuesByJobExecutionId(jobExecutionRequest.getJobExecutionId());
                                 } else {
                                     sendErrorEmail(jobExecution);
-                                    updateJobExecutionAndRemoveCache(jobExecutionRequest, jobExecution);
+                                    updateJobExecutionAndRemoveCache(jobExecutionRequest, jobExecution, previousStatus);
                                     minusEngine2ExecutionMap(jobExecution.getEngineType(), jobExecution.getId());
                                 }
                             } else if(ExecutionStatus.of(jobExecutionRequest.getStatus()).typeIsCancel()) {
                                 logger.info("job execution cancel response: " + JSONUtils.toJsonString(jobExecutionRequest));
-                                updateJobExecutionAndRemoveCache(jobExecutionRequest, jobExecution);
+                                updateJobExecutionAndRemoveCache(jobExecutionRequest, jobExecution, previousStatus);
                                 minusEngine2ExecutionMap(jobExecution.getEngineType(), jobExecution.getId());
                             } else if(ExecutionStatus.of(jobExecutionRequest.getStatus()).typeIsRunning()) {
                                 logger.info("job execution running response: " + JSONUtils.toJsonString(jobExecutionRequest));
@@ -381,7 +384,8 @@ public class JobExecuteManager {
 
     }
 
-    private void updateJobExecutionAndRemoveCache(JobExecutionRequest jobExecutionRequest, JobExecution jobExecution) {
+    private void updateJobExecutionAndRemoveCache(JobExecutionRequest jobExecutionRequest, JobExecution jobExecution,
+                                                  ExecutionStatus previousStatus) {
         unFinishedJobExecutionMap.remove(jobExecutionRequest.getJobExecutionId());
         jobExternalService.deleteJobExecutionResultByJobExecutionId(jobExecutionRequest.getJobExecutionId());
         jobExternalService.deleteActualValuesByJobExecutionId(jobExecutionRequest.getJobExecutionId());
@@ -391,6 +395,7 @@ public class JobExecuteManager {
         jobExecution.setEndTime(jobExecutionRequest.getEndTime());
         jobExecution.setStatus(ExecutionStatus.of(jobExecutionRequest.getStatus()));
         jobExternalService.updateJobExecution(jobExecution);
+        jobExternalService.refreshJobExecutionDailyStat(jobExecution, previousStatus);
     }
 
     /**
@@ -438,9 +443,11 @@ public class JobExecuteManager {
             unFinishedJobExecutionMap.remove(jobExecutionId);
             JobExecution jobExecution = jobExternalService.getJobExecutionById(jobExecutionId);
             if (jobExecution != null) {
+                ExecutionStatus previousStatus = jobExecution.getStatus();
                 jobExecution.setEndTime(LocalDateTime.now());
                 jobExecution.setStatus(ExecutionStatus.KILL);
                 jobExternalService.updateJobExecution(jobExecution);
+                jobExternalService.refreshJobExecutionDailyStat(jobExecution, previousStatus);
             }
         }
     }
@@ -557,11 +564,6 @@ public class JobExecuteManager {
         JobExecutionRequest jobExecutionRequest = new JobExecutionRequest();
         jobExecutionRequest.setJobExecutionId(jobExecution.getId());
         jobExecutionRequest.setJobExecutionName(jobExecution.getName());
-        JobExecutionParameter jobExecutionParameter = JSONUtils.parseObject(jobExecution.getParameter(),JobExecutionParameter.class);
-        if (jobExecutionParameter == null) {
-            throw new DataVinesException("JobExecutionParameter can not be null");
-        }
-
         jobExecutionRequest.setExecutePlatformType(jobExecution.getExecutePlatformType());
         jobExecutionRequest.setExecutePlatformParameter(jobExecution.getExecutePlatformParameter());
         jobExecutionRequest.setEngineType(jobExecution.getEngineType());
@@ -572,21 +574,15 @@ public class JobExecuteManager {
         inputParameter.put(PRE_SQL, jobExecution.getPreSql());
         inputParameter.put(POST_SQL, jobExecution.getPostSql());
 
-        JobExecutionInfo jobExecutionInfo = new JobExecutionInfo(
-                jobExecution.getId(), jobExecution.getName(),
-                jobExecution.getEngineType(), jobExecution.getEngineParameter(),
-                jobExecution.getErrorDataStorageType(), jobExecution.getErrorDataStorageParameter(), jobExecution.getErrorDataFileName(),
-                getDefaultConnectionInfo().getType(), JSONUtils.toJsonString(DefaultDataSourceInfoUtils.getDefaultDataSourceConfigMap()),
-                jobExecutionParameter);
-        DataVinesJobConfig qualityConfig =
-                DataVinesConfigurationManager.generateConfiguration(jobExecution.getJobType(), inputParameter, jobExecutionInfo);
+        String applicationParameter = JobExecutionPlanCache.getInstance().getApplicationParameter(jobExecution, inputParameter,
+                getDefaultConnectionInfo().getType(), JSONUtils.toJsonString(DefaultDataSourceInfoUtils.getDefaultDataSourceConfigMap()));
 
         jobExecutionRequest.setExecuteFilePath(jobExecution.getExecuteFilePath());
         jobExecutionRequest.setLogPath(jobExecution.getLogPath());
         jobExecutionRequest.setJobExecutionUniqueId(jobExecution.getApplicationIdTag());
         jobExecutionRequest.setStatus(jobExecution.getStatus().getCode());
         jobExecutionRequest.setExecuteHost(NetUtils.getAddr(CommonPropertyUtils.getInt(CommonPropertyUtils.SERVER_PORT, CommonPropertyUtils.SERVER_PORT_DEFAULT)));
-        jobExecutionRequest.setApplicationParameter(JSONUtils.toJsonString(qualityConfig));
+        jobExecutionRequest.setApplicationParameter(applicationParameter);
 
         if (StringUtils.isEmpty(jobExecution.getTenantCode())) {
             jobExecutionRequest.setTenantCode(CommonPropertyUtils.getString(
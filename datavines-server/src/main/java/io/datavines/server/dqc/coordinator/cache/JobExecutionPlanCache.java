@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.dqc.coordinator.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.datavines.common.config.DataVinesJobConfig;
+import io.datavines.common.entity.JobExecutionInfo;
+import io.datavines.common.entity.JobExecutionParameter;
+import io.datavines.common.entity.job.BaseJobParameter;
+import io.datavines.common.exception.DataVinesException;
+import io.datavines.common.utils.CommonPropertyUtils;
+import io.datavines.common.utils.DateUtils;
+import io.datavines.common.utils.JSONUtils;
+import io.datavines.common.utils.ParameterUtils;
+import io.datavines.common.utils.StringUtils;
+import io.datavines.common.utils.placeholder.PlaceholderUtils;
+import io.datavines.common.utils.placeholder.TimePlaceholderUtils;
+import io.datavines.engine.config.DataVinesConfigurationManager;
+import io.datavines.engine.config.MetricParserUtils;
+import io.datavines.server.repository.entity.JobExecution;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static io.datavines.common.CommonConstants.PARAMETER_DATETIME;
+import static io.datavines.common.CommonConstants.PARAMETER_FORMAT_TIME;
+import static io.datavines.common.ConfigConstants.*;
+
+/**
+ * Cache of the compiled job configuration (the application parameter), keyed by job id and the content hash
+ * of everything the compilation depends on. The plan is compiled once with placeholders for the run-level values,
+ * and only these placeholders are bound when an execution is submitted, retried or failed over. The metric unique keys
+ * depend on the execution id, so they are placeholders too and two executions never share a view name. The time
+ * placeholders ($[...]) of the parameters are resolved by the compilation, so their values are a part of the key.
+ */
+public class JobExecutionPlanCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobExecutionPlanCache.class);
+
+    private static final String PLAN_JOB_EXECUTION_ID = "dv_plan_job_execution_id";
+
+    private static final String PLAN_JOB_EXECUTION_NAME = "dv_plan_job_execution_name";
+
+    private static final String PLAN_ERROR_DATA_FILE_NAME = "dv_plan_error_data_file_name";
+
+    private static final String PLAN_RUN_TIME = "dv_plan_run_time";
+
+    private static final String PLAN_RUN_DATE = "dv_plan_run_date";
+
+    private final boolean enable;
+
+    private final Cache<String, String> planCache;
+
+    private JobExecutionPlanCache() {
+        this.enable = CommonPropertyUtils.getBoolean(
+                CommonPropertyUtils.JOB_PLAN_CACHE_ENABLE, CommonPropertyUtils.JOB_PLAN_CACHE_ENABLE_DEFAULT);
+        this.planCache = CacheBuilder.newBuilder()
+                .maximumSize(CommonPropertyUtils.getInt(
+                        CommonPropertyUtils.JOB_PLAN_CACHE_MAX_SIZE, CommonPropertyUtils.JOB_PLAN_CACHE_MAX_SIZE_DEFAULT))
+                .expireAfterAccess(1, TimeUnit.DAYS)
+                .build();
+    }
+
+    private static class Singleton {
+        static JobExecutionPlanCache instance = new JobExecutionPlanCache();
+    }
+
+    public static JobExecutionPlanCache getInstance() {
+        return Singleton.instance;
+    }
+
+    /**
+     * get the application parameter of the job execution, compile the job plan only when it is not in the cache
+     * @param jobExecution job execution
+     * @param inputParameter input parameter, such as pre sql and post sql
+     * @param validateResultDataStorageType validate result data storage type
+     * @param validateResultDataStorageParameter validate result data storage parameter
+     * @return application parameter
+     */
+    public String getApplicationParameter(JobExecution jobExecution,
+                                          Map<String, String> inputParameter,
+                                          String validateResultDataStorageType,
+                                          String validateResultDataStorageParameter) throws DataVinesException {
+
+        JobExecutionParameter jobExecutionParameter = JSONUtils.parseObject(jobExecution.getParameter(), JobExecutionParameter.class);
+        if (jobExecutionParameter == null) {
+            throw new DataVinesException("JobExecutionParameter can not be null");
+        }
+
+        if (!enable || jobExecution.getJobId() == null) {
+            JobExecutionInfo jobExecutionInfo = new JobExecutionInfo(
+                    jobExecution.getId(), jobExecution.getName(),
+                    jobExecution.getEngineType(), jobExecution.getEngineParameter(),
+                    jobExecution.getErrorDataStorageType(), jobExecution.getErrorDataStorageParameter(), jobExecution.getErrorDataFileName(),
+                    validateResultDataStorageType, validateResultDataStorageParameter,
+                    jobExecutionParameter);
+            DataVinesJobConfig qualityConfig =
+                    DataVinesConfigurationManager.generateConfiguration(jobExecution.getJobType(), inputParameter, jobExecutionInfo);
+            return JSONUtils.toJsonString(qualityConfig);
+        }
+
+        // the time placeholders of the key and of the compilation are resolved with the same time
+        Map<String, String> planInputParameter = new HashMap<>();
+        if (inputParameter != null) {
+            planInputParameter.putAll(inputParameter);
+        }
+        if (StringUtils.isEmpty(planInputParameter.get(PARAMETER_DATETIME))) {
+            planInputParameter.put(PARAMETER_DATETIME, DateUtils.format(LocalDateTime.now(), PARAMETER_FORMAT_TIME));
+        }
+
+        String planKey = getPlanKey(jobExecution, inputParameter, planInputParameter,
+                validateResultDataStorageType, validateResultDataStorageParameter);
+        String plan;
+        try {
+            plan = planCache.get(planKey, () -> compile(jobExecution, jobExecutionParameter,
+                    planInputParameter, validateResultDataStorageType, validateResultDataStorageParameter));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof DataVinesException) {
+                throw (DataVinesException) e.getCause();
+            }
+            throw new DataVinesException("compile job plan error", e.getCause());
+        }
+
+        return bind(plan, jobExecution);
+    }
+
+    /**
+     * remove all the compiled plans of the job, it should be called when the job is updated or deleted
+     * @param jobId job id
+     */
+    public void invalidate(Long jobId) {
+        if (jobId == null) {
+            return;
+        }
+
+        String prefix = jobId + "_";
+        planCache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private String compile(JobExecution jobExecution,
+                           JobExecutionParameter jobExecutionParameter,
+                           Map<String, String> inputParameter,
+                           String validateResultDataStorageType,
+                           String validateResultDataStorageParameter) throws DataVinesException {
+
+        logger.info("compile job plan for job {}", jobExecution.getJobId());
+
+        Map<String, String> planInputParameter = new HashMap<>(inputParameter);
+        planInputParameter.put(JOB_EXECUTION_ID, wrapperPlaceholder(PLAN_JOB_EXECUTION_ID));
+        planInputParameter.put(CREATE_TIME, StringUtils.wrapperSingleQuotes(wrapperPlaceholder(PLAN_RUN_TIME)));
+        planInputParameter.put(UPDATE_TIME, StringUtils.wrapperSingleQuotes(wrapperPlaceholder(PLAN_RUN_TIME)));
+        planInputParameter.put(DATA_TIME, StringUtils.wrapperSingleQuotes(wrapperPlaceholder(PLAN_RUN_TIME)));
+        planInputParameter.put(DATA_DATE, StringUtils.wrapperSingleQuotes(wrapperPlaceholder(PLAN_RUN_DATE)));
+
+        // the plan is compiled without the execution id, so the metric unique keys are placeholders
+        JobExecutionInfo jobExecutionInfo = new JobExecutionInfo(
+                null, wrapperPlaceholder(PLAN_JOB_EXECUTION_NAME),
+                jobExecution.getEngineType(), jobExecution.getEngineParameter(),
+                jobExecution.getErrorDataStorageType(), jobExecution.getErrorDataStorageParameter(),
+                wrapperPlaceholder(PLAN_ERROR_DATA_FILE_NAME),
+                validateResultDataStorageType, validateResultDataStorageParameter,
+                jobExecutionParameter);
+
+        DataVinesJobConfig qualityConfig =
+                DataVinesConfigurationManager.generateConfiguration(jobExecution.getJobType(), planInputParameter, jobExecutionInfo);
+        return JSONUtils.toJsonString(qualityConfig);
+    }
+
+    private String bind(String plan, JobExecution jobExecution) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, String> runParameter = new HashMap<>();
+        runParameter.put(PLAN_JOB_EXECUTION_ID, String.valueOf(jobExecution.getId()));
+        runParameter.put(PLAN_JOB_EXECUTION_NAME, StringEscapeUtils.escapeJson(jobExecution.getName()));
+        runParameter.put(PLAN_ERROR_DATA_FILE_NAME, StringEscapeUtils.escapeJson(jobExecution.getErrorDataFileName()));
+        runParameter.put(PLAN_RUN_TIME, DateUtils.format(now, DateUtils.YYYY_MM_DD_HH_MM_SS));
+        runParameter.put(PLAN_RUN_DATE, DateUtils.format(now, DateUtils.YYYY_MM_DD));
+
+        String boundPlan = PlaceholderUtils.replacePlaceholders(plan, runParameter, true);
+
+        // the metric unique keys are nested in the placeholders of the metric values which are bound by the engine,
+        // so they have their own placeholders. The parameter is parsed again, the compilation may have changed it
+        JobExecutionParameter jobExecutionParameter = JSONUtils.parseObject(jobExecution.getParameter(), JobExecutionParameter.class);
+        return MetricParserUtils.bindMetricUniqueKeys(boundPlan, getMetricUniqueKeys(jobExecutionParameter, jobExecution.getId()));
+    }
+
+    /**
+     * the metric unique keys in the order of the metric parameter list, null for the metrics without parameters
+     */
+    private List<String> getMetricUniqueKeys(JobExecutionParameter jobExecutionParameter, Long jobExecutionId) {
+        List<String> metricUniqueKeys = new ArrayList<>();
+        List<BaseJobParameter> metricParameterList = jobExecutionParameter.getMetricParameterList();
+        if (CollectionUtils.isEmpty(metricParameterList)) {
+            return metricUniqueKeys;
+        }
+
+        for (BaseJobParameter parameter : metricParameterList) {
+            metricUniqueKeys.add(parameter.getMetricParameter() == null ?
+                    null : MetricParserUtils.generateMetricUniqueKey(parameter, jobExecutionId));
+        }
+        return metricUniqueKeys;
+    }
+
+    private String getPlanKey(JobExecution jobExecution,
+                              Map<String, String> inputParameter,
+                              Map<String, String> planInputParameter,
+                              String validateResultDataStorageType,
+                              String validateResultDataStorageParameter) {
+        // the day is a part of the key because the window parameters (week start, month end ...) are compiled into the plan,
+        // and so are the resolved time placeholders, which may change every hour or minute (e.g. $[yyyyMMddHH-1/24])
+        String content = String.join("\u0001",
+                String.valueOf(jobExecution.getJobType()),
+                jobExecution.getParameter(),
+                jobExecution.getEngineType(),
+                jobExecution.getEngineParameter(),
+                jobExecution.getErrorDataStorageType(),
+                jobExecution.getErrorDataStorageParameter(),
+                validateResultDataStorageType,
+                validateResultDataStorageParameter,
+                inputParameter == null ? "" : new TreeMap<>(inputParameter).toString(),
+                resolveTimePlaceholders(jobExecution.getParameter(), planInputParameter),
+                resolveTimePlaceholders(jobExecution.getEngineParameter(), planInputParameter),
+                inputParameter == null ? "" : resolveTimePlaceholders(new TreeMap<>(inputParameter).toString(), planInputParameter),
+                DateUtils.format(LocalDate.now(), DateUtils.YYYY_MM_DD));
+        return jobExecution.getJobId() + "_" + DigestUtils.md5Hex(content);
+    }
+
+    /**
+     * the content with its time placeholders resolved, an empty string when it has none
+     */
+    private String resolveTimePlaceholders(String content, Map<String, String> planInputParameter) {
+        if (content == null || (!content.contains(TimePlaceholderUtils.PLACEHOLDER_PREFIX)
+                && !content.contains(wrapperPlaceholder(PARAMETER_DATETIME)))) {
+            return "";
+        }
+        return ParameterUtils.convertParameterPlaceholders(content, planInputParameter);
+    }
+
+    private String wrapperPlaceholder(String name) {
+        return PlaceholderUtils.PLACEHOLDER_PREFIX + name + PlaceholderUtils.PLACEHOLDER_SUFFIX;
+    }
+}
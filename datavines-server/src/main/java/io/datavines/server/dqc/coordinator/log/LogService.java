@@ -18,6 +18,7 @@ package io.datavines.server.dqc.coordinator.log;
 
 import io.datavines.core.enums.Status;
 import io.datavines.core.exception.DataVinesServerException;
+import io.datavines.server.dqc.coordinator.stream.JobExecutionStreamHub;
 import io.datavines.server.repository.entity.JobExecution;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
@@ -39,6 +40,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import io.datavines.common.entity.LogResult;
 import io.datavines.common.utils.IOUtils;
@@ -78,6 +80,14 @@ public class LogService {
         return new LogResult(readWholeFileContent(jobExecution.getLogPath()),0);
     }
 
+    /**
+     * stream the log lines from the offset line, the lines are pushed as they are written until the execution is finished
+     */
+    public SseEmitter streamLog(long jobExecutionId, int offsetLine, String lastEventId) {
+        JobExecution jobExecution = getExecutionJob(jobExecutionId);
+        return JobExecutionStreamHub.getInstance().subscribeLog(jobExecution, offsetLine, lastEventId);
+    }
+
     public byte[] getLogBytes(long jobExecutionId){
         JobExecution jobExecution = getExecutionJob(jobExecutionId);
         return getFileContentBytes(jobExecution.getLogPath());
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.dqc.coordinator.retention;
+
+import io.datavines.common.utils.CommonPropertyUtils;
+import io.datavines.common.utils.Stopper;
+import io.datavines.common.utils.ThreadUtils;
+import io.datavines.server.enums.ArchiveType;
+import io.datavines.server.registry.Register;
+import io.datavines.server.repository.entity.WorkSpace;
+import io.datavines.server.repository.service.ConfigService;
+import io.datavines.server.repository.service.HistoryRetentionService;
+import io.datavines.server.repository.service.WorkSpaceService;
+import io.datavines.server.utils.SpringApplicationContext;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Archives and deletes the finished job executions (with their results, actual values, commands and profile snapshots) and the common tasks
+ * which are older than the retention days of their workspace. The retention days and the archive type can be overridden
+ * in the workspace by the retention.days and retention.archive.type configs, the retention is disabled when the days is not positive.
+ * Only the server which holds the retention lock runs it, and every chunk is purged in its own transaction.
+ */
+@Slf4j
+public class HistoryRetentionCleaner {
+
+    public static final Long DEFAULT_WORKSPACE_ID = -1L;
+
+    private final Register register;
+
+    private final HistoryRetentionService historyRetentionService;
+
+    private final WorkSpaceService workSpaceService;
+
+    private final ConfigService configService;
+
+    private final ScheduledExecutorService executorService;
+
+    private final String retentionLockKey =
+            CommonPropertyUtils.getString(CommonPropertyUtils.RETENTION_LOCK_KEY, CommonPropertyUtils.RETENTION_LOCK_KEY_DEFAULT);
+
+    public HistoryRetentionCleaner(Register register) {
+        this.register = register;
+        this.historyRetentionService = SpringApplicationContext.getBean(HistoryRetentionService.class);
+        this.workSpaceService = SpringApplicationContext.getBean(WorkSpaceService.class);
+        this.configService = SpringApplicationContext.getBean(ConfigService.class);
+        long interval = CommonPropertyUtils.getLong(
+                CommonPropertyUtils.RETENTION_INTERVAL, CommonPropertyUtils.RETENTION_INTERVAL_DEFAULT);
+        this.executorService = ThreadUtils.newDaemonThreadScheduledExecutor("History-Retention-Cleaner", 1);
+        this.executorService.scheduleWithFixedDelay(this::clean, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void clean() {
+        if (!register.acquire(retentionLockKey, 1)) {
+            return;
+        }
+
+        try {
+            for (Long workspaceId : listWorkspaceIds(workSpaceService)) {
+                try {
+                    clean(workspaceId);
+                } catch (Exception e) {
+                    log.error("clean the history of workspace {} error", workspaceId, e);
+                }
+            }
+        } finally {
+            register.release(retentionLockKey);
+        }
+    }
+
+    /**
+     * the workspaces which own the history, the executions and tasks without datasource belong to the default workspace
+     */
+    public static List<Long> listWorkspaceIds(WorkSpaceService workSpaceService) {
+        List<Long> workspaceIds = new ArrayList<>();
+        workspaceIds.add(DEFAULT_WORKSPACE_ID);
+        workspaceIds.addAll(workSpaceService.list().stream().map(WorkSpace::getId).collect(Collectors.toList()));
+        return workspaceIds;
+    }
+
+    /**
+     * the retention days of the workspace, the retention is disabled when it is not positive
+     */
+    public static int getRetentionDays(ConfigService configService, Long workspaceId) {
+        return NumberUtils.toInt(configService.getWorkspaceValue(workspaceId, CommonPropertyUtils.RETENTION_DAYS,
+                String.valueOf(CommonPropertyUtils.RETENTION_DAYS_DEFAULT)), CommonPropertyUtils.RETENTION_DAYS_DEFAULT);
+    }
+
+    private void clean(Long workspaceId) {
+        int retentionDays = getRetentionDays(configService, workspaceId);
+        if (retentionDays <= 0) {
+            return;
+        }
+
+        ArchiveType archiveType = ArchiveType.of(configService.getWorkspaceValue(workspaceId, CommonPropertyUtils.RETENTION_ARCHIVE_TYPE,
+                CommonPropertyUtils.RETENTION_ARCHIVE_TYPE_DEFAULT));
+        int chunkSize = CommonPropertyUtils.getInt(
+                CommonPropertyUtils.RETENTION_CHUNK_SIZE, CommonPropertyUtils.RETENTION_CHUNK_SIZE_DEFAULT);
+
+        int maxChunks = CommonPropertyUtils.getInt(
+                CommonPropertyUtils.RETENTION_MAX_CHUNKS, CommonPropertyUtils.RETENTION_MAX_CHUNKS_DEFAULT);
+        LocalDateTime expireTime = LocalDateTime.now().minusDays(retentionDays);
+
+        int jobExecutionCount = purgeInChunks(() ->
+                historyRetentionService.purgeJobExecutions(workspaceId, expireTime, archiveType, chunkSize), chunkSize, maxChunks);
+        int commonTaskCount = purgeInChunks(() ->
+                historyRetentionService.purgeCommonTasks(workspaceId, expireTime, archiveType, chunkSize), chunkSize, maxChunks);
+        if (jobExecutionCount > 0 || commonTaskCount > 0) {
+            log.info("workspace {} purges {} job executions and {} common tasks created before {}, archive type : {}",
+                    workspaceId, jobExecutionCount, commonTaskCount, expireTime, archiveType.getDescription());
+        }
+    }
+
+    /**
+     * at most maxChunks chunks are purged in one round, the rest are left to the next round,
+     * a chunk smaller than the chunk size is the last one
+     */
+    static int purgeInChunks(IntSupplier chunkPurger, int chunkSize, int maxChunks) {
+        int total = 0;
+        for (int i = 0; i < maxChunks && Stopper.isRunning(); i++) {
+            int count = chunkPurger.getAsInt();
+            total += count;
+            if (count < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    public void close() {
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+    }
+}
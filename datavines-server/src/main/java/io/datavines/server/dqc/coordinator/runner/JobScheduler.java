@@ -77,7 +77,7 @@ public class JobScheduler extends Thread {
                     });
                 }
 
-                boolean runCheckFlag = OSUtils.checkResource(
+                boolean runCheckFlag = ResourceSampler.getInstance().checkResource(
                         CommonPropertyUtils.getDouble(MAX_CPU_LOAD_AVG, MAX_CPU_LOAD_AVG_DEFAULT),
                         CommonPropertyUtils.getDouble(RESERVED_MEMORY, RESERVED_MEMORY_DEFAULT));
 
@@ -105,6 +105,8 @@ public class JobScheduler extends Thread {
                     }
 
                     if (!executionOutOfThreshold(engineType)) {
+                        // the partitions are listed from the datasource here instead of in the request which creates the execution
+                        jobExternalService.applyIncrementalPartitions(jobExecution);
                         logger.info("start submit job execution : {} ", JSONUtils.toJsonString(jobExecution));
                         jobExecuteManager.addExecuteCommand(jobExecution);
                         logger.info(String.format("submit success, job execution : %s", jobExecution.getName()) );
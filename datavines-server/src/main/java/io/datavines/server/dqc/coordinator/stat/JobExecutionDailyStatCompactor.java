@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.dqc.coordinator.stat;
+
+import io.datavines.common.utils.CommonPropertyUtils;
+import io.datavines.common.utils.ThreadUtils;
+import io.datavines.server.dqc.coordinator.retention.HistoryRetentionCleaner;
+import io.datavines.server.registry.Register;
+import io.datavines.server.repository.service.ConfigService;
+import io.datavines.server.repository.service.WorkSpaceService;
+import io.datavines.server.repository.service.impl.JobExternalService;
+import io.datavines.server.utils.SpringApplicationContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The daily stat of the job executions is moved by one count when the status of an execution changes,
+ * this compactor counts the recent days again for every workspace, so the executions which are
+ * created, deleted or failed over without passing the response operator are also reconciled.
+ * The current day is not counted again: its executions are still updated by the scheduler, which the recount would
+ * block and overwrite, and the moves of their statuses already keep its stat. The days which the history retention
+ * of the workspace may have purged are not counted again either, their stat keeps the executions which are purged.
+ * Only the server which holds the compact lock counts the days.
+ */
+@Slf4j
+public class JobExecutionDailyStatCompactor {
+
+    private final Register register;
+
+    private final JobExternalService jobExternalService;
+
+    private final WorkSpaceService workSpaceService;
+
+    private final ConfigService configService;
+
+    private final ScheduledExecutorService executorService;
+
+    private final int compactDays;
+
+    private final String compactLockKey = CommonPropertyUtils.getString(
+            CommonPropertyUtils.JOB_EXECUTION_STAT_COMPACT_LOCK_KEY, CommonPropertyUtils.JOB_EXECUTION_STAT_COMPACT_LOCK_KEY_DEFAULT);
+
+    public JobExecutionDailyStatCompactor(Register register) {
+        this.register = register;
+        this.jobExternalService = SpringApplicationContext.getBean(JobExternalService.class);
+        this.workSpaceService = SpringApplicationContext.getBean(WorkSpaceService.class);
+        this.configService = SpringApplicationContext.getBean(ConfigService.class);
+        this.compactDays = CommonPropertyUtils.getInt(
+                CommonPropertyUtils.JOB_EXECUTION_STAT_COMPACT_DAYS, CommonPropertyUtils.JOB_EXECUTION_STAT_COMPACT_DAYS_DEFAULT);
+        long interval = CommonPropertyUtils.getLong(
+                CommonPropertyUtils.JOB_EXECUTION_STAT_COMPACT_INTERVAL, CommonPropertyUtils.JOB_EXECUTION_STAT_COMPACT_INTERVAL_DEFAULT);
+        this.executorService = ThreadUtils.newDaemonThreadScheduledExecutor("Job-Execution-Stat-Compactor", 1);
+        this.executorService.scheduleWithFixedDelay(this::compact, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void compact() {
+        if (!register.acquire(compactLockKey, 1)) {
+            return;
+        }
+
+        try {
+            LocalDate today = LocalDate.now();
+            for (Long workspaceId : HistoryRetentionCleaner.listWorkspaceIds(workSpaceService)) {
+                int retentionDays = HistoryRetentionCleaner.getRetentionDays(configService, workspaceId);
+                for (LocalDate statDate : listCompactDates(today, compactDays, retentionDays)) {
+                    try {
+                        jobExternalService.refreshJobExecutionDailyStat(workspaceId, statDate);
+                    } catch (Exception e) {
+                        log.error("compact job execution daily stat of workspace {} on {} error", workspaceId, statDate, e);
+                    }
+                }
+            }
+        } finally {
+            register.release(compactLockKey);
+        }
+    }
+
+    /**
+     * the days before today which are counted again, the latest first
+     */
+    static List<LocalDate> listCompactDates(LocalDate today, int compactDays, int retentionDays) {
+        List<LocalDate> statDates = new ArrayList<>();
+        for (int i = 1; i <= compactDays; i++) {
+            LocalDate statDate = today.minusDays(i);
+            if (!isWithinRetention(statDate, today, retentionDays)) {
+                break;
+            }
+            statDates.add(statDate);
+        }
+        return statDates;
+    }
+
+    /**
+     * the retention purges the executions created before now minus the retention days,
+     * so the day which holds this time is partly purged and is not within the retention either
+     */
+    static boolean isWithinRetention(LocalDate statDate, LocalDate today, int retentionDays) {
+        return retentionDays <= 0 || statDate.isAfter(today.minusDays(retentionDays));
+    }
+
+    public void close() {
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+    }
+}
@@ -0,0 +1,697 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.dqc.coordinator.stream;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.datavines.common.enums.ExecutionStatus;
+import io.datavines.common.utils.CommonPropertyUtils;
+import io.datavines.common.utils.StringUtils;
+import io.datavines.common.utils.ThreadUtils;
+import io.datavines.core.enums.Status;
+import io.datavines.core.exception.DataVinesServerException;
+import io.datavines.server.api.dto.vo.JobExecutionStatusVO;
+import io.datavines.server.repository.entity.JobExecution;
+import io.datavines.server.repository.service.JobExecutionService;
+import io.datavines.server.utils.SpringApplicationContext;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes the status transitions and the log lines of the job executions to the subscribers by server-sent events.
+ * The transitions made by this server are published when they are written, and the transitions made by the other servers
+ * are found by one paged query per interval which is shared by all the subscribers, so the load does not grow with the open pages.
+ * Every subscriber has a bounded queue and is sent to by the sender pool one task at a time, so a slow client only delays itself.
+ * The overflowed subscriber gets a resync event and is closed, it should reload the page and subscribe again.
+ * The id of the status event is the epoch of this server and a sequence, the recent events are kept to replay the events
+ * after the Last-Event-ID when the client reconnects, and an id which can not be replayed gets the resync event.
+ * The id of the log event is the line offset. The openapi clients which wait for the executions to finish are resolved
+ * by the same published statuses.
+ */
+public class JobExecutionStreamHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobExecutionStreamHub.class);
+
+    private static final String STATUS_EVENT = "status";
+
+    private static final String LOG_EVENT = "log";
+
+    private static final String RESYNC_EVENT = "resync";
+
+    private static final String END_EVENT = "end";
+
+    private static final String EVENT_ID_SEPARATOR = "-";
+
+    static final int QUEUE_CAPACITY = 100;
+
+    static final int POLL_LIMIT = 1000;
+
+    static final int REPLAY_CAPACITY = 10000;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private static final long HEARTBEAT_INTERVAL = 15 * 1000L;
+
+    private final long timeout;
+
+    private final int maxLines;
+
+    private final Executor sender;
+
+    private final StatusReader statusReader;
+
+    private final long epoch = System.currentTimeMillis();
+
+    private final List<StatusSubscriber> statusSubscribers = new CopyOnWriteArrayList<>();
+
+    private final List<LogSubscriber> logSubscribers = new CopyOnWriteArrayList<>();
+
+    private final List<FinishWaiter> finishWaiters = new CopyOnWriteArrayList<>();
+
+    private final Cache<Long, ExecutionStatus> lastStatusCache = CacheBuilder.newBuilder()
+            .maximumSize(10000)
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .build();
+
+    /**
+     * the recent status events to replay, the sequence and the events are guarded by it
+     */
+    private final Deque<StatusEvent> replayEvents = new ArrayDeque<>();
+
+    private long sequence;
+
+    private LocalDateTime lastPollTime = LocalDateTime.now();
+
+    private long lastHeartbeatTime = System.currentTimeMillis();
+
+    private JobExecutionStreamHub() {
+        this(CommonPropertyUtils.getLong(
+                        CommonPropertyUtils.JOB_EXECUTION_STREAM_TIMEOUT, CommonPropertyUtils.JOB_EXECUTION_STREAM_TIMEOUT_DEFAULT),
+                CommonPropertyUtils.getInt(
+                        CommonPropertyUtils.JOB_EXECUTION_STREAM_MAX_LINES, CommonPropertyUtils.JOB_EXECUTION_STREAM_MAX_LINES_DEFAULT),
+                ThreadUtils.newDaemonFixedThreadExecutor("Job-Execution-Stream-Sender", CommonPropertyUtils.getInt(
+                        CommonPropertyUtils.JOB_EXECUTION_STREAM_SENDER_THREADS, CommonPropertyUtils.JOB_EXECUTION_STREAM_SENDER_THREADS_DEFAULT)),
+                JobExecutionStreamHub::listUpdatedSince);
+        long interval = CommonPropertyUtils.getLong(
+                CommonPropertyUtils.JOB_EXECUTION_STREAM_INTERVAL, CommonPropertyUtils.JOB_EXECUTION_STREAM_INTERVAL_DEFAULT);
+        ScheduledExecutorService executorService = ThreadUtils.newDaemonThreadScheduledExecutor("Job-Execution-Stream", 1);
+        executorService.scheduleWithFixedDelay(this::push, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    JobExecutionStreamHub(long timeout, int maxLines, Executor sender, StatusReader statusReader) {
+        this.timeout = timeout;
+        this.maxLines = maxLines;
+        this.sender = sender;
+        this.statusReader = statusReader;
+    }
+
+    private static class Singleton {
+        static JobExecutionStreamHub instance = new JobExecutionStreamHub();
+    }
+
+    public static JobExecutionStreamHub getInstance() {
+        return Singleton.instance;
+    }
+
+    /**
+     * subscribe the status transitions of the job executions, the null filter matches all but at least one filter is required,
+     * so a subscriber never receives the executions of all the workspaces
+     * @param jobExecutionId job execution id
+     * @param jobId job id
+     * @param datasourceId datasource id
+     * @param lastEventId the last event id the client has received, the transitions after it are replayed
+     * @return emitter
+     */
+    public SseEmitter subscribeStatus(Long jobExecutionId, Long jobId, Long datasourceId, String lastEventId) {
+        if (jobExecutionId == null && jobId == null && datasourceId == null) {
+            throw new DataVinesServerException(Status.TASK_STREAM_FILTER_IS_NULL_ERROR);
+        }
+
+        StatusSubscriber subscriber = new StatusSubscriber(newEmitter(), jobExecutionId, jobId, datasourceId);
+        synchronized (replayEvents) {
+            register(subscriber, statusSubscribers);
+            if (StringUtils.isEmpty(lastEventId)) {
+                return subscriber.emitter;
+            }
+
+            long lastSequence = parseSequence(lastEventId);
+            long firstSequence = replayEvents.isEmpty() ? sequence + 1 : replayEvents.peekFirst().sequence;
+            if (lastSequence < 0 || lastSequence > sequence || lastSequence + 1 < firstSequence) {
+                // the id is issued by another server or an earlier run, or the events after it have been dropped
+                subscriber.resync();
+            } else {
+                replayEvents.stream()
+                        .filter(event -> event.sequence > lastSequence && subscriber.accept(event.status))
+                        .forEach(subscriber::offer);
+            }
+        }
+
+        return subscriber.emitter;
+    }
+
+    /**
+     * subscribe the log lines of the job execution which is executed by this server
+     * @param jobExecution job execution
+     * @param offsetLine the line to start from, the Last-Event-ID of the client takes precedence
+     * @param lastEventId the last event id the client has received
+     * @return emitter
+     */
+    public SseEmitter subscribeLog(JobExecution jobExecution, int offsetLine, String lastEventId) {
+        int startLine = NumberUtils.toInt(lastEventId, offsetLine);
+        LogSubscriber subscriber = new LogSubscriber(newEmitter(), jobExecution.getId(), jobExecution.getLogPath(), startLine);
+        subscriber.finished = jobExecution.getStatus() != null && jobExecution.getStatus().typeIsFinished();
+        register(subscriber, logSubscribers);
+        return subscriber.emitter;
+    }
+
+    /**
+     * wait until all the job executions are finished, the waiter is resolved by the published statuses,
+     * so the waiting clients share the one poll query instead of polling by themselves.
+     * The statuses read after registering should be published by the caller, in case they have been finished before.
+     * @param jobExecutionIds job execution ids
+     * @return future which completes when the last execution is finished, cancel it to stop waiting
+     */
+    public CompletableFuture<Void> awaitFinished(Collection<Long> jobExecutionIds) {
+        FinishWaiter waiter = new FinishWaiter(jobExecutionIds);
+        finishWaiters.add(waiter);
+        waiter.future.whenComplete((result, e) -> finishWaiters.remove(waiter));
+        if (waiter.pending.isEmpty()) {
+            waiter.future.complete(null);
+        }
+        return waiter.future;
+    }
+
+    /**
+     * publish the status of the job execution, it should be called when the job execution is written
+     * @param jobExecution job execution
+     */
+    public void publish(JobExecution jobExecution) {
+        if (jobExecution == null || jobExecution.getId() == null || jobExecution.getStatus() == null) {
+            return;
+        }
+
+        // the waiters are resolved before the deduplication, the finished status may have been published before they wait
+        if (jobExecution.getStatus().typeIsFinished()) {
+            finishWaiters.forEach(waiter -> waiter.resolve(jobExecution.getId()));
+        }
+
+        JobExecutionStatusVO statusVO = toStatusVO(jobExecution);
+        synchronized (replayEvents) {
+            if (jobExecution.getStatus() == lastStatusCache.getIfPresent(jobExecution.getId())) {
+                return;
+            }
+            lastStatusCache.put(jobExecution.getId(), jobExecution.getStatus());
+
+            StatusEvent event = new StatusEvent(++sequence, statusVO);
+            replayEvents.addLast(event);
+            if (replayEvents.size() > REPLAY_CAPACITY) {
+                replayEvents.removeFirst();
+            }
+            statusSubscribers.stream().filter(subscriber -> subscriber.accept(statusVO)).forEach(subscriber -> subscriber.offer(event));
+        }
+
+        if (jobExecution.getStatus().typeIsFinished()) {
+            logSubscribers.stream()
+                    .filter(subscriber -> subscriber.jobExecutionId.equals(jobExecution.getId()))
+                    .forEach(subscriber -> subscriber.finished = true);
+        }
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeout);
+    }
+
+    private void push() {
+        try {
+            if (statusSubscribers.isEmpty() && logSubscribers.isEmpty() && finishWaiters.isEmpty()) {
+                lastPollTime = LocalDateTime.now();
+                return;
+            }
+
+            pollStatus();
+
+            boolean heartbeat = System.currentTimeMillis() - lastHeartbeatTime > HEARTBEAT_INTERVAL;
+            if (heartbeat) {
+                lastHeartbeatTime = System.currentTimeMillis();
+                statusSubscribers.forEach(subscriber -> subscriber.schedule(true));
+            }
+
+            logSubscribers.forEach(subscriber -> subscriber.schedule(heartbeat));
+        } catch (Exception e) {
+            logger.error("push job execution stream error", e);
+        }
+    }
+
+    /**
+     * find the transitions made by the other servers, the transitions of this server have been published.
+     * The rows are read in pages of (update time, id), so all the rows updated in the interval are read
+     */
+    void pollStatus() {
+        LocalDateTime pollTime = LocalDateTime.now();
+        LocalDateTime afterTime = null;
+        Long afterId = null;
+        while (true) {
+            List<JobExecution> jobExecutionList = statusReader.list(lastPollTime, afterTime, afterId, POLL_LIMIT);
+            if (CollectionUtils.isEmpty(jobExecutionList)) {
+                break;
+            }
+
+            jobExecutionList.forEach(this::publish);
+            if (jobExecutionList.size() < POLL_LIMIT) {
+                break;
+            }
+            JobExecution last = jobExecutionList.get(jobExecutionList.size() - 1);
+            afterTime = last.getUpdateTime();
+            afterId = last.getId();
+        }
+        // the update time has the second precision, the last second is polled again and deduplicated by the status
+        lastPollTime = pollTime.minusSeconds(1);
+    }
+
+    private static List<JobExecution> listUpdatedSince(LocalDateTime since, LocalDateTime afterTime, Long afterId, int limit) {
+        return SpringApplicationContext.getBean(JobExecutionService.class).list(
+                new QueryWrapper<JobExecution>().lambda()
+                        .select(JobExecution::getId, JobExecution::getJobId, JobExecution::getDataSourceId,
+                                JobExecution::getStatus, JobExecution::getUpdateTime)
+                        .ge(JobExecution::getUpdateTime, since)
+                        .and(afterId != null, wrapper -> wrapper.gt(JobExecution::getUpdateTime, afterTime)
+                                .or(equalTime -> equalTime.eq(JobExecution::getUpdateTime, afterTime).gt(JobExecution::getId, afterId)))
+                        .orderByAsc(JobExecution::getUpdateTime)
+                        .orderByAsc(JobExecution::getId)
+                        .last("limit " + limit));
+    }
+
+    private String toEventId(long eventSequence) {
+        return epoch + EVENT_ID_SEPARATOR + eventSequence;
+    }
+
+    /**
+     * @return the sequence of the event id issued by this server, -1 if the id is issued by another server or it is invalid
+     */
+    private long parseSequence(String eventId) {
+        int index = eventId.indexOf(EVENT_ID_SEPARATOR);
+        if (index < 0 || NumberUtils.toLong(eventId.substring(0, index), -1) != epoch) {
+            return -1;
+        }
+        return NumberUtils.toLong(eventId.substring(index + 1), -1);
+    }
+
+    private JobExecutionStatusVO toStatusVO(JobExecution jobExecution) {
+        JobExecutionStatusVO statusVO = new JobExecutionStatusVO();
+        statusVO.setId(jobExecution.getId());
+        statusVO.setJobId(jobExecution.getJobId());
+        statusVO.setDatasourceId(jobExecution.getDataSourceId());
+        statusVO.setStatus(jobExecution.getStatus());
+        statusVO.setUpdateTime(jobExecution.getUpdateTime() == null ? LocalDateTime.now() : jobExecution.getUpdateTime());
+        return statusVO;
+    }
+
+    private <T extends Subscriber> void register(T subscriber, List<T> subscribers) {
+        subscribers.add(subscriber);
+        subscriber.emitter.onCompletion(() -> {
+            subscribers.remove(subscriber);
+            subscriber.close();
+        });
+        subscriber.emitter.onTimeout(subscriber::complete);
+        subscriber.emitter.onError(e -> subscriber.complete());
+    }
+
+    /**
+     * read the job executions updated since the time, after the (update time, id) of the previous page if it is not null
+     */
+    @FunctionalInterface
+    interface StatusReader {
+
+        List<JobExecution> list(LocalDateTime since, LocalDateTime afterTime, Long afterId, int limit);
+    }
+
+    private static class StatusEvent {
+
+        private final long sequence;
+
+        private final JobExecutionStatusVO status;
+
+        StatusEvent(long sequence, JobExecutionStatusVO status) {
+            this.sequence = sequence;
+            this.status = status;
+        }
+    }
+
+    private static class FinishWaiter {
+
+        private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        FinishWaiter(Collection<Long> jobExecutionIds) {
+            pending.addAll(jobExecutionIds);
+        }
+
+        void resolve(Long jobExecutionId) {
+            if (pending.remove(jobExecutionId) && pending.isEmpty()) {
+                future.complete(null);
+            }
+        }
+    }
+
+    /**
+     * the events of a subscriber are sent by one task of the sender pool at a time, in the order they are scheduled
+     */
+    private abstract class Subscriber {
+
+        protected final SseEmitter emitter;
+
+        protected volatile boolean done;
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private volatile boolean heartbeat;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void schedule(boolean heartbeat) {
+            if (heartbeat) {
+                this.heartbeat = true;
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (done || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                sender.execute(this::sendScheduled);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                complete();
+            }
+        }
+
+        private void sendScheduled() {
+            try {
+                boolean sendHeartbeat = heartbeat;
+                heartbeat = false;
+                send(sendHeartbeat);
+            } catch (Exception e) {
+                logger.warn("send job execution stream error", e);
+            } finally {
+                scheduled.set(false);
+                if (hasPending()) {
+                    schedule();
+                }
+            }
+        }
+
+        /**
+         * send the pending events, it runs in the sender pool
+         */
+        protected abstract void send(boolean heartbeat);
+
+        protected boolean hasPending() {
+            return false;
+        }
+
+        protected boolean send(SseEmitter.SseEventBuilder event) {
+            if (done) {
+                return false;
+            }
+
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // the client has gone, the emitter is removed by the completion callback
+                done = true;
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+
+        protected void complete() {
+            done = true;
+            emitter.complete();
+        }
+
+        protected void close() {
+        }
+    }
+
+    private class StatusSubscriber extends Subscriber {
+
+        private final Long jobExecutionId;
+
+        private final Long jobId;
+
+        private final Long datasourceId;
+
+        private final Queue<StatusEvent> queue = new ArrayDeque<>();
+
+        private boolean overflow;
+
+        StatusSubscriber(SseEmitter emitter, Long jobExecutionId, Long jobId, Long datasourceId) {
+            super(emitter);
+            this.jobExecutionId = jobExecutionId;
+            this.jobId = jobId;
+            this.datasourceId = datasourceId;
+        }
+
+        boolean accept(JobExecutionStatusVO statusVO) {
+            return (jobExecutionId == null || jobExecutionId.equals(statusVO.getId()))
+                    && (jobId == null || jobId.equals(statusVO.getJobId()))
+                    && (datasourceId == null || datasourceId.equals(statusVO.getDatasourceId()));
+        }
+
+        void offer(StatusEvent event) {
+            synchronized (this) {
+                if (overflow || done) {
+                    return;
+                }
+
+                if (queue.size() >= QUEUE_CAPACITY) {
+                    // the client can not keep up, the queued events are dropped and it is closed after the resync event
+                    queue.clear();
+                    overflow = true;
+                } else {
+                    queue.add(event);
+                }
+            }
+            schedule();
+        }
+
+        void resync() {
+            synchronized (this) {
+                queue.clear();
+                overflow = true;
+            }
+            schedule();
+        }
+
+        @Override
+        protected synchronized boolean hasPending() {
+            return !done && (overflow || !queue.isEmpty());
+        }
+
+        @Override
+        protected void send(boolean heartbeat) {
+            List<StatusEvent> events;
+            boolean resync;
+            synchronized (this) {
+                events = new ArrayList<>(queue);
+                queue.clear();
+                resync = overflow;
+            }
+
+            if (resync) {
+                String eventId;
+                synchronized (replayEvents) {
+                    eventId = toEventId(sequence);
+                }
+                send(SseEmitter.event().id(eventId).name(RESYNC_EVENT).data(RESYNC_EVENT));
+                complete();
+                return;
+            }
+
+            for (StatusEvent event : events) {
+                if (!send(SseEmitter.event().id(toEventId(event.sequence)).name(STATUS_EVENT).data(event.status))) {
+                    return;
+                }
+            }
+
+            if (heartbeat && events.isEmpty()) {
+                send(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    private class LogSubscriber extends Subscriber {
+
+        private final Long jobExecutionId;
+
+        private final String logPath;
+
+        private RandomAccessFile file;
+
+        private long position;
+
+        private int offsetLine;
+
+        private volatile boolean finished;
+
+        private boolean closed;
+
+        LogSubscriber(SseEmitter emitter, Long jobExecutionId, String logPath, int offsetLine) {
+            super(emitter);
+            this.jobExecutionId = jobExecutionId;
+            this.logPath = logPath;
+            this.offsetLine = offsetLine;
+        }
+
+        /**
+         * send the complete lines appended since the last tail, at most max lines every time,
+         * so the subscriber which can not keep up lags behind instead of buffering the file
+         */
+        @Override
+        protected synchronized void send(boolean heartbeat) {
+            if (closed || done) {
+                return;
+            }
+
+            boolean wasFinished = finished;
+            try {
+                if (file == null) {
+                    if (StringUtils.isEmpty(logPath) || !new File(logPath).exists()) {
+                        if (wasFinished) {
+                            send(SseEmitter.event().name(END_EVENT).data(offsetLine));
+                            complete();
+                        }
+                        return;
+                    }
+                    file = new RandomAccessFile(logPath, "r");
+                    skipLines();
+                }
+
+                List<String> lines = readLines();
+                if (!lines.isEmpty()) {
+                    offsetLine += lines.size();
+                    StringBuilder msg = new StringBuilder();
+                    lines.forEach(line -> msg.append(line).append("\r\n"));
+                    if (!send(SseEmitter.event().id(String.valueOf(offsetLine)).name(LOG_EVENT).data(msg.toString()))) {
+                        return;
+                    }
+                }
+
+                if (wasFinished && lines.size() < maxLines) {
+                    send(SseEmitter.event().id(String.valueOf(offsetLine)).name(END_EVENT).data(offsetLine));
+                    complete();
+                } else if (heartbeat && lines.isEmpty()) {
+                    send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException e) {
+                logger.warn("tail log {} error", logPath, e);
+                done = true;
+                emitter.completeWithError(e);
+            }
+        }
+
+        /**
+         * the offset is in lines, the file is read once to find the position of the offset line
+         */
+        private void skipLines() throws IOException {
+            int skipped = 0;
+            long read = 0;
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            int length;
+            while (skipped < offsetLine && (length = file.read(buffer)) > 0) {
+                for (int i = 0; i < length && skipped < offsetLine; i++) {
+                    read++;
+                    if (buffer[i] == '\n') {
+                        skipped++;
+                        position = read;
+                    }
+                }
+            }
+            offsetLine = skipped;
+        }
+
+        private List<String> readLines() throws IOException {
+            List<String> lines = new ArrayList<>();
+            file.seek(position);
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            long consumed = position;
+            long read = position;
+            int length;
+            while (lines.size() < maxLines && (length = file.read(buffer)) > 0) {
+                for (int i = 0; i < length && lines.size() < maxLines; i++) {
+                    read++;
+                    if (buffer[i] == '\n') {
+                        lines.add(new String(line.toByteArray(), StandardCharsets.UTF_8).replace("\r", ""));
+                        line.reset();
+                        consumed = read;
+                    } else {
+                        line.write(buffer[i]);
+                    }
+                }
+            }
+            // the last line which has not been written completely is read again next time
+            position = consumed;
+            return lines;
+        }
+
+        @Override
+        protected synchronized void close() {
+            closed = true;
+            if (file != null) {
+                try {
+                    file.close();
+                } catch (IOException e) {
+                    logger.warn("close log {} error", logPath, e);
+                }
+            }
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package io.datavines.server.dqc.coordinator.validator;
 
+import io.datavines.common.entity.JobExecutionParameter;
 import io.datavines.common.entity.JobExecutionRequest;
 import io.datavines.common.enums.OperatorType;
 import io.datavines.common.utils.CommonPropertyUtils;
@@ -43,6 +44,8 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 
@@ -67,7 +70,8 @@ public class JobResultValidator {
     /**
      * When the task type is data quality, it will get the statistics value、comparison value、
      * threshold、check type、operator and failure strategy，use the formula that
-     * {result formula} {operator} {threshold} to get dqc result . If result is failure, it will alert
+     * {result formula} {operator} {threshold} to get dqc result . If result is failure, it will alert.
+     * All the results of the execution are validated in memory and written back in one batch
      * @param jobExecutionRequest jobExecutionRequest
      */
     public void operateDqExecuteResult(JobExecutionRequest jobExecutionRequest) {
@@ -79,31 +83,89 @@ public class JobResultValidator {
            return;
         }
 
-        boolean isSuccess = true;
-        Long jobExecutionId = 0L;
+        JobExecution jobExecution = jobExternalService.getJobExecutionById(jobExecutionRequest.getJobExecutionId());
+        Double sampleFraction = getSampleFraction(jobExecution);
+        Set<String> scaledMetricNames = new HashSet<>();
+
+        List<JobExecutionResult> checkedResultList = new ArrayList<>();
+        List<JobExecutionResult> errorResultList = new ArrayList<>();
         for (JobExecutionResult jobExecutionResult : jobExecutionResultList) {
             if (jobExecutionResult == null) {
                 continue;
             }
 
-            jobExecutionId = jobExecutionResult.getJobExecutionId();
+            // the result is computed on the sample, scale it up before it is compared with the expected value
+            if (sampleFraction != null && jobExecutionResult.getSampleFraction() == null) {
+                scaleBySampleFraction(jobExecutionResult, jobExecution.getEngineType(), sampleFraction, scaledMetricNames);
+            }
             // 判断期望值是否为空，如果为空并且不是固定值类型，则将期望值设置为实际值
             if (jobExecutionResult.getExpectedValue() == null && !FIX_VALUE.equalsIgnoreCase(jobExecutionResult.getExpectedType())) {
                 jobExecutionResult.setExpectedValue(jobExecutionResult.getActualValue());
-                jobExternalService.getJobExecutionResultService().updateById(jobExecutionResult);
             }
             //check the result ,if result is failure do some operator by failure strategy
-            isSuccess &= checkDqExecuteResult(jobExecutionResult);
+            if (!checkDqExecuteResult(jobExecutionResult)) {
+                errorResultList.add(jobExecutionResult);
+            }
+            checkedResultList.add(jobExecutionResult);
+        }
+
+        jobExternalService.updateJobExecutionResultBatch(checkedResultList);
+
+        if (!errorResultList.isEmpty() && jobExecution != null) {
+            sendErrorEmail(jobExecution, errorResultList);
+        }
+    }
+
+    private Double getSampleFraction(JobExecution jobExecution) {
+        if (jobExecution == null || StringUtils.isEmpty(jobExecution.getParameter())) {
+            return null;
         }
 
-        if (!isSuccess) {
-            sendErrorEmail(jobExecutionId);
+        JobExecutionParameter jobExecutionParameter = JSONUtils.parseObject(jobExecution.getParameter(), JobExecutionParameter.class);
+        if (jobExecutionParameter == null || jobExecutionParameter.getSampleFraction() == null) {
+            return null;
         }
+
+        double sampleFraction = jobExecutionParameter.getSampleFraction();
+        return sampleFraction > 0 && sampleFraction < 1 ? sampleFraction : null;
     }
 
     /**
-     * get the data quality check result
-     * and if the result is failure that will alert or block
+     * Scale the count of the sample to the whole table. The rows are sampled independently with the probability f,
+     * so the sampled count c is binomial and the 95% confidence interval of the estimate c / f is
+     * ± 1.96 * sqrt(c * (1 - f)) / f. The metrics which are not linear in the rows (such as distinct count) are kept as is.
+     */
+    private void scaleBySampleFraction(JobExecutionResult jobExecutionResult, String engineType,
+                                       double sampleFraction, Set<String> scaledMetricNames) {
+        BigDecimal fraction = BigDecimal.valueOf(sampleFraction);
+        jobExecutionResult.setSampleFraction(fraction);
+
+        SqlMetric sqlMetric = PluginLoader.getPluginLoader(SqlMetric.class).getOrCreatePlugin(jobExecutionResult.getMetricName());
+        if (sqlMetric == null || !sqlMetric.isScalableBySample() || jobExecutionResult.getActualValue() == null) {
+            return;
+        }
+
+        BigDecimal sampleActualValue = jobExecutionResult.getActualValue();
+        jobExecutionResult.setActualValue(sampleActualValue.divide(fraction, 4, RoundingMode.HALF_UP));
+        double halfWidth = 1.96 * Math.sqrt(Math.abs(sampleActualValue.doubleValue()) * (1 - sampleFraction)) / sampleFraction;
+        jobExecutionResult.setConfidenceInterval(BigDecimal.valueOf(halfWidth).setScale(4, RoundingMode.HALF_UP));
+
+        if (jobExecutionResult.getExpectedValue() != null && !FIX_VALUE.equalsIgnoreCase(jobExecutionResult.getExpectedType())) {
+            ExpectedValue expectedValue = PluginLoader.getPluginLoader(ExpectedValue.class)
+                    .getOrCreatePlugin(engineType + "_" + jobExecutionResult.getExpectedType());
+            if (expectedValue != null && expectedValue.isComputedOnSourceTable()) {
+                jobExecutionResult.setExpectedValue(jobExecutionResult.getExpectedValue().divide(fraction, 4, RoundingMode.HALF_UP));
+            }
+        }
+
+        // keep the history of actual values in the same unit, the expected values such as weekly average are computed from it
+        if (scaledMetricNames.add(jobExecutionResult.getMetricName())) {
+            jobExternalService.scaleActualValuesBySampleFraction(jobExecutionResult.getJobExecutionId(), jobExecutionResult.getMetricName(), fraction);
+        }
+    }
+
+    /**
+     * get the data quality check result, the state and score are set on the result and persisted by the caller
      * @param jobExecutionResult jobExecutionResult
      */
     private boolean checkDqExecuteResult(JobExecutionResult jobExecutionResult) {
@@ -119,14 +181,16 @@ public class JobResultValidator {
             jobExecutionResult.setState(JobCheckState.FAILURE.getCode());
         }
 
-        jobExternalService.updateJobExecutionResult(jobExecutionResult);
         return result;
     }
 
-    private void sendErrorEmail(Long jobExecutionId) {
+    /**
+     * the job, datasource and sla configuration are resolved once for the execution,
+     * and the issues of all the failed metrics are inserted in one batch
+     */
+    private void sendErrorEmail(JobExecution jobExecution, List<JobExecutionResult> errorJobExecutionResultList) {
         try {
-            SlaNotificationMessage message = new SlaNotificationMessage();
-            JobExecution jobExecution = jobExternalService.getJobExecutionById(jobExecutionId);
+            Long jobExecutionId = jobExecution.getId();
             Long jobId = jobExecution.getJobId();
             String jobName;
             String dataSourceName = null;
@@ -147,12 +211,9 @@ public class JobResultValidator {
                 }
             }
 
-            List<JobExecutionResult> errorJobExecutionResultList = jobExternalService.listErrorJobExecutionResultByJobExecutionId(jobExecution.getId());
-            if (CollectionUtils.isEmpty(errorJobExecutionResultList)) {
-                return;
-            }
-
             boolean isEn = !LanguageUtils.isZhContext();
+            List<IssueCreate> issueCreateList = new ArrayList<>();
+            List<SlaNotificationMessage> messageList = new ArrayList<>();
             for (JobExecutionResult errorJobExecutionResult : errorJobExecutionResultList) {
                 MetricExecutionResult metricExecutionResult = new MetricExecutionResult();
                 BeanUtils.copyProperties(errorJobExecutionResult, metricExecutionResult);
@@ -163,16 +224,23 @@ public class JobResultValidator {
                 }
                 String title = buildAlertSubject(metricExecutionResult, isEn);
                 String content = buildAlertMessage(messages, metricExecutionResult,fqdn, jobExecution.getEngineType(), isEn);
+                SlaNotificationMessage message = new SlaNotificationMessage();
                 message.setSubject(title);
                 message.setMessage(content);
-                saveIssue(jobId, title, content);
-                Map<SlaSenderMessage, Set<SlaConfigMessage>> config = slaNotificationService.getSlasNotificationConfigurationByJobId(jobId);
-                if (config.isEmpty()){
-                    return;
-                }
-                notificationClient.notify(message, config);
+                messageList.add(message);
+                issueCreateList.add(buildIssue(jobId, title, content));
+            }
+
+            issueService.createBatch(issueCreateList);
+
+            Map<SlaSenderMessage, Set<SlaConfigMessage>> config = slaNotificationService.getSlasNotificationConfigurationByJobId(jobId);
+            if (config.isEmpty()){
+                return;
             }
 
+            for (SlaNotificationMessage message : messageList) {
+                notificationClient.notify(message, config);
+            }
         } catch (Exception e) {
             log.error("send email error: ", e);
         }
@@ -215,13 +283,12 @@ public class JobResultValidator {
                 checkSubject + "在" + sqlMetric.getNameByLanguage(false) + "中异常了";
     }
 
-    private void saveIssue(Long jobId, String title, String content) {
+    private IssueCreate buildIssue(Long jobId, String title, String content) {
         IssueCreate issueCreate = new IssueCreate();
         issueCreate.setTitle(title);
         issueCreate.setContent(content);
         issueCreate.setJobId(jobId);
         issueCreate.setStatus("good");
-
-        issueService.create(issueCreate);
+        return issueCreate;
     }
 }
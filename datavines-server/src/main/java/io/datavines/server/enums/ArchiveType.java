@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.enums;
+
+import io.datavines.common.utils.StringUtils;
+
+/**
+ * Where the expired history rows are moved to before they are deleted
+ */
+public enum ArchiveType {
+
+    /**
+     * none: the rows are deleted without archive
+     * file: the rows are written into the gzip json lines files under retention.archive.path
+     * table: the rows are copied into the ${table}_archive tables
+     */
+    NONE("none"),
+    FILE("file"),
+    TABLE("table");
+
+    ArchiveType(String description) {
+        this.description = description;
+    }
+
+    private final String description;
+
+    public static ArchiveType of(String type) {
+        if (StringUtils.isEmpty(type)) {
+            return FILE;
+        }
+
+        for (ArchiveType archiveType : ArchiveType.values()) {
+            if (archiveType.description.equalsIgnoreCase(type.trim())) {
+                return archiveType;
+            }
+        }
+        throw new IllegalArgumentException("invalid archive type : " + type);
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.datavines.common.enums.EntityRelType;
+import io.datavines.common.exception.DataVinesException;
+import io.datavines.common.utils.CommonPropertyUtils;
+import io.datavines.server.repository.entity.catalog.CatalogEntityRel;
+import io.datavines.server.repository.mapper.CatalogEntityRelMapper;
+import io.datavines.server.utils.SpringApplicationContext;
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of the parent and child relations of the catalog entities, one graph per datasource. The graph is loaded with one
+ * query when it is first used, and then updated by the relations the catalog sync of this server saves and removes.
+ * It expires after the catalog.graph.cache.expire to pick up the changes made by the other servers.
+ * The relations of the soft deleted entities are kept in the graph as they are kept in the table.
+ */
+public class CatalogEntityGraph {
+
+    private final Cache<Long, DatasourceGraph> graphCache;
+
+    private CatalogEntityGraph() {
+        this.graphCache = CacheBuilder.newBuilder()
+                .maximumSize(CommonPropertyUtils.getInt(
+                        CommonPropertyUtils.CATALOG_GRAPH_CACHE_MAX_SIZE, CommonPropertyUtils.CATALOG_GRAPH_CACHE_MAX_SIZE_DEFAULT))
+                .expireAfterWrite(CommonPropertyUtils.getLong(
+                        CommonPropertyUtils.CATALOG_GRAPH_CACHE_EXPIRE, CommonPropertyUtils.CATALOG_GRAPH_CACHE_EXPIRE_DEFAULT), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private static class Singleton {
+        static CatalogEntityGraph instance = new CatalogEntityGraph();
+    }
+
+    public static CatalogEntityGraph getInstance() {
+        return Singleton.instance;
+    }
+
+    /**
+     * get the children of the entities
+     * @param datasourceId datasource id
+     * @param uuids entity uuids, the datasource uuid is the root of the graph
+     * @return the child uuids of every entity, the entity without children is not in the map
+     */
+    public Map<String, List<String>> getChildren(Long datasourceId, Collection<String> uuids) {
+        return getGraph(datasourceId).getChildren(uuids);
+    }
+
+    /**
+     * get the ancestors of the entity, the parent first and the datasource uuid last
+     * @param datasourceId datasource id
+     * @param uuid entity uuid
+     * @return ancestor uuids
+     */
+    public List<String> getAncestors(Long datasourceId, String uuid) {
+        return getGraph(datasourceId).getAncestors(uuid);
+    }
+
+    /**
+     * get the subtree of the entity
+     * @param datasourceId datasource id
+     * @param uuid root uuid of the subtree
+     * @return the child uuids of every entity in the subtree, the leaf is not in the map
+     */
+    public Map<String, List<String>> getSubtree(Long datasourceId, String uuid) {
+        return getGraph(datasourceId).getSubtree(uuid);
+    }
+
+    /**
+     * load the graph of the datasource from the table and replace the cached one, it is used before the relations
+     * are deleted by the graph, the cached graph may miss the relations saved by the other servers
+     * @param datasourceId datasource id
+     * @return the reloaded graph
+     */
+    public DatasourceGraph reload(Long datasourceId) {
+        DatasourceGraph graph = load(datasourceId);
+        graphCache.put(datasourceId, graph);
+        return graph;
+    }
+
+    /**
+     * add the relation to the graph if the graph of the datasource is loaded, it should be called when the relation is saved
+     * @param datasourceId datasource id
+     * @param rel catalog entity relation
+     */
+    public void addRel(Long datasourceId, CatalogEntityRel rel) {
+        if (datasourceId == null || !EntityRelType.CHILD.getDescription().equals(rel.getType())) {
+            return;
+        }
+
+        DatasourceGraph graph = graphCache.getIfPresent(datasourceId);
+        if (graph != null) {
+            graph.add(rel.getEntity1Uuid(), rel.getEntity2Uuid());
+        }
+    }
+
+    /**
+     * remove the relations from the parents to their children, it should be called when the relations are removed
+     * @param datasourceId datasource id
+     * @param parentUuids parent uuids
+     */
+    public void removeRels(Long datasourceId, Collection<String> parentUuids) {
+        if (datasourceId == null) {
+            return;
+        }
+
+        DatasourceGraph graph = graphCache.getIfPresent(datasourceId);
+        if (graph != null) {
+            graph.removeChildren(parentUuids);
+        }
+    }
+
+    public void invalidate(Long datasourceId) {
+        graphCache.invalidate(datasourceId);
+    }
+
+    private DatasourceGraph getGraph(Long datasourceId) {
+        try {
+            return graphCache.get(datasourceId, () -> load(datasourceId));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new DataVinesException("load catalog entity graph error", e.getCause());
+        }
+    }
+
+    private DatasourceGraph load(Long datasourceId) {
+        DatasourceGraph graph = new DatasourceGraph();
+        List<CatalogEntityRel> relList = SpringApplicationContext.getBean(CatalogEntityRelMapper.class)
+                .listByDatasourceId(datasourceId, EntityRelType.CHILD.getDescription());
+        if (CollectionUtils.isNotEmpty(relList)) {
+            relList.forEach(rel -> graph.add(rel.getEntity1Uuid(), rel.getEntity2Uuid()));
+        }
+        return graph;
+    }
+
+    public static class DatasourceGraph {
+
+        private final Map<String, Set<String>> childrenMap = new HashMap<>();
+
+        private final Map<String, String> parentMap = new HashMap<>();
+
+        synchronized void add(String parentUuid, String childUuid) {
+            childrenMap.computeIfAbsent(parentUuid, k -> new LinkedHashSet<>()).add(childUuid);
+            parentMap.put(childUuid, parentUuid);
+        }
+
+        synchronized void removeChildren(Collection<String> parentUuids) {
+            for (String parentUuid : parentUuids) {
+                Set<String> children = childrenMap.remove(parentUuid);
+                if (children != null) {
+                    children.forEach(childUuid -> parentMap.remove(childUuid, parentUuid));
+                }
+            }
+        }
+
+        synchronized Map<String, List<String>> getChildren(Collection<String> uuids) {
+            Map<String, List<String>> result = new LinkedHashMap<>();
+            for (String uuid : uuids) {
+                Set<String> children = childrenMap.get(uuid);
+                if (CollectionUtils.isNotEmpty(children)) {
+                    result.put(uuid, new ArrayList<>(children));
+                }
+            }
+            return result;
+        }
+
+        synchronized List<String> getAncestors(String uuid) {
+            List<String> ancestors = new ArrayList<>();
+            Set<String> visited = new HashSet<>();
+            String parentUuid = parentMap.get(uuid);
+            while (parentUuid != null && visited.add(parentUuid)) {
+                ancestors.add(parentUuid);
+                parentUuid = parentMap.get(parentUuid);
+            }
+            return ancestors;
+        }
+
+        synchronized Map<String, List<String>> getSubtree(String uuid) {
+            List<String> uuids = new ArrayList<>();
+            uuids.add(uuid);
+            uuids.addAll(getDescendants(Collections.singletonList(uuid)));
+            return getChildren(uuids);
+        }
+
+        /**
+         * get all the descendants of the entities, the parent is always before its children
+         * @param uuids entity uuids
+         * @return descendant uuids, the entities themselves are not included
+         */
+        public synchronized List<String> getDescendants(Collection<String> uuids) {
+            List<String> descendants = new ArrayList<>();
+            Set<String> visited = new HashSet<>(uuids);
+            Deque<String> queue = new ArrayDeque<>(uuids);
+            while (!queue.isEmpty()) {
+                Set<String> children = childrenMap.get(queue.poll());
+                if (children == null) {
+                    continue;
+                }
+                for (String childUuid : children) {
+                    if (visited.add(childUuid)) {
+                        descendants.add(childUuid);
+                        queue.add(childUuid);
+                    }
+                }
+            }
+            return descendants;
+        }
+    }
+}
@@ -0,0 +1,911 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import io.datavines.common.CommonConstants;
+import io.datavines.common.utils.CommonPropertyUtils;
+import io.datavines.common.utils.StringUtils;
+import io.datavines.common.utils.ThreadUtils;
+import io.datavines.server.repository.entity.catalog.CatalogEntityInstance;
+import io.datavines.server.repository.entity.catalog.CatalogEntityTagRel;
+import io.datavines.server.repository.entity.catalog.CatalogTag;
+import io.datavines.server.repository.mapper.CatalogEntityInstanceMapper;
+import io.datavines.server.repository.mapper.CatalogEntityTagRelMapper;
+import io.datavines.server.repository.mapper.CatalogTagMapper;
+import io.datavines.server.utils.SpringApplicationContext;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index of the active catalog entities, over the display name, the fully qualified name,
+ * the description and the tag names. It is rebuilt from the database when the server starts and then periodically.
+ * Between the rebuilds it is updated by the catalog sync and the tag changes of this server, and it reads the entities
+ * and the tag relations updated on the other servers every catalog.search.index.sync.interval. A tag relation deleted
+ * on the other server touches the update time of the entity, so the tags of the updated entities are read again.
+ * The entities deleted physically on the other servers are removed by the next rebuild.
+ * An updated entity gets a new doc id and the old one is left as a tombstone, so the postings are append only.
+ * The index is compacted when the tombstones outnumber the live docs.
+ * The search falls back to the database until the first build is finished.
+ */
+public class CatalogSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSearchIndex.class);
+
+    private static final Pattern CAMEL_CASE = Pattern.compile("(?<=[a-z0-9])(?=[A-Z])");
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    private static final int MAX_EXPANSIONS = 512;
+
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    /**
+     * the small index is not compacted, the tombstones of it cost little
+     */
+    private static final int MIN_COMPACT_TOMBSTONES = 10000;
+
+    /**
+     * the rows committed a little later than their update time are read again by the next sync
+     */
+    private static final long SYNC_OVERLAP_SECONDS = 60;
+
+    private final boolean enable;
+
+    private final Object updateLock = new Object();
+
+    private volatile IndexState state = new IndexState();
+
+    /**
+     * the updates received while the index is rebuilt, they are replayed on the new index after it is loaded
+     */
+    private List<Consumer<IndexState>> pendingUpdates;
+
+    private volatile boolean ready;
+
+    private LocalDateTime syncedTime;
+
+    private CatalogSearchIndex() {
+        this(CommonPropertyUtils.getBoolean(
+                CommonPropertyUtils.CATALOG_SEARCH_INDEX_ENABLE, CommonPropertyUtils.CATALOG_SEARCH_INDEX_ENABLE_DEFAULT));
+        if (enable) {
+            long rebuildInterval = CommonPropertyUtils.getLong(
+                    CommonPropertyUtils.CATALOG_SEARCH_INDEX_REBUILD_INTERVAL, CommonPropertyUtils.CATALOG_SEARCH_INDEX_REBUILD_INTERVAL_DEFAULT);
+            long syncInterval = CommonPropertyUtils.getLong(
+                    CommonPropertyUtils.CATALOG_SEARCH_INDEX_SYNC_INTERVAL, CommonPropertyUtils.CATALOG_SEARCH_INDEX_SYNC_INTERVAL_DEFAULT);
+            // one thread, so the sync never runs during a rebuild
+            ScheduledExecutorService executorService = ThreadUtils.newDaemonThreadScheduledExecutor("Catalog-Search-Index", 1);
+            executorService.scheduleWithFixedDelay(this::rebuild, 0, rebuildInterval, TimeUnit.MILLISECONDS);
+            executorService.scheduleWithFixedDelay(this::sync, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    CatalogSearchIndex(boolean enable) {
+        this.enable = enable;
+    }
+
+    private static class Singleton {
+        static CatalogSearchIndex instance = new CatalogSearchIndex();
+    }
+
+    public static CatalogSearchIndex getInstance() {
+        return Singleton.instance;
+    }
+
+    public boolean isReady() {
+        return enable && ready;
+    }
+
+    /**
+     * add or replace the entity, the entity which is not active is removed
+     * @param entityInstance catalog entity instance
+     */
+    public void put(CatalogEntityInstance entityInstance) {
+        if (!enable || entityInstance == null || StringUtils.isEmpty(entityInstance.getUuid())) {
+            return;
+        }
+
+        if (!CommonConstants.CATALOG_ENTITY_INSTANCE_STATUS_ACTIVE.equals(entityInstance.getStatus())) {
+            remove(entityInstance.getUuid());
+            return;
+        }
+
+        CatalogEntityInstance indexed = toIndexed(entityInstance);
+        apply(indexState -> indexState.put(indexed, null));
+    }
+
+    public void remove(String entityUuid) {
+        if (!enable || StringUtils.isEmpty(entityUuid)) {
+            return;
+        }
+
+        apply(indexState -> indexState.remove(entityUuid));
+    }
+
+    public void addTag(String entityUuid, String tagUuid, String tagName) {
+        if (!enable) {
+            return;
+        }
+
+        apply(indexState -> indexState.addTag(entityUuid, tagUuid, tagName));
+    }
+
+    public void removeTag(String entityUuid, String tagUuid) {
+        if (!enable) {
+            return;
+        }
+
+        apply(indexState -> indexState.removeTag(entityUuid, tagUuid));
+    }
+
+    /**
+     * remove the tag from all the entities, it should be called when the tag is deleted
+     * @param tagUuid tag uuid
+     */
+    public void removeTag(String tagUuid) {
+        removeTag(null, tagUuid);
+    }
+
+    /**
+     * search the entities, every term of the keyword must match the name, the path, the description or a tag name of the entity.
+     * A term matches the exact term, the terms start with it and, when fuzzy is true, the terms within one or two edits of it.
+     * The hits are ranked by the field and the kind of the match, the name exact match first.
+     * @param keyword keyword, all the entities are matched when it is empty
+     * @param datasourceIds the datasource ids which the entity should belong to, null means all
+     * @param type entity type, null means all
+     * @param tagUuids the tags which the entity should have all of them
+     * @param fuzzy whether to match the terms with the edit distance
+     * @return the ranked hits and the tag facet of them
+     */
+    public SearchResult search(String keyword, Collection<Long> datasourceIds, String type, Collection<String> tagUuids, boolean fuzzy) {
+        return state.search(keyword, datasourceIds, type, tagUuids, fuzzy);
+    }
+
+    private void apply(Consumer<IndexState> action) {
+        synchronized (updateLock) {
+            action.accept(state);
+            if (pendingUpdates != null) {
+                pendingUpdates.add(action);
+            }
+            if (state.needCompact()) {
+                state = state.compact();
+            }
+        }
+    }
+
+    private void rebuild() {
+        LocalDateTime snapshotTime = LocalDateTime.now();
+        int total = rebuild(this::load);
+        if (total >= 0) {
+            syncedTime = snapshotTime;
+            logger.info("rebuild catalog search index with {} entities cost {} ms", total,
+                    Duration.between(snapshotTime, LocalDateTime.now()).toMillis());
+        }
+    }
+
+    /**
+     * load the new index from the database snapshot first, then replay the updates received during the load on it,
+     * so an update is never overwritten by the older row of the snapshot
+     * @return the entity count of the new index, -1 if the load failed
+     */
+    int rebuild(Function<IndexState, Integer> loader) {
+        synchronized (updateLock) {
+            pendingUpdates = new ArrayList<>();
+        }
+
+        try {
+            IndexState next = new IndexState();
+            int total = loader.apply(next);
+            synchronized (updateLock) {
+                pendingUpdates.forEach(action -> action.accept(next));
+                state = next;
+            }
+            ready = true;
+            return total;
+        } catch (Exception e) {
+            logger.error("rebuild catalog search index error", e);
+            return -1;
+        } finally {
+            synchronized (updateLock) {
+                pendingUpdates = null;
+            }
+        }
+    }
+
+    private int load(IndexState next) {
+        Map<String, String> tagNameMap = new HashMap<>();
+        List<CatalogTag> tagList = SpringApplicationContext.getBean(CatalogTagMapper.class).selectList(null);
+        if (CollectionUtils.isNotEmpty(tagList)) {
+            tagList.forEach(tag -> tagNameMap.put(tag.getUuid(), tag.getName()));
+        }
+
+        Map<String, Set<String>> entityTagMap = new HashMap<>();
+        List<CatalogEntityTagRel> relList = SpringApplicationContext.getBean(CatalogEntityTagRelMapper.class).selectList(null);
+        if (CollectionUtils.isNotEmpty(relList)) {
+            relList.stream()
+                    .filter(rel -> tagNameMap.containsKey(rel.getTagUuid()))
+                    .forEach(rel -> entityTagMap.computeIfAbsent(rel.getEntityUuid(), k -> new HashSet<>()).add(rel.getTagUuid()));
+        }
+        next.putTagNames(tagNameMap);
+
+        CatalogEntityInstanceMapper instanceMapper = SpringApplicationContext.getBean(CatalogEntityInstanceMapper.class);
+        long lastId = 0;
+        int total = 0;
+        while (true) {
+            List<CatalogEntityInstance> entityList = instanceMapper.selectList(new QueryWrapper<CatalogEntityInstance>().lambda()
+                    .select(CatalogEntityInstance::getId, CatalogEntityInstance::getUuid, CatalogEntityInstance::getDatasourceId,
+                            CatalogEntityInstance::getType, CatalogEntityInstance::getFullyQualifiedName, CatalogEntityInstance::getDisplayName,
+                            CatalogEntityInstance::getDescription, CatalogEntityInstance::getStatus, CatalogEntityInstance::getUpdateTime)
+                    .eq(CatalogEntityInstance::getStatus, CommonConstants.CATALOG_ENTITY_INSTANCE_STATUS_ACTIVE)
+                    .gt(CatalogEntityInstance::getId, lastId)
+                    .orderByAsc(CatalogEntityInstance::getId)
+                    .last("limit " + LOAD_BATCH_SIZE));
+            if (CollectionUtils.isEmpty(entityList)) {
+                break;
+            }
+
+            for (CatalogEntityInstance entityInstance : entityList) {
+                next.put(entityInstance, entityTagMap.get(entityInstance.getUuid()));
+            }
+            total += entityList.size();
+            lastId = entityList.get(entityList.size() - 1).getId();
+            if (entityList.size() < LOAD_BATCH_SIZE) {
+                break;
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * read the entities and the tag relations updated since the last rebuild or sync, they may be changed on the other servers
+     */
+    private void sync() {
+        if (!ready || syncedTime == null) {
+            return;
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime since = syncedTime.minusSeconds(SYNC_OVERLAP_SECONDS);
+            CatalogEntityInstanceMapper instanceMapper = SpringApplicationContext.getBean(CatalogEntityInstanceMapper.class);
+            long lastId = 0;
+            int total = 0;
+            List<String> updatedUuids = new ArrayList<>();
+            while (true) {
+                List<CatalogEntityInstance> entityList = instanceMapper.selectList(new QueryWrapper<CatalogEntityInstance>().lambda()
+                        .select(CatalogEntityInstance::getId, CatalogEntityInstance::getUuid, CatalogEntityInstance::getDatasourceId,
+                                CatalogEntityInstance::getType, CatalogEntityInstance::getFullyQualifiedName, CatalogEntityInstance::getDisplayName,
+                                CatalogEntityInstance::getDescription, CatalogEntityInstance::getStatus, CatalogEntityInstance::getUpdateTime)
+                        .ge(CatalogEntityInstance::getUpdateTime, since)
+                        .gt(CatalogEntityInstance::getId, lastId)
+                        .orderByAsc(CatalogEntityInstance::getId)
+                        .last("limit " + LOAD_BATCH_SIZE));
+                if (CollectionUtils.isEmpty(entityList)) {
+                    break;
+                }
+
+                for (CatalogEntityInstance entityInstance : entityList) {
+                    if (CommonConstants.CATALOG_ENTITY_INSTANCE_STATUS_ACTIVE.equals(entityInstance.getStatus())) {
+                        apply(indexState -> indexState.sync(entityInstance));
+                        updatedUuids.add(entityInstance.getUuid());
+                    } else {
+                        remove(entityInstance.getUuid());
+                    }
+                }
+                total += entityList.size();
+                lastId = entityList.get(entityList.size() - 1).getId();
+                if (entityList.size() < LOAD_BATCH_SIZE) {
+                    break;
+                }
+            }
+
+            CatalogEntityTagRelMapper relMapper = SpringApplicationContext.getBean(CatalogEntityTagRelMapper.class);
+            List<CatalogEntityTagRel> relList = new ArrayList<>(
+                    relMapper.selectList(new QueryWrapper<CatalogEntityTagRel>().lambda().ge(CatalogEntityTagRel::getUpdateTime, since)));
+            // all the tags of the updated entities are read, the deleted tag relations are not in the table any more
+            Map<String, Set<String>> entityTagMap = new HashMap<>();
+            for (List<String> uuidList : ListUtils.partition(updatedUuids, LOAD_BATCH_SIZE)) {
+                uuidList.forEach(uuid -> entityTagMap.put(uuid, new HashSet<>()));
+                relList.addAll(relMapper.selectList(new QueryWrapper<CatalogEntityTagRel>().lambda().in(CatalogEntityTagRel::getEntityUuid, uuidList)));
+            }
+
+            Set<String> tagUuids = relList.stream().map(CatalogEntityTagRel::getTagUuid).collect(Collectors.toSet());
+            Map<String, String> tagNameMap = new HashMap<>();
+            for (List<String> uuidList : ListUtils.partition(new ArrayList<>(tagUuids), LOAD_BATCH_SIZE)) {
+                SpringApplicationContext.getBean(CatalogTagMapper.class)
+                        .selectList(new QueryWrapper<CatalogTag>().lambda().in(CatalogTag::getUuid, uuidList))
+                        .forEach(tag -> tagNameMap.put(tag.getUuid(), tag.getName()));
+            }
+            relList.stream()
+                    .filter(rel -> tagNameMap.containsKey(rel.getTagUuid()))
+                    .forEach(rel -> {
+                        Set<String> entityTags = entityTagMap.get(rel.getEntityUuid());
+                        if (entityTags != null) {
+                            entityTags.add(rel.getTagUuid());
+                        } else {
+                            addTag(rel.getEntityUuid(), rel.getTagUuid(), tagNameMap.get(rel.getTagUuid()));
+                        }
+                    });
+            if (!entityTagMap.isEmpty()) {
+                apply(indexState -> {
+                    indexState.putTagNames(tagNameMap);
+                    entityTagMap.forEach(indexState::setTags);
+                });
+            }
+
+            syncedTime = now;
+            logger.debug("sync catalog search index with {} entities and {} tag relations", total, relList.size());
+        } catch (Exception e) {
+            logger.error("sync catalog search index error", e);
+        }
+    }
+
+    /**
+     * only the searched fields are kept in the index, the properties of the entity can be large
+     */
+    private static CatalogEntityInstance toIndexed(CatalogEntityInstance entityInstance) {
+        CatalogEntityInstance indexed = new CatalogEntityInstance();
+        indexed.setId(entityInstance.getId());
+        indexed.setUuid(entityInstance.getUuid());
+        indexed.setDatasourceId(entityInstance.getDatasourceId());
+        indexed.setType(entityInstance.getType());
+        indexed.setFullyQualifiedName(entityInstance.getFullyQualifiedName());
+        indexed.setDisplayName(entityInstance.getDisplayName());
+        indexed.setDescription(entityInstance.getDescription());
+        indexed.setStatus(entityInstance.getStatus());
+        indexed.setUpdateTime(entityInstance.getUpdateTime());
+        return indexed;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (StringUtils.isEmpty(text)) {
+            return tokens;
+        }
+
+        String lowerText = CAMEL_CASE.matcher(text).replaceAll(" ").toLowerCase(Locale.ROOT);
+        for (String token : SEPARATOR.split(lowerText)) {
+            if (token.isEmpty()) {
+                continue;
+            }
+
+            if (containsHan(token) && token.length() > 1) {
+                // the chinese text has no separator, it is indexed by the character bigrams
+                for (int i = 0; i < token.length() - 1; i++) {
+                    tokens.add(token.substring(i, i + 2));
+                }
+            } else {
+                tokens.add(token);
+            }
+        }
+
+        return tokens;
+    }
+
+    private static boolean containsHan(String token) {
+        return token.codePoints().anyMatch(c -> Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN);
+    }
+
+    static int editDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] temp = previous;
+            previous = current;
+            current = temp;
+        }
+
+        return previous[b.length()];
+    }
+
+    /**
+     * the weights of the exact, the prefix and the fuzzy match of a field
+     */
+    private enum Field {
+
+        NAME(10f, 6f, 3f),
+        PATH(4f, 2f, 1f),
+        DESCRIPTION(2f, 1f, 0.5f),
+        TAG(5f, 3f, 0f);
+
+        private final float exact;
+
+        private final float prefix;
+
+        private final float fuzzy;
+
+        Field(float exact, float prefix, float fuzzy) {
+            this.exact = exact;
+            this.prefix = prefix;
+            this.fuzzy = fuzzy;
+        }
+    }
+
+    private static class Postings {
+
+        private int[] docs = new int[2];
+
+        private int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+
+    private static class Doc {
+
+        private final CatalogEntityInstance entity;
+
+        private final Set<String> tagUuids;
+
+        Doc(CatalogEntityInstance entity, Set<String> tagUuids) {
+            this.entity = entity;
+            this.tagUuids = tagUuids;
+        }
+    }
+
+    static class IndexState {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private final List<Doc> docs = new ArrayList<>();
+
+        private final Map<String, Integer> uuidDocMap = new HashMap<>();
+
+        private final Map<Field, TreeMap<String, Postings>> fieldTerms = new EnumMap<>(Field.class);
+
+        private final Map<String, String> tagNameMap = new HashMap<>();
+
+        private final Map<String, Set<Integer>> tagDocMap = new HashMap<>();
+
+        private int tombstones;
+
+        IndexState() {
+            fieldTerms.put(Field.NAME, new TreeMap<>());
+            fieldTerms.put(Field.PATH, new TreeMap<>());
+            fieldTerms.put(Field.DESCRIPTION, new TreeMap<>());
+        }
+
+        void putTagNames(Map<String, String> tagNames) {
+            lock.writeLock().lock();
+            try {
+                tagNameMap.putAll(tagNames);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void put(CatalogEntityInstance entityInstance, Set<String> tagUuids) {
+            lock.writeLock().lock();
+            try {
+                Set<String> docTagUuids = new HashSet<>();
+                Integer oldDoc = removeDoc(entityInstance.getUuid());
+                if (oldDoc != null) {
+                    docTagUuids.addAll(docs.get(oldDoc).tagUuids);
+                    docs.set(oldDoc, null);
+                    tombstones++;
+                }
+                if (tagUuids != null) {
+                    docTagUuids.addAll(tagUuids);
+                }
+
+                int doc = docs.size();
+                docs.add(new Doc(entityInstance, docTagUuids));
+                uuidDocMap.put(entityInstance.getUuid(), doc);
+
+                Set<String> nameTerms = new LinkedHashSet<>(tokenize(entityInstance.getDisplayName()));
+                if (StringUtils.isNotEmpty(entityInstance.getDisplayName())) {
+                    nameTerms.add(entityInstance.getDisplayName().toLowerCase(Locale.ROOT));
+                }
+                addTerms(Field.NAME, nameTerms, doc);
+                addTerms(Field.PATH, tokenize(entityInstance.getFullyQualifiedName()), doc);
+                addTerms(Field.DESCRIPTION, tokenize(entityInstance.getDescription()), doc);
+                docTagUuids.forEach(tagUuid -> tagDocMap.computeIfAbsent(tagUuid, k -> new HashSet<>()).add(doc));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * put the entity read by the sync, it is skipped when the same version is indexed already
+         */
+        void sync(CatalogEntityInstance entityInstance) {
+            lock.writeLock().lock();
+            try {
+                Integer doc = uuidDocMap.get(entityInstance.getUuid());
+                if (doc != null && Objects.equals(docs.get(doc).entity.getUpdateTime(), entityInstance.getUpdateTime())) {
+                    return;
+                }
+                put(entityInstance, null);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(String entityUuid) {
+            lock.writeLock().lock();
+            try {
+                Integer doc = removeDoc(entityUuid);
+                if (doc != null) {
+                    docs.set(doc, null);
+                    tombstones++;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * replace the tags of the entity with the tags read from the database
+         */
+        void setTags(String entityUuid, Set<String> tagUuids) {
+            lock.writeLock().lock();
+            try {
+                Integer doc = uuidDocMap.get(entityUuid);
+                if (doc == null) {
+                    return;
+                }
+
+                Doc d = docs.get(doc);
+                d.tagUuids.stream()
+                        .filter(tagUuid -> !tagUuids.contains(tagUuid))
+                        .forEach(tagUuid -> {
+                            Set<Integer> tagDocs = tagDocMap.get(tagUuid);
+                            if (tagDocs != null) {
+                                tagDocs.remove(doc);
+                            }
+                        });
+                d.tagUuids.retainAll(tagUuids);
+                d.tagUuids.addAll(tagUuids);
+                tagUuids.forEach(tagUuid -> tagDocMap.computeIfAbsent(tagUuid, k -> new HashSet<>()).add(doc));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int getTombstones() {
+            lock.readLock().lock();
+            try {
+                return tombstones;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        boolean needCompact() {
+            lock.readLock().lock();
+            try {
+                return tombstones >= MIN_COMPACT_TOMBSTONES && tombstones > uuidDocMap.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * build a new index from the live docs, the doc ids of the tombstones are reused
+         */
+        IndexState compact() {
+            lock.readLock().lock();
+            try {
+                IndexState next = new IndexState();
+                next.tagNameMap.putAll(tagNameMap);
+                docs.stream().filter(Objects::nonNull).forEach(d -> next.put(d.entity, d.tagUuids));
+                return next;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void addTag(String entityUuid, String tagUuid, String tagName) {
+            lock.writeLock().lock();
+            try {
+                if (tagName != null) {
+                    tagNameMap.put(tagUuid, tagName);
+                }
+                Integer doc = uuidDocMap.get(entityUuid);
+                if (doc != null) {
+                    docs.get(doc).tagUuids.add(tagUuid);
+                    tagDocMap.computeIfAbsent(tagUuid, k -> new HashSet<>()).add(doc);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void removeTag(String entityUuid, String tagUuid) {
+            lock.writeLock().lock();
+            try {
+                if (entityUuid == null) {
+                    Set<Integer> tagDocs = tagDocMap.remove(tagUuid);
+                    if (tagDocs != null) {
+                        tagDocs.stream().map(docs::get).filter(Objects::nonNull).forEach(d -> d.tagUuids.remove(tagUuid));
+                    }
+                    tagNameMap.remove(tagUuid);
+                    return;
+                }
+
+                Integer doc = uuidDocMap.get(entityUuid);
+                if (doc != null) {
+                    docs.get(doc).tagUuids.remove(tagUuid);
+                    Set<Integer> tagDocs = tagDocMap.get(tagUuid);
+                    if (tagDocs != null) {
+                        tagDocs.remove(doc);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        SearchResult search(String keyword, Collection<Long> datasourceIds, String type, Collection<String> tagUuids, boolean fuzzy) {
+            lock.readLock().lock();
+            try {
+                Set<String> terms = new LinkedHashSet<>(tokenize(keyword));
+                // the scores are indexed by the doc id, a zero score means no match
+                int size = docs.size();
+                float[] scores = null;
+                boolean truncated = false;
+                for (String term : terms) {
+                    float[] termScores = new float[size];
+                    for (Map.Entry<Field, TreeMap<String, Postings>> entry : fieldTerms.entrySet()) {
+                        float[] fieldScores = new float[size];
+                        TermMatches termMatches = matchTerms(entry.getValue(), term, fuzzy);
+                        truncated |= termMatches.truncated;
+                        termMatches.terms.forEach((matchedTerm, weight) -> {
+                            Postings postings = entry.getValue().get(matchedTerm);
+                            float score = weight == 0 ? entry.getKey().exact : weight == 1 ? entry.getKey().prefix : entry.getKey().fuzzy;
+                            for (int i = 0; i < postings.size; i++) {
+                                fieldScores[postings.docs[i]] = Math.max(fieldScores[postings.docs[i]], score);
+                            }
+                        });
+                        for (int doc = 0; doc < size; doc++) {
+                            termScores[doc] += fieldScores[doc];
+                        }
+                    }
+                    matchTags(term, termScores);
+
+                    boolean matched = false;
+                    if (scores == null) {
+                        scores = termScores;
+                        for (int doc = 0; doc < size && !matched; doc++) {
+                            matched = scores[doc] > 0;
+                        }
+                    } else {
+                        for (int doc = 0; doc < size; doc++) {
+                            scores[doc] = scores[doc] > 0 && termScores[doc] > 0 ? scores[doc] + termScores[doc] : 0;
+                            matched |= scores[doc] > 0;
+                        }
+                    }
+
+                    if (!matched) {
+                        break;
+                    }
+                }
+
+                List<SearchHit> hits = new ArrayList<>();
+                Map<String, Integer> tagFacets = new HashMap<>();
+                for (int doc = 0; doc < size; doc++) {
+                    if (scores == null || scores[doc] > 0) {
+                        collectHit(doc, scores == null ? 0f : scores[doc], datasourceIds, type, tagUuids, hits, tagFacets);
+                    }
+                }
+
+                hits.sort(Comparator.comparingDouble(SearchHit::getScore).reversed()
+                        .thenComparingInt(hit -> String.valueOf(hit.getEntity().getDisplayName()).length())
+                        .thenComparing(hit -> String.valueOf(hit.getEntity().getDisplayName())));
+
+                List<TagFacet> facets = new ArrayList<>();
+                tagFacets.forEach((tagUuid, count) -> facets.add(new TagFacet(tagUuid, tagNameMap.get(tagUuid), count)));
+                facets.sort(Comparator.comparing(TagFacet::getCount).reversed().thenComparing(TagFacet::getTagUuid));
+                return new SearchResult(hits, facets, truncated);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void collectHit(int doc, float score, Collection<Long> datasourceIds, String type, Collection<String> tagUuids,
+                                List<SearchHit> hits, Map<String, Integer> tagFacets) {
+            Doc d = docs.get(doc);
+            if (d == null
+                    || (datasourceIds != null && !datasourceIds.contains(d.entity.getDatasourceId()))
+                    || (StringUtils.isNotEmpty(type) && !type.equalsIgnoreCase(d.entity.getType()))
+                    || (CollectionUtils.isNotEmpty(tagUuids) && !d.tagUuids.containsAll(tagUuids))) {
+                return;
+            }
+
+            hits.add(new SearchHit(d.entity, new ArrayList<>(d.tagUuids), score));
+            d.tagUuids.forEach(tagUuid -> tagFacets.merge(tagUuid, 1, Integer::sum));
+        }
+
+        /**
+         * match the exact term, the prefix terms and the fuzzy terms. When more than MAX_EXPANSIONS terms match,
+         * the closest ones are kept, the shortest prefix terms and the fuzzy terms with the fewest edits,
+         * then the ones in the most docs, and the matches are reported as truncated
+         */
+        private TermMatches matchTerms(NavigableMap<String, Postings> terms, String term, boolean fuzzy) {
+            TermMatches termMatches = new TermMatches();
+            if (terms.containsKey(term)) {
+                termMatches.terms.put(term, 0);
+            }
+
+            // the postings are read with the terms, the ranking of the expansions does not look them up again
+            List<Map.Entry<String, Postings>> prefixTerms = new ArrayList<>(terms.subMap(term, false, term + Character.MAX_VALUE, false).entrySet());
+            if (prefixTerms.size() > MAX_EXPANSIONS) {
+                prefixTerms.sort(Comparator.comparingInt((Map.Entry<String, Postings> e) -> e.getKey().length())
+                        .thenComparing(Comparator.comparingInt((Map.Entry<String, Postings> e) -> e.getValue().size).reversed()));
+                prefixTerms = prefixTerms.subList(0, MAX_EXPANSIONS);
+                termMatches.truncated = true;
+            }
+            prefixTerms.forEach(prefixTerm -> termMatches.terms.put(prefixTerm.getKey(), 1));
+
+            if (fuzzy && term.length() >= MIN_FUZZY_LENGTH) {
+                // the typo is rarely the first character, only the terms with the same first character are compared
+                int maxEdits = term.length() < 8 ? 1 : 2;
+                String first = term.substring(0, 1);
+                List<Map.Entry<String, Postings>> fuzzyTerms = new ArrayList<>();
+                Map<String, Integer> fuzzyEdits = new HashMap<>();
+                for (Map.Entry<String, Postings> candidate : terms.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                    String candidateTerm = candidate.getKey();
+                    if (termMatches.terms.containsKey(candidateTerm) || Math.abs(candidateTerm.length() - term.length()) > maxEdits) {
+                        continue;
+                    }
+                    int edits = editDistance(term, candidateTerm, maxEdits);
+                    if (edits <= maxEdits) {
+                        fuzzyTerms.add(candidate);
+                        fuzzyEdits.put(candidateTerm, edits);
+                    }
+                }
+
+                if (fuzzyTerms.size() > MAX_EXPANSIONS) {
+                    fuzzyTerms.sort(Comparator.comparingInt((Map.Entry<String, Postings> e) -> fuzzyEdits.get(e.getKey()))
+                            .thenComparing(Comparator.comparingInt((Map.Entry<String, Postings> e) -> e.getValue().size).reversed()));
+                    fuzzyTerms = fuzzyTerms.subList(0, MAX_EXPANSIONS);
+                    termMatches.truncated = true;
+                }
+                fuzzyTerms.forEach(fuzzyTerm -> termMatches.terms.put(fuzzyTerm.getKey(), 2));
+            }
+
+            return termMatches;
+        }
+
+        private void matchTags(String term, float[] termScores) {
+            tagNameMap.forEach((tagUuid, tagName) -> {
+                float score = 0f;
+                for (String tagTerm : tokenize(tagName)) {
+                    if (tagTerm.equals(term)) {
+                        score = Field.TAG.exact;
+                        break;
+                    } else if (tagTerm.startsWith(term)) {
+                        score = Field.TAG.prefix;
+                    }
+                }
+
+                if (score > 0) {
+                    float tagScore = score;
+                    tagDocMap.getOrDefault(tagUuid, Collections.emptySet())
+                            .forEach(doc -> termScores[doc] += tagScore);
+                }
+            });
+        }
+
+        private void addTerms(Field field, Collection<String> terms, int doc) {
+            TreeMap<String, Postings> termMap = fieldTerms.get(field);
+            terms.forEach(term -> termMap.computeIfAbsent(term, k -> new Postings()).add(doc));
+        }
+
+        private Integer removeDoc(String entityUuid) {
+            Integer doc = uuidDocMap.remove(entityUuid);
+            if (doc != null) {
+                Doc oldDoc = docs.get(doc);
+                if (oldDoc != null) {
+                    oldDoc.tagUuids.forEach(tagUuid -> {
+                        Set<Integer> tagDocs = tagDocMap.get(tagUuid);
+                        if (tagDocs != null) {
+                            tagDocs.remove(doc);
+                        }
+                    });
+                }
+            }
+            return doc;
+        }
+    }
+
+    /**
+     * the matched terms and the kind of the match: 0 exact, 1 prefix, 2 fuzzy
+     */
+    private static class TermMatches {
+
+        private final Map<String, Integer> terms = new HashMap<>();
+
+        private boolean truncated;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+
+        private final List<SearchHit> hits;
+
+        private final List<TagFacet> tagFacets;
+
+        /**
+         * true when a term matched more than MAX_EXPANSIONS index terms and only the closest ones were searched
+         */
+        private final boolean truncated;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchHit {
+
+        private final CatalogEntityInstance entity;
+
+        private final List<String> tagUuids;
+
+        private final float score;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TagFacet {
+
+        private final String tagUuid;
+
+        private final String tagName;
+
+        private final int count;
+    }
+}
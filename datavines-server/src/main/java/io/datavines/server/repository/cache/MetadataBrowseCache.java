@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.datavines.common.CommonConstants;
+import io.datavines.common.datasource.jdbc.entity.ColumnInfo;
+import io.datavines.common.datasource.jdbc.entity.DatabaseInfo;
+import io.datavines.common.datasource.jdbc.entity.TableColumnInfo;
+import io.datavines.common.datasource.jdbc.entity.TableInfo;
+import io.datavines.common.exception.DataVinesException;
+import io.datavines.common.utils.CommonPropertyUtils;
+import io.datavines.common.utils.JSONUtils;
+import io.datavines.common.utils.StringUtils;
+import io.datavines.server.repository.entity.catalog.CatalogEntityInstance;
+import io.datavines.server.repository.mapper.CatalogEntityInstanceMapper;
+import io.datavines.server.utils.SpringApplicationContext;
+import org.apache.commons.collections4.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static io.datavines.common.ConfigConstants.DATABASE;
+import static io.datavines.common.ConfigConstants.TABLE;
+
+/**
+ * Cache of the databases, tables and columns shown when browsing a datasource. A lookup is served from memory,
+ * then from the synced catalog entities, and calls the connector when the catalog has not synced the entity yet or
+ * its last sync is older than the catalog ttl, so a catalog which is not synced any more does not hide the live metadata.
+ * The concurrent lookups of the same key wait for one load instead of opening their own metadata connections.
+ */
+public class MetadataBrowseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetadataBrowseCache.class);
+
+    private static final String COLUMN = "column";
+
+    private static final String SEPARATOR = "@@";
+
+    private final boolean enable;
+
+    private final boolean catalogEnable;
+
+    /**
+     * the catalog entities which are not synced within this time are ignored, 0 means they never expire
+     */
+    private final long catalogTtl;
+
+    private final Supplier<CatalogEntityInstanceMapper> instanceMapperSupplier;
+
+    private final Cache<String, Optional<Object>> metadataCache;
+
+    private MetadataBrowseCache() {
+        this(CommonPropertyUtils.getBoolean(
+                        CommonPropertyUtils.METADATA_CACHE_ENABLE, CommonPropertyUtils.METADATA_CACHE_ENABLE_DEFAULT),
+                CommonPropertyUtils.getBoolean(
+                        CommonPropertyUtils.METADATA_CACHE_CATALOG_ENABLE, CommonPropertyUtils.METADATA_CACHE_CATALOG_ENABLE_DEFAULT),
+                CommonPropertyUtils.getInt(
+                        CommonPropertyUtils.METADATA_CACHE_MAX_SIZE, CommonPropertyUtils.METADATA_CACHE_MAX_SIZE_DEFAULT),
+                CommonPropertyUtils.getLong(
+                        CommonPropertyUtils.METADATA_CACHE_TTL, CommonPropertyUtils.METADATA_CACHE_TTL_DEFAULT),
+                CommonPropertyUtils.getLong(
+                        CommonPropertyUtils.METADATA_CACHE_CATALOG_TTL, CommonPropertyUtils.METADATA_CACHE_CATALOG_TTL_DEFAULT),
+                () -> SpringApplicationContext.getBean(CatalogEntityInstanceMapper.class));
+    }
+
+    MetadataBrowseCache(boolean enable, boolean catalogEnable, int maxSize, long ttl, long catalogTtl,
+                        Supplier<CatalogEntityInstanceMapper> instanceMapperSupplier) {
+        this.enable = enable;
+        this.catalogEnable = catalogEnable;
+        this.catalogTtl = catalogTtl;
+        this.instanceMapperSupplier = instanceMapperSupplier;
+        this.metadataCache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private static class Singleton {
+        static MetadataBrowseCache instance = new MetadataBrowseCache();
+    }
+
+    public static MetadataBrowseCache getInstance() {
+        return Singleton.instance;
+    }
+
+    /**
+     * get the database list of the datasource
+     * @param datasourceId datasource id
+     * @param connectorLoader load the database list from the connector
+     * @return database list
+     */
+    public Object getDatabaseList(Long datasourceId, Callable<Object> connectorLoader) throws SQLException {
+        return get(getKey(datasourceId), () -> {
+            List<DatabaseInfo> databaseList = getCatalogDatabaseList(datasourceId);
+            return databaseList != null ? databaseList : connectorLoader.call();
+        }, connectorLoader);
+    }
+
+    /**
+     * get the table list of the database
+     * @param datasourceId datasource id
+     * @param database database
+     * @param connectorLoader load the table list from the connector
+     * @return table list
+     */
+    public Object getTableList(Long datasourceId, String database, Callable<Object> connectorLoader) throws SQLException {
+        return get(getKey(datasourceId, database), () -> {
+            List<TableInfo> tableList = getCatalogTableList(datasourceId, database);
+            return tableList != null ? tableList : connectorLoader.call();
+        }, connectorLoader);
+    }
+
+    /**
+     * get the columns of the table
+     * @param datasourceId datasource id
+     * @param database database
+     * @param table table
+     * @param connectorLoader load the columns from the connector
+     * @return table column info
+     */
+    public Object getColumnList(Long datasourceId, String database, String table, Callable<Object> connectorLoader) throws SQLException {
+        return get(getKey(datasourceId, database, table), () -> {
+            TableColumnInfo tableColumnInfo = getCatalogColumnList(datasourceId, database, table);
+            return tableColumnInfo != null ? tableColumnInfo : connectorLoader.call();
+        }, connectorLoader);
+    }
+
+    /**
+     * remove all the metadata of the datasource, it should be called when the datasource is updated or the catalog is synced
+     * @param datasourceId datasource id
+     */
+    public void invalidate(Long datasourceId) {
+        invalidateByPrefix(getKey(datasourceId));
+    }
+
+    /**
+     * remove the table list of the database and the columns of its tables, the database list is removed too
+     * because the fetch of a database adds it to the catalog when it is not there
+     * @param datasourceId datasource id
+     * @param database database
+     */
+    public void invalidate(Long datasourceId, String database) {
+        metadataCache.invalidate(getKey(datasourceId));
+        invalidateByPrefix(getKey(datasourceId, database));
+    }
+
+    /**
+     * remove the columns of the table
+     * @param datasourceId datasource id
+     * @param database database
+     * @param table table
+     */
+    public void invalidate(Long datasourceId, String database, String table) {
+        metadataCache.invalidate(getKey(datasourceId, database, table));
+    }
+
+    private void invalidateByPrefix(String prefix) {
+        if (!enable) {
+            return;
+        }
+
+        metadataCache.asMap().keySet().removeIf(key -> key.equals(prefix) || key.startsWith(prefix + SEPARATOR));
+    }
+
+    private Object get(String key, Callable<Object> loader, Callable<Object> connectorLoader) throws SQLException {
+        try {
+            if (!enable) {
+                return connectorLoader.call();
+            }
+
+            return metadataCache.get(key, () -> Optional.ofNullable(loader.call())).orElse(null);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw propagate(e.getCause());
+        } catch (Exception e) {
+            throw propagate(e);
+        }
+    }
+
+    private RuntimeException propagate(Throwable e) throws SQLException {
+        if (e instanceof SQLException) {
+            throw (SQLException) e;
+        }
+
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+
+        return new DataVinesException("load metadata error", e);
+    }
+
+    private List<DatabaseInfo> getCatalogDatabaseList(Long datasourceId) {
+        List<CatalogEntityInstance> instanceList = getCatalogEntityList(datasourceId, DATABASE, null);
+        if (CollectionUtils.isEmpty(instanceList)) {
+            return null;
+        }
+
+        return instanceList.stream()
+                .map(instance -> new DatabaseInfo(instance.getDisplayName(), DATABASE))
+                .collect(Collectors.toList());
+    }
+
+    private List<TableInfo> getCatalogTableList(Long datasourceId, String database) {
+        List<CatalogEntityInstance> instanceList = getCatalogEntityList(datasourceId, TABLE, database + ".");
+        if (CollectionUtils.isEmpty(instanceList)) {
+            return null;
+        }
+
+        List<TableInfo> tableList = new ArrayList<>();
+        for (CatalogEntityInstance instance : instanceList) {
+            TableInfo tableInfo = StringUtils.isEmpty(instance.getProperties()) ? null :
+                    JSONUtils.parseObject(instance.getProperties(), TableInfo.class);
+            if (tableInfo == null) {
+                tableInfo = new TableInfo(database, instance.getDisplayName(), TABLE, instance.getDescription());
+            }
+            tableList.add(tableInfo);
+        }
+
+        return tableList;
+    }
+
+    private TableColumnInfo getCatalogColumnList(Long datasourceId, String database, String table) {
+        List<CatalogEntityInstance> instanceList = getCatalogEntityList(datasourceId, COLUMN, database + "." + table + ".");
+        if (CollectionUtils.isEmpty(instanceList)) {
+            return null;
+        }
+
+        List<ColumnInfo> columnList = new ArrayList<>();
+        List<String> primaryKeys = new ArrayList<>();
+        for (CatalogEntityInstance instance : instanceList) {
+            ColumnInfo columnInfo = StringUtils.isEmpty(instance.getProperties()) ? null :
+                    JSONUtils.parseObject(instance.getProperties(), ColumnInfo.class);
+            if (columnInfo == null) {
+                // the properties of a column are always written by the catalog sync, load it from the connector instead
+                return null;
+            }
+
+            if (columnInfo.isPrimaryKey()) {
+                primaryKeys.add(columnInfo.getName());
+            }
+            columnList.add(columnInfo);
+        }
+
+        return new TableColumnInfo(table, primaryKeys, columnList);
+    }
+
+    private List<CatalogEntityInstance> getCatalogEntityList(Long datasourceId, String type, String fqnPrefix) {
+        if (!catalogEnable) {
+            return null;
+        }
+
+        try {
+            CatalogEntityInstanceMapper instanceMapper = instanceMapperSupplier.get();
+            QueryWrapper<CatalogEntityInstance> queryWrapper = new QueryWrapper<>();
+            queryWrapper.lambda()
+                    .eq(CatalogEntityInstance::getDatasourceId, datasourceId)
+                    .eq(CatalogEntityInstance::getType, type)
+                    .eq(CatalogEntityInstance::getStatus, CommonConstants.CATALOG_ENTITY_INSTANCE_STATUS_ACTIVE)
+                    .likeRight(fqnPrefix != null, CatalogEntityInstance::getFullyQualifiedName, fqnPrefix)
+                    .orderByAsc(CatalogEntityInstance::getId);
+            List<CatalogEntityInstance> instanceList = instanceMapper.selectList(queryWrapper);
+            if (fqnPrefix != null && CollectionUtils.isNotEmpty(instanceList)) {
+                // the underscore in the like pattern matches any character
+                instanceList = instanceList.stream()
+                        .filter(instance -> instance.getFullyQualifiedName().startsWith(fqnPrefix))
+                        .collect(Collectors.toList());
+            }
+
+            if (isExpired(instanceList)) {
+                logger.info("the catalog of datasource {} is not synced within {} ms, load it from the connector", datasourceId, catalogTtl);
+                return null;
+            }
+
+            return instanceList;
+        } catch (Exception e) {
+            logger.warn("get catalog entity of datasource {} error, load it from the connector", datasourceId, e);
+            return null;
+        }
+    }
+
+    private boolean isExpired(List<CatalogEntityInstance> instanceList) {
+        if (catalogTtl <= 0 || CollectionUtils.isEmpty(instanceList)) {
+            return false;
+        }
+
+        // every sync refreshes the update time of the entities it finds, the newest one is the time of the last sync
+        LocalDateTime lastSyncTime = instanceList.stream()
+                .map(CatalogEntityInstance::getUpdateTime)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        return lastSyncTime == null || lastSyncTime.isBefore(LocalDateTime.now().minus(catalogTtl, ChronoUnit.MILLIS));
+    }
+
+    private String getKey(Object... parts) {
+        List<String> keyParts = new ArrayList<>();
+        for (Object part : parts) {
+            keyParts.add(String.valueOf(part));
+        }
+        return String.join(SEPARATOR, keyParts);
+    }
+}
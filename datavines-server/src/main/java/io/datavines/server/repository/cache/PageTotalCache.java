@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.datavines.common.utils.CommonPropertyUtils;
+import io.datavines.core.exception.DataVinesServerException;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Totals of the cursor pages, keyed by the list and its filters. The total is counted once when the first page is read
+ * and reused by the next pages until it expires, so paging forward does not run count(*) on every request.
+ */
+public class PageTotalCache {
+
+    private final Cache<String, Long> totalCache;
+
+    private PageTotalCache() {
+        this.totalCache = CacheBuilder.newBuilder()
+                .maximumSize(10000)
+                .expireAfterWrite(CommonPropertyUtils.getLong(
+                        CommonPropertyUtils.PAGE_TOTAL_CACHE_EXPIRE, CommonPropertyUtils.PAGE_TOTAL_CACHE_EXPIRE_DEFAULT), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private static class Singleton {
+        static PageTotalCache instance = new PageTotalCache();
+    }
+
+    public static PageTotalCache getInstance() {
+        return Singleton.instance;
+    }
+
+    /**
+     * get the cached total, count it only when it is not cached
+     * @param listName name of the list, such as job_execution
+     * @param filters the filters of the list, they are a part of the key
+     * @param counter count the total
+     * @return total
+     */
+    public long get(String listName, Object[] filters, LongSupplier counter) {
+        StringBuilder key = new StringBuilder(listName);
+        for (Object filter : filters) {
+            key.append('\u0001').append(filter);
+        }
+
+        try {
+            return totalCache.get(key.toString(), counter::getAsLong);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new DataVinesServerException("count the total of " + listName + " error", e.getCause());
+        }
+    }
+}
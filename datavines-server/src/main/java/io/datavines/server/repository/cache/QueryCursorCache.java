@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import io.datavines.common.entity.QueryColumn;
+import io.datavines.common.utils.CommonPropertyUtils;
+import io.datavines.common.utils.ThreadUtils;
+import io.datavines.connector.api.QueryCursor;
+import io.datavines.core.enums.Status;
+import io.datavines.core.exception.DataVinesServerException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Open cursors of the executed scripts, the next page of a script is read from its cursor instead of running the script again.
+ * A cursor holds a connection of the datasource, so it is closed once it is idle for the timeout or evicted by the size bound,
+ * and the open cursors of one datasource are limited below the size of its connection pool.
+ */
+public class QueryCursorCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCursorCache.class);
+
+    private final Cache<String, CursorHolder> cursorCache;
+
+    private final Map<Long, Semaphore> datasourcePermits = new ConcurrentHashMap<>();
+
+    private final int maxCursorsPerDatasource;
+
+    private QueryCursorCache() {
+        this.maxCursorsPerDatasource = Math.max(1, CommonPropertyUtils.getInt(
+                CommonPropertyUtils.QUERY_CURSOR_MAX_PER_DATASOURCE, CommonPropertyUtils.QUERY_CURSOR_MAX_PER_DATASOURCE_DEFAULT));
+        long idleTimeout = CommonPropertyUtils.getLong(
+                CommonPropertyUtils.QUERY_CURSOR_IDLE_TIMEOUT, CommonPropertyUtils.QUERY_CURSOR_IDLE_TIMEOUT_DEFAULT);
+        RemovalListener<String, CursorHolder> closeListener = notification -> {
+            logger.info("close cursor {} because it is {}", notification.getKey(), notification.getCause());
+            notification.getValue().close();
+        };
+        this.cursorCache = CacheBuilder.newBuilder()
+                .maximumSize(CommonPropertyUtils.getInt(
+                        CommonPropertyUtils.QUERY_CURSOR_MAX_SIZE, CommonPropertyUtils.QUERY_CURSOR_MAX_SIZE_DEFAULT))
+                .expireAfterAccess(idleTimeout, TimeUnit.MILLISECONDS)
+                .removalListener(closeListener)
+                .build();
+
+        // the expired entries are only removed on access, clean up them in background to release the connections
+        ScheduledExecutorService executorService = ThreadUtils.newDaemonThreadScheduledExecutor("Query-Cursor-Cleaner", 1);
+        executorService.scheduleWithFixedDelay(cursorCache::cleanUp, idleTimeout, idleTimeout, TimeUnit.MILLISECONDS);
+    }
+
+    private static class Singleton {
+        static QueryCursorCache instance = new QueryCursorCache();
+    }
+
+    public static QueryCursorCache getInstance() {
+        return Singleton.instance;
+    }
+
+    /**
+     * open a cursor of the datasource when it has less open cursors than the limit,
+     * the slot is released when the returned cursor is closed
+     * @param datasourceId datasource id
+     * @param opener open the cursor
+     * @return cursor
+     */
+    public QueryCursor open(Long datasourceId, Callable<QueryCursor> opener) throws Exception {
+        Semaphore permits = datasourcePermits.computeIfAbsent(datasourceId, id -> new Semaphore(maxCursorsPerDatasource));
+        if (!permits.tryAcquire()) {
+            throw new DataVinesServerException(Status.EXECUTE_SCRIPT_CURSOR_LIMIT_ERROR, datasourceId, maxCursorsPerDatasource);
+        }
+
+        QueryCursor cursor;
+        try {
+            cursor = opener.call();
+        } catch (Exception e) {
+            permits.release();
+            throw e;
+        }
+
+        if (cursor == null) {
+            permits.release();
+            return null;
+        }
+        return new LimitedCursor(cursor, permits);
+    }
+
+    /**
+     * keep the cursor open for the next pages
+     * @param cursor cursor
+     * @param userId user who opens the cursor
+     * @return cursor id
+     */
+    public String register(QueryCursor cursor, Long userId) {
+        String cursorId = UUID.randomUUID().toString();
+        cursorCache.put(cursorId, new CursorHolder(cursor, userId));
+        return cursorId;
+    }
+
+    /**
+     * get the cursor opened by the user
+     * @param cursorId cursor id
+     * @param userId user id
+     * @return cursor, null if it is not exist, expired or opened by another user
+     */
+    public QueryCursor get(String cursorId, Long userId) {
+        CursorHolder holder = cursorCache.getIfPresent(cursorId);
+        if (holder == null || !Objects.equals(holder.getUserId(), userId)) {
+            return null;
+        }
+
+        return holder.getCursor();
+    }
+
+    /**
+     * close the cursor and release its connection
+     * @param cursorId cursor id
+     */
+    public void close(String cursorId) {
+        cursorCache.invalidate(cursorId);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CursorHolder {
+
+        private final QueryCursor cursor;
+
+        private final Long userId;
+
+        void close() {
+            // wait for the fetch in progress, the cursor can not be closed while it is read
+            synchronized (cursor) {
+                cursor.close();
+            }
+        }
+    }
+
+    private static class LimitedCursor implements QueryCursor {
+
+        private final QueryCursor cursor;
+
+        private final Semaphore permits;
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        LimitedCursor(QueryCursor cursor, Semaphore permits) {
+            this.cursor = cursor;
+            this.permits = permits;
+        }
+
+        @Override
+        public List<QueryColumn> getColumns() {
+            return cursor.getColumns();
+        }
+
+        @Override
+        public List<Map<String, Object>> fetch(int size) throws SQLException {
+            return cursor.fetch(size);
+        }
+
+        @Override
+        public boolean hasMore() {
+            return cursor.hasMore();
+        }
+
+        @Override
+        public Statement getStatement() {
+            return cursor.getStatement();
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                try {
+                    cursor.close();
+                } finally {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
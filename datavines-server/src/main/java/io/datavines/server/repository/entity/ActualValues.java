@@ -51,6 +51,9 @@ public class ActualValues implements Serializable {
     @TableField(value = "actual_value")
     private BigDecimal actualValue;
 
+    @TableField(value = "sketch")
+    private String sketch;
+
     @JsonFormat(pattern="yyyy-MM-dd HH:mm:ss",timezone = "GMT+8")
     @TableField(value = "data_time")
     private LocalDateTime dataTime;
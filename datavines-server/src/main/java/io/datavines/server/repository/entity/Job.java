@@ -109,6 +109,9 @@ public class Job implements Serializable {
     @TableField(value = "env",updateStrategy = FieldStrategy.IGNORED)
     private Long env;
 
+    @TableField(value = "sample_fraction",updateStrategy = FieldStrategy.IGNORED)
+    private Double sampleFraction;
+
     @TableField(value = "create_by")
     private Long createBy;
 
@@ -42,6 +42,9 @@ public class JobExecutionResult implements Serializable {
     @TableField(value = "metric_unique_key")
     private String metricUniqueKey;
 
+    @TableField(value = "unique_code")
+    private String uniqueCode;
+
     @TableField(value = "metric_name")
     private String metricName;
 
@@ -81,6 +84,12 @@ public class JobExecutionResult implements Serializable {
     @TableField(value = "score")
     private BigDecimal score;
 
+    @TableField(value = "sample_fraction")
+    private BigDecimal sampleFraction;
+
+    @TableField(value = "confidence_interval")
+    private BigDecimal confidenceInterval;
+
     @TableField(value = "state")
     private int state;
 
@@ -18,9 +18,40 @@ package io.datavines.server.repository.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import io.datavines.server.repository.entity.ActualValues;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 
 @Mapper
 public interface ActualValuesMapper extends BaseMapper<ActualValues>  {
 
+    @Update("UPDATE dv_actual_values SET actual_value = actual_value / #{sampleFraction} where job_execution_id = #{jobExecutionId} and metric_name = #{metricName}")
+    int scaleBySampleFraction(@Param("jobExecutionId") Long jobExecutionId, @Param("metricName") String metricName, @Param("sampleFraction") BigDecimal sampleFraction);
+
+    @Select("select a.unique_code, a.sketch from dv_actual_values a join dv_job_execution e on a.job_execution_id = e.id " +
+            "where e.job_id = #{jobId} and a.metric_name = #{metricName} and a.sketch is not null " +
+            "and a.data_time >= #{startTime} and a.data_time < #{endTime}")
+    List<ActualValues> listSketches(@Param("jobId") Long jobId, @Param("metricName") String metricName,
+                                    @Param("startTime") String startTime, @Param("endTime") String endTime);
+
+    @Select("select distinct unique_code, date(data_time) as data_time from dv_actual_values where job_execution_id = #{jobExecutionId}")
+    List<ActualValues> listDailyKeys(@Param("jobExecutionId") Long jobExecutionId);
+
+    /**
+     * aggregate the actual values of one unique code in one day again, it only reads the runs of that day.
+     * The aggregate always returns one row, so a day without values is kept with value_count 0 instead of
+     * being deleted, and concurrent refreshes of the same day upsert the same row in one statement
+     */
+    @Insert("insert into dv_actual_values_daily (unique_code, data_date, value_count, value_sum, value_square_sum, min_value, max_value) " +
+            "select #{uniqueCode}, #{dataDate}, count(actual_value), sum(actual_value), sum(actual_value * actual_value), min(actual_value), max(actual_value) " +
+            "from dv_actual_values where unique_code = #{uniqueCode} and data_time >= #{dataDate} and data_time < date_add(#{dataDate}, interval 1 day) " +
+            "on duplicate key update value_count = values(value_count), value_sum = values(value_sum), " +
+            "value_square_sum = values(value_square_sum), min_value = values(min_value), max_value = values(max_value)")
+    int upsertDaily(@Param("uniqueCode") String uniqueCode, @Param("dataDate") LocalDate dataDate);
 }
@@ -19,8 +19,15 @@ package io.datavines.server.repository.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import io.datavines.server.repository.entity.catalog.CatalogEntityRel;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 @Mapper
 public interface CatalogEntityRelMapper extends BaseMapper<CatalogEntityRel>  {
 
+    @Select("SELECT r.* from dv_catalog_entity_rel r join dv_catalog_entity_instance e on r.entity2_uuid = e.uuid " +
+            "WHERE e.datasource_id = #{datasourceId} and r.type = #{type}")
+    List<CatalogEntityRel> listByDatasourceId(@Param("datasourceId") Long datasourceId, @Param("type") String type);
 }
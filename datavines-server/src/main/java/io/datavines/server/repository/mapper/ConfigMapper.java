@@ -34,4 +34,8 @@ import java.util.List;
 public interface ConfigMapper extends BaseMapper<Config> {
 
     IPage<ConfigVO> configPage(Page page, @Param("workspaceId") Long workspaceId, @Param("searchVal")String searchVal);
+
+    Long getConfigVersion();
+
+    int increaseConfigVersion();
 }
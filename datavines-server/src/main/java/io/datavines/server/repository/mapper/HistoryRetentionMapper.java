@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The statements used by the retention to archive and purge the history tables in chunks,
+ * the table and the key column are always the constants of the retention, never the user input.
+ */
+@Mapper
+public interface HistoryRetentionMapper {
+
+    List<Long> listExpiredJobExecutionIds(@Param("workspaceId") Long workspaceId,
+                                          @Param("expireTime") LocalDateTime expireTime,
+                                          @Param("limit") int limit);
+
+    List<Long> listExpiredCommonTaskIds(@Param("workspaceId") Long workspaceId,
+                                        @Param("expireTime") LocalDateTime expireTime,
+                                        @Param("limit") int limit);
+
+    List<Map<String, Object>> selectByKeys(@Param("tableName") String tableName,
+                                           @Param("keyColumn") String keyColumn,
+                                           @Param("keys") List<Long> keys);
+
+    int archiveByKeys(@Param("tableName") String tableName,
+                      @Param("columns") List<String> columns,
+                      @Param("keyColumn") String keyColumn,
+                      @Param("keys") List<Long> keys);
+
+    int deleteByKeys(@Param("tableName") String tableName,
+                     @Param("keyColumn") String keyColumn,
+                     @Param("keys") List<Long> keys);
+}
@@ -24,6 +24,7 @@ import io.datavines.server.api.dto.vo.JobExecutionTrendBarItem;
 import io.datavines.server.api.dto.vo.JobExecutionVO;
 import org.apache.ibatis.annotations.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
@@ -46,7 +47,9 @@ public interface JobExecutionMapper extends BaseMapper<JobExecution>  {
                                               @Param("startTime") String startTime, @Param("endTime") String endTime,
                                               @Param("schemaSearch") String schemaSearch,
                                               @Param("tableSearch") String tableSearch,
-                                              @Param("columnSearch") String columnSearch);
+                                              @Param("columnSearch") String columnSearch,
+                                              @Param("keyset") boolean keyset,
+                                              @Param("cursorId") Long cursorId);
 
     List<JobExecutionAggItem> getJobExecutionAggPie(@Param("datasourceId") Long datasourceId,
                                                     @Param("metricType") String metricType, @Param("schemaName") String schemaName,
@@ -59,4 +62,10 @@ public interface JobExecutionMapper extends BaseMapper<JobExecution>  {
                                                            @Param("startTime") String startTime, @Param("endTime") String endTime);
 
     JobExecutionStat getJobExecutionStat(@Param("jobId") Long jobId);
+
+    int deleteDailyStat(@Param("workspaceId") Long workspaceId, @Param("statDate") LocalDate statDate);
+
+    int insertDailyStat(@Param("workspaceId") Long workspaceId, @Param("statDate") LocalDate statDate);
+
+    int upsertDailyStat(@Param("jobExecutionId") Long jobExecutionId, @Param("status") Integer status, @Param("delta") Integer delta);
 }
@@ -47,5 +47,7 @@ public interface JobMapper extends BaseMapper<Job> {
                             @Param("startTime") String startTime,
                             @Param("endTime") String endTime,
                             @Param("datasourceId") Long datasourceId,
-                            @Param("type") Integer type);
+                            @Param("type") Integer type,
+                            @Param("keyset") boolean keyset,
+                            @Param("cursorId") Long cursorId);
 }
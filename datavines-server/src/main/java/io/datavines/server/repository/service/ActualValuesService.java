@@ -19,7 +19,24 @@ package io.datavines.server.repository.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import io.datavines.server.repository.entity.ActualValues;
 
+import java.math.BigDecimal;
+import java.util.Map;
+
 public interface ActualValuesService extends IService<ActualValues> {
 
     int deleteByJobExecutionId(long taskId);
+
+    /**
+     * refresh the daily rollup (count, sum, sum of squares, min, max) of the days the job execution has written into
+     * @param jobExecutionId job execution id
+     */
+    void refreshDailyRollup(long jobExecutionId);
+
+    int scaleBySampleFraction(long jobExecutionId, String metricName, BigDecimal sampleFraction);
+
+    /**
+     * merge the sketches of the runs between the start time and the end time, such as the daily sketches of a week
+     * @return the merged estimate of each unique code
+     */
+    Map<String, Double> mergeSketches(long jobId, String metricName, String startTime, String endTime);
 }
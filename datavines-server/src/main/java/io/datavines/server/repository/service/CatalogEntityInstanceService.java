@@ -52,9 +52,12 @@ public interface CatalogEntityInstanceService extends IService<CatalogEntityInst
 
     List<CatalogTableDetailVO> getCatalogTableWithDetailList(String upstreamId);
 
-    IPage<CatalogColumnDetailVO> getCatalogColumnWithDetailPage(String upstreamId, String name, Integer pageNumber, Integer pageSize);
+    IPage<CatalogColumnDetailVO> getCatalogColumnWithDetailPage(String upstreamId, String name, Integer pageNumber, Integer pageSize, String cursor);
 
-    IPage<CatalogTableDetailVO> getCatalogTableWithDetailPage(String upstreamId, String name, Integer pageNumber, Integer pageSize);
+    IPage<CatalogTableDetailVO> getCatalogTableWithDetailPage(String upstreamId, String name, Integer pageNumber, Integer pageSize, String cursor);
+
+    CatalogEntitySearchResultVO searchEntity(Long workspaceId, String keyword, Long datasourceId, String type,
+                                             List<String> tagUuids, boolean fuzzy, Integer pageNumber, Integer pageSize);
 
     CatalogDatabaseDetailVO getDatabaseEntityDetail(String uuid);
 
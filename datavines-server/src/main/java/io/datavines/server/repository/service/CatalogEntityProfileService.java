@@ -19,6 +19,7 @@ package io.datavines.server.repository.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import io.datavines.core.exception.DataVinesServerException;
 import io.datavines.server.api.dto.bo.catalog.profile.CatalogProfileScheduleCreateOrUpdate;
+import io.datavines.server.api.dto.bo.catalog.profile.TableProfileSnapshot;
 import io.datavines.server.api.dto.bo.job.schedule.JobScheduleCreateOrUpdate;
 import io.datavines.server.api.dto.vo.DataTime2ValueItem;
 import io.datavines.server.repository.entity.JobSchedule;
@@ -38,6 +39,26 @@ public interface CatalogEntityProfileService extends IService<CatalogEntityProfi
 
     List<DataTime2ValueItem> listTableRecords(String uuid, String starTime, String endTime);
 
+    /**
+     * the values of one metric of the entity in the date range, they are read by one range query on the unique key
+     */
+    List<DataTime2ValueItem> listEntityProfileHistory(String uuid, String metricName, String starTime, String endTime);
+
+    /**
+     * build the snapshot of the table and its columns from the latest profile, it is called once when the profile job is finished
+     */
+    void refreshSnapshot(String tableUuid, Long jobExecutionId);
+
+    /**
+     * mark the latest snapshot of the table as stale, it is called when the snapshot of a finished profile job can not be refreshed
+     */
+    void markSnapshotStale(String tableUuid);
+
+    /**
+     * get the latest snapshot of the table, null if the table is not profiled
+     */
+    TableProfileSnapshot getLatestSnapshot(String tableUuid);
+
     JobSchedule createOrUpdate(CatalogProfileScheduleCreateOrUpdate createOrUpdate) throws DataVinesServerException;
 
     JobSchedule getById(long id);
@@ -19,5 +19,27 @@ package io.datavines.server.repository.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import io.datavines.server.repository.entity.catalog.CatalogEntityRel;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface CatalogEntityRelService extends IService<CatalogEntityRel> {
+
+    boolean saveRel(Long datasourceId, CatalogEntityRel rel);
+
+    boolean removeByParentUuids(Long datasourceId, Collection<String> parentUuids);
+
+    List<String> listChildUuids(Long datasourceId, String parentUuid);
+
+    Map<String, List<String>> listChildUuids(Long datasourceId, Collection<String> parentUuids);
+
+    List<String> listAncestorUuids(Long datasourceId, String uuid);
+
+    /**
+     * the descendants are read from the graph reloaded from the table, the cached graph may miss the children
+     * added by the other servers and the result is used to delete them
+     */
+    List<String> listDescendantUuids(Long datasourceId, Collection<String> uuids);
+
+    Map<String, List<String>> getSubtree(Long datasourceId, String uuid);
 }
@@ -41,5 +41,10 @@ public interface ConfigService extends IService<Config> {
 
     List<Config> listConfig();
 
+    /**
+     * get the value of the config in the workspace, fall back to the global config (workspace -1) and then the default value
+     */
+    String getWorkspaceValue(Long workspaceId, String varKey, String defaultValue);
+
     void refreshCommonProperties();
 }
@@ -19,14 +19,17 @@ package io.datavines.server.repository.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
 import io.datavines.server.api.dto.bo.datasource.ExecuteRequest;
+import io.datavines.common.datasource.jdbc.entity.PartitionInfo;
 import io.datavines.common.exception.DataVinesException;
 import io.datavines.common.param.TestConnectionRequestParam;
 import io.datavines.server.api.dto.bo.datasource.DataSourceCreate;
 import io.datavines.server.api.dto.bo.datasource.DataSourceUpdate;
 import io.datavines.server.api.dto.vo.DataSourceVO;
+import io.datavines.server.api.dto.vo.ScriptCursorPageVO;
 import io.datavines.server.repository.entity.DataSource;
 import io.datavines.core.exception.DataVinesServerException;
 
+import java.io.OutputStream;
 import java.util.List;
 
 public interface DataSourceService extends IService<DataSource> {
@@ -51,8 +54,24 @@ public interface DataSourceService extends IService<DataSource> {
 
     Object getColumnList(Long id, String database, String table) throws DataVinesServerException;
 
+    List<PartitionInfo> getPartitionList(Long id, String database, String table) throws DataVinesServerException;
+
     Object executeScript(ExecuteRequest request) throws DataVinesServerException;
 
+    /**
+     * execute the script and write the result as newline delimited json, the first line is the columns,
+     * the last line is the row count and whether the result is truncated by the row or byte limit
+     * @param request execute request
+     * @param outputStream output stream
+     */
+    void executeScriptStream(ExecuteRequest request, OutputStream outputStream) throws DataVinesServerException;
+
+    ScriptCursorPageVO openScriptCursor(ExecuteRequest request) throws DataVinesServerException;
+
+    ScriptCursorPageVO fetchScriptCursor(String cursorId, Integer pageSize) throws DataVinesServerException;
+
+    void closeScriptCursor(String cursorId);
+
     String getConfigJson(String type);
 
     List<DataSource> listByWorkSpaceIdAndType(long workspaceId,String type);
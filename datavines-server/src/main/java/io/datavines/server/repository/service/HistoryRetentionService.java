@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.service;
+
+import io.datavines.server.enums.ArchiveType;
+
+import java.time.LocalDateTime;
+
+public interface HistoryRetentionService {
+
+    /**
+     * archive and delete one chunk of the finished job executions of the workspace which are created before the expire time,
+     * together with their results, actual values, commands and profile snapshots
+     * @return the count of the purged job executions, 0 means nothing is left
+     */
+    int purgeJobExecutions(Long workspaceId, LocalDateTime expireTime, ArchiveType archiveType, int chunkSize);
+
+    /**
+     * archive and delete one chunk of the finished common tasks of the workspace which are created before the expire time
+     * @return the count of the purged common tasks, 0 means nothing is left
+     */
+    int purgeCommonTasks(Long workspaceId, LocalDateTime expireTime, ArchiveType archiveType, int chunkSize);
+}
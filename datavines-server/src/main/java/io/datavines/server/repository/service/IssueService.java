@@ -23,10 +23,14 @@ import io.datavines.server.api.dto.bo.issue.IssueCreate;
 import io.datavines.server.api.dto.bo.issue.IssueUpdate;
 import io.datavines.server.repository.entity.Issue;
 
+import java.util.List;
+
 public interface IssueService extends IService<Issue> {
 
     long create(IssueCreate issueCreate) throws DataVinesServerException;
 
+    void createBatch(List<IssueCreate> issueCreateList) throws DataVinesServerException;
+
     int deleteById(long id);
 
     Long updateStatus(IssueUpdate issueUpdate) throws DataVinesServerException;
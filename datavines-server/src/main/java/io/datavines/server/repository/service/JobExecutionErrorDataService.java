@@ -16,7 +16,8 @@
  */
 package io.datavines.server.repository.service;
 
+import java.util.List;
 
 public interface JobExecutionErrorDataService {
-    Object readErrorDataPage(Long jobExecutionId, Integer pageNumber, Integer pageSize);
+    Object readErrorDataPage(Long jobExecutionId, Integer pageNumber, Integer pageSize, List<String> columns);
 }
@@ -21,7 +21,9 @@ import io.datavines.server.api.dto.vo.JobExecutionResultVO;
 import io.datavines.server.enums.JobCheckState;
 import io.datavines.server.repository.entity.JobExecutionResult;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface JobExecutionResultService extends IService<JobExecutionResult> {
 
@@ -29,6 +31,8 @@ public interface JobExecutionResultService extends IService<JobExecutionResult>
 
     int update(JobExecutionResult jobExecutionResult);
 
+    boolean updateBatch(List<JobExecutionResult> jobExecutionResultList);
+
     int deleteByJobExecutionId(long jobExecutionId);
 
     JobExecutionResult getById(long id);
@@ -43,6 +47,13 @@ public interface JobExecutionResultService extends IService<JobExecutionResult>
 
     JobCheckState getCheckResultByJobExecutionId(long jobExecutionId);
 
+    /**
+     * get the check results of the job executions by one query, the execution without any result is NONE
+     * @param jobExecutionIds job execution ids
+     * @return job execution id -> check state
+     */
+    Map<Long, JobCheckState> getCheckResultByJobExecutionIds(Collection<Long> jobExecutionIds);
+
     List<JobExecutionResultVO> getResultVOListByJobExecutionId(long jobExecutionId);
 
     List<JobExecutionResult> listByJobIdAndTimeRange(Long jobId, String startTime, String endTime);
@@ -16,7 +16,9 @@
  */
 package io.datavines.server.repository.service;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
@@ -55,9 +57,47 @@ public interface JobExecutionService extends IService<JobExecution> {
 
     List<MetricExecutionDashBoard> getMetricExecutionDashBoard(Long jobId, String startTime, String endTime);
 
+    /**
+     * count the executions of each status from the daily stat, an execution is counted in the day it is created
+     * like in the trend bar, not in the day it is last updated
+     * @param dashboardParam dashboard param
+     * @return count of each status
+     */
     List<JobExecutionAggItem> getJobExecutionAggPie(JobExecutionDashboardParam dashboardParam);
 
     JobExecutionTrendBar getJobExecutionTrendBar(JobExecutionDashboardParam dashboardParam);
 
     JobExecutionStat getJobExecutionStat(Long jobId);
+
+    /**
+     * count the executions of the day again into the daily stat, all the workspaces are counted when workspaceId is null,
+     * the day should be within the retention of the workspace or the purged executions are not counted any more
+     * @param workspaceId workspace id
+     * @param statDate the day of the execution create time
+     */
+    void refreshDailyStat(Long workspaceId, LocalDate statDate);
+
+    /**
+     * move the execution from its previous status to its current status in the daily stat
+     * @param jobExecutionId job execution id
+     * @param previousStatus the status counted before, null if the execution is not counted yet
+     * @param status current status
+     */
+    void moveDailyStat(Long jobExecutionId, Integer previousStatus, Integer status);
+
+    /**
+     * get the status and the check result of the job executions by one query on each table,
+     * the execution which does not exist is not returned
+     * @param jobExecutionIds job execution ids
+     * @return status list in the order of the ids
+     */
+    List<JobExecutionCheckStatusVO> listCheckStatus(List<Long> jobExecutionIds);
+
+    /**
+     * wait until all the job executions are finished or the timeout is reached, then return the status list
+     * @param jobExecutionIds job execution ids
+     * @param timeout max seconds to wait
+     * @return future of the status list in the order of the ids, it does not block the calling thread
+     */
+    CompletableFuture<List<JobExecutionCheckStatusVO>> waitUntilFinished(List<Long> jobExecutionIds, Long timeout);
 }
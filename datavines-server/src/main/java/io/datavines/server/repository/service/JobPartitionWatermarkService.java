@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import io.datavines.server.repository.entity.ActualValues;
+import io.datavines.server.repository.entity.JobExecution;
+import io.datavines.server.repository.entity.JobPartitionWatermark;
+
+import java.util.List;
+
+public interface JobPartitionWatermarkService extends IService<JobPartitionWatermark> {
+
+    /**
+     * restrict the incremental metrics of the job execution to the new or changed partitions of their table
+     * @param jobExecution job execution
+     * @return job execution parameter with the partition filter
+     */
+    String applyIncrementalPartitions(JobExecution jobExecution);
+
+    /**
+     * move the watermark of the job to the partitions checked by the successful job execution
+     * @param jobExecution job execution
+     */
+    void commit(JobExecution jobExecution);
+
+    List<JobPartitionWatermark> listByJobId(long jobId);
+
+    /**
+     * roll up the actual values of the incremental metrics of the executions which the partitions of their table are checked by last,
+     * only the metrics whose actual values can be rolled up (sum, max or min) are returned
+     * @param jobId job id
+     * @return table level actual values of each metric unique code
+     */
+    List<ActualValues> listRollupActualValues(long jobId);
+
+    int deleteByJobId(long jobId);
+}
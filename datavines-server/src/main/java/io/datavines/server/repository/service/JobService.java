@@ -23,6 +23,7 @@ import io.datavines.core.exception.DataVinesServerException;
 import io.datavines.server.api.dto.bo.job.DataProfileJobCreateOrUpdate;
 import io.datavines.server.api.dto.bo.job.JobCreate;
 import io.datavines.server.api.dto.bo.job.JobUpdate;
+import io.datavines.server.api.dto.vo.JobExecutionSubmitVO;
 import io.datavines.server.api.dto.vo.JobVO;
 import io.datavines.server.repository.entity.Job;
 
@@ -54,10 +55,19 @@ public interface JobService extends IService<Job> {
                             Long dataSourceId,
                             Integer type,
                             Integer pageNumber,
-                            Integer pageSize);
+                            Integer pageSize,
+                            String cursor);
 
     Long execute(Long jobId, LocalDateTime scheduleTime) throws DataVinesServerException;
 
+    /**
+     * execute the jobs with the same schedule time in one transaction, the executions and the commands are inserted in batches
+     * @param jobIds job ids, the duplicated ids are executed once
+     * @param scheduleTime schedule time shared by all the executions
+     * @return the submitted execution of every job
+     */
+    List<JobExecutionSubmitVO> executeBatch(List<Long> jobIds, LocalDateTime scheduleTime) throws DataVinesServerException;
+
     String getJobExecutionConfig(Long jobId, LocalDateTime scheduleTime) throws DataVinesServerException;
 
     String getJobName(String jobType, String parameter);
@@ -18,17 +18,72 @@ package io.datavines.server.repository.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import io.datavines.common.utils.sketch.Sketch;
 import io.datavines.server.repository.entity.ActualValues;
 import io.datavines.server.repository.mapper.ActualValuesMapper;
 import io.datavines.server.repository.service.ActualValuesService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
 @Service("actualValuesService")
 public class ActualValuesServiceImpl extends ServiceImpl<ActualValuesMapper, ActualValues>  implements ActualValuesService {
 
     @Override
     public int deleteByJobExecutionId(long taskId) {
-        return baseMapper.delete(new QueryWrapper<ActualValues>().lambda().eq(ActualValues::getJobExecutionId,taskId));
+        List<ActualValues> dailyKeys = baseMapper.listDailyKeys(taskId);
+        int result = baseMapper.delete(new QueryWrapper<ActualValues>().lambda().eq(ActualValues::getJobExecutionId,taskId));
+        refreshDailyRollup(dailyKeys);
+        return result;
+    }
+
+    @Override
+    public void refreshDailyRollup(long jobExecutionId) {
+        refreshDailyRollup(baseMapper.listDailyKeys(jobExecutionId));
+    }
+
+    private void refreshDailyRollup(List<ActualValues> dailyKeys) {
+        for (ActualValues dailyKey : dailyKeys) {
+            if (dailyKey.getUniqueCode() == null || dailyKey.getDataTime() == null) {
+                continue;
+            }
+
+            LocalDate dataDate = dailyKey.getDataTime().toLocalDate();
+            baseMapper.upsertDaily(dailyKey.getUniqueCode(), dataDate);
+        }
+    }
+
+    @Override
+    public int scaleBySampleFraction(long jobExecutionId, String metricName, BigDecimal sampleFraction) {
+        return baseMapper.scaleBySampleFraction(jobExecutionId, metricName, sampleFraction);
+    }
+
+    @Override
+    public Map<String, Double> mergeSketches(long jobId, String metricName, String startTime, String endTime) {
+        Map<String, Sketch> mergedSketches = new HashMap<>();
+        for (ActualValues actualValues : baseMapper.listSketches(jobId, metricName, startTime, endTime)) {
+            try {
+                Sketch sketch = Sketch.deserialize(actualValues.getSketch());
+                Sketch mergedSketch = mergedSketches.get(actualValues.getUniqueCode());
+                if (mergedSketch == null) {
+                    mergedSketches.put(actualValues.getUniqueCode(), sketch);
+                } else {
+                    mergedSketch.merge(sketch);
+                }
+            } catch (IllegalArgumentException e) {
+                log.warn("skip the invalid sketch of unique code {}", actualValues.getUniqueCode(), e);
+            }
+        }
+
+        Map<String, Double> estimates = new HashMap<>();
+        mergedSketches.forEach((uniqueCode, sketch) -> estimates.put(uniqueCode, sketch.estimate()));
+        return estimates;
     }
 
 }
@@ -34,18 +34,27 @@ import io.datavines.core.enums.Status;
 import io.datavines.core.exception.DataVinesServerException;
 import io.datavines.server.api.dto.bo.catalog.OptionItem;
 import io.datavines.server.api.dto.bo.catalog.profile.RunProfileRequest;
+import io.datavines.server.api.dto.bo.catalog.profile.TableProfileSnapshot;
 import io.datavines.server.api.dto.bo.job.DataProfileJobCreateOrUpdate;
 import io.datavines.server.api.dto.bo.job.JobCreateWithEntityUuid;
 import io.datavines.server.api.dto.bo.job.JobExecutionPageParam;
+import io.datavines.server.api.dto.vo.CursorPage;
 import io.datavines.server.api.dto.vo.DataTime2ValueItem;
 import io.datavines.server.api.dto.vo.JobExecutionVO;
 import io.datavines.server.api.dto.vo.catalog.*;
+import io.datavines.server.repository.cache.CatalogSearchIndex;
+import io.datavines.server.repository.cache.PageTotalCache;
+import io.datavines.server.repository.entity.DataSource;
 import io.datavines.server.repository.entity.Job;
 import io.datavines.server.repository.entity.catalog.*;
 import io.datavines.server.repository.mapper.CatalogEntityInstanceMapper;
+import io.datavines.server.repository.mapper.DataSourceMapper;
 import io.datavines.server.repository.service.*;
 import io.datavines.server.utils.ContextHolder;
+import io.datavines.server.utils.PageCursor;
+import io.datavines.server.utils.TransactionUtils;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -62,6 +71,10 @@ public class CatalogEntityInstanceServiceImpl
         extends ServiceImpl<CatalogEntityInstanceMapper, CatalogEntityInstance>
         implements CatalogEntityInstanceService {
 
+    private static final int ENTITY_BATCH_SIZE = 1000;
+
+    private static final String CATALOG_ENTITY_PAGE = "catalog_entity";
+
     @Resource
     private CatalogEntityRelService entityRelService;
 
@@ -83,12 +96,31 @@ public class CatalogEntityInstanceServiceImpl
     @Autowired
     private CommonTaskService commonTaskService;
 
+    @Autowired
+    private CatalogTagService catalogTagService;
+
+    @Autowired
+    private DataSourceMapper dataSourceMapper;
+
     @Override
     public String create(CatalogEntityInstance entityInstance) {
         baseMapper.insert(entityInstance);
+        TransactionUtils.afterCommit(() -> CatalogSearchIndex.getInstance().put(entityInstance));
         return entityInstance.getUuid();
     }
 
+    @Override
+    public boolean updateById(CatalogEntityInstance entityInstance) {
+        boolean result = super.updateById(entityInstance);
+        if (result) {
+            // the partial update only sets the changed fields, the indexed fields are read again
+            CatalogEntityInstance indexed = entityInstance.getUuid() != null && entityInstance.getStatus() != null
+                    && entityInstance.getFullyQualifiedName() != null ? entityInstance : baseMapper.selectById(entityInstance.getId());
+            TransactionUtils.afterCommit(() -> CatalogSearchIndex.getInstance().put(indexed));
+        }
+        return result;
+    }
+
     @Override
     public CatalogEntityInstance getByTypeAndFQN(String type, String fqn) {
         return baseMapper.selectOne(new QueryWrapper<CatalogEntityInstance>().lambda().eq(CatalogEntityInstance::getType, type).eq(CatalogEntityInstance::getFullyQualifiedName, fqn));
@@ -152,7 +184,10 @@ public class CatalogEntityInstanceServiceImpl
         return entityInstanceList;
     }
 
-    private IPage<CatalogEntityInstance> getCatalogEntityInstancePage(String upstreamId, String name, Integer pageNumber, Integer pageSize) {
+    /**
+     * the entities are ordered by id, the cursor page seeks the ids after the cursor instead of skipping the offset
+     */
+    private IPage<CatalogEntityInstance> getCatalogEntityInstancePage(String upstreamId, String name, Integer pageNumber, Integer pageSize, String cursor) {
         List<CatalogEntityRel> entityRelList = entityRelService.list(new QueryWrapper<CatalogEntityRel>().lambda()
                 .eq(CatalogEntityRel::getEntity1Uuid, upstreamId).eq(CatalogEntityRel::getType,EntityRelType.CHILD.getDescription()));
         List<String> uuidList = new ArrayList<>();
@@ -169,9 +204,20 @@ public class CatalogEntityInstanceServiceImpl
                     .eq(CatalogEntityInstance::getStatus, CommonConstants.CATALOG_ENTITY_INSTANCE_STATUS_ACTIVE)
                     .and(StringUtils.isNotEmpty(name), qw ->  qw.like(CatalogEntityInstance::getDisplayName, name)
                                     .or()
-                                    .like(CatalogEntityInstance::getDescription, name))
+                                    .like(CatalogEntityInstance::getDescription, name));
+            if (cursor == null) {
+                queryWrapper.lambda().orderBy(true, true, CatalogEntityInstance::getId);
+                return page(page, queryWrapper);
+            }
+
+            long total = PageTotalCache.getInstance().get(CATALOG_ENTITY_PAGE, new Object[]{upstreamId, name},
+                    () -> count(queryWrapper));
+            PageCursor pageCursor = PageCursor.decode(cursor, CATALOG_ENTITY_PAGE);
+            queryWrapper.lambda()
+                    .gt(!pageCursor.isFirst(), CatalogEntityInstance::getId, pageCursor.getId())
                     .orderBy(true, true, CatalogEntityInstance::getId);
-            return page(page, queryWrapper);
+            List<CatalogEntityInstance> rows = page(new Page<>(1, pageSize + 1, false), queryWrapper).getRecords();
+            return CursorPage.of(rows, pageSize, total, row -> PageCursor.encode(CATALOG_ENTITY_PAGE, row.getId()));
         }
 
         return null;
@@ -179,7 +225,7 @@ public class CatalogEntityInstanceServiceImpl
 
     @Override
     public boolean deleteEntityByUUID(String entityUUID) {
-        deleteEntityInstance(Collections.singletonList(entityUUID));
+        deleteEntityInstance(getDatasourceId(entityUUID), Collections.singletonList(entityUUID));
         return true;
     }
 
@@ -189,7 +235,7 @@ public class CatalogEntityInstanceServiceImpl
         if (entityInstanceDO == null) {
             return false;
         }
-        deleteEntityInstance(Collections.singletonList(entityInstanceDO.getUuid()));
+        deleteEntityInstance(dataSourceId, Collections.singletonList(entityInstanceDO.getUuid()));
         return true;
     }
 
@@ -202,32 +248,67 @@ public class CatalogEntityInstanceServiceImpl
         entityInstance.setStatus(String.format("%s_%s",CommonConstants.CATALOG_ENTITY_INSTANCE_STATUS_DELETED, UUID.randomUUID().toString()));
         entityInstance.setUpdateTime(LocalDateTime.now());
         baseMapper.updateById(entityInstance);
+        TransactionUtils.afterCommit(() -> CatalogSearchIndex.getInstance().remove(entityInstance.getUuid()));
         return true;
     }
 
-    private void deleteEntityInstance(List<String> upstreamIds){
+    /**
+     * the uuid is the uuid of an entity or the uuid of the datasource, which is the root of the catalog tree
+     */
+    private Long getDatasourceId(String uuid) {
+        CatalogEntityInstance entityInstance = getCatalogEntityInstance(uuid);
+        if (entityInstance != null) {
+            return entityInstance.getDatasourceId();
+        }
+
+        DataSource dataSource = dataSourceMapper.selectOne(new QueryWrapper<DataSource>().lambda().eq(DataSource::getUuid, uuid));
+        return dataSource == null ? null : dataSource.getId();
+    }
+
+    /**
+     * delete the entities and all their descendants, the descendants are resolved in one pass by the catalog graph
+     * reloaded from the table, the caches are updated after the transaction is committed
+     */
+    private void deleteEntityInstance(Long datasourceId, List<String> upstreamIds){
         if (CollectionUtils.isEmpty(upstreamIds)) {
             return;
         }
 
-        for (String upstreamId: upstreamIds) {
-            List<String> entityRelList = entityRelService
-                    .list(new QueryWrapper<CatalogEntityRel>().lambda().eq(CatalogEntityRel::getEntity1Uuid,upstreamId))
-                    .stream()
-                    .map(CatalogEntityRel::getEntity2Uuid)
-                    .collect(Collectors.toList());
+        List<String> entityUuids = new ArrayList<>(upstreamIds);
+        if (datasourceId != null) {
+            entityUuids.addAll(entityRelService.listDescendantUuids(datasourceId, upstreamIds));
+        }
 
-            remove(new QueryWrapper<CatalogEntityInstance>().lambda().eq(CatalogEntityInstance::getUuid,upstreamId));
-            entityRelService.remove(new QueryWrapper<CatalogEntityRel>().lambda().eq(CatalogEntityRel::getEntity1Uuid,upstreamId));
-            catalogEntityMetricJobRelService.deleteByEntityUUID(Collections.singletonList(upstreamId));
+        for (List<String> uuidList : ListUtils.partition(entityUuids, ENTITY_BATCH_SIZE)) {
+            remove(new QueryWrapper<CatalogEntityInstance>().lambda().in(CatalogEntityInstance::getUuid, uuidList));
+            entityRelService.removeByParentUuids(datasourceId, uuidList);
+            catalogEntityMetricJobRelService.deleteByEntityUUID(uuidList);
+            TransactionUtils.afterCommit(() -> uuidList.forEach(CatalogSearchIndex.getInstance()::remove));
+        }
+    }
 
-            deleteEntityInstance(entityRelList);
+    /**
+     * count the active children of the entities with one query instead of one query per entity
+     */
+    private Map<String, Long> countActiveChildren(Map<String, List<String>> childrenMap) {
+        List<String> childUuids = childrenMap.values().stream().flatMap(List::stream).collect(Collectors.toList());
+        Set<String> activeUuids = new HashSet<>();
+        for (List<String> uuidList : ListUtils.partition(childUuids, ENTITY_BATCH_SIZE)) {
+            list(new QueryWrapper<CatalogEntityInstance>().lambda()
+                    .select(CatalogEntityInstance::getUuid)
+                    .in(CatalogEntityInstance::getUuid, uuidList)
+                    .eq(CatalogEntityInstance::getStatus, CommonConstants.CATALOG_ENTITY_INSTANCE_STATUS_ACTIVE))
+                    .forEach(item -> activeUuids.add(item.getUuid()));
         }
+
+        Map<String, Long> result = new HashMap<>();
+        childrenMap.forEach((parentUuid, children) -> result.put(parentUuid, children.stream().filter(activeUuids::contains).count()));
+        return result;
     }
 
     @Override
-    public IPage<CatalogColumnDetailVO> getCatalogColumnWithDetailPage(String upstreamId, String name, Integer pageNumber, Integer pageSize) {
-        IPage<CatalogEntityInstance> entityPage = getCatalogEntityInstancePage(upstreamId, name, pageNumber, pageSize);
+    public IPage<CatalogColumnDetailVO> getCatalogColumnWithDetailPage(String upstreamId, String name, Integer pageNumber, Integer pageSize, String cursor) {
+        IPage<CatalogEntityInstance> entityPage = getCatalogEntityInstancePage(upstreamId, name, pageNumber, pageSize, cursor);
         if (entityPage == null || CollectionUtils.isEmpty(entityPage.getRecords())) {
             return null;
         }
@@ -251,26 +332,143 @@ public class CatalogEntityInstanceServiceImpl
     }
 
     @Override
-    public IPage<CatalogTableDetailVO> getCatalogTableWithDetailPage(String upstreamId, String name, Integer pageNumber, Integer pageSize) {
-        IPage<CatalogEntityInstance> entityPage = getCatalogEntityInstancePage(upstreamId, name, pageNumber, pageSize);
+    public IPage<CatalogTableDetailVO> getCatalogTableWithDetailPage(String upstreamId, String name, Integer pageNumber, Integer pageSize, String cursor) {
+        IPage<CatalogEntityInstance> entityPage = getCatalogEntityInstancePage(upstreamId, name, pageNumber, pageSize, cursor);
         if (entityPage == null || CollectionUtils.isEmpty(entityPage.getRecords())) {
             return null;
         }
 
+        Map<String, Long> columnCountMap = countActiveChildren(entityRelService.listChildUuids(entityPage.getRecords().get(0).getDatasourceId(),
+                entityPage.getRecords().stream().map(CatalogEntityInstance::getUuid).collect(Collectors.toList())));
         return entityPage.convert(item -> {
                 CatalogTableDetailVO table = new CatalogTableDetailVO();
                 table.setName(item.getDisplayName());
                 table.setUuid(item.getUuid());
                 table.setComment(item.getDescription());
                 table.setUpdateTime(item.getUpdateTime());
-                List<CatalogEntityInstance> columnList = getCatalogEntityInstances(item.getUuid());
-                table.setColumns((long)(CollectionUtils.isEmpty(columnList)? 0 : columnList.size()));
+                table.setColumns(columnCountMap.getOrDefault(item.getUuid(), 0L));
                 table.setMetrics(getEntityMetricCount(item.getUuid()));
                 return table;
             }
         );
     }
 
+    @Override
+    public CatalogEntitySearchResultVO searchEntity(Long workspaceId, String keyword, Long datasourceId, String type,
+                                                    List<String> tagUuids, boolean fuzzy, Integer pageNumber, Integer pageSize) {
+        CatalogEntitySearchResultVO result = new CatalogEntitySearchResultVO();
+        result.setPageNumber(pageNumber);
+        result.setPageSize(pageSize);
+
+        Set<Long> datasourceIds = dataSourceMapper.selectList(new QueryWrapper<DataSource>().lambda()
+                        .select(DataSource::getId)
+                        .eq(DataSource::getWorkspaceId, workspaceId))
+                .stream().map(DataSource::getId).collect(Collectors.toSet());
+        if (datasourceId != null) {
+            datasourceIds.retainAll(Collections.singleton(datasourceId));
+        }
+        if (datasourceIds.isEmpty()) {
+            return result;
+        }
+
+        if (!CatalogSearchIndex.getInstance().isReady()) {
+            return searchEntityFromDb(result, datasourceIds, keyword, type, tagUuids, pageNumber, pageSize);
+        }
+
+        CatalogSearchIndex.SearchResult searchResult =
+                CatalogSearchIndex.getInstance().search(keyword, datasourceIds, type, tagUuids, fuzzy);
+        Map<String, String> tagNameMap = new HashMap<>();
+        searchResult.getTagFacets().forEach(facet -> {
+            tagNameMap.put(facet.getTagUuid(), facet.getTagName());
+            CatalogTagFacetVO facetVO = new CatalogTagFacetVO();
+            facetVO.setUuid(facet.getTagUuid());
+            facetVO.setName(facet.getTagName());
+            facetVO.setCount(facet.getCount());
+            result.getTagFacets().add(facetVO);
+        });
+
+        List<CatalogEntitySearchVO> records = searchResult.getHits().stream()
+                .skip((long) (pageNumber - 1) * pageSize)
+                .limit(pageSize)
+                .map(hit -> {
+                    CatalogEntitySearchVO searchVO = toSearchVO(hit.getEntity());
+                    searchVO.setScore(hit.getScore());
+                    searchVO.setTags(hit.getTagUuids().stream().map(tagUuid -> {
+                        CatalogTagVO tagVO = new CatalogTagVO();
+                        tagVO.setUuid(tagUuid);
+                        tagVO.setName(tagNameMap.get(tagUuid));
+                        return tagVO;
+                    }).collect(Collectors.toList()));
+                    return searchVO;
+                }).collect(Collectors.toList());
+        result.setTotal((long) searchResult.getHits().size());
+        result.setRecords(records);
+        result.setTruncated(searchResult.isTruncated());
+        return result;
+    }
+
+    /**
+     * the search before the index is built, it runs the like query and has no ranking and tag facet
+     */
+    private CatalogEntitySearchResultVO searchEntityFromDb(CatalogEntitySearchResultVO result, Set<Long> datasourceIds, String keyword, String type,
+                                                           List<String> tagUuids, Integer pageNumber, Integer pageSize) {
+        QueryWrapper<CatalogEntityInstance> queryWrapper = new QueryWrapper<>();
+        queryWrapper.lambda()
+                .in(CatalogEntityInstance::getDatasourceId, datasourceIds)
+                .eq(CatalogEntityInstance::getStatus, CommonConstants.CATALOG_ENTITY_INSTANCE_STATUS_ACTIVE)
+                .eq(StringUtils.isNotEmpty(type), CatalogEntityInstance::getType, type)
+                .and(StringUtils.isNotEmpty(keyword), qw -> qw.like(CatalogEntityInstance::getDisplayName, keyword)
+                        .or()
+                        .like(CatalogEntityInstance::getFullyQualifiedName, keyword)
+                        .or()
+                        .like(CatalogEntityInstance::getDescription, keyword));
+
+        if (CollectionUtils.isNotEmpty(tagUuids)) {
+            Set<String> entityUuids = null;
+            for (String tagUuid : tagUuids) {
+                Set<String> tagEntityUuids = catalogEntityTagRelService.list(new QueryWrapper<CatalogEntityTagRel>().lambda()
+                                .eq(CatalogEntityTagRel::getTagUuid, tagUuid))
+                        .stream().map(CatalogEntityTagRel::getEntityUuid).collect(Collectors.toSet());
+                if (entityUuids == null) {
+                    entityUuids = tagEntityUuids;
+                } else {
+                    entityUuids.retainAll(tagEntityUuids);
+                }
+            }
+            if (CollectionUtils.isEmpty(entityUuids)) {
+                return result;
+            }
+            queryWrapper.lambda().in(CatalogEntityInstance::getUuid, entityUuids);
+        }
+
+        queryWrapper.lambda().orderBy(true, true, CatalogEntityInstance::getId);
+        IPage<CatalogEntityInstance> entityPage = page(new Page<>(pageNumber, pageSize), queryWrapper);
+        result.setTotal(entityPage.getTotal());
+        result.setRecords(entityPage.getRecords().stream().map(item -> {
+            CatalogEntitySearchVO searchVO = toSearchVO(item);
+            List<CatalogTag> tagList = catalogTagService.listByEntityUUID(item.getUuid());
+            searchVO.setTags(CollectionUtils.isEmpty(tagList) ? new ArrayList<>() : tagList.stream().map(tag -> {
+                CatalogTagVO tagVO = new CatalogTagVO();
+                tagVO.setUuid(tag.getUuid());
+                tagVO.setName(tag.getName());
+                return tagVO;
+            }).collect(Collectors.toList()));
+            return searchVO;
+        }).collect(Collectors.toList()));
+        return result;
+    }
+
+    private CatalogEntitySearchVO toSearchVO(CatalogEntityInstance entityInstance) {
+        CatalogEntitySearchVO searchVO = new CatalogEntitySearchVO();
+        searchVO.setUuid(entityInstance.getUuid());
+        searchVO.setDatasourceId(entityInstance.getDatasourceId());
+        searchVO.setType(entityInstance.getType());
+        searchVO.setName(entityInstance.getDisplayName());
+        searchVO.setFullyQualifiedName(entityInstance.getFullyQualifiedName());
+        searchVO.setDescription(entityInstance.getDescription());
+        return searchVO;
+    }
+
     @Override
     public List<CatalogColumnDetailVO> getCatalogColumnWithDetailList(String upstreamId) {
         List<CatalogEntityInstance> entityInstanceList = getCatalogEntityInstances(upstreamId);
@@ -300,19 +498,36 @@ public class CatalogEntityInstanceServiceImpl
 
     @Override
     public List<CatalogTableDetailVO> getCatalogTableWithDetailList(String upstreamId) {
-        List<CatalogEntityInstance> entityInstanceList = getCatalogEntityInstances(upstreamId);
         List<CatalogTableDetailVO> result = new ArrayList<>();
-        if (CollectionUtils.isEmpty(entityInstanceList)) {
+        Long datasourceId = getDatasourceId(upstreamId);
+        if (datasourceId == null) {
             return result;
         }
 
+        // the tables and their columns are read from the subtree of the database in one call
+        Map<String, List<String>> subtree = entityRelService.getSubtree(datasourceId, upstreamId);
+        List<String> tableUuids = subtree.get(upstreamId);
+        if (CollectionUtils.isEmpty(tableUuids)) {
+            return result;
+        }
+
+        List<CatalogEntityInstance> entityInstanceList = new ArrayList<>();
+        for (List<String> uuidList : ListUtils.partition(tableUuids, ENTITY_BATCH_SIZE)) {
+            entityInstanceList.addAll(list(new QueryWrapper<CatalogEntityInstance>().lambda()
+                    .in(CatalogEntityInstance::getUuid, uuidList)
+                    .eq(CatalogEntityInstance::getStatus, CommonConstants.CATALOG_ENTITY_INSTANCE_STATUS_ACTIVE)));
+        }
+        entityInstanceList.sort(Comparator.comparing(CatalogEntityInstance::getId));
+
+        Map<String, List<String>> columnMap = new HashMap<>(subtree);
+        columnMap.remove(upstreamId);
+        Map<String, Long> columnCountMap = countActiveChildren(columnMap);
         entityInstanceList.forEach(item -> {
             CatalogTableDetailVO table = new CatalogTableDetailVO();
             table.setName(item.getDisplayName());
             table.setUuid(item.getUuid());
             table.setUpdateTime(item.getUpdateTime());
-            List<CatalogEntityInstance> columnList = getCatalogEntityInstances(item.getUuid());
-            table.setColumns((long)(CollectionUtils.isEmpty(columnList)? 0 : columnList.size()));
+            table.setColumns(columnCountMap.getOrDefault(item.getUuid(), 0L));
 
             result.add(table);
         });
@@ -413,12 +628,14 @@ public class CatalogEntityInstanceServiceImpl
         tableProfileVO.setUuid(uuid);
         tableProfileVO.setName(tableInstance.getDisplayName());
         tableProfileVO.setType(tableInstance.getType());
-        DataTime2ValueItem tableRecords = catalogEntityProfileService.getCurrentTableRecords(uuid);
-        if (tableRecords == null) {
+        TableProfileSnapshot snapshot = catalogEntityProfileService.getLatestSnapshot(uuid);
+        if (snapshot == null) {
             return tableProfileVO;
         }
-        String latestDate = tableRecords.getDatetime();
-        Double records = Double.valueOf((String)tableRecords.getValue());
+        tableProfileVO.setDataDate(snapshot.getDataDate());
+        tableProfileVO.setSnapshotTime(snapshot.getSnapshotTime());
+        tableProfileVO.setStale(snapshot.isStale());
+        Double records = Double.valueOf(snapshot.getTableRecords());
         List<CatalogEntityInstance> columnList = getCatalogEntityInstances(uuid);
         if (CollectionUtils.isEmpty(columnList)) {
             return tableProfileVO;
@@ -430,7 +647,7 @@ public class CatalogEntityInstanceServiceImpl
             String columnUUID = column.getUuid();
             String dataType = "string";
 
-            List<CatalogEntityProfile> columnProfileList = catalogEntityProfileService.getEntityProfileByUUID(columnUUID, latestDate);
+            List<CatalogEntityProfile> columnProfileList = snapshot.getEntityProfiles(columnUUID);
             if (CollectionUtils.isEmpty(columnProfileList)) {
                 continue;
             }
@@ -488,23 +705,26 @@ public class CatalogEntityInstanceServiceImpl
     @Override
     public Object getColumnEntityProfile(String uuid) {
         CatalogColumnBaseProfileVO catalogColumnBaseProfileVO = new CatalogColumnBaseProfileVO();
-        CatalogEntityInstance tableEntity = getParentEntity(uuid);
-        if (tableEntity == null) {
+        CatalogEntityInstance columnEntity = getCatalogEntityInstance(uuid);
+        if (columnEntity == null) {
+            return catalogColumnBaseProfileVO;
+        }
+        // the parent of the column is the table, it is read from the catalog graph
+        List<String> ancestorUuids = entityRelService.listAncestorUuids(columnEntity.getDatasourceId(), uuid);
+        if (CollectionUtils.isEmpty(ancestorUuids)) {
             return catalogColumnBaseProfileVO;
         }
-        DataTime2ValueItem tableRecords = catalogEntityProfileService.getCurrentTableRecords(tableEntity.getUuid());
-        if (tableRecords == null) {
+        TableProfileSnapshot snapshot = catalogEntityProfileService.getLatestSnapshot(ancestorUuids.get(0));
+        if (snapshot == null) {
             return catalogColumnBaseProfileVO;
         }
-        String latestDate = tableRecords.getDatetime();
-        Double records = Double.valueOf((String)tableRecords.getValue());
-        List<CatalogEntityProfile> columnProfileList = catalogEntityProfileService.getEntityProfileByUUID(uuid, latestDate);
+        Double records = Double.valueOf(snapshot.getTableRecords());
+        List<CatalogEntityProfile> columnProfileList = snapshot.getEntityProfiles(uuid);
         if (CollectionUtils.isEmpty(columnProfileList)) {
             return catalogColumnBaseProfileVO;
         }
 
         String columnType = "";
-        CatalogEntityInstance columnEntity = getCatalogEntityInstance(uuid);
         if (StringUtils.isNotEmpty(columnEntity.getProperties())) {
             ColumnInfo columnInfo = JSONUtils.parseObject(columnEntity.getProperties(), ColumnInfo.class);
             if (columnInfo != null) {
@@ -1006,19 +1226,6 @@ public class CatalogEntityInstanceServiceImpl
         return catalogEntityMetricJobRelService.count(new QueryWrapper<CatalogEntityMetricJobRel>().lambda().eq(CatalogEntityMetricJobRel::getEntityUuid, uuid));
     }
 
-    private CatalogEntityInstance getParentEntity(String uuid) {
-        List<CatalogEntityRel> entityRelList = entityRelService.list(new QueryWrapper<CatalogEntityRel>().lambda()
-                .eq(CatalogEntityRel::getEntity2Uuid, uuid).eq(CatalogEntityRel::getType, EntityRelType.CHILD.getDescription()));
-
-        if (CollectionUtils.isEmpty(entityRelList)) {
-            return null;
-        }
-
-        CatalogEntityRel entityRel = entityRelList.get(0);
-        String parentUUID = entityRel.getEntity1Uuid();
-        return getCatalogEntityInstance(parentUUID);
-    }
-
     @Override
     public boolean deleteInstanceByDataSourceId(Long datasourceId) {
         return false;
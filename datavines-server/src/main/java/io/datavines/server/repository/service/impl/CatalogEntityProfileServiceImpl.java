@@ -18,38 +18,72 @@ package io.datavines.server.repository.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.datavines.common.enums.EntityRelType;
 import io.datavines.common.enums.JobType;
+import io.datavines.common.utils.CommonPropertyUtils;
 import io.datavines.common.utils.DateUtils;
+import io.datavines.common.utils.JSONUtils;
 import io.datavines.common.utils.StringUtils;
 import io.datavines.core.exception.DataVinesServerException;
 import io.datavines.server.api.dto.bo.catalog.profile.CatalogProfileScheduleCreateOrUpdate;
+import io.datavines.server.api.dto.bo.catalog.profile.TableProfileSnapshot;
 import io.datavines.server.api.dto.bo.job.schedule.JobScheduleCreateOrUpdate;
 import io.datavines.server.api.dto.vo.DataTime2ValueItem;
 import io.datavines.server.repository.entity.JobSchedule;
 import io.datavines.server.repository.entity.catalog.CatalogEntityMetricJobRel;
 import io.datavines.server.repository.entity.catalog.CatalogEntityProfile;
+import io.datavines.server.repository.entity.catalog.CatalogEntityProfileSnapshot;
+import io.datavines.server.repository.entity.catalog.CatalogEntityRel;
 import io.datavines.server.repository.mapper.CatalogEntityProfileMapper;
+import io.datavines.server.repository.mapper.CatalogEntityProfileSnapshotMapper;
 import io.datavines.server.repository.service.CatalogEntityMetricJobRelService;
 import io.datavines.server.repository.service.CatalogEntityProfileService;
+import io.datavines.server.repository.service.CatalogEntityRelService;
 import io.datavines.server.repository.service.JobScheduleService;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.Resource;
+import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service("catalogEntityProfileService")
 public class CatalogEntityProfileServiceImpl extends ServiceImpl<CatalogEntityProfileMapper, CatalogEntityProfile> implements CatalogEntityProfileService {
 
+    private static final String TABLE_ROW_COUNT = "table_row_count";
+
     @Resource
     private CatalogEntityMetricJobRelService catalogEntityMetricJobRelService;
 
     @Resource
     private JobScheduleService jobScheduleService;
 
+    @Resource
+    private CatalogEntityRelService catalogEntityRelService;
+
+    @Resource
+    private CatalogEntityProfileSnapshotMapper snapshotMapper;
+
+    /**
+     * lru of the latest snapshots of the hot tables, the snapshot of a table is replaced when its profile job is finished
+     * on this server, and expires after a while for the jobs finished on the other servers
+     */
+    private final Cache<String, TableProfileSnapshot> snapshotCache = CacheBuilder.newBuilder()
+            .maximumSize(CommonPropertyUtils.getInt(
+                    CommonPropertyUtils.PROFILE_SNAPSHOT_CACHE_MAX_SIZE, CommonPropertyUtils.PROFILE_SNAPSHOT_CACHE_MAX_SIZE_DEFAULT))
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .build();
+
     @Override
     public List<CatalogEntityProfile> getEntityProfileByUUID(String uuid, String dataDate) {
         return baseMapper.selectList(new QueryWrapper<CatalogEntityProfile>().lambda()
@@ -70,8 +104,9 @@ public class CatalogEntityProfileServiceImpl extends ServiceImpl<CatalogEntityPr
 
         List<CatalogEntityProfile> tableRowCounts = baseMapper.selectList(new QueryWrapper<CatalogEntityProfile>().lambda()
                 .eq(CatalogEntityProfile::getEntityUuid, uuid)
-                .eq(CatalogEntityProfile::getMetricName, "table_row_count")
-                .orderByDesc(CatalogEntityProfile::getDataDate));
+                .eq(CatalogEntityProfile::getMetricName, TABLE_ROW_COUNT)
+                .orderByDesc(CatalogEntityProfile::getDataDate)
+                .last("limit 1"));
 
         if (CollectionUtils.isEmpty(tableRowCounts)) {
             return null;
@@ -82,24 +117,146 @@ public class CatalogEntityProfileServiceImpl extends ServiceImpl<CatalogEntityPr
 
     @Override
     public List<DataTime2ValueItem> listTableRecords(String uuid, String starTime, String endTime) {
+        return listEntityProfileHistory(uuid, TABLE_ROW_COUNT, starTime, endTime);
+    }
+
+    @Override
+    public List<DataTime2ValueItem> listEntityProfileHistory(String uuid, String metricName, String starTime, String endTime) {
 
         if (StringUtils.isEmpty(starTime) || StringUtils.isEmpty(endTime)) {
             starTime = DateUtils.dateToString(DateUtils.getSomeDay(new Date(), -7));
             endTime = DateUtils.dateToString(DateUtils.getSomeDay(new Date(), 1));
         }
 
-        List<CatalogEntityProfile> tableRowCounts = baseMapper.selectList(new QueryWrapper<CatalogEntityProfile>().lambda()
+        List<CatalogEntityProfile> profileList = baseMapper.selectList(new QueryWrapper<CatalogEntityProfile>().lambda()
                 .eq(CatalogEntityProfile::getEntityUuid, uuid)
-                .eq(CatalogEntityProfile::getMetricName, "table_row_count")
+                .eq(CatalogEntityProfile::getMetricName, metricName)
                 .ge(CatalogEntityProfile::getDataDate, starTime)
                 .le(CatalogEntityProfile::getDataDate, endTime)
                 .orderByAsc(CatalogEntityProfile::getDataDate));
 
-        return tableRowCounts.stream()
+        return profileList.stream()
                 .map(item -> new DataTime2ValueItem(item.getDataDate(), item.getActualValue()))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public void refreshSnapshot(String tableUuid, Long jobExecutionId) {
+        TableProfileSnapshot tableProfileSnapshot = buildSnapshot(tableUuid);
+        if (tableProfileSnapshot == null) {
+            return;
+        }
+
+        CatalogEntityProfileSnapshot snapshot = new CatalogEntityProfileSnapshot();
+        snapshot.setEntityUuid(tableUuid);
+        snapshot.setJobExecutionId(jobExecutionId);
+        snapshot.setDataDate(tableProfileSnapshot.getDataDate());
+        snapshot.setSnapshot(JSONUtils.toJsonString(tableProfileSnapshot));
+        snapshot.setUpdateTime(LocalDateTime.now());
+        snapshotMapper.insert(snapshot);
+        snapshotCache.put(tableUuid, tableProfileSnapshot);
+        try {
+            deleteExpiredSnapshots(tableUuid);
+        } catch (Exception e) {
+            // the new snapshot is stored, the expired ones are deleted by the next refresh
+            log.warn("delete expired profile snapshots of {} error", tableUuid, e);
+        }
+    }
+
+    @Override
+    public void markSnapshotStale(String tableUuid) {
+        CatalogEntityProfileSnapshot snapshot = selectLatestSnapshot(tableUuid);
+        if (snapshot != null) {
+            TableProfileSnapshot tableProfileSnapshot = JSONUtils.parseObject(snapshot.getSnapshot(), TableProfileSnapshot.class);
+            if (tableProfileSnapshot != null) {
+                tableProfileSnapshot.setStale(true);
+                snapshot.setSnapshot(JSONUtils.toJsonString(tableProfileSnapshot));
+                snapshot.setUpdateTime(LocalDateTime.now());
+                snapshotMapper.updateById(snapshot);
+            }
+        }
+        snapshotCache.invalidate(tableUuid);
+    }
+
+    /**
+     * keep the latest profile.snapshot.keep.count snapshots of the table, the snapshot is pruned on every refresh
+     * so only a few rows are read here
+     */
+    private void deleteExpiredSnapshots(String tableUuid) {
+        int keepCount = CommonPropertyUtils.getInt(
+                CommonPropertyUtils.PROFILE_SNAPSHOT_KEEP_COUNT, CommonPropertyUtils.PROFILE_SNAPSHOT_KEEP_COUNT_DEFAULT);
+        List<Long> expiredIds = snapshotMapper.selectList(new QueryWrapper<CatalogEntityProfileSnapshot>().lambda()
+                        .select(CatalogEntityProfileSnapshot::getId)
+                        .eq(CatalogEntityProfileSnapshot::getEntityUuid, tableUuid)
+                        .orderByDesc(CatalogEntityProfileSnapshot::getJobExecutionId)
+                        .orderByDesc(CatalogEntityProfileSnapshot::getId))
+                .stream().skip(Math.max(keepCount, 1)).map(CatalogEntityProfileSnapshot::getId).collect(Collectors.toList());
+        if (CollectionUtils.isNotEmpty(expiredIds)) {
+            snapshotMapper.deleteBatchIds(expiredIds);
+        }
+    }
+
+    @Override
+    public TableProfileSnapshot getLatestSnapshot(String tableUuid) {
+        try {
+            TableProfileSnapshot tableProfileSnapshot = snapshotCache.get(tableUuid, () -> loadSnapshot(tableUuid));
+            return tableProfileSnapshot.getDataDate() == null ? null : tableProfileSnapshot;
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new DataVinesServerException("load profile snapshot of " + tableUuid + " error", e.getCause());
+        }
+    }
+
+    /**
+     * read the latest stored snapshot, the tables profiled before the snapshot existed are built from the profile rows,
+     * the empty snapshot is returned (and cached) when the table is not profiled
+     */
+    private TableProfileSnapshot loadSnapshot(String tableUuid) {
+        CatalogEntityProfileSnapshot snapshot = selectLatestSnapshot(tableUuid);
+        if (snapshot != null) {
+            TableProfileSnapshot tableProfileSnapshot = JSONUtils.parseObject(snapshot.getSnapshot(), TableProfileSnapshot.class);
+            if (tableProfileSnapshot != null) {
+                return tableProfileSnapshot;
+            }
+        }
+
+        TableProfileSnapshot tableProfileSnapshot = buildSnapshot(tableUuid);
+        return tableProfileSnapshot == null ? new TableProfileSnapshot() : tableProfileSnapshot;
+    }
+
+    private CatalogEntityProfileSnapshot selectLatestSnapshot(String tableUuid) {
+        return snapshotMapper.selectOne(new QueryWrapper<CatalogEntityProfileSnapshot>().lambda()
+                .eq(CatalogEntityProfileSnapshot::getEntityUuid, tableUuid)
+                .orderByDesc(CatalogEntityProfileSnapshot::getJobExecutionId)
+                .orderByDesc(CatalogEntityProfileSnapshot::getId)
+                .last("limit 1"));
+    }
+
+    /**
+     * read the profile of the table and all its columns at the latest data date in one query
+     */
+    private TableProfileSnapshot buildSnapshot(String tableUuid) {
+        DataTime2ValueItem tableRecords = getCurrentTableRecords(tableUuid);
+        if (tableRecords == null) {
+            return null;
+        }
+
+        List<String> uuidList = catalogEntityRelService.list(new QueryWrapper<CatalogEntityRel>().lambda()
+                        .eq(CatalogEntityRel::getEntity1Uuid, tableUuid)
+                        .eq(CatalogEntityRel::getType, EntityRelType.CHILD.getDescription()))
+                .stream().map(CatalogEntityRel::getEntity2Uuid).collect(Collectors.toList());
+        uuidList.add(tableUuid);
+
+        TableProfileSnapshot tableProfileSnapshot = new TableProfileSnapshot();
+        tableProfileSnapshot.setDataDate(tableRecords.getDatetime());
+        tableProfileSnapshot.setTableRecords(String.valueOf(tableRecords.getValue()));
+        tableProfileSnapshot.setSnapshotTime(DateUtils.format(LocalDateTime.now(), DateUtils.YYYY_MM_DD_HH_MM_SS));
+        baseMapper.selectList(new QueryWrapper<CatalogEntityProfile>().lambda()
+                .in(CatalogEntityProfile::getEntityUuid, uuidList)
+                .eq(CatalogEntityProfile::getDataDate, tableRecords.getDatetime()))
+                .forEach(tableProfileSnapshot::addProfile);
+        return tableProfileSnapshot;
+    }
+
     @Override
     public Double getColumnUniqueCount(String uuid, String dataDate) {
         List<CatalogEntityProfile> distinctCount = baseMapper.selectList(new QueryWrapper<CatalogEntityProfile>().lambda()
@@ -16,13 +16,62 @@
  */
 package io.datavines.server.repository.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import io.datavines.server.repository.cache.CatalogEntityGraph;
 import io.datavines.server.repository.entity.catalog.CatalogEntityRel;
 import io.datavines.server.repository.mapper.CatalogEntityRelMapper;
 import io.datavines.server.repository.service.CatalogEntityRelService;
+import io.datavines.server.utils.TransactionUtils;
+import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.stereotype.Service;
 
+import java.util.*;
+
 @Service("catalogEntityRelService")
 public class CatalogEntityRelServiceImpl extends ServiceImpl<CatalogEntityRelMapper, CatalogEntityRel> implements CatalogEntityRelService {
 
+    @Override
+    public boolean saveRel(Long datasourceId, CatalogEntityRel rel) {
+        boolean result = save(rel);
+        TransactionUtils.afterCommit(() -> CatalogEntityGraph.getInstance().addRel(datasourceId, rel));
+        return result;
+    }
+
+    @Override
+    public boolean removeByParentUuids(Long datasourceId, Collection<String> parentUuids) {
+        if (CollectionUtils.isEmpty(parentUuids)) {
+            return false;
+        }
+
+        boolean result = remove(new QueryWrapper<CatalogEntityRel>().lambda().in(CatalogEntityRel::getEntity1Uuid, parentUuids));
+        List<String> removedParentUuids = new ArrayList<>(parentUuids);
+        TransactionUtils.afterCommit(() -> CatalogEntityGraph.getInstance().removeRels(datasourceId, removedParentUuids));
+        return result;
+    }
+
+    @Override
+    public List<String> listChildUuids(Long datasourceId, String parentUuid) {
+        return listChildUuids(datasourceId, Collections.singletonList(parentUuid)).getOrDefault(parentUuid, new ArrayList<>());
+    }
+
+    @Override
+    public Map<String, List<String>> listChildUuids(Long datasourceId, Collection<String> parentUuids) {
+        return CatalogEntityGraph.getInstance().getChildren(datasourceId, parentUuids);
+    }
+
+    @Override
+    public List<String> listAncestorUuids(Long datasourceId, String uuid) {
+        return CatalogEntityGraph.getInstance().getAncestors(datasourceId, uuid);
+    }
+
+    @Override
+    public List<String> listDescendantUuids(Long datasourceId, Collection<String> uuids) {
+        return CatalogEntityGraph.getInstance().reload(datasourceId).getDescendants(uuids);
+    }
+
+    @Override
+    public Map<String, List<String>> getSubtree(Long datasourceId, String uuid) {
+        return CatalogEntityGraph.getInstance().getSubtree(datasourceId, uuid);
+    }
 }
@@ -17,14 +17,18 @@
 package io.datavines.server.repository.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 
 import io.datavines.core.enums.Status;
 import io.datavines.core.exception.DataVinesServerException;
 import io.datavines.server.api.dto.bo.catalog.tag.TagCreate;
 import io.datavines.server.api.dto.vo.catalog.CatalogTagVO;
+import io.datavines.server.repository.cache.CatalogSearchIndex;
+import io.datavines.server.repository.entity.catalog.CatalogEntityInstance;
 import io.datavines.server.repository.entity.catalog.CatalogEntityTagRel;
 import io.datavines.server.repository.entity.catalog.CatalogTag;
+import io.datavines.server.repository.mapper.CatalogEntityInstanceMapper;
 import io.datavines.server.repository.mapper.CatalogTagMapper;
 import io.datavines.server.repository.service.CatalogEntityTagRelService;
 import io.datavines.server.repository.service.CatalogTagService;
@@ -47,6 +51,9 @@ public class CatalogTagServiceImpl extends ServiceImpl<CatalogTagMapper, Catalog
     @Autowired
     private CatalogEntityTagRelService catalogEntityTagRelService;
 
+    @Autowired
+    private CatalogEntityInstanceMapper catalogEntityInstanceMapper;
+
     @Override
     public long create(TagCreate tagCreate) {
         if (isExist(tagCreate.getName())) {
@@ -67,7 +74,9 @@ public class CatalogTagServiceImpl extends ServiceImpl<CatalogTagMapper, Catalog
 
     @Override
     public boolean delete(String uuid) {
-        return remove(new QueryWrapper<CatalogTag>().lambda().eq(CatalogTag::getUuid, uuid));
+        boolean result = remove(new QueryWrapper<CatalogTag>().lambda().eq(CatalogTag::getUuid, uuid));
+        CatalogSearchIndex.getInstance().removeTag(uuid);
+        return result;
     }
 
     @Override
@@ -102,14 +111,27 @@ public class CatalogTagServiceImpl extends ServiceImpl<CatalogTagMapper, Catalog
         rel.setUpdateBy(ContextHolder.getUserId());
         rel.setCreateTime(LocalDateTime.now());
         rel.setUpdateTime(LocalDateTime.now());
-        return catalogEntityTagRelService.save(rel);
+        boolean result = catalogEntityTagRelService.save(rel);
+        CatalogTag tag = baseMapper.selectOne(new QueryWrapper<CatalogTag>().lambda().eq(CatalogTag::getUuid, tagUUID));
+        if (result && tag != null) {
+            CatalogSearchIndex.getInstance().addTag(entityUUID, tagUUID, tag.getName());
+        }
+        return result;
     }
 
     @Override
     public boolean deleteEntityTagRel(String entityUUID, String tagUUID) {
-        return catalogEntityTagRelService.remove(new QueryWrapper<CatalogEntityTagRel>().lambda()
+        boolean result = catalogEntityTagRelService.remove(new QueryWrapper<CatalogEntityTagRel>().lambda()
                 .eq(CatalogEntityTagRel::getEntityUuid, entityUUID)
                 .eq(CatalogEntityTagRel::getTagUuid, tagUUID));
+        if (result) {
+            // the deleted relation can not be read by the search index of the other servers, they read the tags of the updated entity again
+            catalogEntityInstanceMapper.update(null, new UpdateWrapper<CatalogEntityInstance>().lambda()
+                    .set(CatalogEntityInstance::getUpdateTime, LocalDateTime.now())
+                    .eq(CatalogEntityInstance::getUuid, entityUUID));
+        }
+        CatalogSearchIndex.getInstance().removeTag(entityUUID, tagUUID);
+        return result;
     }
 
     @Override
@@ -34,6 +34,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -42,7 +43,12 @@ import java.util.List;
 @Service("configService")
 public class ConfigServiceImpl extends ServiceImpl<ConfigMapper, Config> implements ConfigService {
 
+    private volatile Long configVersion;
+
+    private volatile long lastProbeTime;
+
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public long create(ConfigCreate configCreate) throws DataVinesServerException {
         if (isConfigExist(configCreate.getVarKey())) {
             throw new DataVinesServerException(Status.CONFIG_EXIST_ERROR, configCreate.getVarKey());
@@ -58,6 +64,7 @@ public class ConfigServiceImpl extends ServiceImpl<ConfigMapper, Config> impleme
             log.info("create config fail : {}", configCreate);
             throw new DataVinesServerException(Status.CREATE_CONFIG_ERROR, configCreate.getVarKey());
         }
+        baseMapper.increaseConfigVersion();
 
         CommonPropertyUtils.setValue(config.getVarKey(), config.getVarValue());
 
@@ -65,6 +72,7 @@ public class ConfigServiceImpl extends ServiceImpl<ConfigMapper, Config> impleme
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public int update(ConfigUpdate configUpdate) throws DataVinesServerException {
 
         Config config = getById(configUpdate.getId());
@@ -81,6 +89,7 @@ public class ConfigServiceImpl extends ServiceImpl<ConfigMapper, Config> impleme
             log.info("update config fail : {}", configUpdate);
             throw new DataVinesServerException(Status.UPDATE_CONFIG_ERROR, configUpdate.getVarKey());
         }
+        baseMapper.increaseConfigVersion();
 
         CommonPropertyUtils.setValue(config.getVarKey(), config.getVarValue());
         return 1;
@@ -98,6 +107,7 @@ public class ConfigServiceImpl extends ServiceImpl<ConfigMapper, Config> impleme
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public int deleteById(long id) {
         Config config = getById(id);
         if (config == null) {
@@ -110,6 +120,7 @@ public class ConfigServiceImpl extends ServiceImpl<ConfigMapper, Config> impleme
         }
 
         if (baseMapper.deleteById(id) > 0) {
+            baseMapper.increaseConfigVersion();
             CommonPropertyUtils.remove(config.getVarKey());
         }
 
@@ -126,13 +137,47 @@ public class ConfigServiceImpl extends ServiceImpl<ConfigMapper, Config> impleme
         return list();
     }
 
+    @Override
+    public String getWorkspaceValue(Long workspaceId, String varKey, String defaultValue) {
+        List<Config> configList = list(new QueryWrapper<Config>().lambda()
+                .eq(Config::getVarKey, varKey)
+                .in(Config::getWorkspaceId, workspaceId, -1L));
+        String globalValue = null;
+        for (Config config : configList) {
+            if (workspaceId.equals(config.getWorkspaceId())) {
+                return config.getVarValue();
+            }
+            globalValue = config.getVarValue();
+        }
+
+        return globalValue != null ? globalValue : CommonPropertyUtils.getString(varKey, defaultValue);
+    }
+
+    /**
+     * reload the configs only when the version in dv_config_version is changed, every write of dv_config
+     * increases the version in the same transaction, the version is probed at most once per config.refresh.interval
+     */
     @Override
     public void refreshCommonProperties() {
+        long now = System.currentTimeMillis();
+        if (now - lastProbeTime < CommonPropertyUtils.getLong(
+                CommonPropertyUtils.CONFIG_REFRESH_INTERVAL, CommonPropertyUtils.CONFIG_REFRESH_INTERVAL_DEFAULT)) {
+            return;
+        }
+        lastProbeTime = now;
+
+        Long version = baseMapper.getConfigVersion();
+        if (version != null && version.equals(configVersion)) {
+            return;
+        }
+
         List<Config> configList = listConfig();
         if (CollectionUtils.isNotEmpty(configList)) {
             configList.forEach(config -> {
                 CommonPropertyUtils.setValue(config.getVarKey(), config.getVarValue());
             });
         }
+        configVersion = version;
+        log.info("common properties are refreshed, config version : {}", version);
     }
 }
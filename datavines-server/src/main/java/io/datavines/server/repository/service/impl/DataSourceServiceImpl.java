@@ -21,6 +21,7 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 
+import io.datavines.common.datasource.jdbc.entity.PartitionInfo;
 import io.datavines.common.utils.*;
 import io.datavines.core.utils.LanguageUtils;
 import io.datavines.server.api.dto.bo.catalog.CatalogRefresh;
@@ -28,18 +29,24 @@ import io.datavines.server.api.dto.bo.datasource.ExecuteRequest;
 import io.datavines.common.exception.DataVinesException;
 import io.datavines.common.param.*;
 import io.datavines.connector.api.ConnectorFactory;
+import io.datavines.connector.api.QueryCursor;
 import io.datavines.core.enums.Status;
 import io.datavines.server.api.dto.bo.datasource.DataSourceCreate;
 import io.datavines.server.api.dto.bo.datasource.DataSourceUpdate;
 import io.datavines.server.api.dto.bo.job.schedule.MapParam;
 import io.datavines.server.api.dto.bo.task.CommonTaskScheduleCreateOrUpdate;
 import io.datavines.server.api.dto.vo.DataSourceVO;
+import io.datavines.server.api.dto.vo.ScriptCursorPageVO;
 import io.datavines.server.enums.CommonTaskType;
+import io.datavines.server.repository.cache.CatalogEntityGraph;
+import io.datavines.server.repository.cache.MetadataBrowseCache;
+import io.datavines.server.repository.cache.QueryCursorCache;
 import io.datavines.server.repository.entity.DataSource;
 import io.datavines.server.repository.mapper.DataSourceMapper;
 import io.datavines.server.repository.service.*;
 import io.datavines.core.exception.DataVinesServerException;
 import io.datavines.server.utils.ContextHolder;
+import io.datavines.server.utils.TransactionUtils;
 import io.datavines.spi.PluginLoader;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
@@ -49,6 +56,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.text.MessageFormat;
 import java.time.LocalDateTime;
@@ -60,6 +70,12 @@ import static io.datavines.common.log.SensitiveDataConverter.PWD_PATTERN_1;
 @Service("dataSourceService")
 public class DataSourceServiceImpl extends ServiceImpl<DataSourceMapper, DataSource>  implements DataSourceService {
 
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+
+    private static final int DEFAULT_PAGE_SIZE = 1000;
+
+    private static final int MAX_PAGE_SIZE = 10000;
+
     @Autowired
     private JobService jobService;
 
@@ -193,6 +209,7 @@ public class DataSourceServiceImpl extends ServiceImpl<DataSourceMapper, DataSou
         dataSource.setUpdateTime(LocalDateTime.now());
         dataSource.setUpdateBy(ContextHolder.getUserId());
 
+        MetadataBrowseCache.getInstance().invalidate(dataSource.getId());
         return baseMapper.updateById(dataSource);
     }
 
@@ -230,6 +247,10 @@ public class DataSourceServiceImpl extends ServiceImpl<DataSourceMapper, DataSou
             jobService.deleteByDataSourceId(id);
             commonTaskService.deleteByDataSourceId(id);
             removeById(id);
+            TransactionUtils.afterCommit(() -> {
+                MetadataBrowseCache.getInstance().invalidate(id);
+                CatalogEntityGraph.getInstance().invalidate(id);
+            });
             return 1;
         }
 
@@ -276,8 +297,8 @@ public class DataSourceServiceImpl extends ServiceImpl<DataSourceMapper, DataSou
         Object result = null;
         ConnectorFactory connectorFactory = PluginLoader.getPluginLoader(ConnectorFactory.class).getOrCreatePlugin(param.getType());
         try {
-            ConnectorResponse response = connectorFactory.getConnector().getDatabases(param);
-            result = response.getResult();
+            result = MetadataBrowseCache.getInstance().getDatabaseList(id,
+                    () -> connectorFactory.getConnector().getDatabases(param).getResult());
         } catch (SQLException e) {
             log.error(MessageFormat.format(Status.GET_DATABASE_LIST_ERROR.getMsg(), dataSource.getName()), e);
             throw new DataVinesServerException(Status.GET_DATABASE_LIST_ERROR, dataSource.getName());
@@ -297,8 +318,8 @@ public class DataSourceServiceImpl extends ServiceImpl<DataSourceMapper, DataSou
         Object result = null;
         ConnectorFactory connectorFactory = PluginLoader.getPluginLoader(ConnectorFactory.class).getOrCreatePlugin(param.getType());
         try {
-            ConnectorResponse response = connectorFactory.getConnector().getTables(param);
-            result = response.getResult();
+            result = MetadataBrowseCache.getInstance().getTableList(id, database,
+                    () -> connectorFactory.getConnector().getTables(param).getResult());
         } catch (SQLException e) {
             log.error(MessageFormat.format(Status.GET_TABLE_LIST_ERROR.getMsg(), dataSource.getName(), database), e);
             throw new DataVinesServerException(Status.GET_TABLE_LIST_ERROR, dataSource.getName(), database);
@@ -319,8 +340,8 @@ public class DataSourceServiceImpl extends ServiceImpl<DataSourceMapper, DataSou
         Object result = null;
         ConnectorFactory connectorFactory = PluginLoader.getPluginLoader(ConnectorFactory.class).getOrCreatePlugin(param.getType());
         try {
-            ConnectorResponse response = connectorFactory.getConnector().getColumns(param);
-            result = response.getResult();
+            result = MetadataBrowseCache.getInstance().getColumnList(id, database, table,
+                    () -> connectorFactory.getConnector().getColumns(param).getResult());
         } catch (SQLException e) {
             log.error(MessageFormat.format(Status.GET_COLUMN_LIST_ERROR.getMsg(), dataSource.getName(), database, table), e);
             throw new DataVinesServerException(Status.GET_COLUMN_LIST_ERROR, dataSource.getName(), database, table);
@@ -329,6 +350,30 @@ public class DataSourceServiceImpl extends ServiceImpl<DataSourceMapper, DataSou
         return result;
     }
 
+    @Override
+    public List<PartitionInfo> getPartitionList(Long id, String database, String table) throws DataVinesServerException {
+        DataSource dataSource = getDataSourceById(id);
+        GetPartitionsRequestParam param = new GetPartitionsRequestParam();
+        param.setType(dataSource.getType());
+        param.setDataSourceParam(dataSource.getParam());
+        param.setDataBase(database);
+        param.setTable(table);
+
+        List<PartitionInfo> result = new ArrayList<>();
+        ConnectorFactory connectorFactory = PluginLoader.getPluginLoader(ConnectorFactory.class).getOrCreatePlugin(param.getType());
+        try {
+            ConnectorResponse response = connectorFactory.getConnector().getPartitions(param);
+            if (response != null && response.getResult() != null) {
+                result = JSONUtils.toList(JSONUtils.toJsonString(response.getResult()), PartitionInfo.class);
+            }
+        } catch (SQLException e) {
+            log.error(MessageFormat.format(Status.GET_PARTITION_LIST_ERROR.getMsg(), dataSource.getName(), database, table), e);
+            throw new DataVinesServerException(Status.GET_PARTITION_LIST_ERROR, dataSource.getName(), database, table);
+        }
+
+        return result;
+    }
+
     @Override
     public Object executeScript(ExecuteRequest request) throws DataVinesServerException {
         DataSource dataSource = getDataSourceById(request.getDatasourceId());
@@ -349,6 +394,156 @@ public class DataSourceServiceImpl extends ServiceImpl<DataSourceMapper, DataSou
         return result;
     }
 
+    @Override
+    public void executeScriptStream(ExecuteRequest request, OutputStream outputStream) throws DataVinesServerException {
+        int maxRows = getResultLimit(request.getLimit());
+        long maxBytes = CommonPropertyUtils.getLong(
+                CommonPropertyUtils.QUERY_STREAM_MAX_BYTES, CommonPropertyUtils.QUERY_STREAM_MAX_BYTES_DEFAULT);
+        int fetchSize = getFetchSize(request.getFetchSize());
+
+        boolean started = false;
+        // one more row is read to know whether the result is truncated by the row limit
+        try (QueryCursor cursor = openCursor(request, maxRows + 1, false)) {
+            writeLine(outputStream, Collections.singletonMap("columns", cursor.getColumns()));
+            started = true;
+
+            long rowCount = 0;
+            long byteCount = 0;
+            boolean truncated = false;
+            while (!truncated && cursor.hasMore()) {
+                for (Map<String, Object> row : cursor.fetch(fetchSize)) {
+                    byte[] line = (JSONUtils.toJsonString(row) + "\n").getBytes(StandardCharsets.UTF_8);
+                    if (rowCount >= maxRows || byteCount + line.length > maxBytes) {
+                        truncated = true;
+                        break;
+                    }
+                    outputStream.write(line);
+                    rowCount++;
+                    byteCount += line.length;
+                }
+                outputStream.flush();
+            }
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("rowCount", rowCount);
+            summary.put("truncated", truncated);
+            writeLine(outputStream, summary);
+        } catch (DataVinesServerException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error(MessageFormat.format(Status.EXECUTE_SCRIPT_ERROR.getMsg(), request.getScript()), e);
+            if (!started) {
+                throw new DataVinesServerException(Status.EXECUTE_SCRIPT_ERROR, request.getScript());
+            }
+            // the response is committed, the client gets the error as the last line
+            try {
+                writeLine(outputStream, Collections.singletonMap("error", e.getMessage()));
+            } catch (IOException ioException) {
+                log.warn("write the error of the script to the response error", ioException);
+            }
+        }
+    }
+
+    @Override
+    public ScriptCursorPageVO openScriptCursor(ExecuteRequest request) throws DataVinesServerException {
+        QueryCursor cursor = null;
+        try {
+            cursor = openCursor(request, getResultLimit(request.getLimit()), true);
+            ScriptCursorPageVO page = new ScriptCursorPageVO();
+            page.setColumns(cursor.getColumns());
+            page.setResultList(cursor.fetch(getPageSize(request.getPageSize())));
+            page.setHasMore(cursor.hasMore());
+            if (cursor.hasMore()) {
+                page.setCursorId(QueryCursorCache.getInstance().register(cursor, ContextHolder.getUserId()));
+            } else {
+                cursor.close();
+            }
+            return page;
+        } catch (DataVinesServerException e) {
+            throw e;
+        } catch (Exception e) {
+            if (cursor != null) {
+                cursor.close();
+            }
+            log.error(MessageFormat.format(Status.EXECUTE_SCRIPT_ERROR.getMsg(), request.getScript()), e);
+            throw new DataVinesServerException(Status.EXECUTE_SCRIPT_ERROR, request.getScript());
+        }
+    }
+
+    @Override
+    public ScriptCursorPageVO fetchScriptCursor(String cursorId, Integer pageSize) throws DataVinesServerException {
+        QueryCursor cursor = QueryCursorCache.getInstance().get(cursorId, ContextHolder.getUserId());
+        if (cursor == null) {
+            throw new DataVinesServerException(Status.EXECUTE_SCRIPT_CURSOR_NOT_EXIST_ERROR, cursorId);
+        }
+
+        ScriptCursorPageVO page = new ScriptCursorPageVO();
+        page.setCursorId(cursorId);
+        page.setColumns(cursor.getColumns());
+        try {
+            synchronized (cursor) {
+                page.setResultList(cursor.fetch(getPageSize(pageSize)));
+                page.setHasMore(cursor.hasMore());
+            }
+        } catch (SQLException e) {
+            QueryCursorCache.getInstance().close(cursorId);
+            log.error(MessageFormat.format(Status.EXECUTE_SCRIPT_ERROR.getMsg(), cursorId), e);
+            throw new DataVinesServerException(Status.EXECUTE_SCRIPT_ERROR, cursorId);
+        }
+
+        if (!page.isHasMore()) {
+            QueryCursorCache.getInstance().close(cursorId);
+        }
+        return page;
+    }
+
+    @Override
+    public void closeScriptCursor(String cursorId) {
+        if (QueryCursorCache.getInstance().get(cursorId, ContextHolder.getUserId()) != null) {
+            QueryCursorCache.getInstance().close(cursorId);
+        }
+    }
+
+    private QueryCursor openCursor(ExecuteRequest request, int limit, boolean paged) throws Exception {
+        DataSource dataSource = getDataSourceById(request.getDatasourceId());
+        if (dataSource == null) {
+            throw new DataVinesServerException(Status.DATASOURCE_NOT_EXIST_ERROR, request.getDatasourceId());
+        }
+
+        ExecuteRequestParam param = new ExecuteRequestParam();
+        param.setType(dataSource.getType());
+        param.setDataSourceParam(dataSource.getParam());
+        param.setScript(request.getScript());
+        param.setLimit(limit);
+        param.setFetchSize(getFetchSize(request.getFetchSize()));
+        param.setPaged(paged);
+        ConnectorFactory connectorFactory = PluginLoader.getPluginLoader(ConnectorFactory.class).getOrCreatePlugin(param.getType());
+        QueryCursor cursor = QueryCursorCache.getInstance().open(dataSource.getId(), () -> connectorFactory.getExecutor().openCursor(param));
+        if (cursor == null) {
+            throw new DataVinesServerException(Status.EXECUTE_SCRIPT_ERROR, request.getScript());
+        }
+        return cursor;
+    }
+
+    private int getResultLimit(Integer limit) {
+        int maxRows = CommonPropertyUtils.getInt(
+                CommonPropertyUtils.QUERY_STREAM_MAX_ROWS, CommonPropertyUtils.QUERY_STREAM_MAX_ROWS_DEFAULT);
+        return limit == null || limit <= 0 ? maxRows : Math.min(limit, maxRows);
+    }
+
+    private int getFetchSize(Integer fetchSize) {
+        return fetchSize == null || fetchSize <= 0 ? DEFAULT_FETCH_SIZE : fetchSize;
+    }
+
+    private int getPageSize(Integer pageSize) {
+        return pageSize == null || pageSize <= 0 ? DEFAULT_PAGE_SIZE : Math.min(pageSize, MAX_PAGE_SIZE);
+    }
+
+    private void writeLine(OutputStream outputStream, Object value) throws IOException {
+        outputStream.write((JSONUtils.toJsonString(value) + "\n").getBytes(StandardCharsets.UTF_8));
+        outputStream.flush();
+    }
+
     @Override
     public String getConfigJson(String type) {
         return PluginLoader.getPluginLoader(ConnectorFactory.class).getOrCreatePlugin(type).getConfigBuilder().build(!LanguageUtils.isZhContext());
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.service.impl;
+
+import io.datavines.common.utils.CommonPropertyUtils;
+import io.datavines.common.utils.DateUtils;
+import io.datavines.common.utils.JSONUtils;
+import io.datavines.core.exception.DataVinesServerException;
+import io.datavines.server.enums.ArchiveType;
+import io.datavines.server.repository.mapper.HistoryRetentionMapper;
+import io.datavines.server.repository.service.HistoryRetentionService;
+import io.datavines.server.utils.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.io.FileUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Service("historyRetentionService")
+public class HistoryRetentionServiceImpl implements HistoryRetentionService {
+
+    private static final String JOB_EXECUTION_ID = "job_execution_id";
+
+    private static final String ID = "id";
+
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    /**
+     * the columns copied into the archive tables, they are listed so that a column added to a history table
+     * does not break the archive before it is added to the archive table too
+     */
+    private static final Map<String, List<String>> ARCHIVE_COLUMNS = new HashMap<>();
+
+    static {
+        ARCHIVE_COLUMNS.put("dv_job_execution", Arrays.asList(
+                "id", "name", "job_id", "job_type", "schema_name", "table_name", "column_name", "metric_type", "datasource_id",
+                "execute_platform_type", "execute_platform_parameter", "engine_type", "engine_parameter",
+                "error_data_storage_type", "error_data_storage_parameter", "error_data_file_name", "parameter", "status",
+                "retry_times", "retry_interval", "timeout", "timeout_strategy", "pre_sql", "post_sql", "tenant_code",
+                "execute_host", "application_id", "application_tag", "process_id", "execute_file_path", "log_path", "env",
+                "submit_time", "schedule_time", "start_time", "end_time", "create_time", "update_time"));
+        ARCHIVE_COLUMNS.put("dv_job_execution_result", Arrays.asList(
+                "id", "job_execution_id", "metric_unique_key", "unique_code", "metric_type", "metric_dimension", "metric_name",
+                "database_name", "table_name", "column_name", "actual_value", "expected_value", "expected_type",
+                "result_formula", "operator", "threshold", "score", "sample_fraction", "confidence_interval", "state",
+                "create_time", "update_time"));
+        ARCHIVE_COLUMNS.put("dv_actual_values", Arrays.asList(
+                "id", "job_execution_id", "metric_name", "unique_code", "actual_value", "sketch", "data_time",
+                "create_time", "update_time"));
+        ARCHIVE_COLUMNS.put("dv_common_task", Arrays.asList(
+                "id", "task_type", "type", "datasource_id", "database_name", "table_name", "status", "parameter",
+                "execute_host", "submit_time", "schedule_time", "start_time", "end_time", "create_time", "update_time"));
+    }
+
+    @Autowired
+    private HistoryRetentionMapper historyRetentionMapper;
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int purgeJobExecutions(Long workspaceId, LocalDateTime expireTime, ArchiveType archiveType, int chunkSize) {
+        List<Long> jobExecutionIds = historyRetentionMapper.listExpiredJobExecutionIds(workspaceId, expireTime, chunkSize);
+        if (CollectionUtils.isEmpty(jobExecutionIds)) {
+            return 0;
+        }
+
+        // the commands are only the queue of the scheduler and the profile snapshots are derived from the results,
+        // they are deleted without archive
+        purge(workspaceId, "dv_actual_values", JOB_EXECUTION_ID, jobExecutionIds, archiveType);
+        purge(workspaceId, "dv_job_execution_result", JOB_EXECUTION_ID, jobExecutionIds, archiveType);
+        purge(workspaceId, "dv_command", JOB_EXECUTION_ID, jobExecutionIds, ArchiveType.NONE);
+        purge(workspaceId, "dv_catalog_entity_profile_snapshot", JOB_EXECUTION_ID, jobExecutionIds, ArchiveType.NONE);
+        purge(workspaceId, "dv_job_execution", ID, jobExecutionIds, archiveType);
+        return jobExecutionIds.size();
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int purgeCommonTasks(Long workspaceId, LocalDateTime expireTime, ArchiveType archiveType, int chunkSize) {
+        List<Long> commonTaskIds = historyRetentionMapper.listExpiredCommonTaskIds(workspaceId, expireTime, chunkSize);
+        if (CollectionUtils.isEmpty(commonTaskIds)) {
+            return 0;
+        }
+
+        purge(workspaceId, "dv_common_task", ID, commonTaskIds, archiveType);
+        return commonTaskIds.size();
+    }
+
+    private void purge(Long workspaceId, String tableName, String keyColumn, List<Long> keys, ArchiveType archiveType) {
+        switch (archiveType) {
+            case FILE:
+                archiveToFile(workspaceId, tableName, keyColumn, keys);
+                break;
+            case TABLE:
+                historyRetentionMapper.archiveByKeys(tableName, ARCHIVE_COLUMNS.get(tableName), keyColumn, keys);
+                break;
+            default:
+                break;
+        }
+
+        int count = historyRetentionMapper.deleteByKeys(tableName, keyColumn, keys);
+        log.info("purge {} rows of {} in workspace {}", count, tableName, workspaceId);
+    }
+
+    /**
+     * write the rows into ${archive.path}/${table}/${workspace}/${yyyyMMdd}/${table}_${minKey}_${maxKey}.jsonl.gz.
+     * The rows are written into a temporary file in the transaction, which is renamed to the archive file after the commit
+     * and removed after a rollback, so an archive file only holds the rows which are really deleted.
+     * The file name only depends on the keys, so a chunk which is purged again after a rollback overwrites its own file
+     */
+    private void archiveToFile(Long workspaceId, String tableName, String keyColumn, List<Long> keys) {
+        List<Map<String, Object>> rows = historyRetentionMapper.selectByKeys(tableName, keyColumn, keys);
+        if (CollectionUtils.isEmpty(rows)) {
+            return;
+        }
+
+        String archivePath = CommonPropertyUtils.getString(
+                CommonPropertyUtils.RETENTION_ARCHIVE_PATH, CommonPropertyUtils.RETENTION_ARCHIVE_PATH_DEFAULT);
+        File directory = new File(String.join(File.separator, archivePath, tableName, String.valueOf(workspaceId),
+                DateUtils.format(LocalDate.now(), DateUtils.YYYYMMDD)));
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new DataVinesServerException("create archive directory " + directory.getAbsolutePath() + " error");
+        }
+
+        File archiveFile = new File(directory,
+                tableName + "_" + Collections.min(keys) + "_" + Collections.max(keys) + ".jsonl.gz");
+        File tempFile = new File(directory, archiveFile.getName() + TEMP_FILE_SUFFIX);
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(new FileOutputStream(tempFile)), StandardCharsets.UTF_8))) {
+            for (Map<String, Object> row : rows) {
+                writer.write(JSONUtils.toJsonString(row));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            FileUtils.deleteQuietly(tempFile);
+            throw new DataVinesServerException("write archive file " + tempFile.getAbsolutePath() + " error", e);
+        }
+
+        TransactionUtils.afterCommit(() -> {
+            try {
+                Files.move(tempFile.toPath(), archiveFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // the rows are deleted already, the temporary file is kept to be recovered by hand
+                log.error("rename archive file {} to {} error", tempFile.getAbsolutePath(), archiveFile.getAbsolutePath(), e);
+            }
+        });
+        TransactionUtils.afterRollback(() -> FileUtils.deleteQuietly(tempFile));
+    }
+}
@@ -28,6 +28,7 @@ import io.datavines.server.repository.entity.JobIssueRel;
 import io.datavines.server.repository.mapper.IssueMapper;
 import io.datavines.server.repository.mapper.JobIssueRelMapper;
 import io.datavines.server.repository.service.IssueService;
+import io.datavines.server.repository.service.JobIssueRelService;
 import io.datavines.server.utils.ContextHolder;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
@@ -37,6 +38,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -47,6 +49,9 @@ public class IssueServiceImpl extends ServiceImpl<IssueMapper, Issue> implements
     @Autowired
     private JobIssueRelMapper jobIssueRelMapper;
 
+    @Autowired
+    private JobIssueRelService jobIssueRelService;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public long create(IssueCreate issueCreate) throws DataVinesServerException {
@@ -68,7 +73,7 @@ public class IssueServiceImpl extends ServiceImpl<IssueMapper, Issue> implements
 
         if (baseMapper.insert(issue) <= 0) {
             log.info("create issue fail : {}", issue);
-            throw new DataVinesServerException(Status.CREATE_ENV_ERROR, issue.getTitle());
+            throw new DataVinesServerException(Status.CREATE_ISSUE_ERROR, issue.getTitle());
         }
 
         JobIssueRel jobIssueRel = new JobIssueRel();
@@ -82,6 +87,50 @@ public class IssueServiceImpl extends ServiceImpl<IssueMapper, Issue> implements
         return issue.getId();
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void createBatch(List<IssueCreate> issueCreateList) throws DataVinesServerException {
+
+        if (CollectionUtils.isEmpty(issueCreateList)) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Issue> issueList = new ArrayList<>();
+        for (IssueCreate issueCreate : issueCreateList) {
+            if (StringUtils.isEmpty(issueCreate.getTitle()) || StringUtils.isEmpty(issueCreate.getContent())) {
+                throw new DataVinesServerException("issue title or content can not be null");
+            }
+
+            Issue issue = new Issue();
+            BeanUtils.copyProperties(issueCreate, issue);
+            issue.setStatus("good");
+            issue.setCreateTime(now);
+            issue.setUpdateTime(now);
+            issueList.add(issue);
+        }
+
+        if (!saveBatch(issueList)) {
+            log.info("create issues fail : {}", issueList.size());
+            throw new DataVinesServerException(Status.CREATE_ISSUE_ERROR, issueList.get(0).getTitle());
+        }
+
+        List<JobIssueRel> jobIssueRelList = new ArrayList<>();
+        for (int i = 0; i < issueList.size(); i++) {
+            JobIssueRel jobIssueRel = new JobIssueRel();
+            jobIssueRel.setIssueId(issueList.get(i).getId());
+            jobIssueRel.setJobId(issueCreateList.get(i).getJobId());
+            jobIssueRel.setCreateTime(now);
+            jobIssueRel.setUpdateTime(now);
+            jobIssueRelList.add(jobIssueRel);
+        }
+
+        if (!jobIssueRelService.saveBatch(jobIssueRelList)) {
+            log.info("create job issue relations fail : {}", jobIssueRelList.size());
+            throw new DataVinesServerException(Status.CREATE_ISSUE_ERROR, issueList.get(0).getTitle());
+        }
+    }
+
     @Override
     public Long updateStatus(IssueUpdate issueUpdate) throws DataVinesServerException {
 
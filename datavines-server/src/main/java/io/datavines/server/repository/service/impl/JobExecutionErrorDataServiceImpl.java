@@ -33,9 +33,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static io.datavines.common.ConfigConstants.ERROR_DATA_OUTPUT_TO_DATASOURCE_DATABASE;
+import static io.datavines.common.ConfigConstants.FILE_FORMAT;
 
 @Slf4j
 @Service("jobExecutionErrorDataService")
@@ -48,7 +50,7 @@ public class JobExecutionErrorDataServiceImpl implements JobExecutionErrorDataSe
     private DataSourceService dataSourceService;
 
     @Override
-    public Object readErrorDataPage(Long jobExecutionId, Integer pageNumber, Integer pageSize)  {
+    public Object readErrorDataPage(Long jobExecutionId, Integer pageNumber, Integer pageSize, List<String> columns)  {
 
         JobExecution jobExecution = jobExecutionMapper.selectById(jobExecutionId);
         if (jobExecution == null) {
@@ -81,10 +83,12 @@ public class JobExecutionErrorDataServiceImpl implements JobExecutionErrorDataSe
         }
 
         scriptConfigMap.put("error_data_file_name", errorDataFileName);
+        scriptConfigMap.put(FILE_FORMAT, errorDataStorageParamMap.get(FILE_FORMAT));
 
         param.setScript(connectorFactory.getDialect().getErrorDataScript(scriptConfigMap));
         param.setPageNumber(pageNumber);
         param.setPageSize(pageSize);
+        param.setColumns(columns);
 
         Object result = null;
         try {
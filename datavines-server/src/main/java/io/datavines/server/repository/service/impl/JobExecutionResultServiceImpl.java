@@ -66,6 +66,14 @@ public class JobExecutionResultServiceImpl extends ServiceImpl<JobExecutionResul
         return baseMapper.updateById(jobExecutionResult);
     }
 
+    @Override
+    public boolean updateBatch(List<JobExecutionResult> jobExecutionResultList) {
+        if (CollectionUtils.isEmpty(jobExecutionResultList)) {
+            return true;
+        }
+        return updateBatchById(jobExecutionResultList);
+    }
+
     @Override
     public int deleteByJobExecutionId(long jobExecutionId) {
         return baseMapper.delete(new QueryWrapper<JobExecutionResult>().lambda().eq(JobExecutionResult::getJobExecutionId,jobExecutionId));
@@ -119,6 +127,32 @@ public class JobExecutionResultServiceImpl extends ServiceImpl<JobExecutionResul
         return JobCheckState.of(resultState);
     }
 
+    @Override
+    public Map<Long, JobCheckState> getCheckResultByJobExecutionIds(Collection<Long> jobExecutionIds) {
+        Map<Long, JobCheckState> result = new HashMap<>();
+        if (CollectionUtils.isEmpty(jobExecutionIds)) {
+            return result;
+        }
+
+        jobExecutionIds.forEach(jobExecutionId -> result.put(jobExecutionId, JobCheckState.NONE));
+        List<JobExecutionResult> jobExecutionResultList = baseMapper.selectList(new QueryWrapper<JobExecutionResult>().lambda()
+                .select(JobExecutionResult::getJobExecutionId, JobExecutionResult::getState)
+                .in(JobExecutionResult::getJobExecutionId, jobExecutionIds));
+        if (CollectionUtils.isEmpty(jobExecutionResultList)) {
+            return result;
+        }
+
+        for (JobExecutionResult executionResult : jobExecutionResultList) {
+            if (result.get(executionResult.getJobExecutionId()) == JobCheckState.FAILURE) {
+                continue;
+            }
+            result.put(executionResult.getJobExecutionId(),
+                    executionResult.getState() == 1 ? JobCheckState.SUCCESS : JobCheckState.FAILURE);
+        }
+
+        return result;
+    }
+
     @Override
     public JobExecutionResultVO getResultVOByJobExecutionId(long jobExecutionId) {
 
@@ -21,6 +21,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
@@ -29,6 +33,7 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 
 import io.datavines.common.entity.JobExecutionParameter;
 import io.datavines.common.utils.DateUtils;
+import io.datavines.common.utils.ThreadUtils;
 import io.datavines.core.enums.Status;
 import io.datavines.core.utils.LanguageUtils;
 import io.datavines.metric.api.ResultFormula;
@@ -37,16 +42,20 @@ import io.datavines.server.api.dto.bo.job.JobExecutionDashboardParam;
 import io.datavines.server.api.dto.bo.job.JobExecutionPageParam;
 import io.datavines.server.api.dto.vo.*;
 import io.datavines.core.exception.DataVinesServerException;
+import io.datavines.server.dqc.coordinator.stream.JobExecutionStreamHub;
 import io.datavines.server.enums.JobCheckState;
 import io.datavines.server.repository.entity.JobExecution;
 import io.datavines.server.repository.entity.JobExecutionResult;
 import io.datavines.server.repository.mapper.JobExecutionResultMapper;
 import io.datavines.server.repository.service.*;
 import io.datavines.server.repository.entity.Command;
+import io.datavines.server.repository.cache.PageTotalCache;
 import io.datavines.server.repository.mapper.JobExecutionMapper;
+import io.datavines.server.utils.PageCursor;
 import io.datavines.spi.PluginLoader;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -62,9 +71,20 @@ import org.springframework.transaction.annotation.Transactional;
 import static io.datavines.common.CommonConstants.YYYY_MM_DD_HH_MM_SS;
 import static io.datavines.core.constant.DataVinesConstants.SPARK;
 
+@Slf4j
 @Service("jobExecutionService")
 public class JobExecutionServiceImpl extends ServiceImpl<JobExecutionMapper, JobExecution> implements JobExecutionService {
 
+    private static final int MAX_BATCH_STATUS_SIZE = 1000;
+
+    private static final String JOB_EXECUTION_PAGE = "job_execution";
+
+    private static final long MAX_WAIT_TIMEOUT = 300L;
+
+    private static final int WAIT_THREADS = 4;
+
+    private final ScheduledExecutorService waitExecutor = ThreadUtils.newDaemonThreadScheduledExecutor("Job-Execution-Wait", WAIT_THREADS);
+
     @Autowired
     private CommandService commandService;
 
@@ -80,13 +100,16 @@ public class JobExecutionServiceImpl extends ServiceImpl<JobExecutionMapper, Job
     @Override
     public long create(JobExecution jobExecution) {
         baseMapper.insert(jobExecution);
+        JobExecutionStreamHub.getInstance().publish(jobExecution);
         return jobExecution.getId();
     }
 
     @Override
     public int update(JobExecution jobExecution) {
         jobExecution.setUpdateTime(LocalDateTime.now());
-        return baseMapper.updateById(jobExecution);
+        int result = baseMapper.updateById(jobExecution);
+        JobExecutionStreamHub.getInstance().publish(jobExecution);
+        return result;
     }
 
     @Override
@@ -108,6 +131,11 @@ public class JobExecutionServiceImpl extends ServiceImpl<JobExecutionMapper, Job
         }
 
         jobExecutionList.forEach(execution -> {
+            // the execution is taken out of the daily stat one by one, a recount of its day would also
+            // drop the executions of that day which are purged by the retention
+            if (execution.getStatus() != null) {
+                baseMapper.upsertDailyStat(execution.getId(), execution.getStatus().getCode(), -1);
+            }
             removeById(execution.getId());
             jobExecutionResultService.deleteByJobExecutionId(execution.getId());
             actualValuesService.deleteByJobExecutionId(execution.getId());
@@ -118,9 +146,13 @@ public class JobExecutionServiceImpl extends ServiceImpl<JobExecutionMapper, Job
 
     @Override
     public IPage<JobExecutionVO> getJobExecutionPage(JobExecutionPageParam pageParam) {
-        Page<JobExecutionVO> page = new Page<>(pageParam.getPageNumber(), pageParam.getPageSize());
-        IPage<JobExecutionVO> jobExecutionPage = baseMapper.getJobExecutionPage(page, pageParam.getSearchVal(), pageParam.getJobId(), pageParam.getDatasourceId(), pageParam.getStatus(), pageParam.getMetricType(), pageParam.getSchemaName(), pageParam.getTableName(), pageParam.getColumnName(), pageParam.getStartTime(), pageParam.getEndTime(),
-                pageParam.getSchemaSearch(), pageParam.getTableSearch(), pageParam.getColumnSearch());
+        IPage<JobExecutionVO> jobExecutionPage;
+        if (pageParam.getCursor() != null) {
+            jobExecutionPage = getJobExecutionCursorPage(pageParam);
+        } else {
+            Page<JobExecutionVO> page = new Page<>(pageParam.getPageNumber(), pageParam.getPageSize());
+            jobExecutionPage = selectJobExecutionPage(page, pageParam, false, null);
+        }
         List<JobExecutionVO> jobExecutionList = jobExecutionPage.getRecords();
         // get jobExecution checkState separately
         if(CollectionUtils.isNotEmpty(jobExecutionList)){
@@ -144,6 +176,26 @@ public class JobExecutionServiceImpl extends ServiceImpl<JobExecutionMapper, Job
         return jobExecutionPage;
     }
 
+    /**
+     * read the page after the cursor with limit pageSize + 1, the total is counted once and cached for the next pages
+     */
+    private IPage<JobExecutionVO> getJobExecutionCursorPage(JobExecutionPageParam pageParam) {
+        PageCursor cursor = PageCursor.decode(pageParam.getCursor(), JOB_EXECUTION_PAGE);
+        int pageSize = pageParam.getPageSize();
+        List<JobExecutionVO> rows = selectJobExecutionPage(new Page<>(1, pageSize + 1, false), pageParam, true, cursor.getId()).getRecords();
+        Object[] filters = {pageParam.getSearchVal(), pageParam.getJobId(), pageParam.getDatasourceId(), pageParam.getStatus(),
+                pageParam.getMetricType(), pageParam.getSchemaName(), pageParam.getTableName(), pageParam.getColumnName(),
+                pageParam.getStartTime(), pageParam.getEndTime(), pageParam.getSchemaSearch(), pageParam.getTableSearch(), pageParam.getColumnSearch()};
+        long total = PageTotalCache.getInstance().get(JOB_EXECUTION_PAGE, filters,
+                () -> selectJobExecutionPage(new Page<>(1, 1), pageParam, false, null).getTotal());
+        return CursorPage.of(rows, pageSize, total, row -> PageCursor.encode(JOB_EXECUTION_PAGE, row.getId()));
+    }
+
+    private IPage<JobExecutionVO> selectJobExecutionPage(Page<JobExecutionVO> page, JobExecutionPageParam pageParam, boolean keyset, Long cursorId) {
+        return baseMapper.getJobExecutionPage(page, pageParam.getSearchVal(), pageParam.getJobId(), pageParam.getDatasourceId(), pageParam.getStatus(), pageParam.getMetricType(), pageParam.getSchemaName(), pageParam.getTableName(), pageParam.getColumnName(), pageParam.getStartTime(), pageParam.getEndTime(),
+                pageParam.getSchemaSearch(), pageParam.getTableSearch(), pageParam.getColumnSearch(), keyset, cursorId);
+    }
+
     @Override
     public Long submitJob(SubmitJob submitJob) throws DataVinesServerException {
 
@@ -515,4 +567,114 @@ public class JobExecutionServiceImpl extends ServiceImpl<JobExecutionMapper, Job
     public JobExecutionStat getJobExecutionStat(Long jobId) {
         return baseMapper.getJobExecutionStat(jobId);
     }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void refreshDailyStat(Long workspaceId, LocalDate statDate) {
+        baseMapper.deleteDailyStat(workspaceId, statDate);
+        baseMapper.insertDailyStat(workspaceId, statDate);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void moveDailyStat(Long jobExecutionId, Integer previousStatus, Integer status) {
+        if (Objects.equals(previousStatus, status)) {
+            return;
+        }
+
+        if (previousStatus != null) {
+            baseMapper.upsertDailyStat(jobExecutionId, previousStatus, -1);
+        }
+        baseMapper.upsertDailyStat(jobExecutionId, status, 1);
+    }
+
+    @Override
+    public List<JobExecutionCheckStatusVO> listCheckStatus(List<Long> jobExecutionIds) {
+        List<Long> ids = distinctJobExecutionIds(jobExecutionIds);
+        List<JobExecutionCheckStatusVO> result = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, JobExecution> jobExecutionMap = new HashMap<>();
+        listStatusByIds(ids).forEach(jobExecution -> jobExecutionMap.put(jobExecution.getId(), jobExecution));
+        List<Long> finishedIds = jobExecutionMap.values().stream()
+                .filter(jobExecution -> jobExecution.getStatus() != null && jobExecution.getStatus().typeIsFinished())
+                .map(JobExecution::getId)
+                .collect(Collectors.toList());
+        // the check results are written before the execution is finished, the running ones are not queried
+        Map<Long, JobCheckState> checkStateMap = jobExecutionResultService.getCheckResultByJobExecutionIds(finishedIds);
+
+        for (Long id : ids) {
+            JobExecution jobExecution = jobExecutionMap.get(id);
+            if (jobExecution == null) {
+                continue;
+            }
+
+            JobExecutionCheckStatusVO statusVO = new JobExecutionCheckStatusVO();
+            statusVO.setId(jobExecution.getId());
+            statusVO.setJobId(jobExecution.getJobId());
+            statusVO.setStatus(jobExecution.getStatus());
+            statusVO.setCheckState(checkStateMap.getOrDefault(id, JobCheckState.NONE));
+            statusVO.setFinished(jobExecution.getStatus() != null && jobExecution.getStatus().typeIsFinished());
+            statusVO.setStartTime(jobExecution.getStartTime());
+            statusVO.setEndTime(jobExecution.getEndTime());
+            result.add(statusVO);
+        }
+
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<List<JobExecutionCheckStatusVO>> waitUntilFinished(List<Long> jobExecutionIds, Long timeout) {
+        List<Long> ids = distinctJobExecutionIds(jobExecutionIds);
+        long timeoutSeconds = (timeout == null || timeout <= 0) ? MAX_WAIT_TIMEOUT : Math.min(timeout, MAX_WAIT_TIMEOUT);
+
+        List<Long> unfinishedIds = listStatusByIds(ids).stream()
+                .filter(jobExecution -> jobExecution.getStatus() == null || !jobExecution.getStatus().typeIsFinished())
+                .map(JobExecution::getId)
+                .collect(Collectors.toList());
+        if (unfinishedIds.isEmpty()) {
+            return CompletableFuture.completedFuture(listCheckStatus(ids));
+        }
+
+        // the request thread is released, the waiter is completed by the published statuses or the timeout
+        JobExecutionStreamHub streamHub = JobExecutionStreamHub.getInstance();
+        CompletableFuture<Void> future = streamHub.awaitFinished(unfinishedIds);
+        ScheduledFuture<?> timeoutFuture = waitExecutor.schedule(() -> {
+            if (future.complete(null)) {
+                log.info("wait job executions {} finished timeout after {}s", unfinishedIds, timeoutSeconds);
+            }
+        }, timeoutSeconds, TimeUnit.SECONDS);
+        future.whenComplete((result, e) -> timeoutFuture.cancel(false));
+
+        // the executions may be finished before the waiter is registered, read them again to resolve the waiter
+        listStatusByIds(unfinishedIds).forEach(streamHub::publish);
+
+        // the status is read by the wait executor, not by the thread which publishes the last status
+        return future.thenApplyAsync(result -> listCheckStatus(ids), waitExecutor);
+    }
+
+    private List<Long> distinctJobExecutionIds(List<Long> jobExecutionIds) {
+        if (CollectionUtils.isEmpty(jobExecutionIds)) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = jobExecutionIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (ids.size() > MAX_BATCH_STATUS_SIZE) {
+            throw new DataVinesServerException(Status.BATCH_SIZE_EXCEED_LIMIT_ERROR, ids.size(), MAX_BATCH_STATUS_SIZE);
+        }
+        return ids;
+    }
+
+    private List<JobExecution> listStatusByIds(List<Long> ids) {
+        if (CollectionUtils.isEmpty(ids)) {
+            return new ArrayList<>();
+        }
+
+        return baseMapper.selectList(new QueryWrapper<JobExecution>().lambda()
+                .select(JobExecution::getId, JobExecution::getJobId, JobExecution::getDataSourceId, JobExecution::getStatus,
+                        JobExecution::getStartTime, JobExecution::getEndTime, JobExecution::getUpdateTime)
+                .in(JobExecution::getId, ids));
+    }
 }
@@ -16,26 +16,28 @@
  */
 package io.datavines.server.repository.service.impl;
 
-import io.datavines.common.config.DataVinesJobConfig;
-import io.datavines.common.entity.JobExecutionInfo;
-import io.datavines.common.entity.JobExecutionParameter;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import io.datavines.common.entity.JobExecutionRequest;
 import io.datavines.common.enums.ExecutionStatus;
+import io.datavines.common.enums.JobType;
 import io.datavines.common.utils.JSONUtils;
-import io.datavines.engine.config.DataVinesConfigurationManager;
 import io.datavines.common.exception.DataVinesException;
+import io.datavines.server.dqc.coordinator.cache.JobExecutionPlanCache;
 import io.datavines.server.repository.entity.Command;
 import io.datavines.server.repository.entity.Job;
 import io.datavines.server.repository.entity.JobExecution;
 import io.datavines.server.repository.entity.JobExecutionResult;
 import io.datavines.server.repository.entity.CommonTaskCommand;
 import io.datavines.server.repository.entity.CommonTask;
+import io.datavines.server.repository.entity.catalog.CatalogEntityMetricJobRel;
 import io.datavines.server.repository.service.*;
 import io.datavines.server.utils.DefaultDataSourceInfoUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -73,6 +75,15 @@ public class JobExternalService {
     @Autowired
     private ConfigService configService;
 
+    @Autowired
+    private JobPartitionWatermarkService jobPartitionWatermarkService;
+
+    @Autowired
+    private CatalogEntityMetricJobRelService catalogEntityMetricJobRelService;
+
+    @Autowired
+    private CatalogEntityProfileService catalogEntityProfileService;
+
     public Job getJobById(Long id) {
         return jobService.getById(id);
     }
@@ -142,11 +153,6 @@ public class JobExternalService {
         JobExecutionRequest jobExecutionRequest = new JobExecutionRequest();
         jobExecutionRequest.setJobExecutionId(jobExecution.getId());
         jobExecutionRequest.setJobExecutionName(jobExecution.getName());
-        JobExecutionParameter jobExecutionParameter = JSONUtils.parseObject(jobExecution.getParameter(),JobExecutionParameter.class);
-        if (jobExecutionParameter == null) {
-            throw new DataVinesException("JobExecutionParameter can not be null");
-        }
-
         jobExecutionRequest.setExecutePlatformType(jobExecution.getExecutePlatformType());
         //读取配置文件获取环境信息
         jobExecutionRequest.setExecutePlatformParameter(jobExecution.getExecutePlatformParameter());
@@ -154,15 +160,9 @@ public class JobExternalService {
         jobExecutionRequest.setEngineParameter(jobExecution.getEngineParameter());
         Map<String,String> inputParameter = new HashMap<>();
         Map<String, Object> defaultDataSourceMap = DefaultDataSourceInfoUtils.getDefaultDataSourceConfigMap();
-        JobExecutionInfo jobExecutionInfo = new JobExecutionInfo(
-                jobExecution.getId(), jobExecution.getName(),
-                jobExecution.getEngineType(), jobExecution.getEngineParameter(),
-                jobExecution.getErrorDataStorageType(), jobExecution.getErrorDataStorageParameter(), jobExecution.getErrorDataFileName(),
-                String.valueOf(defaultDataSourceMap.get(SRC_CONNECTOR_TYPE)), JSONUtils.toJsonString(defaultDataSourceMap),
-                jobExecutionParameter);
-        DataVinesJobConfig qualityConfig =
-                DataVinesConfigurationManager.generateConfiguration(jobExecution.getJobType(), inputParameter, jobExecutionInfo);
-        jobExecutionRequest.setApplicationParameter(JSONUtils.toJsonString(qualityConfig));
+        String applicationParameter = JobExecutionPlanCache.getInstance().getApplicationParameter(jobExecution, inputParameter,
+                String.valueOf(defaultDataSourceMap.get(SRC_CONNECTOR_TYPE)), JSONUtils.toJsonString(defaultDataSourceMap));
+        jobExecutionRequest.setApplicationParameter(applicationParameter);
         jobExecutionRequest.setTenantCode(jobExecution.getTenantCode());
         jobExecutionRequest.setRetryTimes(jobExecution.getRetryTimes());
         jobExecutionRequest.setRetryInterval(jobExecution.getRetryInterval());
@@ -192,10 +192,82 @@ public class JobExternalService {
         return actualValuesService.deleteByJobExecutionId(jobExecutionId);
     }
 
+    public void refreshActualValuesDailyRollup(long jobExecutionId) {
+        actualValuesService.refreshDailyRollup(jobExecutionId);
+    }
+
+    /**
+     * move the execution to its current status in the daily stat, only the counts of the two statuses are updated
+     * @param jobExecution job execution
+     * @param previousStatus the status of the execution before the update
+     */
+    public void refreshJobExecutionDailyStat(JobExecution jobExecution, ExecutionStatus previousStatus) {
+        if (jobExecution.getStatus() == null) {
+            return;
+        }
+
+        try {
+            jobExecutionService.moveDailyStat(jobExecution.getId(),
+                    previousStatus == null ? null : previousStatus.getCode(), jobExecution.getStatus().getCode());
+        } catch (Exception e) {
+            log.warn("refresh job execution daily stat error, it will be fixed by the compaction", e);
+        }
+    }
+
+    public void refreshJobExecutionDailyStat(Long workspaceId, LocalDate statDate) {
+        jobExecutionService.refreshDailyStat(workspaceId, statDate);
+    }
+
+    /**
+     * store the profile of the table as one snapshot when its data profile job is finished
+     */
+    public void refreshProfileSnapshot(JobExecution jobExecution) {
+        if (jobExecution.getJobType() != JobType.DATA_PROFILE || jobExecution.getJobId() == null) {
+            return;
+        }
+
+        String tableUuid = null;
+        try {
+            CatalogEntityMetricJobRel rel = catalogEntityMetricJobRelService.getOne(new QueryWrapper<CatalogEntityMetricJobRel>().lambda()
+                    .eq(CatalogEntityMetricJobRel::getMetricJobId, jobExecution.getJobId())
+                    .eq(CatalogEntityMetricJobRel::getMetricJobType, JobType.DATA_PROFILE.getDescription())
+                    .last("limit 1"));
+            if (rel != null) {
+                tableUuid = rel.getEntityUuid();
+                catalogEntityProfileService.refreshSnapshot(tableUuid, jobExecution.getId());
+            }
+        } catch (Exception e) {
+            log.warn("refresh profile snapshot of job execution {} error, the latest snapshot is marked stale", jobExecution.getId(), e);
+            if (tableUuid != null) {
+                try {
+                    catalogEntityProfileService.markSnapshotStale(tableUuid);
+                } catch (Exception markException) {
+                    log.warn("mark profile snapshot of {} stale error", tableUuid, markException);
+                }
+            }
+        }
+    }
+
+    public int scaleActualValuesBySampleFraction(long jobExecutionId, String metricName, BigDecimal sampleFraction) {
+        return actualValuesService.scaleBySampleFraction(jobExecutionId, metricName, sampleFraction);
+    }
+
+    public void applyIncrementalPartitions(JobExecution jobExecution) {
+        jobExecution.setParameter(jobPartitionWatermarkService.applyIncrementalPartitions(jobExecution));
+    }
+
+    public void commitPartitionWatermark(JobExecution jobExecution) {
+        jobPartitionWatermarkService.commit(jobExecution);
+    }
+
     public int updateJobExecutionResult(JobExecutionResult jobExecutionResult) {
         return jobExecutionResultService.update(jobExecutionResult);
     }
 
+    public boolean updateJobExecutionResultBatch(List<JobExecutionResult> jobExecutionResultList) {
+        return jobExecutionResultService.updateBatch(jobExecutionResultList);
+    }
+
     public List<JobExecution> getJobExecutionListNeedFailover(String host){
         return jobExecutionService.listNeedFailover(host);
     }
@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import io.datavines.common.datasource.jdbc.entity.PartitionInfo;
+import io.datavines.common.entity.JobExecutionParameter;
+import io.datavines.common.entity.PartitionFingerprint;
+import io.datavines.common.entity.job.BaseJobParameter;
+import io.datavines.common.utils.CommonPropertyUtils;
+import io.datavines.common.utils.JSONUtils;
+import io.datavines.common.utils.StringUtils;
+import io.datavines.engine.config.MetricParserUtils;
+import io.datavines.metric.api.MetricRollupType;
+import io.datavines.metric.api.SqlMetric;
+import io.datavines.server.repository.entity.ActualValues;
+import io.datavines.server.repository.entity.JobExecution;
+import io.datavines.server.repository.entity.JobPartitionWatermark;
+import io.datavines.server.repository.mapper.JobPartitionWatermarkMapper;
+import io.datavines.server.repository.service.DataSourceService;
+import io.datavines.server.repository.service.JobPartitionWatermarkService;
+import io.datavines.spi.PluginLoader;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.MapUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static io.datavines.common.ConfigConstants.*;
+
+@Slf4j
+@Service("jobPartitionWatermarkService")
+public class JobPartitionWatermarkServiceImpl extends ServiceImpl<JobPartitionWatermarkMapper, JobPartitionWatermark> implements JobPartitionWatermarkService {
+
+    @Autowired
+    private DataSourceService dataSourceService;
+
+    @Override
+    public String applyIncrementalPartitions(JobExecution jobExecution) {
+        String executionParameter = jobExecution.getParameter();
+        JobExecutionParameter jobExecutionParameter = JSONUtils.parseObject(executionParameter, JobExecutionParameter.class);
+        if (jobExecution.getJobId() == null || jobExecutionParameter == null
+                || CollectionUtils.isEmpty(jobExecutionParameter.getMetricParameterList())
+                || CollectionUtils.isNotEmpty(jobExecutionParameter.getPartitionFingerprints())) {
+            return executionParameter;
+        }
+
+        // the incremental metrics are grouped by their table, each table has its own partitions and watermarks
+        Map<List<String>, List<Map<String,Object>>> tableMetricParameters = new LinkedHashMap<>();
+        jobExecutionParameter.getMetricParameterList().stream()
+                .map(BaseJobParameter::getMetricParameter)
+                .filter(JobPartitionWatermarkServiceImpl::isIncremental)
+                .forEach(metricParameter -> tableMetricParameters
+                        .computeIfAbsent(getTableKey(metricParameter), key -> new ArrayList<>()).add(metricParameter));
+        if (tableMetricParameters.isEmpty()) {
+            return executionParameter;
+        }
+
+        Map<List<String>, List<JobPartitionWatermark>> tableWatermarks = listByJobId(jobExecution.getJobId()).stream()
+                .collect(Collectors.groupingBy(watermark -> Arrays.asList(watermark.getDatabaseName(), watermark.getTableName())));
+        int maxSize = CommonPropertyUtils.getInt(CommonPropertyUtils.JOB_PARTITION_INCREMENTAL_MAX_SIZE,
+                CommonPropertyUtils.JOB_PARTITION_INCREMENTAL_MAX_SIZE_DEFAULT);
+
+        List<PartitionFingerprint> partitionFingerprints = new ArrayList<>();
+        tableMetricParameters.forEach((tableKey, metricParameters) -> {
+            String database = tableKey.get(0);
+            String table = tableKey.get(1);
+            List<PartitionInfo> partitions = getPartitions(jobExecution, database, table);
+            if (partitions == null) {
+                return;
+            }
+
+            List<PartitionInfo> checkPartitions = getCheckPartitions(
+                    tableWatermarks.getOrDefault(tableKey, Collections.emptyList()), partitions, maxSize);
+            // the partition filter is not merged into the metric filter here, the unique code of the metric is generated
+            // with the metric filter and has to be the same for all the executions
+            String partitionFilter = getPartitionFilter(checkPartitions);
+            metricParameters.forEach(metricParameter -> metricParameter.put(PARTITION_FILTER, partitionFilter));
+            checkPartitions.forEach(partition -> partitionFingerprints.add(
+                    new PartitionFingerprint(database, table, partition.getName(), partition.getFingerprint())));
+        });
+
+        if (partitionFingerprints.isEmpty()) {
+            return executionParameter;
+        }
+
+        jobExecutionParameter.setPartitionFingerprints(partitionFingerprints);
+        return JSONUtils.toJsonString(jobExecutionParameter);
+    }
+
+    /**
+     * get the partitions of the table, null means that the table can not be checked incrementally
+     */
+    private List<PartitionInfo> getPartitions(JobExecution jobExecution, String database, String table) {
+        List<PartitionInfo> partitions;
+        try {
+            partitions = dataSourceService.getPartitionList(jobExecution.getDataSourceId(), database, table);
+        } catch (Exception e) {
+            log.warn("get partitions of {}.{} error, job {} will check the whole table", database, table, jobExecution.getJobId(), e);
+            return null;
+        }
+
+        if (CollectionUtils.isEmpty(partitions) || partitions.stream().anyMatch(partition -> StringUtils.isEmpty(partition.getFilter()))) {
+            log.info("{}.{} has no partition which can be checked incrementally, job {} will check the whole table",
+                    database, table, jobExecution.getJobId());
+            return null;
+        }
+
+        return partitions;
+    }
+
+    private static boolean isIncremental(Map<String,Object> metricParameter) {
+        return MapUtils.isNotEmpty(metricParameter) && Boolean.parseBoolean(String.valueOf(metricParameter.get(PARTITION_INCREMENTAL)));
+    }
+
+    private static List<String> getTableKey(Map<String,Object> metricParameter) {
+        return Arrays.asList((String) metricParameter.get(DATABASE), (String) metricParameter.get(TABLE));
+    }
+
+    static String getPartitionFilter(List<PartitionInfo> partitions) {
+        return "(" + partitions.stream().map(PartitionInfo::getFilter).collect(Collectors.joining(" or ")) + ")";
+    }
+
+    static List<PartitionInfo> getCheckPartitions(List<JobPartitionWatermark> watermarks, List<PartitionInfo> partitions, int maxSize) {
+        Map<String, JobPartitionWatermark> watermarkMap = watermarks.stream()
+                .collect(Collectors.toMap(JobPartitionWatermark::getPartitionName, watermark -> watermark, (a, b) -> b));
+
+        List<PartitionInfo> changedPartitions = partitions.stream()
+                .filter(partition -> {
+                    JobPartitionWatermark watermark = watermarkMap.get(partition.getName());
+                    return watermark == null || !Objects.equals(watermark.getPartitionFingerprint(), partition.getFingerprint());
+                })
+                .limit(maxSize)
+                .collect(Collectors.toList());
+
+        // nothing is changed, check the latest partition again
+        if (changedPartitions.isEmpty()) {
+            changedPartitions.add(partitions.get(partitions.size() - 1));
+        }
+
+        // the partitions checked together with a changed partition are checked again,
+        // so every execution in the watermark owns all the partitions it checked and the roll up will not count twice
+        Set<Long> ownerExecutionIds = changedPartitions.stream()
+                .map(partition -> watermarkMap.get(partition.getName()))
+                .filter(Objects::nonNull)
+                .map(JobPartitionWatermark::getJobExecutionId)
+                .collect(Collectors.toSet());
+
+        Set<String> changedPartitionNames = changedPartitions.stream().map(PartitionInfo::getName).collect(Collectors.toSet());
+        return partitions.stream()
+                .filter(partition -> {
+                    if (changedPartitionNames.contains(partition.getName())) {
+                        return true;
+                    }
+                    JobPartitionWatermark watermark = watermarkMap.get(partition.getName());
+                    return watermark != null && ownerExecutionIds.contains(watermark.getJobExecutionId());
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void commit(JobExecution jobExecution) {
+        if (jobExecution.getJobId() == null) {
+            return;
+        }
+
+        JobExecutionParameter jobExecutionParameter = JSONUtils.parseObject(jobExecution.getParameter(), JobExecutionParameter.class);
+        if (jobExecutionParameter == null || CollectionUtils.isEmpty(jobExecutionParameter.getPartitionFingerprints())) {
+            return;
+        }
+
+        Map<List<String>, JobPartitionWatermark> watermarkMap = listByJobId(jobExecution.getJobId()).stream()
+                .collect(Collectors.toMap(watermark -> Arrays.asList(watermark.getDatabaseName(), watermark.getTableName(),
+                        watermark.getPartitionName()), watermark -> watermark, (a, b) -> b));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<JobPartitionWatermark> watermarkList = new ArrayList<>();
+        for (PartitionFingerprint partitionFingerprint : jobExecutionParameter.getPartitionFingerprints()) {
+            JobPartitionWatermark watermark = watermarkMap.get(Arrays.asList(partitionFingerprint.getDatabase(),
+                    partitionFingerprint.getTable(), partitionFingerprint.getPartitionName()));
+            if (watermark == null) {
+                watermark = new JobPartitionWatermark();
+                watermark.setJobId(jobExecution.getJobId());
+                watermark.setDatabaseName(partitionFingerprint.getDatabase());
+                watermark.setTableName(partitionFingerprint.getTable());
+                watermark.setPartitionName(partitionFingerprint.getPartitionName());
+                watermark.setCreateTime(now);
+            }
+            watermark.setPartitionFingerprint(partitionFingerprint.getFingerprint());
+            watermark.setJobExecutionId(jobExecution.getId());
+            watermark.setUpdateTime(now);
+            watermarkList.add(watermark);
+        }
+
+        saveOrUpdateBatch(watermarkList);
+    }
+
+    @Override
+    public List<JobPartitionWatermark> listByJobId(long jobId) {
+        return list(new QueryWrapper<JobPartitionWatermark>().lambda().eq(JobPartitionWatermark::getJobId, jobId));
+    }
+
+    @Override
+    public List<ActualValues> listRollupActualValues(long jobId) {
+        List<JobPartitionWatermark> watermarks = listByJobId(jobId);
+        if (CollectionUtils.isEmpty(watermarks)) {
+            return new ArrayList<>();
+        }
+
+        Map<List<String>, Set<Long>> tableOwnerExecutionIds = getTableOwnerExecutionIds(watermarks);
+        Set<Long> ownerExecutionIds = tableOwnerExecutionIds.values().stream().flatMap(Set::stream).collect(Collectors.toSet());
+        List<String> metricUniqueKeys = getIncrementalMetricUniqueKeys(
+                baseMapper.listJobExecutionParameters(ownerExecutionIds), tableOwnerExecutionIds);
+        if (metricUniqueKeys.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return rollup(baseMapper.listActualValuesByMetricUniqueKeys(ownerExecutionIds, metricUniqueKeys),
+                metricName -> PluginLoader.getPluginLoader(SqlMetric.class).getOrCreatePlugin(metricName).getRollupType());
+    }
+
+    static Map<List<String>, Set<Long>> getTableOwnerExecutionIds(List<JobPartitionWatermark> watermarks) {
+        return watermarks.stream().collect(Collectors.groupingBy(
+                watermark -> Arrays.asList(watermark.getDatabaseName(), watermark.getTableName()),
+                LinkedHashMap::new,
+                Collectors.mapping(JobPartitionWatermark::getJobExecutionId, Collectors.toSet())));
+    }
+
+    /**
+     * get the metric unique keys of the incremental metrics of the owner executions, a metric is only taken
+     * from the executions owning the partitions of its table, so the other metrics and the metrics whose
+     * partitions are checked again by a later execution are not counted
+     * @param ownerExecutions owner executions with their parameter
+     * @param tableOwnerExecutionIds database and table to the executions owning their partitions
+     * @return metric unique keys
+     */
+    static List<String> getIncrementalMetricUniqueKeys(List<JobExecution> ownerExecutions,
+                                                       Map<List<String>, Set<Long>> tableOwnerExecutionIds) {
+        List<String> metricUniqueKeys = new ArrayList<>();
+        for (JobExecution ownerExecution : ownerExecutions) {
+            JobExecutionParameter jobExecutionParameter = JSONUtils.parseObject(ownerExecution.getParameter(), JobExecutionParameter.class);
+            if (jobExecutionParameter == null || CollectionUtils.isEmpty(jobExecutionParameter.getMetricParameterList())) {
+                continue;
+            }
+
+            for (BaseJobParameter parameter : jobExecutionParameter.getMetricParameterList()) {
+                if (!isIncremental(parameter.getMetricParameter())) {
+                    continue;
+                }
+
+                Set<Long> owners = tableOwnerExecutionIds.get(getTableKey(parameter.getMetricParameter()));
+                if (owners != null && owners.contains(ownerExecution.getId())) {
+                    metricUniqueKeys.add(MetricParserUtils.generateMetricUniqueKey(parameter, ownerExecution.getId()));
+                }
+            }
+        }
+        return metricUniqueKeys;
+    }
+
+    /**
+     * roll up the actual values of the executions owning the partitions by the unique code of the metric,
+     * the metrics whose actual values can not be rolled up are skipped
+     * @param actualValuesList actual values of the owner executions
+     * @param rollupTypeFunction metric name to rollup type
+     * @return actual values of the whole table
+     */
+    static List<ActualValues> rollup(List<ActualValues> actualValuesList, Function<String, MetricRollupType> rollupTypeFunction) {
+        Map<String, MetricRollupType> rollupTypeMap = new HashMap<>();
+        Map<String, ActualValues> rollupMap = new LinkedHashMap<>();
+        for (ActualValues actualValues : actualValuesList) {
+            if (actualValues.getActualValue() == null) {
+                continue;
+            }
+
+            MetricRollupType rollupType = rollupTypeMap.computeIfAbsent(actualValues.getMetricName(), rollupTypeFunction);
+            if (rollupType == null || rollupType == MetricRollupType.NONE) {
+                continue;
+            }
+
+            ActualValues rollupValues = rollupMap.get(actualValues.getUniqueCode());
+            if (rollupValues == null) {
+                rollupValues = new ActualValues();
+                rollupValues.setMetricName(actualValues.getMetricName());
+                rollupValues.setUniqueCode(actualValues.getUniqueCode());
+                rollupValues.setActualValue(actualValues.getActualValue());
+                rollupMap.put(actualValues.getUniqueCode(), rollupValues);
+                continue;
+            }
+
+            BigDecimal value = rollupValues.getActualValue();
+            switch (rollupType) {
+                case SUM:
+                    value = value.add(actualValues.getActualValue());
+                    break;
+                case MAX:
+                    value = value.max(actualValues.getActualValue());
+                    break;
+                case MIN:
+                    value = value.min(actualValues.getActualValue());
+                    break;
+                default:
+                    break;
+            }
+            rollupValues.setActualValue(value);
+        }
+
+        return new ArrayList<>(rollupMap.values());
+    }
+
+    @Override
+    public int deleteByJobId(long jobId) {
+        return baseMapper.delete(new QueryWrapper<JobPartitionWatermark>().lambda().eq(JobPartitionWatermark::getJobId, jobId));
+    }
+}
@@ -48,13 +48,17 @@ import io.datavines.metric.api.SqlMetric;
 import io.datavines.server.api.dto.bo.job.DataProfileJobCreateOrUpdate;
 import io.datavines.server.api.dto.bo.job.JobCreate;
 import io.datavines.server.api.dto.bo.job.JobUpdate;
+import io.datavines.server.api.dto.vo.CursorPage;
 import io.datavines.server.api.dto.vo.JobExecutionStat;
+import io.datavines.server.api.dto.vo.JobExecutionSubmitVO;
 import io.datavines.server.api.dto.vo.JobVO;
 import io.datavines.server.api.dto.vo.SlaConfigVO;
 import io.datavines.server.api.dto.vo.SlaVO;
 import io.datavines.server.dqc.coordinator.builder.JobExecutionParameterBuilderFactory;
+import io.datavines.server.dqc.coordinator.cache.JobExecutionPlanCache;
 import io.datavines.server.enums.CommandType;
 import io.datavines.server.enums.Priority;
+import io.datavines.server.repository.cache.PageTotalCache;
 import io.datavines.server.repository.entity.*;
 import io.datavines.server.repository.entity.catalog.CatalogEntityInstance;
 import io.datavines.server.repository.entity.catalog.CatalogEntityMetricJobRel;
@@ -63,6 +67,7 @@ import io.datavines.server.repository.service.*;
 import io.datavines.server.utils.ContextHolder;
 import io.datavines.server.utils.DefaultDataSourceInfoUtils;
 import io.datavines.server.utils.JobParameterUtils;
+import io.datavines.server.utils.PageCursor;
 import io.datavines.spi.PluginLoader;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.digest.DigestUtils;
@@ -72,12 +77,15 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 import static io.datavines.common.CommonConstants.LOCAL;
 import static io.datavines.common.CommonConstants.TABLE;
@@ -89,6 +97,10 @@ import static io.datavines.server.utils.DefaultDataSourceInfoUtils.getDefaultCon
 @Service("jobService")
 public class JobServiceImpl extends ServiceImpl<JobMapper, Job> implements JobService {
 
+    private static final int MAX_BATCH_EXECUTE_SIZE = 1000;
+
+    private static final String JOB_PAGE = "job";
+
     @Autowired
     private JobExecutionService jobExecutionService;
 
@@ -125,6 +137,12 @@ public class JobServiceImpl extends ServiceImpl<JobMapper, Job> implements JobSe
     @Autowired
     private JobScheduleService jobScheduleService;
 
+    @Autowired
+    private JobPartitionWatermarkService jobPartitionWatermarkService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public long create(JobCreate jobCreate) throws DataVinesServerException {
@@ -134,6 +152,8 @@ public class JobServiceImpl extends ServiceImpl<JobMapper, Job> implements JobSe
             throw new DataVinesServerException(Status.JOB_PARAMETER_IS_NULL_ERROR);
         }
 
+        checkSampleFraction(jobCreate.getSampleFraction());
+
         if (jobCreate.getIsErrorDataOutputToDataSource()!= null && jobCreate.getIsErrorDataOutputToDataSource()) {
             DataSource dataSource = dataSourceService.getDataSourceById(jobCreate.getDataSourceId());
             if (dataSource != null) {
@@ -206,6 +226,7 @@ public class JobServiceImpl extends ServiceImpl<JobMapper, Job> implements JobSe
             throw new DataVinesServerException(Status.JOB_NOT_EXIST_ERROR, jobUpdate.getId());
         }
         String originJobName = job.getName();
+        checkSampleFraction(jobUpdate.getSampleFraction());
         if (jobUpdate.getIsErrorDataOutputToDataSource()!= null && jobUpdate.getIsErrorDataOutputToDataSource()) {
             DataSource dataSource = dataSourceService.getDataSourceById(job.getDataSourceId());
             if (dataSource != null) {
@@ -239,6 +260,9 @@ public class JobServiceImpl extends ServiceImpl<JobMapper, Job> implements JobSe
             throw new DataVinesServerException(Status.UPDATE_JOB_ERROR, job.getName());
         } else {
             saveOrUpdateMetricJobEntityRel(job, fqnList);
+            JobExecutionPlanCache.getInstance().invalidate(job.getId());
+            // the partitions checked by the old rules should be checked again
+            jobPartitionWatermarkService.deleteByJobId(job.getId());
         }
 
         if (jobUpdate.getRunningNow() == 1) {
@@ -288,6 +312,8 @@ public class JobServiceImpl extends ServiceImpl<JobMapper, Job> implements JobSe
             throw new DataVinesServerException(Status.JOB_PARAMETER_IS_NULL_ERROR);
         }
 
+        checkSampleFraction(dataProfileJobCreateOrUpdate.getSampleFraction());
+
         Job job = new Job();
         BeanUtils.copyProperties(dataProfileJobCreateOrUpdate, job);
         job.setName(String.format("%s(%s.%s)", JobType.DATA_PROFILE.getDescription(), job.getSchemaName(), job.getTableName()));
@@ -307,6 +333,7 @@ public class JobServiceImpl extends ServiceImpl<JobMapper, Job> implements JobSe
                 log.info("update data profile job fail : {}", dataProfileJobCreateOrUpdate);
                 throw new DataVinesServerException(Status.UPDATE_JOB_ERROR, job.getName());
             }
+            JobExecutionPlanCache.getInstance().invalidate(job.getId());
         } else {
             job.setType(JobType.of(dataProfileJobCreateOrUpdate.getType()));
             job.setCreateBy(ContextHolder.getUserId());
@@ -447,6 +474,8 @@ public class JobServiceImpl extends ServiceImpl<JobMapper, Job> implements JobSe
             jobScheduleService.deleteBySchedule(jobSchedule);
         }
         slaJobService.deleteByJobId(id);
+        jobPartitionWatermarkService.deleteByJobId(id);
+        JobExecutionPlanCache.getInstance().invalidate(id);
 
         if (baseMapper.deleteById(id) > 0) {
             return 1;
@@ -478,9 +507,22 @@ public class JobServiceImpl extends ServiceImpl<JobMapper, Job> implements JobSe
                                    String columnSearch,
                                    String startTime,
                                    String endTime,
-                                   Long dataSourceId, Integer type, Integer pageNumber, Integer pageSize) {
-        Page<JobVO> page = new Page<>(pageNumber, pageSize);
-        IPage<JobVO> jobs = baseMapper.getJobPageSelect(page, searchVal, schemaSearch, tableSearch, columnSearch, startTime, endTime, dataSourceId, type);
+                                   Long dataSourceId, Integer type, Integer pageNumber, Integer pageSize, String cursor) {
+        IPage<JobVO> jobs;
+        if (cursor != null) {
+            // keyset pagination, read one more row to know whether there is a next page
+            PageCursor pageCursor = PageCursor.decode(cursor, JOB_PAGE);
+            List<JobVO> rows = baseMapper.getJobPageSelect(new Page<>(1, pageSize + 1, false), searchVal, schemaSearch, tableSearch, columnSearch,
+                    startTime, endTime, dataSourceId, type, true, pageCursor.getId()).getRecords();
+            long total = PageTotalCache.getInstance().get(JOB_PAGE,
+                    new Object[]{searchVal, schemaSearch, tableSearch, columnSearch, startTime, endTime, dataSourceId, type},
+                    () -> baseMapper.getJobPageSelect(new Page<>(1, 1), searchVal, schemaSearch, tableSearch, columnSearch,
+                            startTime, endTime, dataSourceId, type, false, null).getTotal());
+            jobs = CursorPage.of(rows, pageSize, total, row -> PageCursor.encode(JOB_PAGE, row.getId()));
+        } else {
+            Page<JobVO> page = new Page<>(pageNumber, pageSize);
+            jobs = baseMapper.getJobPageSelect(page, searchVal, schemaSearch, tableSearch, columnSearch, startTime, endTime, dataSourceId, type, false, null);
+        }
         List<JobVO> jobList = jobs.getRecords();
         if (CollectionUtils.isNotEmpty(jobList)) {
             for (JobVO jobVO: jobList) {
@@ -509,6 +551,46 @@ public class JobServiceImpl extends ServiceImpl<JobMapper, Job> implements JobSe
         return executeJob(job, scheduleTime);
     }
 
+    @Override
+    public List<JobExecutionSubmitVO> executeBatch(List<Long> jobIds, LocalDateTime scheduleTime) throws DataVinesServerException {
+        List<Long> distinctJobIds = jobIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (distinctJobIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        if (distinctJobIds.size() > MAX_BATCH_EXECUTE_SIZE) {
+            throw new DataVinesServerException(Status.BATCH_SIZE_EXCEED_LIMIT_ERROR, distinctJobIds.size(), MAX_BATCH_EXECUTE_SIZE);
+        }
+
+        Map<Long, Job> jobMap = new HashMap<>();
+        listByIds(distinctJobIds).forEach(job -> jobMap.put(job.getId(), job));
+        for (Long jobId : distinctJobIds) {
+            if (!jobMap.containsKey(jobId)) {
+                throw new DataVinesServerException(Status.JOB_NOT_EXIST_ERROR, jobId);
+            }
+        }
+
+        // the partitions of the incremental jobs are read from the source datasources, so the executions are built
+        // before the transaction, which only writes the executions and their commands
+        List<JobExecution> jobExecutionList = new ArrayList<>();
+        for (Long jobId : distinctJobIds) {
+            jobExecutionList.add(getJobExecution(jobMap.get(jobId), scheduleTime));
+        }
+
+        return transactionTemplate.execute(status -> {
+            jobExecutionService.saveBatch(jobExecutionList);
+
+            List<Command> commandList = new ArrayList<>();
+            List<JobExecutionSubmitVO> result = new ArrayList<>();
+            for (JobExecution jobExecution : jobExecutionList) {
+                commandList.add(buildStartCommand(jobExecution));
+                result.add(new JobExecutionSubmitVO(jobExecution.getJobId(), jobExecution.getId()));
+            }
+            commandService.saveBatch(commandList);
+            return result;
+        });
+    }
+
     @Override
     public String getJobExecutionConfig(Long jobId, LocalDateTime scheduleTime) throws DataVinesServerException {
         Job job = baseMapper.selectById(jobId);
@@ -536,6 +618,12 @@ public class JobServiceImpl extends ServiceImpl<JobMapper, Job> implements JobSe
 
         jobExecutionService.save(jobExecution);
 
+        commandService.insert(buildStartCommand(jobExecution));
+
+        return jobExecution.getId();
+    }
+
+    private Command buildStartCommand(JobExecution jobExecution) {
         Map<String, String> parameter = new HashMap<>();
         parameter.put("engine", jobExecution.getEngineType());
 
@@ -545,9 +633,7 @@ public class JobServiceImpl extends ServiceImpl<JobMapper, Job> implements JobSe
         command.setPriority(Priority.MEDIUM);
         command.setJobExecutionId(jobExecution.getId());
         command.setParameter(JSONUtils.toJsonString(parameter));
-        commandService.insert(command);
-
-        return jobExecution.getId();
+        return command;
     }
 
     private JobExecution getJobExecution(Job job, LocalDateTime scheduleTime) {
@@ -718,8 +804,21 @@ public class JobServiceImpl extends ServiceImpl<JobMapper, Job> implements JobSe
             targetConnectionInfo.setConfig(targetSourceConfigMap);
         }
 
-        return JobExecutionParameterBuilderFactory.builder(job.getType())
+        String executionParameter = JobExecutionParameterBuilderFactory.builder(job.getType())
                 .buildJobExecutionParameter(job.getParameter(), srcConnectionInfo, targetConnectionInfo);
+        if (job.getSampleFraction() == null || StringUtils.isEmpty(executionParameter)) {
+            return executionParameter;
+        }
+
+        JobExecutionParameter jobExecutionParameter = JSONUtils.parseObject(executionParameter, JobExecutionParameter.class);
+        jobExecutionParameter.setSampleFraction(job.getSampleFraction());
+        return JSONUtils.toJsonString(jobExecutionParameter);
+    }
+
+    private void checkSampleFraction(Double sampleFraction) {
+        if (sampleFraction != null && (sampleFraction.isNaN() || sampleFraction <= 0 || sampleFraction > 1)) {
+            throw new DataVinesServerException(Status.JOB_SAMPLE_FRACTION_INVALID_ERROR, sampleFraction);
+        }
     }
 
     public void checkDuplicateMetricInJob(List<BaseJobParameter> jobParameters) {
@@ -52,7 +52,7 @@ public class CommonTaskScheduler extends Thread {
         while (Stopper.isRunning()) {
             CommonTaskCommand command = null;
             try {
-                boolean runCheckFlag = OSUtils.checkResource(
+                boolean runCheckFlag = ResourceSampler.getInstance().checkResource(
                         CommonPropertyUtils.getDouble(MAX_CPU_LOAD_AVG, MAX_CPU_LOAD_AVG_DEFAULT),
                         CommonPropertyUtils.getDouble(RESERVED_MEMORY, RESERVED_MEMORY_DEFAULT));
 
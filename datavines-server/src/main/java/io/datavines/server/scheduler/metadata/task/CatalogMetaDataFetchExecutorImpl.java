@@ -33,6 +33,8 @@ import io.datavines.connector.api.ConnectorFactory;
 import io.datavines.core.enums.Status;
 import io.datavines.core.exception.DataVinesServerException;
 import io.datavines.server.enums.SchemaChangeType;
+import io.datavines.server.repository.cache.CatalogEntityGraph;
+import io.datavines.server.repository.cache.MetadataBrowseCache;
 import io.datavines.server.repository.entity.DataSource;
 import io.datavines.server.repository.entity.catalog.CatalogEntityInstance;
 import io.datavines.server.repository.entity.catalog.CatalogEntityRel;
@@ -45,6 +47,7 @@ import io.datavines.server.utils.SpringApplicationContext;
 import io.datavines.spi.PluginLoader;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 
 import java.sql.SQLException;
 import java.time.LocalDateTime;
@@ -58,6 +61,8 @@ import static io.datavines.core.enums.Status.CATALOG_FETCH_DATASOURCE_NULL_ERROR
 @Slf4j
 public class CatalogMetaDataFetchExecutorImpl implements CatalogMetaDataFetchExecutor {
 
+    private static final int ENTITY_QUERY_BATCH_SIZE = 1000;
+
     private final CommonTaskRequest request;
 
     private final ConnectorFactory connectorFactory;
@@ -90,17 +95,38 @@ public class CatalogMetaDataFetchExecutorImpl implements CatalogMetaDataFetchExe
 
     @Override
     public void execute() throws SQLException {
+        // the diff is made against the relations in the graph, reload it in case the other servers have synced the datasource
+        CatalogEntityGraph.getInstance().invalidate(dataSource.getId());
+        try {
+            switch (request.getFetchType()) {
+                case DATASOURCE:
+                    executeFetchDataSource();
+                    break;
+                case DATABASE:
+                    executeFetchDatabase(request.getDatabase());
+                    break;
+                case TABLE:
+                    executeFetchTable(request.getDatabase(), request.getTable());
+                    break;
+                default:
+                    break;
+            }
+        } finally {
+            // the browsing cache is loaded from the catalog entities, drop what this fetch may have changed
+            invalidateMetadataCache();
+        }
+    }
+
+    private void invalidateMetadataCache() {
         switch (request.getFetchType()) {
-            case DATASOURCE:
-                executeFetchDataSource();
-                break;
             case DATABASE:
-                executeFetchDatabase(request.getDatabase());
+                MetadataBrowseCache.getInstance().invalidate(dataSource.getId(), request.getDatabase());
                 break;
             case TABLE:
-                executeFetchTable(request.getDatabase(), request.getTable());
+                MetadataBrowseCache.getInstance().invalidate(dataSource.getId(), request.getDatabase(), request.getTable());
                 break;
             default:
+                MetadataBrowseCache.getInstance().invalidate(dataSource.getId());
                 break;
         }
     }
@@ -138,9 +164,7 @@ public class CatalogMetaDataFetchExecutorImpl implements CatalogMetaDataFetchExe
         //获取数据库中的表列表
         List<String> databaseListFromDb = new ArrayList<>();
         Map<String, CatalogEntityInstance> databaseListFromDbMap = new HashMap<>();
-        List<CatalogEntityRel> databaseEntityRelList =
-                relService.list(new QueryWrapper<CatalogEntityRel>().lambda().eq(CatalogEntityRel::getEntity1Uuid, dataSource.getUuid()));
-        getEntityListFromDb(databaseListFromDb, databaseListFromDbMap, databaseEntityRelList);
+        getEntityListFromDb(databaseListFromDb, databaseListFromDbMap, relService.listChildUuids(datasourceId, dataSource.getUuid()));
 
         List<CatalogEntityInstance> databaseList = new ArrayList<>();
         boolean isFirstFetch = false;
@@ -220,7 +244,7 @@ public class CatalogMetaDataFetchExecutorImpl implements CatalogMetaDataFetchExe
                 dataSource2databaseRel.setType(EntityRelType.CHILD.getDescription());
                 dataSource2databaseRel.setUpdateTime(LocalDateTime.now());
                 dataSource2databaseRel.setUpdateBy(0L);
-                relService.save(dataSource2databaseRel);
+                relService.saveRel(dataSource.getId(), dataSource2databaseRel);
             }
         }
 
@@ -233,18 +257,20 @@ public class CatalogMetaDataFetchExecutorImpl implements CatalogMetaDataFetchExe
         });
     }
 
-    private void getEntityListFromDb(List<String> entityListFromDb, Map<String, CatalogEntityInstance> entityListFromDbMap, List<CatalogEntityRel> databaseEntityRelList) {
-        if (CollectionUtils.isNotEmpty(databaseEntityRelList)) {
-            databaseEntityRelList.forEach(item -> {
-                CatalogEntityInstance entityInstance = instanceService.getOne(
-                        new QueryWrapper<CatalogEntityInstance>().lambda()
-                                .eq(CatalogEntityInstance::getUuid, item.getEntity2Uuid())
-                                .eq(CatalogEntityInstance::getStatus,CommonConstants.CATALOG_ENTITY_INSTANCE_STATUS_ACTIVE));
-
-                if (entityInstance != null) {
-                    entityListFromDb.add(dataSource.getId()+"@@"+entityInstance.getFullyQualifiedName());
-                    entityListFromDbMap.put(dataSource.getId()+"@@"+entityInstance.getFullyQualifiedName(), entityInstance);
-                }
+    private void getEntityListFromDb(List<String> entityListFromDb, Map<String, CatalogEntityInstance> entityListFromDbMap, List<String> entityUuidList) {
+        if (CollectionUtils.isEmpty(entityUuidList)) {
+            return;
+        }
+
+        for (List<String> uuidList : ListUtils.partition(entityUuidList, ENTITY_QUERY_BATCH_SIZE)) {
+            List<CatalogEntityInstance> entityInstanceList = instanceService.list(
+                    new QueryWrapper<CatalogEntityInstance>().lambda()
+                            .in(CatalogEntityInstance::getUuid, uuidList)
+                            .eq(CatalogEntityInstance::getStatus,CommonConstants.CATALOG_ENTITY_INSTANCE_STATUS_ACTIVE));
+
+            entityInstanceList.forEach(entityInstance -> {
+                entityListFromDb.add(dataSource.getId()+"@@"+entityInstance.getFullyQualifiedName());
+                entityListFromDbMap.put(dataSource.getId()+"@@"+entityInstance.getFullyQualifiedName(), entityInstance);
             });
         }
     }
@@ -282,6 +308,10 @@ public class CatalogMetaDataFetchExecutorImpl implements CatalogMetaDataFetchExe
             oldDatabaseInstance.setStatus(CommonConstants.CATALOG_ENTITY_INSTANCE_STATUS_ACTIVE);
             oldDatabaseInstance.setDatasourceId(datasourceId);
             instanceService.create(oldDatabaseInstance);
+        } else {
+            // the browsing cache reads the update time as the time of the last sync
+            oldDatabaseInstance.setUpdateTime(LocalDateTime.now());
+            instanceService.updateById(oldDatabaseInstance);
         }
 
         String databaseUUID = oldDatabaseInstance.getUuid();
@@ -312,10 +342,8 @@ public class CatalogMetaDataFetchExecutorImpl implements CatalogMetaDataFetchExe
 
         //获取数据库中的表列表
         List<String> tableListFromDb = new ArrayList<>();
-        List<CatalogEntityRel> tableEntityRelList =
-                relService.list(new QueryWrapper<CatalogEntityRel>().lambda().eq(CatalogEntityRel::getEntity1Uuid, databaseUUID));
         Map<String, CatalogEntityInstance> tableMapFromDb = new HashMap<>();
-        getEntityListFromDb(tableListFromDb, tableMapFromDb, tableEntityRelList);
+        getEntityListFromDb(tableListFromDb, tableMapFromDb, relService.listChildUuids(dataSource.getId(), databaseUUID));
 
         List<String> createTableEntityList = new ArrayList<>();
         List<String> maybeUpdateTableEntityList = new ArrayList<>();
@@ -386,6 +414,7 @@ public class CatalogMetaDataFetchExecutorImpl implements CatalogMetaDataFetchExe
                 }
 
                 tableEntityInstance.setProperties(JSONUtils.toJsonString(tableInfo));
+                tableEntityInstance.setUpdateTime(LocalDateTime.now());
                 instanceService.updateById(tableEntityInstance);
                 tableList.add(tableEntityInstance);
             });
@@ -435,7 +464,7 @@ public class CatalogMetaDataFetchExecutorImpl implements CatalogMetaDataFetchExe
                 entityRel.setType(EntityRelType.CHILD.getDescription());
                 entityRel.setUpdateTime(LocalDateTime.now());
                 entityRel.setUpdateBy(0L);
-                relService.save(entityRel);
+                relService.saveRel(dataSource.getId(), entityRel);
             }
         }
 
@@ -508,21 +537,8 @@ public class CatalogMetaDataFetchExecutorImpl implements CatalogMetaDataFetchExe
 
         List<String> columnListFromDb = new ArrayList<>();
         //获取数据库中的列列表
-        List<CatalogEntityRel> columnEntityRelList = relService
-                .list(new QueryWrapper<CatalogEntityRel>().lambda().eq(CatalogEntityRel::getEntity1Uuid, tableUUID));
-
         Map<String, CatalogEntityInstance> columnMapFromDb = new HashMap<>();
-        if (CollectionUtils.isNotEmpty(columnEntityRelList)) {
-            columnEntityRelList.forEach(item -> {
-                CatalogEntityInstance entityInstance = instanceService
-                        .getOne(new QueryWrapper<CatalogEntityInstance>().lambda().eq(CatalogEntityInstance::getUuid, item.getEntity2Uuid()).eq(CatalogEntityInstance::getStatus,CommonConstants.CATALOG_ENTITY_INSTANCE_STATUS_ACTIVE));
-
-                if (entityInstance != null) {
-                    columnListFromDb.add(datasourceId + "@@" + entityInstance.getFullyQualifiedName());
-                    columnMapFromDb.put(datasourceId + "@@" + entityInstance.getFullyQualifiedName(), entityInstance);
-                }
-            });
-        }
+        getEntityListFromDb(columnListFromDb, columnMapFromDb, relService.listChildUuids(datasourceId, tableUUID));
 
         List<String> createColumnEntityList = new ArrayList<>();
         List<String> maybeUpdateColumnEntityList = new ArrayList<>();
@@ -614,6 +630,7 @@ public class CatalogMetaDataFetchExecutorImpl implements CatalogMetaDataFetchExe
                 }
 
                 columnEntityInstance.setProperties(JSONUtils.toJsonString(columnInfo));
+                columnEntityInstance.setUpdateTime(LocalDateTime.now());
                 instanceService.updateById(columnEntityInstance);
             });
         }
@@ -654,7 +671,7 @@ public class CatalogMetaDataFetchExecutorImpl implements CatalogMetaDataFetchExe
                 entityRelDO.setType(EntityRelType.CHILD.getDescription());
                 entityRelDO.setUpdateTime(LocalDateTime.now());
                 entityRelDO.setUpdateBy(0L);
-                relService.save(entityRelDO);
+                relService.saveRel(dataSource.getId(), entityRelDO);
             }
         }
     }
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.utils;
+
+import io.datavines.common.utils.StringUtils;
+import io.datavines.core.enums.Status;
+import io.datavines.core.exception.DataVinesServerException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * The position of the last row of a page in the keyset pagination, the next page seeks the rows after it
+ * by the immutable id instead of skipping the offset. It is passed to the client as an opaque string and
+ * carries the name of the list which issued it, a cursor of another list is rejected.
+ */
+@Getter
+@AllArgsConstructor
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final String list;
+
+    private final Long id;
+
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    public static PageCursor first(String list) {
+        return new PageCursor(list, null);
+    }
+
+    public static String encode(String list, Long id) {
+        String position = list + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * decode the cursor from the client, the empty cursor means the first page
+     * @param cursor cursor
+     * @param list the list which reads the page
+     * @return page cursor
+     */
+    public static PageCursor decode(String cursor, String list) {
+        if (StringUtils.isEmpty(cursor)) {
+            return first(list);
+        }
+
+        PageCursor pageCursor;
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = position.lastIndexOf(SEPARATOR);
+            pageCursor = new PageCursor(position.substring(0, index), Long.parseLong(position.substring(index + 1)));
+        } catch (Exception e) {
+            throw new DataVinesServerException(Status.INVALID_PAGE_CURSOR_ERROR, cursor);
+        }
+
+        if (!Objects.equals(list, pageCursor.getList())) {
+            throw new DataVinesServerException(Status.INVALID_PAGE_CURSOR_ERROR, cursor);
+        }
+        return pageCursor;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.dqc.coordinator.cache;
+
+import io.datavines.common.entity.ConnectorParameter;
+import io.datavines.common.entity.JobExecutionParameter;
+import io.datavines.common.entity.job.BaseJobParameter;
+import io.datavines.common.enums.JobType;
+import io.datavines.common.utils.JSONUtils;
+import io.datavines.engine.config.MetricParserUtils;
+import io.datavines.server.repository.entity.JobExecution;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class JobExecutionPlanCacheTest {
+
+    private static final Pattern ACTUAL_VALUES_UNIQUE_CODE_PATTERN =
+            Pattern.compile("INSERT INTO dv_actual_values \\([^)]*\\) VALUES \\(\\d+, '[^']*', '([^']*)'");
+
+    private static final Pattern FILTER_TIME_PATTERN = Pattern.compile("dt < '(\\d{14})'");
+
+    @Test
+    public void testBindExecutionIdForEveryExecution() throws Exception {
+        JobExecution first = buildJobExecution(101L);
+        JobExecution second = buildJobExecution(102L);
+
+        String firstPlan = JobExecutionPlanCache.getInstance().getApplicationParameter(first, new HashMap<>(), "mysql", "{}");
+        String secondPlan = JobExecutionPlanCache.getInstance().getApplicationParameter(second, new HashMap<>(), "mysql", "{}");
+
+        BaseJobParameter metricParameter = JSONUtils.parseObject(first.getParameter(), JobExecutionParameter.class)
+                .getMetricParameterList().get(0);
+        String firstKey = MetricParserUtils.generateMetricUniqueKey(metricParameter, 101L);
+        String secondKey = MetricParserUtils.generateMetricUniqueKey(metricParameter, 102L);
+        Assert.assertNotEquals(firstKey, secondKey);
+
+        Assert.assertTrue(firstPlan.contains(firstKey));
+        Assert.assertFalse(firstPlan.contains(secondKey));
+        Assert.assertTrue(secondPlan.contains(secondKey));
+        Assert.assertFalse(secondPlan.contains(firstKey));
+
+        Assert.assertTrue(firstPlan.contains("\"job_execution_id\":\"101\""));
+        Assert.assertTrue(secondPlan.contains("\"job_execution_id\":\"102\""));
+        Assert.assertFalse(firstPlan.contains("dv_plan_"));
+        Assert.assertFalse(secondPlan.contains("dv_plan_"));
+    }
+
+    @Test
+    public void testSamplingKeepsUniqueCode() throws Exception {
+        JobExecution fullExecution = buildJobExecution(201L);
+        JobExecution sampleExecution = buildJobExecution(202L);
+        JobExecutionParameter sampleParameter = JSONUtils.parseObject(sampleExecution.getParameter(), JobExecutionParameter.class);
+        sampleParameter.setSampleFraction(0.1);
+        sampleExecution.setParameter(JSONUtils.toJsonString(sampleParameter));
+
+        String fullPlan = JobExecutionPlanCache.getInstance().getApplicationParameter(fullExecution, new HashMap<>(), "mysql", "{}");
+        String samplePlan = JobExecutionPlanCache.getInstance().getApplicationParameter(sampleExecution, new HashMap<>(), "mysql", "{}");
+
+        Assert.assertFalse(fullPlan.contains("rand() < 0.1"));
+        Assert.assertTrue(samplePlan.contains("rand() < 0.1"));
+        Assert.assertNotNull(getUniqueCode(fullPlan));
+        Assert.assertEquals(getUniqueCode(fullPlan), getUniqueCode(samplePlan));
+    }
+
+    @Test
+    public void testBindEveryMetricUniqueKey() throws Exception {
+        JobExecution jobExecution = buildJobExecution(301L);
+        JobExecutionParameter jobExecutionParameter = JSONUtils.parseObject(jobExecution.getParameter(), JobExecutionParameter.class);
+        BaseJobParameter idMetric = jobExecutionParameter.getMetricParameterList().get(0);
+        BaseJobParameter nameMetric = JSONUtils.parseObject(JSONUtils.toJsonString(idMetric), BaseJobParameter.class);
+        nameMetric.getMetricParameter().put("column", "name");
+        jobExecutionParameter.setMetricParameterList(Arrays.asList(idMetric, nameMetric));
+        jobExecution.setParameter(JSONUtils.toJsonString(jobExecutionParameter));
+
+        String plan = JobExecutionPlanCache.getInstance().getApplicationParameter(jobExecution, new HashMap<>(), "mysql", "{}");
+
+        Assert.assertTrue(plan.contains(MetricParserUtils.generateMetricUniqueKey(idMetric, 301L)));
+        Assert.assertTrue(plan.contains(MetricParserUtils.generateMetricUniqueKey(nameMetric, 301L)));
+        Assert.assertFalse(plan.contains("dv_plan_"));
+    }
+
+    @Test
+    public void testResolveTimePlaceholderForEveryExecution() throws Exception {
+        JobExecution first = buildJobExecution(401L);
+        JobExecutionParameter jobExecutionParameter = JSONUtils.parseObject(first.getParameter(), JobExecutionParameter.class);
+        jobExecutionParameter.getMetricParameterList().get(0).getMetricParameter().put("filter", "dt < '$[yyyyMMddHHmmss]'");
+        first.setParameter(JSONUtils.toJsonString(jobExecutionParameter));
+        JobExecution second = buildJobExecution(402L);
+        second.setParameter(first.getParameter());
+
+        String firstPlan = JobExecutionPlanCache.getInstance().getApplicationParameter(first, new HashMap<>(), "mysql", "{}");
+        Thread.sleep(1100);
+        String secondPlan = JobExecutionPlanCache.getInstance().getApplicationParameter(second, new HashMap<>(), "mysql", "{}");
+
+        String firstTime = getFilterTime(firstPlan);
+        String secondTime = getFilterTime(secondPlan);
+        Assert.assertNotNull(firstTime);
+        Assert.assertNotNull(secondTime);
+        Assert.assertTrue(firstTime.compareTo(secondTime) < 0);
+    }
+
+    private String getFilterTime(String plan) {
+        Matcher matcher = FILTER_TIME_PATTERN.matcher(plan);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private String getUniqueCode(String plan) {
+        Matcher matcher = ACTUAL_VALUES_UNIQUE_CODE_PATTERN.matcher(plan);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private JobExecution buildJobExecution(Long id) {
+        Map<String, Object> connectorParameters = new HashMap<>();
+        connectorParameters.put("host", "localhost");
+        connectorParameters.put("port", "3306");
+        connectorParameters.put("database", "test");
+        connectorParameters.put("user", "root");
+        connectorParameters.put("password", "123456");
+        connectorParameters.put("properties", "useUnicode=true");
+        ConnectorParameter connectorParameter = new ConnectorParameter();
+        connectorParameter.setType("mysql");
+        connectorParameter.setParameters(connectorParameters);
+
+        Map<String, Object> metricParameter = new HashMap<>();
+        metricParameter.put("database", "test");
+        metricParameter.put("table", "orders");
+        metricParameter.put("column", "id");
+        BaseJobParameter baseJobParameter = new BaseJobParameter();
+        baseJobParameter.setMetricType("column_null");
+        baseJobParameter.setMetricParameter(metricParameter);
+
+        JobExecutionParameter jobExecutionParameter = new JobExecutionParameter();
+        jobExecutionParameter.setConnectorParameter(connectorParameter);
+        jobExecutionParameter.setMetricParameterList(Collections.singletonList(baseJobParameter));
+
+        JobExecution jobExecution = new JobExecution();
+        jobExecution.setId(id);
+        jobExecution.setJobId(1L);
+        jobExecution.setName("orders-null-check-" + id);
+        jobExecution.setJobType(JobType.DATA_QUALITY);
+        jobExecution.setEngineType("local");
+        jobExecution.setEngineParameter("{}");
+        jobExecution.setErrorDataFileName("orders_" + id);
+        jobExecution.setParameter(JSONUtils.toJsonString(jobExecutionParameter));
+        return jobExecution;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.dqc.coordinator.retention;
+
+import io.datavines.common.utils.CommonPropertyUtils;
+import io.datavines.server.enums.ArchiveType;
+import io.datavines.server.repository.mapper.HistoryRetentionMapper;
+import io.datavines.server.repository.service.impl.HistoryRetentionServiceImpl;
+import io.datavines.server.utils.FakeBeans;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+public class HistoryRetentionCleanerTest {
+
+    private static final List<String> EXECUTION_TABLES = Arrays.asList(
+            "dv_actual_values", "dv_job_execution_result", "dv_command", "dv_catalog_entity_profile_snapshot");
+
+    private final Map<String, List<Map<String, Object>>> tables = new HashMap<>();
+
+    private final List<String> archivedTables = new ArrayList<>();
+
+    private int listCount;
+
+    private HistoryRetentionServiceImpl historyRetentionService;
+
+    @Before
+    public void setUp() throws Exception {
+        for (long id = 1; id <= 5; id++) {
+            addRow("dv_job_execution", "id", id);
+            for (String table : EXECUTION_TABLES) {
+                addRow(table, "job_execution_id", id);
+            }
+        }
+
+        historyRetentionService = new HistoryRetentionServiceImpl();
+        FakeBeans.inject(historyRetentionService, "historyRetentionMapper", getMapper());
+    }
+
+    @Test
+    public void testPurgeInChunks() {
+        int count = HistoryRetentionCleaner.purgeInChunks(() -> purgeJobExecutions(ArchiveType.NONE, 2), 2, 10);
+
+        Assert.assertEquals(5, count);
+        // 2 + 2 + 1, the last chunk is smaller than the chunk size so no more chunk is listed
+        Assert.assertEquals(3, listCount);
+        tables.values().forEach(rows -> Assert.assertTrue(rows.isEmpty()));
+        Assert.assertTrue(archivedTables.isEmpty());
+    }
+
+    @Test
+    public void testPurgeAtMostMaxChunks() {
+        int count = HistoryRetentionCleaner.purgeInChunks(() -> purgeJobExecutions(ArchiveType.NONE, 2), 2, 1);
+
+        Assert.assertEquals(2, count);
+        Assert.assertEquals(Arrays.asList(3L, 4L, 5L), keys("dv_job_execution", "id"));
+        for (String table : EXECUTION_TABLES) {
+            Assert.assertEquals(Arrays.asList(3L, 4L, 5L), keys(table, "job_execution_id"));
+        }
+    }
+
+    @Test
+    public void testArchiveToTable() {
+        HistoryRetentionCleaner.purgeInChunks(() -> purgeJobExecutions(ArchiveType.TABLE, 5), 5, 10);
+
+        Assert.assertEquals(Arrays.asList("dv_actual_values", "dv_job_execution_result", "dv_job_execution"), archivedTables);
+    }
+
+    @Test
+    public void testArchiveToFile() throws Exception {
+        File archivePath = Files.createTempDirectory("archive").toFile();
+        CommonPropertyUtils.getProperties().setProperty(CommonPropertyUtils.RETENTION_ARCHIVE_PATH, archivePath.getAbsolutePath());
+        try {
+            HistoryRetentionCleaner.purgeInChunks(() -> purgeJobExecutions(ArchiveType.FILE, 2), 2, 10);
+        } finally {
+            CommonPropertyUtils.getProperties().remove(CommonPropertyUtils.RETENTION_ARCHIVE_PATH);
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (File file : listFiles(new File(archivePath, "dv_job_execution"))) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
+                reader.lines().forEach(lines::add);
+            }
+        }
+        Assert.assertEquals(5, lines.size());
+        Assert.assertFalse(new File(archivePath, "dv_command").exists());
+        Assert.assertFalse(new File(archivePath, "dv_catalog_entity_profile_snapshot").exists());
+    }
+
+    @Test
+    public void testArchiveFileIsRenamedAfterCommit() throws Exception {
+        File archivePath = Files.createTempDirectory("archive").toFile();
+        CommonPropertyUtils.getProperties().setProperty(CommonPropertyUtils.RETENTION_ARCHIVE_PATH, archivePath.getAbsolutePath());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            purgeJobExecutions(ArchiveType.FILE, 2);
+            List<String> names = listFiles(new File(archivePath, "dv_job_execution")).stream()
+                    .map(File::getName).collect(Collectors.toList());
+            Assert.assertEquals(Collections.singletonList("dv_job_execution_1_2.jsonl.gz.tmp"), names);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            names = listFiles(new File(archivePath, "dv_job_execution")).stream()
+                    .map(File::getName).collect(Collectors.toList());
+            Assert.assertEquals(Collections.singletonList("dv_job_execution_1_2.jsonl.gz"), names);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            CommonPropertyUtils.getProperties().remove(CommonPropertyUtils.RETENTION_ARCHIVE_PATH);
+        }
+    }
+
+    @Test
+    public void testArchiveFileIsRemovedAfterRollback() throws Exception {
+        File archivePath = Files.createTempDirectory("archive").toFile();
+        CommonPropertyUtils.getProperties().setProperty(CommonPropertyUtils.RETENTION_ARCHIVE_PATH, archivePath.getAbsolutePath());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            purgeJobExecutions(ArchiveType.FILE, 2);
+            Assert.assertFalse(listFiles(archivePath).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            Assert.assertTrue(listFiles(archivePath).isEmpty());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            CommonPropertyUtils.getProperties().remove(CommonPropertyUtils.RETENTION_ARCHIVE_PATH);
+        }
+    }
+
+    private int purgeJobExecutions(ArchiveType archiveType, int chunkSize) {
+        return historyRetentionService.purgeJobExecutions(-1L, LocalDateTime.now(), archiveType, chunkSize);
+    }
+
+    private List<File> listFiles(File directory) {
+        List<File> files = new ArrayList<>();
+        File[] children = directory.listFiles();
+        if (children == null) {
+            return files;
+        }
+        for (File child : children) {
+            if (child.isDirectory()) {
+                files.addAll(listFiles(child));
+            } else {
+                files.add(child);
+            }
+        }
+        return files;
+    }
+
+    private void addRow(String table, String keyColumn, Long key) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put(keyColumn, key);
+        tables.computeIfAbsent(table, t -> new ArrayList<>()).add(row);
+    }
+
+    private List<Long> keys(String table, String keyColumn) {
+        return tables.get(table).stream().map(row -> (Long) row.get(keyColumn)).collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private HistoryRetentionMapper getMapper() {
+        return FakeBeans.of(HistoryRetentionMapper.class)
+                .on("listExpiredJobExecutionIds", args -> {
+                    listCount++;
+                    return keys("dv_job_execution", "id").stream().limit((int) args[2]).collect(Collectors.toList());
+                })
+                .on("selectByKeys", args -> tables.get((String) args[0]).stream()
+                        .filter(row -> ((List<Long>) args[2]).contains((Long) row.get((String) args[1])))
+                        .collect(Collectors.toList()))
+                .on("archiveByKeys", args -> {
+                    // the columns of the archived table are listed, the key column among them
+                    Assert.assertTrue(((List<String>) args[1]).contains((String) args[2]));
+                    archivedTables.add((String) args[0]);
+                    return ((List<Long>) args[3]).size();
+                })
+                .on("deleteByKeys", args -> {
+                    List<Map<String, Object>> rows = tables.get((String) args[0]);
+                    int size = rows.size();
+                    rows.removeIf(row -> ((List<Long>) args[2]).contains((Long) row.get((String) args[1])));
+                    return size - rows.size();
+                })
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.dqc.coordinator.stat;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class JobExecutionDailyStatCompactorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    @Test
+    public void testDaysOutsideRetentionAreNotCompacted() {
+        Assert.assertTrue(JobExecutionDailyStatCompactor.isWithinRetention(TODAY, TODAY, 1));
+        // the retention of one day purges a part of yesterday
+        Assert.assertFalse(JobExecutionDailyStatCompactor.isWithinRetention(TODAY.minusDays(1), TODAY, 1));
+        Assert.assertTrue(JobExecutionDailyStatCompactor.isWithinRetention(TODAY.minusDays(1), TODAY, 2));
+        Assert.assertFalse(JobExecutionDailyStatCompactor.isWithinRetention(TODAY.minusDays(2), TODAY, 2));
+    }
+
+    @Test
+    public void testTodayIsNotCompacted() {
+        Assert.assertEquals(Arrays.asList(TODAY.minusDays(1), TODAY.minusDays(2)),
+                JobExecutionDailyStatCompactor.listCompactDates(TODAY, 2, -1));
+        Assert.assertEquals(Collections.singletonList(TODAY.minusDays(1)),
+                JobExecutionDailyStatCompactor.listCompactDates(TODAY, 2, 2));
+        Assert.assertEquals(Collections.emptyList(), JobExecutionDailyStatCompactor.listCompactDates(TODAY, 2, 1));
+    }
+
+    @Test
+    public void testEveryDayIsCompactedWithoutRetention() {
+        Assert.assertTrue(JobExecutionDailyStatCompactor.isWithinRetention(TODAY.minusDays(30), TODAY, -1));
+        Assert.assertTrue(JobExecutionDailyStatCompactor.isWithinRetention(TODAY.minusDays(30), TODAY, 0));
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.dqc.coordinator.stream;
+
+import io.datavines.common.enums.ExecutionStatus;
+import io.datavines.core.exception.DataVinesServerException;
+import io.datavines.server.repository.entity.JobExecution;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public class JobExecutionStreamHubTest {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("(?m)^id:(.*)$");
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("(?m)^event:(.*)$");
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    private ExecutorService executorService;
+
+    @After
+    public void tearDown() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testOverflowClosesOnlyTheSlowSubscriber() throws Exception {
+        executorService = Executors.newFixedThreadPool(2);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        JobExecutionStreamHub hub = newHub(executorService);
+
+        RecordingEmitter slow = (RecordingEmitter) hub.subscribeStatus(null, null, 1L, null);
+        slow.blocked = blocked;
+        slow.release = release;
+        RecordingEmitter fast = (RecordingEmitter) hub.subscribeStatus(null, null, 1L, null);
+
+        hub.publish(newJobExecution(1L, ExecutionStatus.RUNNING_EXECUTION));
+        Assert.assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+        int count = JobExecutionStreamHub.QUEUE_CAPACITY + 50;
+        for (long id = 2; id <= count; id++) {
+            hub.publish(newJobExecution(id, ExecutionStatus.RUNNING_EXECUTION));
+            // the fast subscriber keeps up with the publisher
+            long published = id;
+            waitFor(() -> fast.events(JobExecutionStreamHubTest::isStatus).size() == published);
+        }
+        release.countDown();
+
+        waitFor(() -> slow.completed && fast.events(JobExecutionStreamHubTest::isStatus).size() == count);
+        Assert.assertFalse(fast.completed);
+        Assert.assertEquals("resync", slow.lastName());
+        Assert.assertTrue(slow.events(JobExecutionStreamHubTest::isStatus).size() <= JobExecutionStreamHub.QUEUE_CAPACITY + 1);
+    }
+
+    @Test
+    public void testResumeAfterLastEventId() {
+        JobExecutionStreamHub hub = newHub(Runnable::run);
+        RecordingEmitter first = (RecordingEmitter) hub.subscribeStatus(null, null, 1L, null);
+        for (long id = 1; id <= 3; id++) {
+            hub.publish(newJobExecution(id, ExecutionStatus.SUCCESS));
+        }
+        List<String> ids = first.events(JobExecutionStreamHubTest::isStatus).stream()
+                .map(JobExecutionStreamHubTest::idOf).collect(Collectors.toList());
+        Assert.assertEquals(3, ids.size());
+
+        RecordingEmitter resumed = (RecordingEmitter) hub.subscribeStatus(null, null, 1L, ids.get(0));
+        Assert.assertEquals(ids.subList(1, 3), resumed.events(JobExecutionStreamHubTest::isStatus).stream()
+                .map(JobExecutionStreamHubTest::idOf).collect(Collectors.toList()));
+        Assert.assertFalse(resumed.completed);
+
+        RecordingEmitter filtered = (RecordingEmitter) hub.subscribeStatus(3L, null, null, ids.get(0));
+        Assert.assertEquals(Collections.singletonList(ids.get(2)), filtered.events(JobExecutionStreamHubTest::isStatus).stream()
+                .map(JobExecutionStreamHubTest::idOf).collect(Collectors.toList()));
+    }
+
+    @Test(expected = DataVinesServerException.class)
+    public void testSubscribeWithoutFilterIsRejected() {
+        newHub(Runnable::run).subscribeStatus(null, null, null, null);
+    }
+
+    @Test
+    public void testResyncWhenLastEventIdCanNotBeReplayed() {
+        JobExecutionStreamHub hub = newHub(Runnable::run);
+        hub.publish(newJobExecution(1L, ExecutionStatus.SUCCESS));
+
+        RecordingEmitter foreign = (RecordingEmitter) hub.subscribeStatus(null, null, 1L, "123-1");
+        Assert.assertEquals("resync", foreign.lastName());
+        Assert.assertTrue(foreign.completed);
+
+        RecordingEmitter first = (RecordingEmitter) hub.subscribeStatus(null, null, 1L, null);
+        for (long id = 2; id <= JobExecutionStreamHub.REPLAY_CAPACITY + 3; id++) {
+            hub.publish(newJobExecution(id, ExecutionStatus.SUCCESS));
+        }
+        String oldest = idOf(first.events(JobExecutionStreamHubTest::isStatus).get(0));
+        RecordingEmitter expired = (RecordingEmitter) hub.subscribeStatus(null, null, 1L, oldest);
+        Assert.assertEquals("resync", expired.lastName());
+        Assert.assertTrue(expired.completed);
+    }
+
+    @Test
+    public void testPollStatusReadsAllPages() throws Exception {
+        int total = JobExecutionStreamHub.POLL_LIMIT * 2 + 500;
+        LocalDateTime updateTime = LocalDateTime.now();
+        List<JobExecution> rows = new ArrayList<>();
+        for (long id = 1; id <= total; id++) {
+            JobExecution jobExecution = newJobExecution(id, ExecutionStatus.SUCCESS);
+            jobExecution.setUpdateTime(updateTime);
+            rows.add(jobExecution);
+        }
+
+        AtomicInteger queries = new AtomicInteger();
+        JobExecutionStreamHub hub = new JobExecutionStreamHub(60000L, 1000, Runnable::run, (since, afterTime, afterId, limit) -> {
+            queries.incrementAndGet();
+            return rows.stream()
+                    .filter(row -> afterId == null || row.getUpdateTime().isAfter(afterTime)
+                            || (row.getUpdateTime().isEqual(afterTime) && row.getId() > afterId))
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        });
+
+        CompletableFuture<Void> future = hub.awaitFinished(java.util.Arrays.asList(1L, (long) total));
+        hub.pollStatus();
+        future.get(1, TimeUnit.SECONDS);
+        Assert.assertEquals(3, queries.get());
+    }
+
+    private JobExecutionStreamHub newHub(java.util.concurrent.Executor sender) {
+        return new JobExecutionStreamHub(60000L, 1000, sender, (since, afterTime, afterId, limit) -> Collections.emptyList()) {
+            @Override
+            SseEmitter newEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private static JobExecution newJobExecution(Long id, ExecutionStatus status) {
+        JobExecution jobExecution = new JobExecution();
+        jobExecution.setId(id);
+        jobExecution.setJobId(1L);
+        jobExecution.setDataSourceId(1L);
+        jobExecution.setStatus(status);
+        return jobExecution;
+    }
+
+    private static boolean isStatus(String event) {
+        return "status".equals(nameOf(event));
+    }
+
+    private static String idOf(String event) {
+        Matcher matcher = ID_PATTERN.matcher(event);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static String nameOf(String event) {
+        Matcher matcher = NAME_PATTERN.matcher(event);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue("wait timeout", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+        private volatile CountDownLatch blocked;
+
+        private volatile CountDownLatch release;
+
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (blocked != null) {
+                blocked.countDown();
+                blocked = null;
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(builder.build().stream().map(data -> String.valueOf(data.getData())).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        List<String> events(java.util.function.Predicate<String> filter) {
+            synchronized (events) {
+                return events.stream().filter(filter).collect(Collectors.toList());
+            }
+        }
+
+        String lastName() {
+            synchronized (events) {
+                return events.isEmpty() ? null : nameOf(events.get(events.size() - 1));
+            }
+        }
+    }
+}
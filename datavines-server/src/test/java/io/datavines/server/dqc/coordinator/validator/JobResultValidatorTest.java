@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.dqc.coordinator.validator;
+
+import io.datavines.common.entity.JobExecutionRequest;
+import io.datavines.server.api.dto.bo.issue.IssueCreate;
+import io.datavines.server.enums.JobCheckState;
+import io.datavines.server.repository.entity.JobExecution;
+import io.datavines.server.repository.entity.JobExecutionResult;
+import io.datavines.server.repository.service.IssueService;
+import io.datavines.server.repository.service.SlaNotificationService;
+import io.datavines.server.repository.service.impl.JobExternalService;
+import io.datavines.server.utils.FakeBeans;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+public class JobResultValidatorTest {
+
+    private final Map<String, Integer> statements = new HashMap<>();
+
+    private final List<Integer> issueBatches = new ArrayList<>();
+
+    private List<JobExecutionResult> updatedResultList;
+
+    @Test
+    public void testStatementCountDoesNotGrowWithResults() throws Exception {
+        getValidator(getResultList(1, 1)).operateDqExecuteResult(getRequest());
+        Map<String, Integer> one = new HashMap<>(statements);
+
+        statements.clear();
+        issueBatches.clear();
+        getValidator(getResultList(50, 50)).operateDqExecuteResult(getRequest());
+
+        Assert.assertEquals(one, statements);
+        Assert.assertEquals(Integer.valueOf(1), statements.get("updateJobExecutionResultBatch"));
+        Assert.assertEquals(Integer.valueOf(1), statements.get("createBatch"));
+        Assert.assertEquals(Collections.singletonList(50), issueBatches);
+    }
+
+    @Test
+    public void testResultStateIsWrittenBack() throws Exception {
+        getValidator(getResultList(3, 1)).operateDqExecuteResult(getRequest());
+
+        Assert.assertEquals(3, updatedResultList.size());
+        Assert.assertEquals(JobCheckState.FAILURE.getCode(), updatedResultList.get(0).getState());
+        Assert.assertEquals(JobCheckState.SUCCESS.getCode(), updatedResultList.get(1).getState());
+        Assert.assertEquals(JobCheckState.SUCCESS.getCode(), updatedResultList.get(2).getState());
+        Assert.assertEquals(Collections.singletonList(1), issueBatches);
+    }
+
+    private JobResultValidator getValidator(List<JobExecutionResult> resultList) throws Exception {
+        JobExternalService jobExternalService = new JobExternalService() {
+            @Override
+            public List<JobExecutionResult> listJobExecutionResultByJobExecutionId(long jobExecutionId) {
+                count("listJobExecutionResultByJobExecutionId");
+                return resultList;
+            }
+
+            @Override
+            public JobExecution getJobExecutionById(Long id) {
+                count("getJobExecutionById");
+                JobExecution jobExecution = new JobExecution();
+                jobExecution.setId(id);
+                jobExecution.setJobId(-1L);
+                jobExecution.setName("test");
+                jobExecution.setEngineType("local");
+                return jobExecution;
+            }
+
+            @Override
+            public boolean updateJobExecutionResultBatch(List<JobExecutionResult> jobExecutionResultList) {
+                count("updateJobExecutionResultBatch");
+                updatedResultList = jobExecutionResultList;
+                return true;
+            }
+        };
+
+        IssueService issueService = FakeBeans.of(IssueService.class)
+                .listen(this::count)
+                .on("createBatch", args -> {
+                    @SuppressWarnings("unchecked")
+                    List<IssueCreate> issueCreateList = (List<IssueCreate>) args[0];
+                    issueBatches.add(issueCreateList.size());
+                    return null;
+                })
+                .build();
+
+        SlaNotificationService slaNotificationService = FakeBeans.of(SlaNotificationService.class)
+                .listen(this::count)
+                .on("getSlasNotificationConfigurationByJobId", args -> new HashMap<>())
+                .build();
+
+        JobResultValidator validator = new JobResultValidator();
+        FakeBeans.inject(validator, "jobExternalService", jobExternalService);
+        FakeBeans.inject(validator, "issueService", issueService);
+        FakeBeans.inject(validator, "slaNotificationService", slaNotificationService);
+        return validator;
+    }
+
+    private void count(String statement) {
+        statements.merge(statement, 1, Integer::sum);
+    }
+
+    private JobExecutionRequest getRequest() {
+        JobExecutionRequest request = new JobExecutionRequest();
+        request.setJobExecutionId(1L);
+        return request;
+    }
+
+    /**
+     * the first {@code failures} results are above the zero threshold and fail the check
+     */
+    private List<JobExecutionResult> getResultList(int size, int failures) {
+        List<JobExecutionResult> resultList = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            JobExecutionResult result = new JobExecutionResult();
+            result.setId((long) i);
+            result.setJobExecutionId(1L);
+            result.setMetricName("column_null");
+            result.setDatabaseName("test");
+            result.setTableName("orders");
+            result.setColumnName("amount");
+            result.setActualValue(BigDecimal.valueOf(i < failures ? 10 : 0));
+            result.setExpectedValue(BigDecimal.ZERO);
+            result.setExpectedType("fix_value");
+            result.setResultFormula("count");
+            result.setOperator("eq");
+            result.setThreshold(BigDecimal.ZERO);
+            resultList.add(result);
+        }
+        return resultList;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.cache;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class CatalogEntityGraphTest {
+
+    private CatalogEntityGraph.DatasourceGraph graph;
+
+    /**
+     * ds -> db1 -> t1 -> c1, c2
+     *          -> t2 -> c3
+     *    -> db2
+     */
+    @Before
+    public void setUp() {
+        graph = new CatalogEntityGraph.DatasourceGraph();
+        graph.add("ds", "db1");
+        graph.add("ds", "db2");
+        graph.add("db1", "t1");
+        graph.add("db1", "t2");
+        graph.add("t1", "c1");
+        graph.add("t1", "c2");
+        graph.add("t2", "c3");
+    }
+
+    @Test
+    public void testGetChildren() {
+        Map<String, List<String>> children = graph.getChildren(Arrays.asList("db1", "t1", "c1"));
+        Assert.assertEquals(Arrays.asList("t1", "t2"), children.get("db1"));
+        Assert.assertEquals(Arrays.asList("c1", "c2"), children.get("t1"));
+        // the leaf is not in the map
+        Assert.assertFalse(children.containsKey("c1"));
+    }
+
+    @Test
+    public void testGetAncestors() {
+        Assert.assertEquals(Arrays.asList("t1", "db1", "ds"), graph.getAncestors("c2"));
+        Assert.assertEquals(Collections.singletonList("ds"), graph.getAncestors("db2"));
+        Assert.assertTrue(graph.getAncestors("ds").isEmpty());
+        Assert.assertTrue(graph.getAncestors("unknown").isEmpty());
+    }
+
+    @Test
+    public void testGetDescendants() {
+        List<String> descendants = graph.getDescendants(Collections.singletonList("db1"));
+        Assert.assertEquals(Arrays.asList("t1", "t2", "c1", "c2", "c3"), descendants);
+        // the entities themselves are not included, even when one is the descendant of the other
+        Assert.assertEquals(Arrays.asList("c2", "c3"), graph.getDescendants(Arrays.asList("t1", "t2", "c1")));
+    }
+
+    @Test
+    public void testGetSubtree() {
+        Map<String, List<String>> subtree = graph.getSubtree("db1");
+        Assert.assertEquals(3, subtree.size());
+        Assert.assertEquals(Arrays.asList("t1", "t2"), subtree.get("db1"));
+        Assert.assertEquals(Arrays.asList("c1", "c2"), subtree.get("t1"));
+        Assert.assertEquals(Collections.singletonList("c3"), subtree.get("t2"));
+        Assert.assertTrue(graph.getSubtree("c1").isEmpty());
+    }
+
+    @Test
+    public void testRemoveChildren() {
+        // the child moved to the other parent keeps the new parent
+        graph.add("t2", "c2");
+        graph.removeChildren(Collections.singletonList("t1"));
+        Assert.assertFalse(graph.getChildren(Collections.singletonList("t1")).containsKey("t1"));
+        Assert.assertTrue(graph.getAncestors("c1").isEmpty());
+        Assert.assertEquals(Arrays.asList("t2", "db1", "ds"), graph.getAncestors("c2"));
+        Assert.assertEquals(Arrays.asList("t2", "db1", "ds"), graph.getAncestors("c3"));
+    }
+
+    @Test
+    public void testCycleIsVisitedOnce() {
+        graph.add("c1", "db1");
+        Assert.assertEquals(Arrays.asList("t1", "db1", "c1"), graph.getAncestors("c1"));
+        Assert.assertEquals(Arrays.asList("db1", "db2", "t1", "t2", "c1", "c2", "c3"),
+                graph.getDescendants(Collections.singletonList("ds")));
+    }
+}
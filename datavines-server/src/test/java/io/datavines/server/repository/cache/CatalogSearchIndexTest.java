@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.cache;
+
+import io.datavines.common.CommonConstants;
+import io.datavines.server.repository.entity.catalog.CatalogEntityInstance;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class CatalogSearchIndexTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSearchIndexTest.class);
+
+    @Test
+    public void testTokenize() {
+        Assert.assertEquals(Arrays.asList("order", "detail", "id"), CatalogSearchIndex.tokenize("orderDetail_ID"));
+        Assert.assertEquals(Arrays.asList("db", "order", "info"), CatalogSearchIndex.tokenize("db.order-info"));
+        Assert.assertEquals(Arrays.asList("订单", "单明", "明细"), CatalogSearchIndex.tokenize("订单明细"));
+        Assert.assertEquals(Collections.singletonList("表"), CatalogSearchIndex.tokenize("表"));
+        Assert.assertTrue(CatalogSearchIndex.tokenize("").isEmpty());
+        Assert.assertTrue(CatalogSearchIndex.tokenize(" _.- ").isEmpty());
+    }
+
+    @Test
+    public void testEditDistance() {
+        Assert.assertEquals(0, CatalogSearchIndex.editDistance("order", "order", 2));
+        Assert.assertEquals(1, CatalogSearchIndex.editDistance("order", "ordr", 2));
+        Assert.assertEquals(1, CatalogSearchIndex.editDistance("order", "ordes", 2));
+        Assert.assertEquals(2, CatalogSearchIndex.editDistance("order", "odrer", 2));
+        // the distance over the max is cut off at max + 1
+        Assert.assertEquals(2, CatalogSearchIndex.editDistance("order", "custom", 1));
+    }
+
+    @Test
+    public void testRanking() {
+        CatalogSearchIndex.IndexState indexState = new CatalogSearchIndex.IndexState();
+        indexState.put(entity("1", "orders_history", "db.orders_history", null), null);
+        indexState.put(entity("2", "orders", "db.orders", null), null);
+        indexState.put(entity("3", "customer", "db.customer", "the customer of the orders"), null);
+        indexState.put(entity("4", "ordes", "db.ordes", null), null);
+
+        List<String> uuids = uuids(indexState.search("orders", null, null, null, true));
+        // the name exact match first, then the name prefix match, then the fuzzy match, then the description match
+        Assert.assertEquals(Arrays.asList("2", "1", "4", "3"), uuids);
+        Assert.assertEquals(Arrays.asList("2", "1", "3"), uuids(indexState.search("orders", null, null, null, false)));
+        Assert.assertEquals(Collections.singletonList("1"), uuids(indexState.search("orders history", null, null, null, false)));
+        Assert.assertEquals(Collections.singletonList("3"), uuids(indexState.search("orders", null, "column", null, false)));
+    }
+
+    @Test
+    public void testUpdatedEntityLeavesTombstone() {
+        CatalogSearchIndex.IndexState indexState = new CatalogSearchIndex.IndexState();
+        indexState.put(entity("1", "orders", "db.orders", null), null);
+        indexState.addTag("1", "tag_1", "finance");
+
+        indexState.put(entity("1", "payments", "db.payments", null), null);
+        Assert.assertTrue(uuids(indexState.search("orders", null, null, null, false)).isEmpty());
+        Assert.assertEquals(Collections.singletonList("1"), uuids(indexState.search("payments", null, null, null, false)));
+        // the tags of the old doc are kept
+        Assert.assertEquals(Collections.singletonList("1"), uuids(indexState.search("finance", null, null, null, false)));
+        Assert.assertEquals(1, indexState.search("", null, null, null, false).getHits().size());
+
+        indexState.remove("1");
+        Assert.assertTrue(indexState.search("payments", null, null, null, false).getHits().isEmpty());
+        Assert.assertTrue(indexState.search("", null, null, null, false).getHits().isEmpty());
+    }
+
+    @Test
+    public void testSyncSkipsTheIndexedVersion() {
+        CatalogSearchIndex.IndexState indexState = new CatalogSearchIndex.IndexState();
+        CatalogEntityInstance entity = entity("1", "orders", "db.orders", null);
+        indexState.put(entity, null);
+
+        CatalogEntityInstance sameVersion = entity("1", "payments", "db.payments", null);
+        sameVersion.setUpdateTime(entity.getUpdateTime());
+        indexState.sync(sameVersion);
+        Assert.assertEquals(Collections.singletonList("1"), uuids(indexState.search("orders", null, null, null, false)));
+
+        CatalogEntityInstance newVersion = entity("1", "payments", "db.payments", null);
+        newVersion.setUpdateTime(entity.getUpdateTime().plusSeconds(1));
+        indexState.sync(newVersion);
+        Assert.assertEquals(Collections.singletonList("1"), uuids(indexState.search("payments", null, null, null, false)));
+    }
+
+    @Test
+    public void testRebuildReplaysTheUpdatesAfterTheSnapshot() {
+        CatalogSearchIndex searchIndex = new CatalogSearchIndex(true);
+        int total = searchIndex.rebuild(next -> {
+            next.put(entity("1", "orders", "db.orders", null), null);
+            next.put(entity("2", "customer", "db.customer", null), null);
+            // deleted and added while the snapshot is loaded
+            searchIndex.remove("1");
+            searchIndex.put(entity("3", "payments", "db.payments", null));
+            return 2;
+        });
+
+        Assert.assertEquals(2, total);
+        Assert.assertTrue(searchIndex.isReady());
+        Assert.assertTrue(uuids(searchIndex.search("orders", null, null, null, false)).isEmpty());
+        Assert.assertEquals(Collections.singletonList("2"), uuids(searchIndex.search("customer", null, null, null, false)));
+        Assert.assertEquals(Collections.singletonList("3"), uuids(searchIndex.search("payments", null, null, null, false)));
+
+        // the failed rebuild keeps the current index
+        Assert.assertEquals(-1, searchIndex.rebuild(next -> {
+            throw new IllegalStateException("load error");
+        }));
+        Assert.assertEquals(Collections.singletonList("3"), uuids(searchIndex.search("payments", null, null, null, false)));
+    }
+
+    @Test
+    public void testTooManyExpansionsAreRankedAndReported() {
+        CatalogSearchIndex.IndexState indexState = new CatalogSearchIndex.IndexState();
+        for (int i = 0; i < 600; i++) {
+            indexState.put(entity("t" + i, String.format("colx%03d", i), "db.t" + i, null), null);
+        }
+        indexState.put(entity("short", "colum", "db.short", null), null);
+
+        CatalogSearchIndex.SearchResult searchResult = indexState.search("col", null, null, null, false);
+        Assert.assertTrue(searchResult.isTruncated());
+        Assert.assertEquals("short", searchResult.getHits().get(0).getEntity().getUuid());
+
+        Assert.assertFalse(indexState.search("colum", null, null, null, false).isTruncated());
+    }
+
+    @Test
+    public void testSetTagsReplacesTheTags() {
+        CatalogSearchIndex.IndexState indexState = new CatalogSearchIndex.IndexState();
+        indexState.put(entity("1", "orders", "db.orders", null), null);
+        indexState.addTag("1", "tag_1", "finance");
+        indexState.addTag("1", "tag_2", "sales");
+
+        indexState.setTags("1", new HashSet<>(Collections.singletonList("tag_2")));
+        Assert.assertTrue(uuids(indexState.search("finance", null, null, null, false)).isEmpty());
+        Assert.assertEquals(Collections.singletonList("1"), uuids(indexState.search("sales", null, null, null, false)));
+        Assert.assertEquals(Collections.singletonList("tag_2"),
+                indexState.search("orders", null, null, null, false).getHits().get(0).getTagUuids());
+
+        // the entity which is not indexed is skipped
+        indexState.setTags("2", new HashSet<>(Collections.singletonList("tag_1")));
+        Assert.assertTrue(uuids(indexState.search("finance", null, null, null, false)).isEmpty());
+    }
+
+    @Test
+    public void testCompactDropsTheTombstones() {
+        CatalogSearchIndex.IndexState indexState = new CatalogSearchIndex.IndexState();
+        indexState.put(entity("1", "orders", "db.orders", null), null);
+        indexState.put(entity("2", "customer", "db.customer", null), null);
+        indexState.addTag("1", "tag_1", "finance");
+        for (int i = 0; i < 10000; i++) {
+            indexState.put(entity("2", "customer" + i, "db.customer" + i, null), null);
+        }
+        indexState.remove("1");
+        Assert.assertEquals(10001, indexState.getTombstones());
+        Assert.assertTrue(indexState.needCompact());
+
+        CatalogSearchIndex.IndexState compacted = indexState.compact();
+        Assert.assertEquals(0, compacted.getTombstones());
+        Assert.assertFalse(compacted.needCompact());
+        Assert.assertEquals(Collections.singletonList("2"), uuids(compacted.search("customer9999", null, null, null, false)));
+        Assert.assertTrue(uuids(compacted.search("orders", null, null, null, false)).isEmpty());
+        Assert.assertEquals(1, compacted.search("", null, null, null, false).getHits().size());
+    }
+
+    @Test
+    public void testUpdatesCompactTheIndex() {
+        CatalogSearchIndex searchIndex = new CatalogSearchIndex(true);
+        searchIndex.put(entity("1", "orders", "db.orders", null));
+        searchIndex.addTag("1", "tag_1", "finance");
+        for (int i = 0; i < 10000; i++) {
+            searchIndex.put(entity("1", "orders" + i, "db.orders" + i, null));
+        }
+
+        // the tombstones outnumber the live docs, the index is compacted by the last update
+        Assert.assertEquals(Collections.singletonList("1"), uuids(searchIndex.search("orders9999", null, null, null, false)));
+        Assert.assertEquals(Collections.singletonList("1"), uuids(searchIndex.search("finance", null, null, null, false)));
+        Assert.assertEquals(1, searchIndex.search("", null, null, null, false).getHits().size());
+    }
+
+    /**
+     * compare the index with the LIKE '%keyword%' query of the database fallback, it is run as an in memory scan,
+     * which is the lower bound of the query without the index and the io
+     */
+    @Test
+    public void testSearchBenchmark() {
+        CatalogSearchIndex.IndexState indexState = new CatalogSearchIndex.IndexState();
+        List<CatalogEntityInstance> entityList = new ArrayList<>();
+        String[] words = {"order", "customer", "payment", "invoice", "product", "detail", "history", "account", "region", "event"};
+        int entityCount = 100000;
+        long start = System.nanoTime();
+        for (int i = 0; i < entityCount; i++) {
+            String name = words[i % words.length] + "_" + words[(i / words.length) % words.length] + "_" + i;
+            CatalogEntityInstance entityInstance = entity(String.valueOf(i), name, "db_" + (i % 50) + "." + name, "the " + words[(i / 7) % words.length]);
+            entityList.add(entityInstance);
+            indexState.put(entityInstance, null);
+        }
+        long buildMillis = (System.nanoTime() - start) / 1000000;
+
+        String[] keywords = {"order", "customer_payment", "prod", "history_1", "region_event_99"};
+        int rounds = 20;
+        long[] searchMicros = new long[2];
+        int[] hits = new int[2];
+        // the first round warms up the jit and is not counted
+        for (int i = 0; i <= rounds; i++) {
+            for (String keyword : keywords) {
+                start = System.nanoTime();
+                int searchHits = indexState.search(keyword, null, null, null, false).getHits().size();
+                long indexMicros = (System.nanoTime() - start) / 1000;
+                start = System.nanoTime();
+                int likeHits = like(entityList, keyword);
+                long likeMicros = (System.nanoTime() - start) / 1000;
+                if (i > 0) {
+                    searchMicros[0] += indexMicros;
+                    searchMicros[1] += likeMicros;
+                    hits[0] += searchHits;
+                    hits[1] += likeHits;
+                }
+            }
+        }
+        logger.info("catalog search index benchmark: build {} entities {} ms, search {} us per keyword with {} hits, like scan {} us per keyword with {} hits",
+                entityCount, buildMillis, searchMicros[0] / (rounds * keywords.length), hits[0] / rounds,
+                searchMicros[1] / (rounds * keywords.length), hits[1] / rounds);
+
+        // the index matches every term of the keyword anywhere, so it finds the hits of the like query
+        Assert.assertTrue(hits[0] >= hits[1] && hits[1] > 0);
+        // a loose bound, it only catches an order of magnitude regression, the index ranks the hits and the scan does not
+        Assert.assertTrue("search takes " + searchMicros[0] + " us", searchMicros[0] / (rounds * keywords.length) < 1000000);
+    }
+
+    /**
+     * the keyword is matched by LIKE '%keyword%' on the name, the path or the description, the collation ignores the case
+     */
+    private int like(List<CatalogEntityInstance> entityList, String keyword) {
+        String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
+        int count = 0;
+        for (CatalogEntityInstance entityInstance : entityList) {
+            if (entityInstance.getDisplayName().toLowerCase(Locale.ROOT).contains(lowerKeyword)
+                    || entityInstance.getFullyQualifiedName().toLowerCase(Locale.ROOT).contains(lowerKeyword)
+                    || entityInstance.getDescription().toLowerCase(Locale.ROOT).contains(lowerKeyword)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private List<String> uuids(CatalogSearchIndex.SearchResult searchResult) {
+        return searchResult.getHits().stream().map(hit -> hit.getEntity().getUuid()).collect(Collectors.toList());
+    }
+
+    private CatalogEntityInstance entity(String uuid, String name, String fqn, String description) {
+        CatalogEntityInstance entityInstance = new CatalogEntityInstance();
+        entityInstance.setId(Long.valueOf(uuid.hashCode()));
+        entityInstance.setUuid(uuid);
+        entityInstance.setDatasourceId(1L);
+        entityInstance.setType(description == null ? "table" : "column");
+        entityInstance.setDisplayName(name);
+        entityInstance.setFullyQualifiedName(fqn);
+        entityInstance.setDescription(description);
+        entityInstance.setStatus(CommonConstants.CATALOG_ENTITY_INSTANCE_STATUS_ACTIVE);
+        entityInstance.setUpdateTime(LocalDateTime.of(2026, 10, 1, 0, 0));
+        return entityInstance;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.cache;
+
+import io.datavines.common.datasource.jdbc.entity.DatabaseInfo;
+import io.datavines.common.datasource.jdbc.entity.TableInfo;
+import io.datavines.server.repository.entity.catalog.CatalogEntityInstance;
+import io.datavines.server.repository.mapper.CatalogEntityInstanceMapper;
+import io.datavines.server.utils.FakeBeans;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class MetadataBrowseCacheTest {
+
+    private static final long TTL = 60 * 1000L;
+
+    private static final long CATALOG_TTL = 60 * 60 * 1000L;
+
+    private final AtomicReference<List<CatalogEntityInstance>> catalog = new AtomicReference<>(Collections.emptyList());
+
+    private final AtomicInteger catalogQueries = new AtomicInteger();
+
+    private final AtomicInteger connectorCalls = new AtomicInteger();
+
+    @Test
+    public void testLookupIsServedByMemoryThenCatalog() throws Exception {
+        MetadataBrowseCache cache = newCache(true);
+        catalog.set(Arrays.asList(
+                entity("database", "orders_db", LocalDateTime.now()),
+                entity("database", "users_db", LocalDateTime.now())));
+
+        List<String> first = databaseNames(cache.getDatabaseList(1L, this::loadFromConnector));
+        List<String> second = databaseNames(cache.getDatabaseList(1L, this::loadFromConnector));
+
+        Assert.assertEquals(Arrays.asList("orders_db", "users_db"), first);
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(1, catalogQueries.get());
+        Assert.assertEquals(0, connectorCalls.get());
+    }
+
+    @Test
+    public void testCatalogMissFallsThroughToConnector() throws Exception {
+        MetadataBrowseCache cache = newCache(true);
+
+        Object result = cache.getTableList(1L, "orders_db", this::loadFromConnector);
+
+        Assert.assertEquals("connector", result);
+        Assert.assertEquals(1, catalogQueries.get());
+        Assert.assertEquals(1, connectorCalls.get());
+    }
+
+    @Test
+    public void testCatalogNotSyncedWithinTtlFallsThroughToConnector() throws Exception {
+        MetadataBrowseCache cache = newCache(true);
+        catalog.set(Collections.singletonList(
+                entity("table", "orders_db.orders", LocalDateTime.now().minusDays(2))));
+
+        Assert.assertEquals("connector", cache.getTableList(1L, "orders_db", this::loadFromConnector));
+
+        // the catalog sync refreshes the entities and drops what the memory holds
+        // the tables of another database with the same name prefix are not part of the table list
+        cache.invalidate(1L, "orders_db");
+        catalog.set(Arrays.asList(
+                entity("table", "orders_db.orders", LocalDateTime.now()),
+                entity("table", "orders_dbx.orders", LocalDateTime.now())));
+        Object result = cache.getTableList(1L, "orders_db2", this::loadFromConnector);
+        Assert.assertEquals("connector", result);
+        Assert.assertEquals(2, connectorCalls.get());
+
+        Object tableList = cache.getTableList(1L, "orders_db", this::loadFromConnector);
+        Assert.assertEquals(Collections.singletonList("orders"), tableNames(tableList));
+        Assert.assertEquals(2, connectorCalls.get());
+    }
+
+    @Test
+    public void testInvalidateDropsTheMetadataBelowTheEntity() throws Exception {
+        MetadataBrowseCache cache = newCache(true);
+        cache.getDatabaseList(1L, this::loadFromConnector);
+        cache.getTableList(1L, "orders_db", this::loadFromConnector);
+        cache.getColumnList(1L, "orders_db", "orders", this::loadFromConnector);
+        cache.getColumnList(1L, "orders_db", "items", this::loadFromConnector);
+        cache.getTableList(2L, "orders_db", this::loadFromConnector);
+        Assert.assertEquals(5, connectorCalls.get());
+
+        cache.invalidate(1L, "orders_db", "orders");
+        cache.getColumnList(1L, "orders_db", "orders", this::loadFromConnector);
+        cache.getColumnList(1L, "orders_db", "items", this::loadFromConnector);
+        Assert.assertEquals(6, connectorCalls.get());
+
+        // the database list is dropped with the tables because a fetch of the database may add it to the catalog
+        cache.invalidate(1L, "orders_db");
+        cache.getDatabaseList(1L, this::loadFromConnector);
+        cache.getTableList(1L, "orders_db", this::loadFromConnector);
+        cache.getColumnList(1L, "orders_db", "items", this::loadFromConnector);
+        Assert.assertEquals(9, connectorCalls.get());
+
+        cache.invalidate(1L);
+        cache.getTableList(1L, "orders_db", this::loadFromConnector);
+        cache.getTableList(2L, "orders_db", this::loadFromConnector);
+        Assert.assertEquals(10, connectorCalls.get());
+    }
+
+    @Test
+    public void testDisabledCacheAlwaysCallsConnector() throws Exception {
+        MetadataBrowseCache cache = newCache(false);
+        catalog.set(Collections.singletonList(entity("database", "orders_db", LocalDateTime.now())));
+
+        Assert.assertEquals("connector", cache.getDatabaseList(1L, this::loadFromConnector));
+        Assert.assertEquals("connector", cache.getDatabaseList(1L, this::loadFromConnector));
+        Assert.assertEquals(0, catalogQueries.get());
+        Assert.assertEquals(2, connectorCalls.get());
+    }
+
+    private MetadataBrowseCache newCache(boolean enable) {
+        CatalogEntityInstanceMapper instanceMapper = FakeBeans.of(CatalogEntityInstanceMapper.class)
+                .on("selectList", args -> {
+                    catalogQueries.incrementAndGet();
+                    return new ArrayList<>(catalog.get());
+                })
+                .build();
+        return new MetadataBrowseCache(enable, true, 100, TTL, CATALOG_TTL, () -> instanceMapper);
+    }
+
+    private Object loadFromConnector() {
+        connectorCalls.incrementAndGet();
+        return "connector";
+    }
+
+    private CatalogEntityInstance entity(String type, String fqn, LocalDateTime updateTime) {
+        CatalogEntityInstance instance = new CatalogEntityInstance();
+        instance.setDatasourceId(1L);
+        instance.setType(type);
+        instance.setFullyQualifiedName(fqn);
+        instance.setDisplayName(fqn.substring(fqn.lastIndexOf('.') + 1));
+        instance.setUpdateTime(updateTime);
+        return instance;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> databaseNames(Object databaseList) {
+        List<String> names = new ArrayList<>();
+        for (DatabaseInfo databaseInfo : (List<DatabaseInfo>) databaseList) {
+            names.add(databaseInfo.getName());
+        }
+        return names;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> tableNames(Object tableList) {
+        List<String> names = new ArrayList<>();
+        for (TableInfo tableInfo : (List<TableInfo>) tableList) {
+            names.add(tableInfo.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.cache;
+
+import io.datavines.common.entity.QueryColumn;
+import io.datavines.common.utils.CommonPropertyUtils;
+import io.datavines.connector.api.QueryCursor;
+import io.datavines.core.exception.DataVinesServerException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class QueryCursorCacheTest {
+
+    @Test
+    public void testOpenCursorsOfDatasourceAreLimited() throws Exception {
+        int maxCursors = CommonPropertyUtils.QUERY_CURSOR_MAX_PER_DATASOURCE_DEFAULT;
+        AtomicInteger closed = new AtomicInteger();
+        List<QueryCursor> cursors = new ArrayList<>();
+        for (int i = 0; i < maxCursors; i++) {
+            cursors.add(QueryCursorCache.getInstance().open(1001L, () -> new StubCursor(closed)));
+        }
+
+        try {
+            QueryCursorCache.getInstance().open(1001L, () -> new StubCursor(closed));
+            Assert.fail("the cursor over the limit should be rejected");
+        } catch (DataVinesServerException e) {
+            Assert.assertEquals(0, closed.get());
+        }
+
+        // another datasource has its own limit
+        QueryCursorCache.getInstance().open(1002L, () -> new StubCursor(closed)).close();
+
+        // closing twice releases the slot once
+        cursors.get(0).close();
+        cursors.get(0).close();
+        Assert.assertEquals(2, closed.get());
+        QueryCursor cursor = QueryCursorCache.getInstance().open(1001L, () -> new StubCursor(closed));
+        Assert.assertNotNull(cursor);
+        try {
+            QueryCursorCache.getInstance().open(1001L, () -> new StubCursor(closed));
+            Assert.fail("the cursor over the limit should be rejected");
+        } catch (DataVinesServerException e) {
+            // expected
+        }
+
+        cursor.close();
+        for (QueryCursor openCursor : cursors) {
+            openCursor.close();
+        }
+    }
+
+    @Test
+    public void testFailedOpenReleasesTheSlot() throws Exception {
+        int maxCursors = CommonPropertyUtils.QUERY_CURSOR_MAX_PER_DATASOURCE_DEFAULT;
+        for (int i = 0; i < maxCursors + 1; i++) {
+            try {
+                QueryCursorCache.getInstance().open(1003L, () -> {
+                    throw new IllegalStateException("connect error");
+                });
+                Assert.fail("the error of the connector should be thrown");
+            } catch (IllegalStateException e) {
+                // expected
+            }
+        }
+
+        QueryCursor cursor = QueryCursorCache.getInstance().open(1003L, () -> new StubCursor(new AtomicInteger()));
+        Assert.assertNotNull(cursor);
+        cursor.close();
+    }
+
+    private static class StubCursor implements QueryCursor {
+
+        private final AtomicInteger closed;
+
+        StubCursor(AtomicInteger closed) {
+            this.closed = closed;
+        }
+
+        @Override
+        public List<QueryColumn> getColumns() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<Map<String, Object>> fetch(int size) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean hasMore() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            closed.incrementAndGet();
+        }
+    }
+}
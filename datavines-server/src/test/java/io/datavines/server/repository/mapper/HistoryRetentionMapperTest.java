@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.mapper;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class HistoryRetentionMapperTest {
+
+    private static final String MAPPER_XML = "mapper/HistoryRetentionMapper.xml";
+
+    private static final LocalDateTime EXPIRE_TIME = LocalDateTime.of(2026, 10, 1, 0, 0);
+
+    private SqlSession sqlSession;
+
+    private HistoryRetentionMapper mapper;
+
+    @Before
+    public void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:history_retention_mapper;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists dv_common_task");
+            statement.execute("drop table if exists dv_datasource");
+            statement.execute("drop table if exists dv_common_task_archive");
+            statement.execute("create table dv_common_task (id bigint primary key, type varchar(128), datasource_id bigint, "
+                    + "database_name varchar(128), table_name varchar(128), status int, create_time datetime)");
+            statement.execute("create table dv_datasource (id bigint primary key, workspace_id bigint)");
+            // the archive table has its columns in another order and lacks the columns added to the history table later
+            statement.execute("create table dv_common_task_archive (status int, type varchar(128), id bigint primary key)");
+            statement.execute("insert into dv_datasource values (1, 1)");
+            // tasks 1, 2 and 3 fetch the datasource, 4 and 5 fetch table t of database db, 6 fetches the datasource 2 without workspace
+            statement.execute("insert into dv_common_task values "
+                    + "(1, 'DATASOURCE', 1, null, null, 7, '2026-09-01 00:00:00'), "
+                    + "(2, 'DATASOURCE', 1, null, null, 7, '2026-09-02 00:00:00'), "
+                    + "(3, 'DATASOURCE', 1, null, null, 7, '2026-09-03 00:00:00'), "
+                    + "(4, 'TABLE', 1, 'db', 't', 6, '2026-09-01 00:00:00'), "
+                    + "(5, 'TABLE', 1, 'db', 't', 7, '2026-10-02 00:00:00'), "
+                    + "(6, 'DATASOURCE', 2, null, null, 7, '2026-09-01 00:00:00')");
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        try (InputStream inputStream = Resources.getResourceAsStream(MAPPER_XML)) {
+            new XMLMapperBuilder(inputStream, configuration, MAPPER_XML, configuration.getSqlFragments()).parse();
+        }
+
+        sqlSession = new MybatisSqlSessionFactoryBuilder().build(configuration).openSession(true);
+        mapper = sqlSession.getMapper(HistoryRetentionMapper.class);
+    }
+
+    @After
+    public void tearDown() {
+        sqlSession.close();
+    }
+
+    @Test
+    public void testLatestTaskOfEveryKeyIsKept() {
+        // task 3 is the latest of the datasource fetch, the null database and table are the same key
+        Assert.assertEquals(Arrays.asList(1L, 2L, 4L), mapper.listExpiredCommonTaskIds(1L, EXPIRE_TIME, 10));
+        Assert.assertEquals(Collections.emptyList(), mapper.listExpiredCommonTaskIds(-1L, EXPIRE_TIME, 10));
+    }
+
+    @Test
+    public void testArchiveCopiesTheListedColumns() {
+        Assert.assertEquals(2, mapper.archiveByKeys("dv_common_task", Arrays.asList("id", "type", "status"), "id", Arrays.asList(1L, 4L)));
+
+        List<Map<String, Object>> rows = mapper.selectByKeys("dv_common_task_archive", "id", Arrays.asList(1L, 4L));
+        Assert.assertEquals(2, rows.size());
+        for (Map<String, Object> row : rows) {
+            long id = ((Number) row.get("ID")).longValue();
+            Assert.assertEquals(id == 1L ? "DATASOURCE" : "TABLE", row.get("TYPE"));
+            Assert.assertEquals(id == 1L ? 7 : 6, ((Number) row.get("STATUS")).intValue());
+        }
+    }
+
+    @Test
+    public void testExpiredTasksAreListedInChunks() {
+        Assert.assertEquals(Arrays.asList(1L, 2L), mapper.listExpiredCommonTaskIds(1L, EXPIRE_TIME, 2));
+        Assert.assertEquals(Arrays.asList(1L, 4L), mapper.listExpiredCommonTaskIds(1L, LocalDateTime.of(2026, 9, 2, 0, 0), 10));
+    }
+}
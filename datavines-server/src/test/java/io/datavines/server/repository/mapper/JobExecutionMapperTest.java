@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.mapper;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.handlers.MybatisEnumTypeHandler;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import io.datavines.server.api.dto.vo.JobExecutionAggItem;
+import io.datavines.server.api.dto.vo.JobExecutionVO;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.api.Interval;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class JobExecutionMapperTest {
+
+    private static final String MAPPER_XML = "mapper/JobExecutionMapper.xml";
+
+    private SqlSession sqlSession;
+
+    private JobExecutionMapper mapper;
+
+    @Before
+    public void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:job_execution_mapper;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists dv_job_execution");
+            statement.execute("create table dv_job_execution (id bigint primary key, name varchar(255), job_id bigint, "
+                    + "job_type int, schema_name varchar(128), table_name varchar(128), column_name varchar(128), "
+                    + "metric_type varchar(128), datasource_id bigint, status int, start_time datetime, end_time datetime, "
+                    + "create_time datetime, update_time datetime)");
+            // date_add(date, interval n day) of MySQL
+            statement.execute("create alias if not exists date_add for \"" + JobExecutionMapperTest.class.getName() + ".dateAdd\"");
+            statement.execute("drop table if exists dv_datasource");
+            statement.execute("create table dv_datasource (id bigint primary key, workspace_id bigint)");
+            statement.execute("insert into dv_datasource values (1, 1)");
+            statement.execute("drop table if exists dv_job_execution_daily_stat");
+            statement.execute("create table dv_job_execution_daily_stat (id bigint auto_increment primary key, workspace_id bigint not null, "
+                    + "datasource_id bigint not null, metric_type varchar(255) not null, schema_name varchar(128) not null, "
+                    + "table_name varchar(128) not null, column_name varchar(128) not null, status int not null, stat_date date not null, "
+                    + "exec_count bigint not null, unique key job_execution_daily_stat_un (workspace_id, datasource_id, stat_date, metric_type, "
+                    + "schema_name, table_name, column_name, status))");
+            for (int id = 1; id <= 5; id++) {
+                statement.execute("insert into dv_job_execution values (" + id + ", 'job_" + id + "', 1, 0, 'db', 't', null, "
+                        + "'column_null', 1, 7, null, null, '2026-10-01 00:00:00', '2026-10-01 00:00:0" + id + "')");
+            }
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setDefaultEnumTypeHandler(MybatisEnumTypeHandler.class);
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.H2));
+        configuration.addInterceptor(interceptor);
+        try (InputStream inputStream = Resources.getResourceAsStream(MAPPER_XML)) {
+            new XMLMapperBuilder(inputStream, configuration, MAPPER_XML, configuration.getSqlFragments()).parse();
+        }
+
+        SqlSessionFactory sqlSessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+        sqlSession = sqlSessionFactory.openSession(true);
+        mapper = sqlSession.getMapper(JobExecutionMapper.class);
+    }
+
+    @After
+    public void tearDown() {
+        sqlSession.close();
+    }
+
+    @Test
+    public void testKeysetPagesAreStableWhenUpdateTimeChanges() throws Exception {
+        List<Long> firstPage = selectPage(null);
+        Assert.assertEquals(Arrays.asList(5L, 4L), firstPage);
+
+        // the rows of the next pages are updated while the client pages, they must neither move nor repeat
+        try (Statement statement = sqlSession.getConnection().createStatement()) {
+            statement.execute("update dv_job_execution set update_time = '2026-10-02 00:00:00' where id in (1, 5)");
+        }
+
+        List<Long> ids = new ArrayList<>(firstPage);
+        ids.addAll(selectPage(4L));
+        ids.addAll(selectPage(2L));
+        Assert.assertEquals(Arrays.asList(5L, 4L, 3L, 2L, 1L), ids);
+        Assert.assertTrue(selectPage(1L).isEmpty());
+    }
+
+    @Test
+    public void testOffsetPageKeepsTheUpdateTimeOrder() {
+        List<Long> ids = mapper.getJobExecutionPage(new Page<>(1, 10), null, 1L, 1L, null, null, null, null, null,
+                null, null, null, null, null, false, 3L).getRecords()
+                .stream().map(JobExecutionVO::getId).collect(Collectors.toList());
+        // the cursor id is ignored by the offset page
+        Assert.assertEquals(Arrays.asList(5L, 4L, 3L, 2L, 1L), ids);
+    }
+
+    @Test
+    public void testDailyStatCountsExecutionWithoutDatasourceTheSameWay() throws Exception {
+        try (Statement statement = sqlSession.getConnection().createStatement()) {
+            statement.execute("insert into dv_job_execution values (6, 'job_6', 1, 0, 'db', 't', null, "
+                    + "'column_null', null, 7, null, null, '2026-10-01 00:00:00', '2026-10-01 00:00:06')");
+        }
+
+        mapper.insertDailyStat(null, LocalDate.of(2026, 10, 1));
+        // the execution without datasource is rerun and fails, its count moves to the failure status
+        mapper.upsertDailyStat(6L, 7, -1);
+        mapper.upsertDailyStat(6L, 6, 1);
+
+        Map<String, Long> counts = mapper.getJobExecutionAggPie(null, null, null, null, null, null, null).stream()
+                .collect(Collectors.toMap(JobExecutionAggItem::getName, item -> (long) item.getValue()));
+        Assert.assertEquals(Long.valueOf(5L), counts.get("7"));
+        Assert.assertEquals(Long.valueOf(1L), counts.get("6"));
+    }
+
+    @Test
+    public void testDailyStatRefreshOnlyCountsTheWorkspace() throws Exception {
+        LocalDate statDate = LocalDate.of(2026, 10, 1);
+        try (Statement statement = sqlSession.getConnection().createStatement()) {
+            statement.execute("insert into dv_datasource values (2, 2)");
+            statement.execute("insert into dv_job_execution values (6, 'job_6', 2, 0, 'db', 't', null, "
+                    + "'column_null', 2, 6, null, null, '2026-10-01 00:00:00', '2026-10-01 00:00:06')");
+        }
+        mapper.insertDailyStat(null, statDate);
+
+        // the executions of workspace 1 are purged by its retention, the recount of workspace 2 keeps their stat
+        try (Statement statement = sqlSession.getConnection().createStatement()) {
+            statement.execute("delete from dv_job_execution where datasource_id = 1");
+            statement.execute("update dv_job_execution set status = 7 where id = 6");
+        }
+        mapper.deleteDailyStat(2L, statDate);
+        mapper.insertDailyStat(2L, statDate);
+
+        Map<String, Long> workspaceCounts = new HashMap<>();
+        try (Statement statement = sqlSession.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery("select workspace_id, status, exec_count from dv_job_execution_daily_stat")) {
+            while (resultSet.next()) {
+                workspaceCounts.put(resultSet.getLong(1) + "@@" + resultSet.getInt(2), resultSet.getLong(3));
+            }
+        }
+        Map<String, Long> expected = new HashMap<>();
+        expected.put("1@@7", 5L);
+        expected.put("2@@7", 1L);
+        Assert.assertEquals(expected, workspaceCounts);
+    }
+
+    public static LocalDateTime dateAdd(LocalDate date, Interval interval) {
+        return date.atStartOfDay().plusDays(interval.getLeading());
+    }
+
+    private List<Long> selectPage(Long cursorId) {
+        return mapper.getJobExecutionPage(new Page<>(1, 2, false), null, 1L, 1L, null, null, null, null, null,
+                null, null, null, null, null, true, cursorId).getRecords()
+                .stream().map(JobExecutionVO::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.mapper;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import io.datavines.server.repository.entity.ActualValues;
+import io.datavines.server.repository.entity.JobExecution;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class JobPartitionWatermarkMapperTest {
+
+    private static final String MAPPER_XML = "mapper/JobPartitionWatermarkMapper.xml";
+
+    private SqlSession sqlSession;
+
+    private JobPartitionWatermarkMapper mapper;
+
+    @Before
+    public void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:job_partition_watermark_mapper;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists dv_job_execution");
+            statement.execute("drop table if exists dv_actual_values");
+            statement.execute("drop table if exists dv_job_execution_result");
+            statement.execute("create table dv_job_execution (id bigint primary key, parameter text)");
+            statement.execute("create table dv_actual_values (id bigint auto_increment primary key, job_execution_id bigint, "
+                    + "metric_name varchar(255), unique_code varchar(255), actual_value decimal(20,4))");
+            statement.execute("create table dv_job_execution_result (id bigint auto_increment primary key, job_execution_id bigint, "
+                    + "metric_unique_key varchar(255), unique_code varchar(255))");
+            statement.execute("insert into dv_job_execution values (1, '{}'), (2, '{}')");
+            // the incremental metric i and the full table metric f run in both executions
+            statement.execute("insert into dv_actual_values (job_execution_id, metric_name, unique_code, actual_value) values "
+                    + "(1, 'column_null', 'i', 3), (1, 'column_null', 'f', 10), (2, 'column_null', 'i', 4), (2, 'column_null', 'f', 10)");
+            statement.execute("insert into dv_job_execution_result (job_execution_id, metric_unique_key, unique_code) values "
+                    + "(1, 'i1', 'i'), (1, 'f1', 'f'), (2, 'i2', 'i'), (2, 'f2', 'f')");
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        try (InputStream inputStream = Resources.getResourceAsStream(MAPPER_XML)) {
+            new XMLMapperBuilder(inputStream, configuration, MAPPER_XML, configuration.getSqlFragments()).parse();
+        }
+
+        sqlSession = new MybatisSqlSessionFactoryBuilder().build(configuration).openSession(true);
+        mapper = sqlSession.getMapper(JobPartitionWatermarkMapper.class);
+    }
+
+    @After
+    public void tearDown() {
+        sqlSession.close();
+    }
+
+    @Test
+    public void testListActualValuesOfIncrementalMetricsOnly() {
+        List<ActualValues> actualValuesList = mapper.listActualValuesByMetricUniqueKeys(Arrays.asList(1L, 2L), Arrays.asList("i1", "i2"));
+
+        Assert.assertEquals(Arrays.asList("i", "i"),
+                actualValuesList.stream().map(ActualValues::getUniqueCode).collect(Collectors.toList()));
+        Assert.assertEquals(7, actualValuesList.stream().mapToInt(actualValues -> actualValues.getActualValue().intValue()).sum());
+    }
+
+    @Test
+    public void testMetricOfOtherExecutionIsNotListed() {
+        // i2 is the key of the metric in execution 2, the actual value of execution 1 is not owned
+        List<ActualValues> actualValuesList = mapper.listActualValuesByMetricUniqueKeys(Arrays.asList(1L, 2L), Collections.singletonList("i2"));
+
+        Assert.assertEquals(1, actualValuesList.size());
+        Assert.assertEquals(Long.valueOf(2L), actualValuesList.get(0).getJobExecutionId());
+    }
+
+    @Test
+    public void testListJobExecutionParameters() {
+        List<JobExecution> jobExecutions = mapper.listJobExecutionParameters(Collections.singletonList(2L));
+
+        Assert.assertEquals(1, jobExecutions.size());
+        Assert.assertEquals(Long.valueOf(2L), jobExecutions.get(0).getId());
+        Assert.assertEquals("{}", jobExecutions.get(0).getParameter());
+    }
+}
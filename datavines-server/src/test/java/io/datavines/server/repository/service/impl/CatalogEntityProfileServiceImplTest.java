@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import io.datavines.common.utils.CommonPropertyUtils;
+import io.datavines.server.api.dto.bo.catalog.profile.TableProfileSnapshot;
+import io.datavines.server.repository.mapper.CatalogEntityProfileMapper;
+import io.datavines.server.repository.mapper.CatalogEntityProfileSnapshotMapper;
+import io.datavines.server.repository.service.CatalogEntityRelService;
+import io.datavines.server.utils.FakeBeans;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CatalogEntityProfileServiceImplTest {
+
+    private static final String TABLE_UUID = "table_uuid";
+
+    private SqlSession sqlSession;
+
+    private CatalogEntityProfileServiceImpl profileService;
+
+    @Before
+    public void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:catalog_entity_profile;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists dv_catalog_entity_profile");
+            statement.execute("drop table if exists dv_catalog_entity_profile_snapshot");
+            statement.execute("create table dv_catalog_entity_profile (id bigint auto_increment primary key, entity_uuid varchar(64), "
+                    + "metric_name varchar(255), actual_value text, actual_value_type varchar(255), data_date varchar(255), "
+                    + "update_time datetime)");
+            statement.execute("create table dv_catalog_entity_profile_snapshot (id bigint auto_increment primary key, "
+                    + "entity_uuid varchar(64), job_execution_id bigint, data_date varchar(255), snapshot text, update_time datetime)");
+            statement.execute("insert into dv_catalog_entity_profile (entity_uuid, metric_name, actual_value, data_date) "
+                    + "values ('" + TABLE_UUID + "', 'table_row_count', '100', '2026-10-01')");
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.addMapper(CatalogEntityProfileMapper.class);
+        configuration.addMapper(CatalogEntityProfileSnapshotMapper.class);
+        sqlSession = new MybatisSqlSessionFactoryBuilder().build(configuration).openSession(true);
+
+        profileService = new CatalogEntityProfileServiceImpl();
+        FakeBeans.inject(profileService, "baseMapper", sqlSession.getMapper(CatalogEntityProfileMapper.class));
+        FakeBeans.inject(profileService, "snapshotMapper", sqlSession.getMapper(CatalogEntityProfileSnapshotMapper.class));
+        FakeBeans.inject(profileService, "catalogEntityRelService", FakeBeans.of(CatalogEntityRelService.class)
+                .on("list", args -> new ArrayList<>())
+                .build());
+    }
+
+    @After
+    public void tearDown() {
+        sqlSession.close();
+        CommonPropertyUtils.getProperties().remove(CommonPropertyUtils.PROFILE_SNAPSHOT_KEEP_COUNT);
+    }
+
+    @Test
+    public void testOnlyTheLatestSnapshotsAreKept() throws Exception {
+        CommonPropertyUtils.getProperties().setProperty(CommonPropertyUtils.PROFILE_SNAPSHOT_KEEP_COUNT, "3");
+        for (long jobExecutionId = 1; jobExecutionId <= 5; jobExecutionId++) {
+            profileService.refreshSnapshot(TABLE_UUID, jobExecutionId);
+        }
+
+        List<Long> jobExecutionIds = new ArrayList<>();
+        try (Statement statement = sqlSession.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "select job_execution_id from dv_catalog_entity_profile_snapshot order by job_execution_id")) {
+            while (resultSet.next()) {
+                jobExecutionIds.add(resultSet.getLong(1));
+            }
+        }
+        Assert.assertEquals(3, jobExecutionIds.size());
+        Assert.assertEquals(Long.valueOf(3L), jobExecutionIds.get(0));
+
+        TableProfileSnapshot snapshot = profileService.getLatestSnapshot(TABLE_UUID);
+        Assert.assertEquals("100", snapshot.getTableRecords());
+        Assert.assertNotNull(snapshot.getSnapshotTime());
+        Assert.assertFalse(snapshot.isStale());
+    }
+
+    @Test
+    public void testFailedRefreshMarksTheSnapshotStale() {
+        profileService.refreshSnapshot(TABLE_UUID, 1L);
+        Assert.assertFalse(profileService.getLatestSnapshot(TABLE_UUID).isStale());
+
+        profileService.markSnapshotStale(TABLE_UUID);
+        TableProfileSnapshot snapshot = profileService.getLatestSnapshot(TABLE_UUID);
+        Assert.assertTrue(snapshot.isStale());
+        Assert.assertEquals("2026-10-01", snapshot.getDataDate());
+
+        // the next successful refresh replaces the stale snapshot
+        profileService.refreshSnapshot(TABLE_UUID, 2L);
+        Assert.assertFalse(profileService.getLatestSnapshot(TABLE_UUID).isStale());
+    }
+}
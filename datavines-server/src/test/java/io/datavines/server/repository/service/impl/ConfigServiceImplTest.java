@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import io.datavines.common.utils.CommonPropertyUtils;
+import io.datavines.server.api.dto.bo.config.ConfigUpdate;
+import io.datavines.server.repository.mapper.ConfigMapper;
+import io.datavines.server.utils.FakeBeans;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.Statement;
+
+public class ConfigServiceImplTest {
+
+    private static final String MAPPER_XML = "mapper/ConfigMapper.xml";
+
+    private static final String VAR_KEY = "config.service.test.key";
+
+    private SqlSession sqlSession;
+
+    private ConfigServiceImpl configService;
+
+    @Before
+    public void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:config_service;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists dv_config");
+            statement.execute("create table dv_config (id bigint auto_increment primary key, workspace_id bigint, "
+                    + "var_key varchar(255), var_value text, is_default tinyint, create_by bigint, create_time datetime, "
+                    + "update_by bigint, update_time datetime)");
+            statement.execute("insert into dv_config (workspace_id, var_key, var_value, is_default, create_by, create_time, "
+                    + "update_by, update_time) values (-1, '" + VAR_KEY + "', 'v1', 1, 1, now(), 1, '2026-10-01 00:00:00')");
+            statement.execute("drop table if exists dv_config_version");
+            statement.execute("create table dv_config_version (id int primary key, version bigint)");
+            statement.execute("insert into dv_config_version values (1, 0)");
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        try (InputStream inputStream = Resources.getResourceAsStream(MAPPER_XML)) {
+            new XMLMapperBuilder(inputStream, configuration, MAPPER_XML, configuration.getSqlFragments()).parse();
+        }
+        sqlSession = new MybatisSqlSessionFactoryBuilder().build(configuration).openSession(true);
+
+        configService = new ConfigServiceImpl();
+        FakeBeans.inject(configService, "baseMapper", sqlSession.getMapper(ConfigMapper.class));
+        CommonPropertyUtils.getProperties().setProperty(CommonPropertyUtils.CONFIG_REFRESH_INTERVAL, "0");
+    }
+
+    @After
+    public void tearDown() {
+        sqlSession.close();
+        CommonPropertyUtils.getProperties().remove(CommonPropertyUtils.CONFIG_REFRESH_INTERVAL);
+        CommonPropertyUtils.getProperties().remove(VAR_KEY);
+    }
+
+    @Test
+    public void testReloadOnlyWhenVersionChanged() throws Exception {
+        configService.refreshCommonProperties();
+        Assert.assertEquals("v1", CommonPropertyUtils.getString(VAR_KEY));
+
+        // the rows are not reloaded while the version of dv_config is unchanged
+        CommonPropertyUtils.setValue(VAR_KEY, "local");
+        configService.refreshCommonProperties();
+        Assert.assertEquals("local", CommonPropertyUtils.getString(VAR_KEY));
+
+        execute("update dv_config set var_value = 'v2'");
+        execute("update dv_config_version set version = version + 1");
+        configService.refreshCommonProperties();
+        Assert.assertEquals("v2", CommonPropertyUtils.getString(VAR_KEY));
+    }
+
+    @Test
+    public void testEveryWriteIncreasesVersion() throws Exception {
+        configService.refreshCommonProperties();
+        Long version = sqlSession.getMapper(ConfigMapper.class).getConfigVersion();
+
+        // two writes within the same second are still told apart by the version
+        ConfigUpdate configUpdate = new ConfigUpdate();
+        configUpdate.setId(1L);
+        configUpdate.setWorkspaceId(-1L);
+        configUpdate.setVarKey(VAR_KEY);
+        configUpdate.setVarValue("v2");
+        configService.update(configUpdate);
+        configUpdate.setVarValue("v3");
+        configService.update(configUpdate);
+        sqlSession.clearCache();
+        Assert.assertEquals(Long.valueOf(version + 2), sqlSession.getMapper(ConfigMapper.class).getConfigVersion());
+
+        CommonPropertyUtils.setValue(VAR_KEY, "local");
+        configService.refreshCommonProperties();
+        Assert.assertEquals("v3", CommonPropertyUtils.getString(VAR_KEY));
+    }
+
+    @Test
+    public void testVersionIsProbedOncePerInterval() throws Exception {
+        configService.refreshCommonProperties();
+        Assert.assertEquals("v1", CommonPropertyUtils.getString(VAR_KEY));
+
+        CommonPropertyUtils.getProperties().setProperty(CommonPropertyUtils.CONFIG_REFRESH_INTERVAL, String.valueOf(60 * 1000L));
+        execute("update dv_config set var_value = 'v2'");
+        execute("update dv_config_version set version = version + 1");
+        configService.refreshCommonProperties();
+        Assert.assertEquals("v1", CommonPropertyUtils.getString(VAR_KEY));
+    }
+
+    private void execute(String sql) throws Exception {
+        try (Statement statement = sqlSession.getConnection().createStatement()) {
+            statement.execute(sql);
+        }
+        sqlSession.clearCache();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.service.impl;
+
+import io.datavines.core.enums.Status;
+import io.datavines.core.exception.DataVinesServerException;
+import io.datavines.server.api.dto.bo.issue.IssueCreate;
+import io.datavines.server.repository.entity.Issue;
+import io.datavines.server.repository.entity.JobIssueRel;
+import io.datavines.server.repository.service.JobIssueRelService;
+import io.datavines.server.utils.FakeBeans;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class IssueServiceImplTest {
+
+    private final List<Integer> issueBatches = new ArrayList<>();
+
+    private final List<Integer> relBatches = new ArrayList<>();
+
+    private final List<Long> relIssueIds = new ArrayList<>();
+
+    private boolean saveIssueResult = true;
+
+    @Test
+    public void testCreateBatchInTwoStatements() throws Exception {
+        getIssueService().createBatch(getIssueCreateList(100));
+
+        Assert.assertEquals(1, issueBatches.size());
+        Assert.assertEquals(100, issueBatches.get(0).intValue());
+        Assert.assertEquals(1, relBatches.size());
+        Assert.assertEquals(100, relBatches.get(0).intValue());
+        Assert.assertEquals(Long.valueOf(1), relIssueIds.get(0));
+        Assert.assertEquals(Long.valueOf(100), relIssueIds.get(99));
+    }
+
+    @Test
+    public void testCreateEmptyBatch() throws Exception {
+        getIssueService().createBatch(new ArrayList<>());
+
+        Assert.assertTrue(issueBatches.isEmpty());
+        Assert.assertTrue(relBatches.isEmpty());
+    }
+
+    @Test
+    public void testCreateBatchFail() throws Exception {
+        saveIssueResult = false;
+        try {
+            getIssueService().createBatch(getIssueCreateList(2));
+            Assert.fail();
+        } catch (DataVinesServerException e) {
+            Assert.assertEquals(Status.CREATE_ISSUE_ERROR, e.getStatus());
+        }
+
+        Assert.assertTrue(relBatches.isEmpty());
+    }
+
+    private IssueServiceImpl getIssueService() throws Exception {
+        IssueServiceImpl issueService = new IssueServiceImpl() {
+            @Override
+            public boolean saveBatch(Collection<Issue> entityList, int batchSize) {
+                issueBatches.add(entityList.size());
+                long id = 1;
+                for (Issue issue : entityList) {
+                    issue.setId(id++);
+                }
+                return saveIssueResult;
+            }
+        };
+
+        FakeBeans.inject(issueService, "jobIssueRelService", FakeBeans.of(JobIssueRelService.class)
+                .on("saveBatch", args -> {
+                    @SuppressWarnings("unchecked")
+                    Collection<JobIssueRel> relList = (Collection<JobIssueRel>) args[0];
+                    relBatches.add(relList.size());
+                    relList.forEach(rel -> relIssueIds.add(rel.getIssueId()));
+                    return true;
+                })
+                .build());
+        return issueService;
+    }
+
+    private List<IssueCreate> getIssueCreateList(int size) {
+        List<IssueCreate> issueCreateList = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            IssueCreate issueCreate = new IssueCreate();
+            issueCreate.setTitle("title " + i);
+            issueCreate.setContent("content " + i);
+            issueCreate.setJobId(1L);
+            issueCreateList.add(issueCreate);
+        }
+        return issueCreateList;
+    }
+}
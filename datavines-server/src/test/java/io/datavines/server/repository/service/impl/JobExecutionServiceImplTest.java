@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.handlers.MybatisEnumTypeHandler;
+import io.datavines.common.enums.ExecutionStatus;
+import io.datavines.server.api.dto.vo.JobExecutionCheckStatusVO;
+import io.datavines.server.dqc.coordinator.stream.JobExecutionStreamHub;
+import io.datavines.server.repository.entity.JobExecution;
+import io.datavines.server.repository.mapper.JobExecutionMapper;
+import io.datavines.server.repository.service.JobExecutionResultService;
+import io.datavines.server.utils.FakeBeans;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class JobExecutionServiceImplTest {
+
+    private SqlSession sqlSession;
+
+    private JobExecutionServiceImpl jobExecutionService;
+
+    @Before
+    public void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:job_execution_service;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists dv_job_execution");
+            statement.execute("create table dv_job_execution (id bigint primary key, job_id bigint, datasource_id bigint, "
+                    + "status int, start_time datetime, end_time datetime, update_time datetime)");
+            statement.execute("insert into dv_job_execution values (1, 1, 1, 1, null, null, now())");
+            statement.execute("insert into dv_job_execution values (2, 1, 1, 1, null, null, now())");
+        }
+
+        MybatisConfiguration configuration = new MybatisConfiguration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setDefaultEnumTypeHandler(MybatisEnumTypeHandler.class);
+        configuration.addMapper(JobExecutionMapper.class);
+        sqlSession = new MybatisSqlSessionFactoryBuilder().build(configuration).openSession(true);
+
+        jobExecutionService = new JobExecutionServiceImpl();
+        FakeBeans.inject(jobExecutionService, "baseMapper", sqlSession.getMapper(JobExecutionMapper.class));
+        FakeBeans.inject(jobExecutionService, "jobExecutionResultService", FakeBeans.of(JobExecutionResultService.class)
+                .on("getCheckResultByJobExecutionIds", args -> new HashMap<>())
+                .build());
+    }
+
+    @After
+    public void tearDown() {
+        sqlSession.close();
+    }
+
+    @Test
+    public void testWaitIsCompletedByThePublishedStatus() throws Exception {
+        CompletableFuture<List<JobExecutionCheckStatusVO>> future =
+                jobExecutionService.waitUntilFinished(Collections.singletonList(1L), 60L);
+        // the calling thread is not blocked while the execution is running
+        Assert.assertFalse(future.isDone());
+
+        try (Statement statement = sqlSession.getConnection().createStatement()) {
+            statement.execute("update dv_job_execution set status = 7 where id = 1");
+        }
+        sqlSession.clearCache();
+        JobExecution jobExecution = new JobExecution();
+        jobExecution.setId(1L);
+        jobExecution.setJobId(1L);
+        jobExecution.setStatus(ExecutionStatus.SUCCESS);
+        JobExecutionStreamHub.getInstance().publish(jobExecution);
+
+        List<JobExecutionCheckStatusVO> result = future.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(1, result.size());
+        Assert.assertTrue(result.get(0).isFinished());
+        Assert.assertEquals(ExecutionStatus.SUCCESS, result.get(0).getStatus());
+    }
+
+    @Test
+    public void testWaitIsCompletedByTheTimeout() throws Exception {
+        CompletableFuture<List<JobExecutionCheckStatusVO>> future =
+                jobExecutionService.waitUntilFinished(Collections.singletonList(2L), 1L);
+        Assert.assertFalse(future.isDone());
+
+        List<JobExecutionCheckStatusVO> result = future.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(1, result.size());
+        Assert.assertFalse(result.get(0).isFinished());
+    }
+}
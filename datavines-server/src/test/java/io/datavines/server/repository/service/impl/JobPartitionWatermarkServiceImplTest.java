@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.repository.service.impl;
+
+import io.datavines.common.datasource.jdbc.entity.PartitionInfo;
+import io.datavines.common.entity.JobExecutionInfo;
+import io.datavines.common.entity.JobExecutionParameter;
+import io.datavines.common.entity.job.BaseJobParameter;
+import io.datavines.common.utils.JSONUtils;
+import io.datavines.engine.config.MetricParserUtils;
+import io.datavines.metric.api.MetricRollupType;
+import io.datavines.metric.api.SqlMetric;
+import io.datavines.server.repository.entity.ActualValues;
+import io.datavines.server.repository.entity.JobExecution;
+import io.datavines.server.repository.entity.JobPartitionWatermark;
+import io.datavines.spi.PluginLoader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static io.datavines.common.ConfigConstants.*;
+
+public class JobPartitionWatermarkServiceImplTest {
+
+    @Test
+    public void testCheckNewAndChangedPartitions() {
+        List<PartitionInfo> partitions = Arrays.asList(
+                partition("p1", "v1"), partition("p2", "v2"), partition("p3", "v1"), partition("p4", "v1"));
+        List<JobPartitionWatermark> watermarks = Arrays.asList(
+                watermark("p1", "v1", 1L), watermark("p2", "v1", 2L), watermark("p3", "v1", 2L));
+
+        // p2 is changed and p4 is new, p3 is checked again because it is owned by the execution which checked p2
+        Assert.assertEquals(Arrays.asList("p2", "p3", "p4"),
+                names(JobPartitionWatermarkServiceImpl.getCheckPartitions(watermarks, partitions, 100)));
+    }
+
+    @Test
+    public void testCheckLatestPartitionWhenNothingChanged() {
+        List<PartitionInfo> partitions = Arrays.asList(partition("p1", "v1"), partition("p2", "v1"));
+        List<JobPartitionWatermark> watermarks = Arrays.asList(watermark("p1", "v1", 1L), watermark("p2", "v1", 2L));
+
+        Assert.assertEquals(Collections.singletonList("p2"),
+                names(JobPartitionWatermarkServiceImpl.getCheckPartitions(watermarks, partitions, 100)));
+    }
+
+    @Test
+    public void testLimitChangedPartitions() {
+        List<PartitionInfo> partitions = Arrays.asList(partition("p1", "v1"), partition("p2", "v1"), partition("p3", "v1"));
+
+        Assert.assertEquals(Arrays.asList("p1", "p2"),
+                names(JobPartitionWatermarkServiceImpl.getCheckPartitions(Collections.emptyList(), partitions, 2)));
+    }
+
+    @Test
+    public void testPartitionFilter() {
+        List<PartitionInfo> partitions = Arrays.asList(partition("p1", "v1"), partition("p2", "v1"));
+
+        Assert.assertEquals("((`dt` = 'p1') or (`dt` = 'p2'))", JobPartitionWatermarkServiceImpl.getPartitionFilter(partitions));
+    }
+
+    @Test
+    public void testPartitionFilterIsNotPartOfUniqueCode() {
+        Map<String, String> fullParameter = getColumnNullParameter();
+        Map<String, String> incrementalParameter = getColumnNullParameter();
+        incrementalParameter.put(PARTITION_FILTER, "((`dt` = 'p1'))");
+
+        SqlMetric fullMetric = PluginLoader.getPluginLoader(SqlMetric.class).getNewPlugin("column_null");
+        SqlMetric incrementalMetric = PluginLoader.getPluginLoader(SqlMetric.class).getNewPlugin("column_null");
+        MetricParserUtils.operateInputParameter(fullParameter, fullMetric, getJobExecutionInfo());
+        MetricParserUtils.operateInputParameter(incrementalParameter, incrementalMetric, getJobExecutionInfo());
+
+        Assert.assertEquals("(`amount` > 0) and ((`dt` = 'p1'))", incrementalParameter.get(FILTER));
+        Assert.assertTrue(incrementalMetric.getInvalidateItems(incrementalParameter).getSql().contains("((`dt` = 'p1'))"));
+        Assert.assertEquals(MetricParserUtils.generateUniqueCode(fullParameter), MetricParserUtils.generateUniqueCode(incrementalParameter));
+    }
+
+    @Test
+    public void testRollupByUniqueCode() {
+        Map<String, MetricRollupType> rollupTypes = new HashMap<>();
+        rollupTypes.put("column_null", MetricRollupType.SUM);
+        rollupTypes.put("column_max", MetricRollupType.MAX);
+        rollupTypes.put("column_avg", MetricRollupType.NONE);
+
+        List<ActualValues> actualValuesList = Arrays.asList(
+                actualValues("column_null", "a", 3), actualValues("column_null", "a", 4), actualValues("column_null", "b", 5),
+                actualValues("column_max", "c", 7), actualValues("column_max", "c", 9),
+                actualValues("column_avg", "d", 1), actualValues("column_avg", "d", 2));
+
+        Map<String, BigDecimal> rollup = JobPartitionWatermarkServiceImpl.rollup(actualValuesList, rollupTypes::get).stream()
+                .collect(Collectors.toMap(ActualValues::getUniqueCode, ActualValues::getActualValue));
+
+        Assert.assertEquals(3, rollup.size());
+        Assert.assertEquals(0, BigDecimal.valueOf(7).compareTo(rollup.get("a")));
+        Assert.assertEquals(0, BigDecimal.valueOf(5).compareTo(rollup.get("b")));
+        Assert.assertEquals(0, BigDecimal.valueOf(9).compareTo(rollup.get("c")));
+        Assert.assertFalse(rollup.containsKey("d"));
+    }
+
+    @Test
+    public void testOnlyIncrementalMetricsOfOwnedTableAreRolledUp() {
+        BaseJobParameter orders = metricParameter("column_null", "orders", true);
+        BaseJobParameter users = metricParameter("column_null", "users", true);
+        BaseJobParameter full = metricParameter("column_max", "orders", false);
+
+        // execution 1 owns the partitions of orders only, the partitions of users are checked again by execution 2
+        List<JobPartitionWatermark> watermarks = Arrays.asList(
+                watermark("test", "orders", "p1", "v1", 1L), watermark("test", "users", "p1", "v1", 2L));
+        Map<List<String>, Set<Long>> tableOwnerExecutionIds = JobPartitionWatermarkServiceImpl.getTableOwnerExecutionIds(watermarks);
+
+        List<String> metricUniqueKeys = JobPartitionWatermarkServiceImpl.getIncrementalMetricUniqueKeys(
+                Arrays.asList(execution(1L, orders, users, full), execution(2L, orders, users, full)), tableOwnerExecutionIds);
+
+        Assert.assertEquals(Arrays.asList(MetricParserUtils.generateMetricUniqueKey(orders, 1L),
+                MetricParserUtils.generateMetricUniqueKey(users, 2L)), metricUniqueKeys);
+    }
+
+    @Test
+    public void testRollupTypeOfMetrics() {
+        Assert.assertEquals(MetricRollupType.SUM, PluginLoader.getPluginLoader(SqlMetric.class).getNewPlugin("column_null").getRollupType());
+        Assert.assertEquals(MetricRollupType.MAX, PluginLoader.getPluginLoader(SqlMetric.class).getNewPlugin("column_max").getRollupType());
+        Assert.assertEquals(MetricRollupType.NONE, PluginLoader.getPluginLoader(SqlMetric.class).getNewPlugin("column_avg").getRollupType());
+        Assert.assertEquals(MetricRollupType.NONE, PluginLoader.getPluginLoader(SqlMetric.class).getNewPlugin("column_unique").getRollupType());
+    }
+
+    private Map<String, String> getColumnNullParameter() {
+        Map<String, String> inputParameter = new HashMap<>();
+        inputParameter.put(METRIC_NAME, "column_null");
+        inputParameter.put(DATABASE, "test");
+        inputParameter.put(TABLE, "`test`.`orders`");
+        inputParameter.put(COLUMN, "`amount`");
+        inputParameter.put(FILTER, "`amount` > 0");
+        inputParameter.put(SRC_CONNECTOR_TYPE, "mysql");
+        inputParameter.put(METRIC_UNIQUE_KEY, "abcd1234");
+        return inputParameter;
+    }
+
+    private JobExecutionInfo getJobExecutionInfo() {
+        JobExecutionInfo jobExecutionInfo = new JobExecutionInfo();
+        jobExecutionInfo.setId(1L);
+        return jobExecutionInfo;
+    }
+
+    private PartitionInfo partition(String name, String fingerprint) {
+        return new PartitionInfo(name, "(`dt` = '" + name + "')", fingerprint);
+    }
+
+    private JobPartitionWatermark watermark(String name, String fingerprint, Long jobExecutionId) {
+        return watermark("test", "orders", name, fingerprint, jobExecutionId);
+    }
+
+    private JobPartitionWatermark watermark(String database, String table, String name, String fingerprint, Long jobExecutionId) {
+        JobPartitionWatermark watermark = new JobPartitionWatermark();
+        watermark.setDatabaseName(database);
+        watermark.setTableName(table);
+        watermark.setPartitionName(name);
+        watermark.setPartitionFingerprint(fingerprint);
+        watermark.setJobExecutionId(jobExecutionId);
+        return watermark;
+    }
+
+    private BaseJobParameter metricParameter(String metricType, String table, boolean incremental) {
+        Map<String, Object> metricParameter = new HashMap<>();
+        metricParameter.put(DATABASE, "test");
+        metricParameter.put(TABLE, table);
+        metricParameter.put(COLUMN, "amount");
+        metricParameter.put(PARTITION_INCREMENTAL, incremental);
+        BaseJobParameter parameter = new BaseJobParameter();
+        parameter.setMetricType(metricType);
+        parameter.setMetricParameter(metricParameter);
+        return parameter;
+    }
+
+    private JobExecution execution(Long id, BaseJobParameter... parameters) {
+        JobExecutionParameter jobExecutionParameter = new JobExecutionParameter();
+        jobExecutionParameter.setMetricParameterList(Arrays.asList(parameters));
+        JobExecution jobExecution = new JobExecution();
+        jobExecution.setId(id);
+        jobExecution.setParameter(JSONUtils.toJsonString(jobExecutionParameter));
+        return jobExecution;
+    }
+
+    private ActualValues actualValues(String metricName, String uniqueCode, long value) {
+        ActualValues actualValues = new ActualValues();
+        actualValues.setMetricName(metricName);
+        actualValues.setUniqueCode(uniqueCode);
+        actualValues.setActualValue(BigDecimal.valueOf(value));
+        return actualValues;
+    }
+
+    private List<String> names(List<PartitionInfo> partitions) {
+        return partitions.stream().map(PartitionInfo::getName).collect(Collectors.toList());
+    }
+}
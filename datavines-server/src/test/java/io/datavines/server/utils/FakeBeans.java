@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Builds fake implementations of service and mapper interfaces for the unit tests. Only the stubbed methods
+ * answer, any other call fails with {@link UnsupportedOperationException} so a test notices an unexpected call.
+ */
+public class FakeBeans {
+
+    private FakeBeans() {
+    }
+
+    public static <T> Builder<T> of(Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    /**
+     * set the field of the target, the field can be declared by the class of the target or one of its super classes
+     */
+    public static void inject(Object target, String name, Object value) throws Exception {
+        Class<?> clazz = target.getClass();
+        while (clazz != null) {
+            try {
+                Field field = clazz.getDeclaredField(name);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                clazz = clazz.getSuperclass();
+            }
+        }
+        throw new NoSuchFieldException(name);
+    }
+
+    @FunctionalInterface
+    public interface Answer {
+
+        Object answer(Object[] args) throws Throwable;
+    }
+
+    public static class Builder<T> {
+
+        private final Class<T> type;
+
+        private final Map<String, Answer> answers = new HashMap<>();
+
+        private Consumer<String> listener = methodName -> {};
+
+        private Builder(Class<T> type) {
+            this.type = type;
+        }
+
+        public Builder<T> on(String methodName, Answer answer) {
+            answers.put(methodName, answer);
+            return this;
+        }
+
+        /**
+         * called with the method name before every call of the fake, including the unstubbed ones
+         */
+        public Builder<T> listen(Consumer<String> listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public T build() {
+            Object fake = Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, (proxy, method, args) -> {
+                if (method.getDeclaringClass() == Object.class) {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            return "Fake" + type.getSimpleName();
+                    }
+                }
+
+                listener.accept(method.getName());
+                Answer answer = answers.get(method.getName());
+                if (answer == null) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                return answer.answer(args == null ? new Object[0] : args);
+            });
+            return type.cast(fake);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.utils;
+
+import io.datavines.core.exception.DataVinesServerException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class PageCursorTest {
+
+    @Test
+    public void testEncodeAndDecode() {
+        PageCursor cursor = PageCursor.decode(PageCursor.encode("job", 42L), "job");
+        Assert.assertEquals("job", cursor.getList());
+        Assert.assertEquals(Long.valueOf(42L), cursor.getId());
+        Assert.assertFalse(cursor.isFirst());
+
+        Assert.assertTrue(PageCursor.decode("", "job").isFirst());
+    }
+
+    @Test(expected = DataVinesServerException.class)
+    public void testCursorOfAnotherListIsRejected() {
+        PageCursor.decode(PageCursor.encode("catalog_entity", 42L), "job_execution");
+    }
+
+    @Test(expected = DataVinesServerException.class)
+    public void testCursorWithoutIdIsRejected() {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("job|".getBytes(StandardCharsets.UTF_8));
+        PageCursor.decode(cursor, "job");
+    }
+}
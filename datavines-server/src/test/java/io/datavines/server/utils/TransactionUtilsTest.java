@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.datavines.server.utils;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TransactionUtilsTest {
+
+    @After
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testRunAtOnceWithoutTransaction() {
+        AtomicInteger count = new AtomicInteger();
+        TransactionUtils.afterCommit(count::incrementAndGet);
+        Assert.assertEquals(1, count.get());
+    }
+
+    @Test
+    public void testRunAfterCommit() {
+        AtomicInteger count = new AtomicInteger();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionUtils.afterCommit(count::incrementAndGet);
+        Assert.assertEquals(0, count.get());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        Assert.assertEquals(1, count.get());
+    }
+
+    @Test
+    public void testSkippedOnRollback() {
+        AtomicInteger count = new AtomicInteger();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionUtils.afterCommit(count::incrementAndGet);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        Assert.assertEquals(0, count.get());
+    }
+
+    @Test
+    public void testRunAfterRollbackOnly() {
+        AtomicInteger count = new AtomicInteger();
+        TransactionUtils.afterRollback(count::incrementAndGet);
+        Assert.assertEquals(0, count.get());
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionUtils.afterRollback(count::incrementAndGet);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        Assert.assertEquals(0, count.get());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        Assert.assertEquals(1, count.get());
+    }
+}
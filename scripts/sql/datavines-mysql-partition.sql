@@ -0,0 +1,57 @@
+-- ----------------------------
+-- Optional monthly range partitioning of the history tables, run it in a maintenance window after datavines-mysql.sql
+-- or datavines-mysql-upgrade-0602.sql. MySQL requires the partition column in every unique key, so the column is added to
+-- the primary keys. The queries of the retention (create_time), the dashboard history (create_time) and the expected values
+-- (data_time) all carry a range on the partition column and are pruned; the failover scans use idx_status_execute_host in every partition.
+--
+-- dv_job_execution_result is NOT partitioned: its unique key execution_id_un (job_execution_id, metric_unique_key) is the
+-- key of the ON DUPLICATE KEY UPDATE of the result sinks, adding create_time to it would insert a duplicate result
+-- instead of updating it. Its rows are purged by job_execution_id together with their execution.
+--
+-- One partition is created for every month from the oldest row to three months after today, add the partition
+-- of the next month before it starts, for example:
+--   ALTER TABLE dv_job_execution REORGANIZE PARTITION pmax INTO (
+--     PARTITION p202701 VALUES LESS THAN ('2027-02-01'), PARTITION pmax VALUES LESS THAN (MAXVALUE));
+-- When retention.archive.type is none, a whole expired month can also be dropped directly:
+--   ALTER TABLE dv_job_execution DROP PARTITION p202601;
+-- ----------------------------
+
+DROP PROCEDURE IF EXISTS dv_partition_by_month;
+DELIMITER //
+CREATE PROCEDURE dv_partition_by_month(IN p_table VARCHAR(64), IN p_column VARCHAR(64))
+BEGIN
+    DECLARE v_month DATE;
+    DECLARE v_last_month DATE;
+    DECLARE v_partitions TEXT DEFAULT '';
+
+    SET @dv_oldest = NULL;
+    SET @dv_sql = CONCAT('SELECT MIN(`', p_column, '`) INTO @dv_oldest FROM `', p_table, '`');
+    PREPARE stmt FROM @dv_sql;
+    EXECUTE stmt;
+    DEALLOCATE PREPARE stmt;
+
+    SET v_month = DATE_FORMAT(COALESCE(@dv_oldest, CURDATE()), '%Y-%m-01');
+    SET v_last_month = DATE_FORMAT(DATE_ADD(CURDATE(), INTERVAL 3 MONTH), '%Y-%m-01');
+    WHILE v_month <= v_last_month DO
+        SET v_partitions = CONCAT(v_partitions, 'PARTITION p', DATE_FORMAT(v_month, '%Y%m'),
+            ' VALUES LESS THAN (''', DATE_FORMAT(DATE_ADD(v_month, INTERVAL 1 MONTH), '%Y-%m-%d'), '''), ');
+        SET v_month = DATE_ADD(v_month, INTERVAL 1 MONTH);
+    END WHILE;
+
+    SET @dv_sql = CONCAT('ALTER TABLE `', p_table, '` PARTITION BY RANGE COLUMNS (`', p_column, '`) (',
+        v_partitions, 'PARTITION pmax VALUES LESS THAN (MAXVALUE))');
+    PREPARE stmt FROM @dv_sql;
+    EXECUTE stmt;
+    DEALLOCATE PREPARE stmt;
+END //
+DELIMITER ;
+
+ALTER TABLE dv_job_execution DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `create_time`);
+CALL dv_partition_by_month('dv_job_execution', 'create_time');
+
+UPDATE dv_actual_values SET data_time = create_time WHERE data_time IS NULL;
+ALTER TABLE dv_actual_values MODIFY COLUMN data_time datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '数据时间';
+ALTER TABLE dv_actual_values DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `data_time`);
+CALL dv_partition_by_month('dv_actual_values', 'data_time');
+
+DROP PROCEDURE IF EXISTS dv_partition_by_month;
@@ -9,6 +9,10 @@ ALTER TABLE dv_common_task_schedule ADD task_type varchar(128) NULL COMMENT '任
 ALTER TABLE dv_job_execution_result MODIFY COLUMN actual_value decimal(20,4) DEFAULT NULL COMMENT '实际值';
 ALTER TABLE dv_job_execution_result MODIFY COLUMN expected_value decimal(20,4) DEFAULT NULL COMMENT '期望值';
 ALTER TABLE dv_job_execution_result ADD score decimal(20,4) DEFAULT 0 COMMENT '质量评分';
+ALTER TABLE dv_job_execution_result ADD sample_fraction decimal(10,6) DEFAULT NULL COMMENT '采样比例';
+ALTER TABLE dv_job_execution_result ADD confidence_interval decimal(20,4) DEFAULT NULL COMMENT '95%置信区间半宽';
+ALTER TABLE dv_job_execution_result ADD unique_code varchar(255) DEFAULT NULL COMMENT '规则唯一编码' AFTER metric_unique_key;
+ALTER TABLE dv_job ADD sample_fraction decimal(10,6) DEFAULT NULL COMMENT '采样比例';
 
 -- ----------------------------
 -- Table structure for dv_job_quality_report
@@ -49,3 +53,110 @@ alter table dv_catalog_entity_instance modify fully_qualified_name varchar(255)
 
 update dv_common_task set task_type = 'catalog_metadata_fetch' where task_type is null or task_type = '';
 update dv_common_task_schedule set task_type = 'catalog_metadata_fetch' where task_type is null or task_type = '';
+
+-- ----------------------------
+-- Table structure for dv_job_partition_watermark
+-- ----------------------------
+DROP TABLE IF EXISTS `dv_job_partition_watermark`;
+CREATE TABLE `dv_job_partition_watermark` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `job_id` bigint(20) NOT NULL COMMENT '作业ID',
+  `database_name` varchar(128) NOT NULL COMMENT '数据库名称',
+  `table_name` varchar(128) NOT NULL COMMENT '表名称',
+  `partition_name` varchar(255) NOT NULL COMMENT '分区名称',
+  `partition_fingerprint` varchar(255) DEFAULT NULL COMMENT '分区指纹',
+  `job_execution_id` bigint(20) NOT NULL COMMENT '最近检查该分区的作业运行实例ID',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `job_partition_un` (`job_id`,`database_name`,`table_name`,`partition_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='规则作业分区水位';
+ALTER TABLE dv_actual_values ADD sketch mediumtext DEFAULT NULL COMMENT '近似计算的序列化摘要';
+
+-- ----------------------------
+-- Table structure for dv_actual_values_daily
+-- ----------------------------
+DROP TABLE IF EXISTS `dv_actual_values_daily`;
+CREATE TABLE `dv_actual_values_daily` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `unique_code` varchar(255) NOT NULL COMMENT '规则唯一编码',
+  `data_date` date NOT NULL COMMENT '数据日期',
+  `value_count` bigint(20) NOT NULL DEFAULT '0' COMMENT '实际值个数',
+  `value_sum` decimal(38,4) DEFAULT NULL COMMENT '实际值之和',
+  `value_square_sum` decimal(38,4) DEFAULT NULL COMMENT '实际值平方和',
+  `min_value` decimal(20,4) DEFAULT NULL COMMENT '最小实际值',
+  `max_value` decimal(20,4) DEFAULT NULL COMMENT '最大实际值',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `unique_code_data_date_un` (`unique_code`,`data_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='规则运行结果实际值按天汇总';
+ALTER TABLE dv_actual_values ADD INDEX idx_unique_code_data_time (unique_code, data_time);
+ALTER TABLE dv_actual_values ADD INDEX idx_job_execution_id (job_execution_id);
+INSERT INTO dv_actual_values_daily (unique_code, data_date, value_count, value_sum, value_square_sum, min_value, max_value)
+SELECT unique_code, date(data_time), count(actual_value), sum(actual_value), sum(actual_value * actual_value), min(actual_value), max(actual_value)
+FROM dv_actual_values WHERE unique_code IS NOT NULL AND data_time IS NOT NULL GROUP BY unique_code, date(data_time);
+
+-- ----------------------------
+-- Table structure for dv_job_execution_daily_stat
+-- ----------------------------
+DROP TABLE IF EXISTS `dv_job_execution_daily_stat`;
+CREATE TABLE `dv_job_execution_daily_stat` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `workspace_id` bigint(20) NOT NULL DEFAULT '-1' COMMENT '工作空间ID',
+  `datasource_id` bigint(20) NOT NULL DEFAULT '-1' COMMENT '数据源ID',
+  `metric_type` varchar(255) NOT NULL DEFAULT '' COMMENT '规则类型',
+  `schema_name` varchar(128) NOT NULL DEFAULT '' COMMENT '数据库名',
+  `table_name` varchar(128) NOT NULL DEFAULT '' COMMENT '表名',
+  `column_name` varchar(128) NOT NULL DEFAULT '' COMMENT '列名',
+  `status` int(11) NOT NULL DEFAULT '-1' COMMENT '作业运行状态',
+  `stat_date` date NOT NULL COMMENT '统计日期',
+  `exec_count` bigint(20) NOT NULL DEFAULT '0' COMMENT '作业运行实例个数',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `job_execution_daily_stat_un` (`workspace_id`,`datasource_id`,`stat_date`,`metric_type`,`schema_name`,`table_name`,`column_name`,`status`),
+  KEY `idx_stat_date` (`stat_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='规则作业运行实例按天汇总';
+ALTER TABLE dv_job_execution ADD INDEX idx_create_time (create_time);
+ALTER TABLE dv_job_execution ADD INDEX idx_datasource_id_create_time (datasource_id, create_time);
+INSERT INTO dv_job_execution_daily_stat (workspace_id, datasource_id, metric_type, schema_name, table_name, column_name, status, stat_date, exec_count)
+SELECT coalesce(d.workspace_id, -1), coalesce(e.datasource_id, -1), coalesce(e.metric_type, ''), coalesce(e.schema_name, ''), coalesce(e.table_name, ''), coalesce(e.column_name, ''), coalesce(e.status, -1), date(e.create_time), count(1)
+FROM dv_job_execution e LEFT JOIN dv_datasource d ON e.datasource_id = d.id
+GROUP BY d.workspace_id, coalesce(e.datasource_id, -1), coalesce(e.metric_type, ''), coalesce(e.schema_name, ''), coalesce(e.table_name, ''), coalesce(e.column_name, ''), coalesce(e.status, -1), date(e.create_time);
+ALTER TABLE dv_job_execution ADD INDEX idx_status_execute_host (status, execute_host);
+INSERT INTO `dv_config` (`workspace_id`, `var_key`, `var_value`, `is_default`, `create_by`, `update_by`) VALUES ('-1', 'retention.days', '-1', '1', '1', '1');
+INSERT INTO `dv_config` (`workspace_id`, `var_key`, `var_value`, `is_default`, `create_by`, `update_by`) VALUES ('-1', 'retention.archive.type', 'file', '1', '1', '1');
+CREATE TABLE IF NOT EXISTS `dv_config_version` (
+  `id` int(11) NOT NULL,
+  `version` bigint(20) NOT NULL DEFAULT '0' COMMENT '配置版本号',
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='配置版本';
+INSERT IGNORE INTO `dv_config_version` (`id`, `version`) VALUES ('1', '0');
+CREATE TABLE IF NOT EXISTS `dv_job_execution_archive` LIKE `dv_job_execution`;
+CREATE TABLE IF NOT EXISTS `dv_job_execution_result_archive` LIKE `dv_job_execution_result`;
+CREATE TABLE IF NOT EXISTS `dv_actual_values_archive` LIKE `dv_actual_values`;
+CREATE TABLE IF NOT EXISTS `dv_common_task_archive` LIKE `dv_common_task`;
+ALTER TABLE dv_command ADD INDEX idx_job_execution_id (job_execution_id);
+ALTER TABLE dv_common_task ADD INDEX idx_datasource_type_database_table_id (datasource_id, type, database_name, table_name, id);
+ALTER TABLE dv_job_execution ADD INDEX idx_job_id_id (job_id, id);
+ALTER TABLE dv_job_execution ADD INDEX idx_datasource_id_id (datasource_id, id);
+ALTER TABLE dv_job ADD INDEX idx_datasource_id_type_id (datasource_id, type, id);
+
+-- ----------------------------
+-- Table structure for dv_catalog_entity_profile_snapshot
+-- ----------------------------
+DROP TABLE IF EXISTS `dv_catalog_entity_profile_snapshot`;
+CREATE TABLE `dv_catalog_entity_profile_snapshot` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `entity_uuid` varchar(64) NOT NULL COMMENT '表实体UUID',
+  `job_execution_id` bigint(20) DEFAULT NULL COMMENT '概要分析作业运行实例ID',
+  `data_date` varchar(255) DEFAULT NULL COMMENT '数据日期',
+  `snapshot` mediumtext NOT NULL COMMENT '表及其列的概要信息快照',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_entity_uuid_job_execution_id` (`entity_uuid`,`job_execution_id`),
+  KEY `idx_job_execution_id` (`job_execution_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='实体概要信息快照';
+
+ALTER TABLE dv_job_execution ADD INDEX idx_update_time (update_time);
+ALTER TABLE dv_catalog_entity_instance ADD INDEX idx_update_time (update_time);
+ALTER TABLE dv_catalog_entity_tag_rel ADD INDEX idx_update_time (update_time);
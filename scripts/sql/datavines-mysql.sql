@@ -170,12 +170,33 @@ CREATE TABLE `dv_actual_values` (
   `metric_name` varchar(255) DEFAULT NULL COMMENT '规则名称',
   `unique_code` varchar(255) DEFAULT NULL COMMENT '规则唯一编码',
   `actual_value` decimal(20,4) DEFAULT NULL COMMENT '实际值',
+  `sketch` mediumtext DEFAULT NULL COMMENT '近似计算的序列化摘要',
   `data_time` datetime DEFAULT NULL COMMENT '数据时间',
   `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
-  PRIMARY KEY (`id`)
+  PRIMARY KEY (`id`),
+  KEY `idx_unique_code_data_time` (`unique_code`,`data_time`),
+  KEY `idx_job_execution_id` (`job_execution_id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='规则运行结果实际值';
 
+-- ----------------------------
+-- Table structure for dv_actual_values_daily
+-- ----------------------------
+DROP TABLE IF EXISTS `dv_actual_values_daily`;
+CREATE TABLE `dv_actual_values_daily` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `unique_code` varchar(255) NOT NULL COMMENT '规则唯一编码',
+  `data_date` date NOT NULL COMMENT '数据日期',
+  `value_count` bigint(20) NOT NULL DEFAULT '0' COMMENT '实际值个数',
+  `value_sum` decimal(38,4) DEFAULT NULL COMMENT '实际值之和',
+  `value_square_sum` decimal(38,4) DEFAULT NULL COMMENT '实际值平方和',
+  `min_value` decimal(20,4) DEFAULT NULL COMMENT '最小实际值',
+  `max_value` decimal(20,4) DEFAULT NULL COMMENT '最大实际值',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `unique_code_data_date_un` (`unique_code`,`data_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='规则运行结果实际值按天汇总';
+
 -- ----------------------------
 -- Table structure for dv_common_task_command
 -- ----------------------------
@@ -229,6 +250,7 @@ CREATE TABLE `dv_catalog_entity_instance` (
   PRIMARY KEY (`id`),
   UNIQUE KEY `uuid_un` (`uuid`) USING BTREE,
   UNIQUE KEY `datasource_fqn_status_un` (`datasource_id`,`fully_qualified_name`,`status`) USING BTREE,
+  KEY `idx_update_time` (`update_time`),
   FULLTEXT KEY `full_idx_display_name_description` (`display_name`,`description`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='实体实例';
 
@@ -265,6 +287,22 @@ CREATE TABLE `dv_catalog_entity_profile` (
   UNIQUE KEY `dv_entity_definition_un` (`entity_uuid`,`metric_name`,`data_date`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='实体概要信息';
 
+-- ----------------------------
+-- Table structure for dv_catalog_entity_profile_snapshot
+-- ----------------------------
+DROP TABLE IF EXISTS `dv_catalog_entity_profile_snapshot`;
+CREATE TABLE `dv_catalog_entity_profile_snapshot` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `entity_uuid` varchar(64) NOT NULL COMMENT '表实体UUID',
+  `job_execution_id` bigint(20) DEFAULT NULL COMMENT '概要分析作业运行实例ID',
+  `data_date` varchar(255) DEFAULT NULL COMMENT '数据日期',
+  `snapshot` mediumtext NOT NULL COMMENT '表及其列的概要信息快照',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_entity_uuid_job_execution_id` (`entity_uuid`,`job_execution_id`),
+  KEY `idx_job_execution_id` (`job_execution_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='实体概要信息快照';
+
 -- ----------------------------
 -- Table structure for dv_catalog_entity_rel
 -- ----------------------------
@@ -295,7 +333,8 @@ CREATE TABLE `dv_catalog_entity_tag_rel` (
   `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
   PRIMARY KEY (`id`),
   UNIQUE KEY `dv_entity_rel_un` (`entity_uuid`,`tag_uuid`),
-  KEY `idx_entity2_uuid` (`tag_uuid`)
+  KEY `idx_entity2_uuid` (`tag_uuid`),
+  KEY `idx_update_time` (`update_time`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='实体标签关联关系';
 
 -- ----------------------------
@@ -371,7 +410,8 @@ CREATE TABLE `dv_common_task` (
   `end_time` datetime DEFAULT NULL COMMENT '结束时间',
   `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
-  PRIMARY KEY (`id`)
+  PRIMARY KEY (`id`),
+  KEY `idx_datasource_type_database_table_id` (`datasource_id`,`type`,`database_name`,`table_name`,`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='元数据抓取任务';
 
 -- ----------------------------
@@ -408,7 +448,8 @@ CREATE TABLE `dv_command` (
   `priority` int(11) DEFAULT NULL COMMENT 'process instance priority: 0 Highest,1 High,2 Medium,3 Low,4 Lowest',
   `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT 'create time',
   `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT 'update time',
-  PRIMARY KEY (`id`)
+  PRIMARY KEY (`id`),
+  KEY `idx_job_execution_id` (`job_execution_id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='规则执行命令';
 
 -- ----------------------------
@@ -525,12 +566,14 @@ CREATE TABLE `dv_job` (
     `post_sql` text DEFAULT NULL COMMENT '后置脚本',
     `tenant_code` bigint(20) DEFAULT NULL COMMENT '代理用户',
     `env` bigint(20) DEFAULT NULL COMMENT '环境配置',
+    `sample_fraction` decimal(10,6) DEFAULT NULL COMMENT '采样比例',
     `create_by` bigint(20) NOT NULL COMMENT '创建用户ID',
     `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     `update_by` bigint(20) NOT NULL COMMENT '更新用户ID',
     `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     PRIMARY KEY (`id`),
-    UNIQUE KEY `unique_name` (`name`,`datasource_id`,`schema_name`,`table_name`,`column_name`) USING BTREE
+    UNIQUE KEY `unique_name` (`name`,`datasource_id`,`schema_name`,`table_name`,`column_name`) USING BTREE,
+    KEY `idx_datasource_id_type_id` (`datasource_id`,`type`,`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='规则作业';
 
 -- ----------------------------
@@ -576,9 +619,36 @@ CREATE TABLE `dv_job_execution` (
   `end_time` datetime DEFAULT NULL COMMENT '结束时间',
   `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
-  PRIMARY KEY (`id`)
+  PRIMARY KEY (`id`),
+  KEY `idx_create_time` (`create_time`),
+  KEY `idx_datasource_id_create_time` (`datasource_id`,`create_time`),
+  KEY `idx_status_execute_host` (`status`,`execute_host`),
+  KEY `idx_job_id_id` (`job_id`,`id`),
+  KEY `idx_datasource_id_id` (`datasource_id`,`id`),
+  KEY `idx_update_time` (`update_time`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='规则作业运行实例';
 
+-- ----------------------------
+-- Table structure for dv_job_execution_daily_stat
+-- ----------------------------
+DROP TABLE IF EXISTS `dv_job_execution_daily_stat`;
+CREATE TABLE `dv_job_execution_daily_stat` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `workspace_id` bigint(20) NOT NULL DEFAULT '-1' COMMENT '工作空间ID',
+  `datasource_id` bigint(20) NOT NULL DEFAULT '-1' COMMENT '数据源ID',
+  `metric_type` varchar(255) NOT NULL DEFAULT '' COMMENT '规则类型',
+  `schema_name` varchar(128) NOT NULL DEFAULT '' COMMENT '数据库名',
+  `table_name` varchar(128) NOT NULL DEFAULT '' COMMENT '表名',
+  `column_name` varchar(128) NOT NULL DEFAULT '' COMMENT '列名',
+  `status` int(11) NOT NULL DEFAULT '-1' COMMENT '作业运行状态',
+  `stat_date` date NOT NULL COMMENT '统计日期',
+  `exec_count` bigint(20) NOT NULL DEFAULT '0' COMMENT '作业运行实例个数',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `job_execution_daily_stat_un` (`workspace_id`,`datasource_id`,`stat_date`,`metric_type`,`schema_name`,`table_name`,`column_name`,`status`),
+  KEY `idx_stat_date` (`stat_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='规则作业运行实例按天汇总';
+
 -- ----------------------------
 -- Table structure for dv_job_execution_result
 -- ----------------------------
@@ -587,6 +657,7 @@ CREATE TABLE `dv_job_execution_result` (
   `id` bigint(20) NOT NULL AUTO_INCREMENT,
   `job_execution_id` bigint(20) DEFAULT NULL COMMENT '任务执行实例ID',
   `metric_unique_key` varchar(255) DEFAULT NULL COMMENT '规则运行唯一标识',
+  `unique_code` varchar(255) DEFAULT NULL COMMENT '规则唯一编码',
   `metric_type` varchar(255) DEFAULT NULL COMMENT '规则类型',
   `metric_dimension` varchar(255) DEFAULT NULL COMMENT '规则维度',
   `metric_name` varchar(255) DEFAULT NULL COMMENT '规则名称',
@@ -600,6 +671,8 @@ CREATE TABLE `dv_job_execution_result` (
   `operator` varchar(255) DEFAULT NULL COMMENT '比较符',
   `threshold` decimal(20,4) DEFAULT NULL COMMENT '阈值',
   `score` decimal(20,4) DEFAULT 0 COMMENT '质量评分',
+  `sample_fraction` decimal(10,6) DEFAULT NULL COMMENT '采样比例',
+  `confidence_interval` decimal(20,4) DEFAULT NULL COMMENT '95%置信区间半宽',
   `state` int(2) NOT NULL DEFAULT '0' COMMENT '结果 1:success/2:fail',
   `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
   `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
@@ -674,6 +747,24 @@ CREATE TABLE `dv_job_schedule` (
   PRIMARY KEY (`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='规则作业调度';
 
+-- ----------------------------
+-- Table structure for dv_job_partition_watermark
+-- ----------------------------
+DROP TABLE IF EXISTS `dv_job_partition_watermark`;
+CREATE TABLE `dv_job_partition_watermark` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `job_id` bigint(20) NOT NULL COMMENT '作业ID',
+  `database_name` varchar(128) NOT NULL COMMENT '数据库名称',
+  `table_name` varchar(128) NOT NULL COMMENT '表名称',
+  `partition_name` varchar(255) NOT NULL COMMENT '分区名称',
+  `partition_fingerprint` varchar(255) DEFAULT NULL COMMENT '分区指纹',
+  `job_execution_id` bigint(20) NOT NULL COMMENT '最近检查该分区的作业运行实例ID',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `job_partition_un` (`job_id`,`database_name`,`table_name`,`partition_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='规则作业分区水位';
+
 -- ----------------------------
 -- Table structure for dv_server
 -- ----------------------------
@@ -886,6 +977,32 @@ INSERT INTO `dv_config` VALUES ('28', '-1', 'spark.engine.parameter.executor.cor
 INSERT INTO `dv_config` VALUES ('29', '-1', 'spark.engine.parameter.executor.memory', '512M', '1', '1', '2023-09-05 21:02:38', '1', '2023-09-05 21:02:38');
 INSERT INTO `dv_config` VALUES ('30', '-1', 'datavines.fqdn', 'http://127.0.0.1:5600', '1', '1', '2024-05-21 15:15:38', '1', '2024-05-21 15:15:38');
 INSERT INTO `dv_config` VALUES ('31', '-1', 'data.quality.flink.jar.name', '/libs/datavines-engine-flink-core-1.0.0-SNAPSHOT.jar', '1', '1', '2025-02-02 11:43:04', '1', '2025-02-02 11:43:04');
+INSERT INTO `dv_config` VALUES ('32', '-1', 'retention.days', '-1', '1', '1', '2025-06-02 00:00:00', '1', '2025-06-02 00:00:00');
+INSERT INTO `dv_config` VALUES ('33', '-1', 'retention.archive.type', 'file', '1', '1', '2025-06-02 00:00:00', '1', '2025-06-02 00:00:00');
+
+-- ----------------------------
+-- Table structure for dv_config_version, the version is increased by every write of dv_config
+-- ----------------------------
+DROP TABLE IF EXISTS `dv_config_version`;
+CREATE TABLE `dv_config_version` (
+    `id` int(11) NOT NULL,
+    `version` bigint(20) NOT NULL DEFAULT '0' COMMENT '配置版本号',
+    PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='配置版本';
+
+INSERT INTO `dv_config_version` VALUES ('1', '0');
+
+-- ----------------------------
+-- Table structure for the history archive, the rows expired by retention.days are moved here when retention.archive.type is table
+-- ----------------------------
+DROP TABLE IF EXISTS `dv_job_execution_archive`;
+CREATE TABLE `dv_job_execution_archive` LIKE `dv_job_execution`;
+DROP TABLE IF EXISTS `dv_job_execution_result_archive`;
+CREATE TABLE `dv_job_execution_result_archive` LIKE `dv_job_execution_result`;
+DROP TABLE IF EXISTS `dv_actual_values_archive`;
+CREATE TABLE `dv_actual_values_archive` LIKE `dv_actual_values`;
+DROP TABLE IF EXISTS `dv_common_task_archive`;
+CREATE TABLE `dv_common_task_archive` LIKE `dv_common_task`;
 
 INSERT INTO `dv_user` (`id`, `username`, `password`, `email`, `phone`, `admin`) VALUES ('1', 'admin', '$2a$10$9ZcicUYFl/.knBi9SE53U.Nml8bfNeArxr35HQshxXzimbA6Ipgqq', 'admin@gmail.com', NULL, '0');
 INSERT INTO `dv_workspace` (`id`, `name`, `create_by`, `update_by`) VALUES ('1', "admin\'s default", '1', '1');